@@ -260,6 +260,55 @@ public class AbstractDatasetTest {
 		assertEquals("Hash code", a.hashCode(), b.hashCode());
 	}
 
+	@Test
+	public void testContentHash() {
+		Dataset a = DatasetFactory.createRange(DoubleDataset.class, 3 * HashUtils.BLOCK).reshape(3, HashUtils.BLOCK);
+		Dataset v = a.getSliceView(new Slice(null, null, -1), new Slice(1, null, 2));
+		Dataset c = v.getSlice();
+		assertEquals("View and copy", c.getContentHash(), v.getContentHash());
+		assertEquals(c.hashCode(), v.hashCode());
+		assertFalse(a.getContentHash() == v.getContentHash());
+		assertEquals(a.getContentHash(), a.clone().getContentHash());
+		assertFalse(a.getContentHash() == a.reshape(HashUtils.BLOCK, 3).getContentHash());
+
+		long h = c.getContentHash();
+		c.set(-1, 2, 5);
+		assertFalse("Set dirty", h == c.getContentHash());
+		assertFalse(c.equals(v));
+		c.set(v.getDouble(2, 5), 2, 5);
+		assertEquals(h, c.getContentHash());
+		assertEquals(c, v);
+
+		// view and its parent share data but not cached hashes
+		Dataset w = a.getSliceView();
+		long ha = a.getContentHash();
+		assertEquals(ha, w.getContentHash());
+		w.set(-1, 0, 0);
+		assertFalse(ha == w.getContentHash());
+		Dataset d = w.getSlice();
+		assertEquals(w.getContentHash(), d.getContentHash());
+		assertEquals(d, a);
+		assertEquals(a, d);
+		a.set(-2, 1, 1);
+		assertEquals(a, w);
+		assertFalse(d.equals(w));
+
+		Dataset z = DatasetFactory.createFromObject(new double[] {0, 1, Double.NaN});
+		Dataset nz = DatasetFactory.createFromObject(new double[] {-0., 1, Double.longBitsToDouble(0x7ff8000000000001L)});
+		assertEquals("Signed zero and NaNs", z.getContentHash(), nz.getContentHash());
+		HalfFloatDataset hz = DatasetFactory.createFromObject(HalfFloatDataset.class, new double[] {0, 1});
+		HalfFloatDataset hnz = DatasetFactory.createFromObject(HalfFloatDataset.class, new double[] {-0., 1});
+		assertEquals(hz, hnz);
+		assertEquals("Half-precision signed zero", hz.getContentHash(), hnz.getContentHash());
+
+		CompoundDataset p = DatasetFactory.createRange(3, CompoundDoubleDataset.class, 10);
+		assertEquals(p.getContentHash(), p.getSliceView(new Slice(null, null, 1)).getContentHash());
+		assertFalse(p.getContentHash() == p.getElements(0).getContentHash());
+
+		StringDataset s = DatasetFactory.createFromObject(StringDataset.class, (Object) new String[] {"a", "b", "c"});
+		assertEquals(s.getContentHash(), s.getSliceView(new Slice(null, null, -1)).getSlice(new Slice(null, null, -1)).getContentHash());
+	}
+
 	private static boolean equalsWithNaNs(Dataset a, Dataset b) {
 		if (a.equals(b))
 			return true;
@@ -712,6 +761,47 @@ public class AbstractDatasetTest {
 		}
 	}
 
+	private static void checkCopy(Dataset view, Dataset copy) {
+		assertEquals(view.getClass(), copy.getClass());
+		assertArrayEquals(view.getShapeRef(), copy.getShapeRef());
+		assertEquals(null, copy.getStrides());
+		IndexIterator it = view.getIterator(true);
+		int[] pos = it.getPos();
+		while (it.hasNext()) {
+			assertEquals(Arrays.toString(pos), view.getString(pos), copy.getString(pos));
+		}
+	}
+
+	/**
+	 * Tests for transposes that are large enough to be copied in tiles
+	 */
+	@Test
+	public void testTransposeTiled() {
+		Dataset a = DatasetFactory.createRange(IntegerDataset.class, 9 * 70 * 33).reshape(9, 70, 33);
+		assertTrue(CopyUtils.isWorthTiling(a.getTransposedView()));
+		assertFalse(CopyUtils.isWorthTiling(a.getSliceView(null, null, new Slice(null, null, 2))));
+		for (int[] axes : new int[][] {{2, 1, 0}, {0, 2, 1}, {1, 2, 0}, {2, 0, 1}}) {
+			checkCopy(a.getTransposedView(axes), a.transpose(axes));
+			checkCopy(a.getTransposedView(axes), a.getTransposedView(axes).getSlice());
+			assertEquals(a.transpose(axes).flatten(), a.getTransposedView(axes).flatten());
+		}
+		checkCopy(a.getTransposedView(), a.swapAxes(0, 2).getSlice());
+
+		Dataset v = a.getSliceView(new Slice(null, null, -1), new Slice(3, null, 3), new Slice(1, 30)).getTransposedView(1, 2, 0);
+		assertTrue(CopyUtils.isWorthTiling(v));
+		checkCopy(v, v.clone());
+		checkCopy(v.cast(DoubleDataset.class), DatasetUtils.cast(DoubleDataset.class, v));
+
+		Dataset c = DatasetUtils.createCompoundDataset(a, Maths.negative(a)).getTransposedView(2, 0, 1);
+		checkCopy(c, c.clone());
+		TestUtils.assertDatasetEquals(DatasetUtils.createCompoundDataset(a.transpose(2, 0, 1), Maths.negative(a).transpose(2, 0, 1)), c.getSlice());
+
+		Dataset b = Comparisons.greaterThan(Maths.remainder(a, 3), 1).getTransposedView();
+		checkCopy(b, b.getSlice());
+		Dataset t = a.cast(StringDataset.class).getTransposedView();
+		checkCopy(t, t.getSlice());
+	}
+
 	/**
 	 * Tests for repeat method
 	 */
@@ -2107,6 +2197,68 @@ public class AbstractDatasetTest {
 		a.setByIndexes(-2, DatasetFactory.createFromObject(new int[] {1, -1, 0}), DatasetFactory.createFromObject(new int[] {0, 2, -6}));
 	}
 
+	@Test
+	public void testGatherScatter() {
+		// large enough to be done in parallel
+		int n = 1 << 20;
+		Dataset a = DatasetFactory.createRange(DoubleDataset.class, n).reshape(n / 16, 16);
+		Dataset m = Comparisons.equalTo(Maths.remainder(a, 3), 0);
+		Dataset e = a.getByBoolean(m);
+		assertEquals((n + 2) / 3, e.getSize());
+		for (int i = 0; i < e.getSize(); i += 1001) {
+			assertEquals(3 * i, e.getDouble(i), 0);
+		}
+		TestUtils.assertDatasetEquals(e, a.getSliceView(new Slice(null, null, -1)).getSliceView(new Slice(null, null, -1)).getByBoolean(m), 0, 0);
+
+		a.setByBoolean(-1, m);
+		assertEquals(e.getSize(), ((Number) Comparisons.equalTo(a, -1).sum()).intValue());
+		a.setByBoolean(e, m);
+		TestUtils.assertDatasetEquals(DatasetFactory.createRange(DoubleDataset.class, n).reshape(n / 16, 16), a, 0, 0);
+		a.setByBoolean(DatasetFactory.createRange(IntegerDataset.class, e.getSize()), m);
+		assertEquals(1, a.getDouble(0, 3), 0);
+
+		// views, compound and string datasets
+		Dataset b = DatasetFactory.createRange(IntegerDataset.class, 20).reshape(4, 5).getSliceView(new Slice(1, 4), new Slice(null, null, 2));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {5, 7, 9, 15, 17, 19}),
+				b.getByBoolean(Comparisons.greaterThan(Maths.remainder(b, 2), 0)), true, 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {7, 19}),
+				b.getByIndexes(DatasetFactory.createFromObject(new int[] {0, 2}), DatasetFactory.createFromObject(new int[] {1, 2})), true, 0, 0);
+
+		CompoundDataset c = DatasetFactory.createRange(2, CompoundDoubleDataset.class, 10).reshape(5, 2);
+		CompoundDataset cc = c.getByIndexes(DatasetFactory.createFromObject(new int[] {4, 1}), DatasetFactory.createFromObject(new int[] {0, 1}));
+		assertArrayEquals(c.getDoubleArray(4, 0), cc.getDoubleArray(0), 0);
+		assertArrayEquals(c.getDoubleArray(1, 1), cc.getDoubleArray(1), 0);
+		cc = c.getBy1DIndex(DatasetFactory.createFromObject(IntegerDataset.class, (Object) new int[] {9, -2}));
+		assertArrayEquals(c.getDoubleArray(4, 1), cc.getDoubleArray(0), 0);
+		assertArrayEquals(c.getDoubleArray(4, 0), cc.getDoubleArray(1), 0);
+		cc = DatasetUtils.take(c, new int[] {3, 6}, null);
+		assertArrayEquals(c.getDoubleArray(3, 0), cc.getDoubleArray(1), 0);
+
+		Dataset s = DatasetFactory.createFromObject(new String[] {"a", "b", "c", "d"});
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new String[] {"d", "b"}),
+				s.getBy1DIndex(DatasetFactory.createFromObject(IntegerDataset.class, (Object) new int[] {3, 1})));
+		s.setByIndexes("e", DatasetFactory.createFromObject(new int[] {0, 0, 2}));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new String[] {"e", "b", "e", "d"}), s);
+
+		// values are repeated and later items win at repeated indices
+		Dataset d = DatasetFactory.zeros(ShortDataset.class, 6);
+		DatasetUtils.put(d, new int[] {0, 1, 2, 3, 0}, new double[] {1.5, 2.5});
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new short[] {1, 2, 1, 2, 0, 0}), d);
+		d.setBy1DIndex(DatasetFactory.createFromObject(new short[] {7, 8, 9}), DatasetFactory.createFromObject(new int[] {5, 4, 5}));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new short[] {1, 2, 1, 2, 8, 9}), d);
+
+		// bad indices leave dataset unchanged
+		for (int i : new int[] {-1, 6}) {
+			try {
+				DatasetUtils.put(d, new int[] {0, i}, 5);
+				fail("Should have thrown an exception");
+			} catch (IndexOutOfBoundsException ex) {
+				assertEquals("Index given is outside dataset", ex.getMessage());
+			}
+		}
+		assertEquals(1, d.getShort(0));
+	}
+
 	@Test
 	public void testReshape() {
 		Dataset a = DatasetFactory.createRange(IntegerDataset.class, 60);
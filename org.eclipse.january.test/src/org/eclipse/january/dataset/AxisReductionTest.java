@@ -0,0 +1,150 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class AxisReductionTest {
+
+	/**
+	 * Check reduction against statistics of each slice
+	 */
+	private static void checkSlices(Dataset a, int axis) {
+		AxisReduction r = AxisReduction.reduce(a, false, false, axis);
+		int[] shape = a.getShapeRef();
+		int[] nshape = ShapeUtils.reduceShape(shape, axis);
+		assertArrayEquals(nshape, r.getMean().getShapeRef());
+		assertEquals(InterfaceUtils.getLargestInterface(a), r.getSum().getClass());
+
+		SliceNDIterator it = new SliceNDIterator(new SliceND(shape), axis);
+		int[] pos = it.getUsedPos();
+		while (it.hasNext()) {
+			Dataset s = a.getSlice(it.getCurrentSlice()).flatten();
+			String m = "At " + it.getCurrentSlice();
+			assertEquals(m, s.getSize(), r.getCount().getLong(pos));
+			double v = s.variance();
+			assertEquals(m, ((Number) s.sum()).doubleValue(), r.getSum().getDouble(pos), 1e-12 * s.getSize());
+			assertEquals(m, ((Number) s.mean()).doubleValue(), r.getMean().getDouble(pos), 1e-12);
+			assertEquals(m, v, r.getVariance().getDouble(pos), 1e-12 * Math.max(1, v));
+			assertEquals(m, s.max().doubleValue(), r.getMaximum().getDouble(pos), 0);
+			assertEquals(m, s.min().doubleValue(), r.getMinimum().getDouble(pos), 0);
+			assertEquals(m, s.argMax(), r.getArgMaximum().getInt(pos));
+			assertEquals(m, s.argMin(), r.getArgMinimum().getInt(pos));
+		}
+	}
+
+	@Test
+	public void testAxes() {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {5, 6, 1, 70});
+		for (int i = 0; i < a.getRank(); i++) {
+			checkSlices(a, i);
+		}
+
+		Dataset b = Random.randint(-100, 100, new int[] {9, 8, 7});
+		checkSlices(b, 0);
+		checkSlices(b, 2);
+		Dataset v = b.getSliceView(new Slice(1, null, 2), new Slice(null, null, -3), new Slice(2, 6));
+		for (int i = 0; i < v.getRank(); i++) {
+			checkSlices(v, i);
+		}
+
+		checkSlices(Random.rand(new int[] {3, 10000}), 1);
+	}
+
+	@Test
+	public void testMultipleAxes() {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {4, 5, 6});
+		AxisReduction r = AxisReduction.reduce(a, false, false, 0, 2);
+		assertNull(r.getArgMaximum());
+		TestUtils.assertDatasetEquals(a.sum(2).sum(0), r.getSum(), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(a.max(2).max(0), r.getMaximum(), 0, 0);
+		for (int i = 0; i < 5; i++) {
+			Dataset s = a.getSliceView(null, new Slice(i, i + 1), null);
+			assertEquals(s.variance(), r.getVariance().getDouble(i), 1e-12);
+		}
+
+		r = AxisReduction.reduce(a, false, false, 0, 1, 2);
+		assertEquals(0, r.getMean().getRank());
+		assertEquals(((Number) a.mean()).doubleValue(), r.getMean().getDouble(), 1e-12);
+		assertEquals(a.getSize(), r.getCount().getLong());
+	}
+
+	@Test
+	public void testInvalids() {
+		Dataset a = DatasetFactory.createFromObject(new double[] {1, Double.NaN, 3, Double.POSITIVE_INFINITY, 2, -1,
+				4, 5, 6, Double.NaN, Double.NEGATIVE_INFINITY, 7}, 2, 6);
+
+		AxisReduction r = AxisReduction.reduce(a, false, false, 1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {Double.NaN, Double.NaN}), r.getMean(), 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {1, 3}), r.getArgMaximum());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new long[] {6, 6}), r.getCount());
+
+		r = AxisReduction.reduce(a, true, false, 1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}), r.getMean(), 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {3, 5}), r.getArgMaximum());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {5, 4}), r.getArgMinimum());
+
+		r = AxisReduction.reduce(a, true, true, 1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {5. / 4, 22. / 4}), r.getMean(), 1e-15, 1e-15);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {3, 7}), r.getMaximum(), 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new long[] {4, 4}), r.getCount());
+
+		r = AxisReduction.reduce(a, true, true, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {2.5, 5, 4.5, Double.NaN, 2, 3}), r.getMean(), 1e-15, 1e-15);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {4.5, 0, 4.5, Double.NaN, 0, 32}), r.getVariance(), 1e-15, 1e-15);
+	}
+
+	@Test
+	public void testInfinitiesMatchWholeDataset() {
+		double inf = Double.POSITIVE_INFINITY;
+		double[][] values = {{3, inf, 7}, {3, 7, inf}, {inf, 3, 7}, {-inf, 3, inf}, {inf, inf, 1}};
+		for (double[] v : values) {
+			String m = Arrays.toString(v);
+			Dataset d = DatasetFactory.createFromObject(v);
+			double mean = ((Number) d.mean()).doubleValue();
+			assertEquals(m, ((Number) d.sum()).doubleValue() / v.length, mean, 0);
+			assertEquals(m, mean, d.mean(0).getDouble(), 0);
+			assertEquals(m, Double.NaN, d.variance(), 0);
+			assertEquals(m, Double.NaN, d.variance(0).getDouble(), 0);
+
+			Dataset c = d.reshape(1, 3); // reduce over kept dimension
+			assertEquals(m, mean, c.transpose().mean(0).getDouble(0), 0);
+			assertEquals(m, Double.NaN, c.transpose().variance(0).getDouble(0), 0);
+		}
+	}
+
+	@Test
+	public void testCompound() {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {7, 9});
+		Dataset b = Random.rand(new int[] {7, 9});
+		CompoundDataset c = DatasetUtils.createCompoundDataset(a, b);
+		for (int i = 0; i < 2; i++) {
+			AxisReduction r = AxisReduction.reduce(c, false, false, i);
+			assertNull(r.getMaximum());
+			TestUtils.assertDatasetEquals(DatasetUtils.createCompoundDataset(a.mean(i), b.mean(i)), r.getMean(), 1e-12, 1e-12);
+			TestUtils.assertDatasetEquals(DatasetUtils.createCompoundDataset(a.variance(i), b.variance(i)), r.getVariance(), 1e-12, 1e-12);
+		}
+
+		Dataset z = DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, a, b);
+		Dataset s = AxisReduction.reduce(z, false, false, 0).getSum();
+		assertEquals(ComplexDoubleDataset.class, s.getClass());
+		TestUtils.assertDatasetEquals(DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, a.sum(0), b.sum(0)), s, 1e-12, 1e-12);
+	}
+}
@@ -0,0 +1,133 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.dataset.Binning.Mode;
+import org.junit.Test;
+
+public class BinningTest {
+
+	/**
+	 * Bin 2D dataset block by block
+	 */
+	private static Dataset binByBlocks(Dataset a, Mode mode, int fr, int fc) {
+		int[] shape = a.getShapeRef();
+		int[] oshape = Binning.getBinnedShape(shape, fr, fc);
+		Dataset r = DatasetFactory.zeros(oshape);
+		for (int i = 0; i < oshape[0]; i++) {
+			for (int j = 0; j < oshape[1]; j++) {
+				Dataset b = a.getSlice(new Slice(i * fr, Math.min(shape[0], (i + 1) * fr)), new Slice(j * fc, Math.min(shape[1], (j + 1) * fc)));
+				double v;
+				switch (mode) {
+				case SUM:
+					v = ((Number) b.sum()).doubleValue();
+					break;
+				case MEAN:
+					v = ((Number) b.mean()).doubleValue();
+					break;
+				case MAX:
+					v = b.max().doubleValue();
+					break;
+				default:
+					v = b.min().doubleValue();
+					break;
+				}
+				r.set(v, i, j);
+			}
+		}
+		return r;
+	}
+
+	@Test
+	public void testModes() {
+		Random.seed(12371);
+		Dataset a = Random.randint(-100, 100, new int[] {13, 22});
+		for (Mode m : Mode.values()) {
+			for (int[] f : new int[][] {{2, 2}, {3, 5}, {1, 4}, {13, 22}, {20, 1}}) {
+				Dataset b = Binning.bin(a, m, f);
+				assertEquals(m == Mode.MAX || m == Mode.MIN ? IntegerDataset.class : DoubleDataset.class, b.getClass());
+				TestUtils.assertDatasetEquals(binByBlocks(a, m, f[0], f[1]), b.cast(DoubleDataset.class), 1e-14, 1e-12);
+			}
+		}
+
+		assertArrayEquals(new int[] {7, 8}, Binning.getBinnedShape(a.getShapeRef(), 2, 3));
+		assertArrayEquals(new int[] {5, 8}, Binning.bin(a, Mode.SUM, 3).getShapeRef());
+	}
+
+	@Test
+	public void testStridedAndTypes() {
+		Random.seed(12371);
+		Dataset a = Random.rand(new int[] {20, 30}).cast(FloatDataset.class);
+		Dataset v = a.getSliceView(new Slice(1, null, 2), new Slice(null, null, 3));
+		Dataset b = Binning.bin(v, Mode.MEAN, 2);
+		assertEquals(FloatDataset.class, b.getClass());
+		TestUtils.assertDatasetEquals(binByBlocks(v.cast(DoubleDataset.class), Mode.MEAN, 2, 2), b.cast(DoubleDataset.class), 1e-6, 1e-6);
+
+		Dataset t = DatasetFactory.createRange(24).reshape(2, 3, 4);
+		TestUtils.assertDatasetEquals(t.sum(0).sum(0).reshape(1, 1, 4), Binning.bin(t, Mode.SUM, 2, 3, 1), 1e-14, 1e-14);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {23}).reshape(1, 1, 1), Binning.bin(t, Mode.MAX, 5), 1e-14, 1e-14);
+
+		Dataset bool = DatasetFactory.createFromObject(BooleanDataset.class, new boolean[] {true, false, false, false, true, true}, 3, 2);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(BooleanDataset.class, new boolean[] {true, true}), Binning.bin(bool, Mode.MAX, 2, 2).flatten());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {1, 2}), Binning.bin(bool, Mode.SUM, 2, 2).flatten(), 1e-14, 1e-14);
+	}
+
+	@Test
+	public void testCompound() {
+		Dataset a = DatasetFactory.createRange(24).reshape(4, 6);
+		Dataset c = DatasetUtils.createCompoundDataset(a, Maths.negative(a));
+		Dataset b = Binning.bin(c, Mode.MEAN, 2, 3);
+		assertEquals(CompoundDoubleDataset.class, b.getClass());
+		Dataset e = Binning.bin(a, Mode.MEAN, 2, 3);
+		TestUtils.assertDatasetEquals(DatasetUtils.createCompoundDataset(e, Maths.negative(e)), b, 1e-14, 1e-14);
+
+		RGBDataset rgb = RGBDataset.createFromCompoundDataset(DatasetUtils.createCompoundDataset(CompoundShortDataset.class, a, a, a));
+		Dataset m = Binning.bin(rgb, Mode.MAX, 2);
+		assertEquals(RGBDataset.class, m.getClass());
+		assertEquals(23, ((RGBDataset) m).getRed(1, 2));
+	}
+
+	@Test
+	public void testDirectBuffer() {
+		Dataset a = DatasetFactory.createRange(24).reshape(4, 6);
+		ByteBuffer b = ByteBuffer.allocateDirect(24 * 8).order(ByteOrder.nativeOrder());
+		b.asDoubleBuffer().put((double[]) a.getBuffer());
+		Dataset d = DatasetFactory.createFromBuffer(DoubleDataset.class, b, 4, 6);
+		Dataset l = DatasetFactory.createFromBuffer(LongDataset.class, b, 4, 3);
+		for (Mode m : Mode.values()) {
+			TestUtils.assertDatasetEquals(Binning.bin(a, m, 1, 2), Binning.bin(d, m, 1, 2), 1e-14, 1e-14);
+			TestUtils.assertDatasetEquals(Binning.bin(l.cast(LongDataset.class), m, 2), Binning.bin(l, m, 2));
+		}
+	}
+
+	@Test
+	public void testLazy() throws DatasetException {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {301, 7, 64});
+		ILazyDataset l = LazyDataset.createLazyDataset(a);
+		for (Mode m : Mode.values()) {
+			TestUtils.assertDatasetEquals(Binning.bin(a, m, 3, 2, 4), Binning.bin(l, m, 3, 2, 4), 1e-14, 1e-14);
+		}
+		TestUtils.assertDatasetEquals(Binning.bin(a.getSlice(new Slice(0)), Mode.SUM, 2), Binning.bin(l.getSliceView(new Slice(0)), Mode.SUM, 2), 1e-14, 1e-14);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadFactors() {
+		Binning.bin(DatasetFactory.zeros(3, 4), Mode.SUM, 2, 0);
+	}
+}
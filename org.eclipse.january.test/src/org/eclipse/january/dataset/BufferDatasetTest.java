@@ -0,0 +1,200 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class BufferDatasetTest {
+
+	private static DoubleDataset createDirect(ByteOrder order, int... shape) {
+		int size = ShapeUtils.calcSize(shape);
+		ByteBuffer b = ByteBuffer.allocateDirect(size * 8).order(order);
+		for (int i = 0; i < size; i++) {
+			b.putDouble(i * 8, i);
+		}
+		return DatasetFactory.createFromBuffer(DoubleDataset.class, b, shape);
+	}
+
+	@Test
+	public void testCreate() {
+		for (ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+			DoubleDataset d = createDirect(order, 3, 4);
+			assertTrue(d instanceof DoubleBufferDataset);
+			double[] copy = (double[]) d.getBuffer();
+			assertArrayEquals(new double[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, copy, 0);
+			copy[0] = -1;
+			assertEquals(0, d.getDouble(0, 0), 0);
+			assertEquals(0, d.getData()[0], 0);
+			assertEquals(Double.class, d.getElementClass());
+			assertEquals(DoubleDataset.class, InterfaceUtils.findSubInterface(d.getClass()));
+			assertTrue(((BufferDataset) d).getNioBuffer().isDirect());
+			TestUtils.assertDatasetEquals(DatasetFactory.createRange(12).reshape(3, 4), d, true, 0, 0);
+		}
+
+		Dataset i = DatasetFactory.createFromBuffer(IntBuffer.wrap(new int[] {4, 5, 6, 7}, 1, 3));
+		assertTrue(i instanceof IntegerBufferDataset);
+		assertArrayEquals(new int[] {3}, i.getShapeRef());
+		assertEquals(5, i.getInt(0));
+
+		try {
+			DatasetFactory.createFromBuffer(DoubleBuffer.allocate(5), 2, 3);
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+	@Test
+	public void testWriteThrough() {
+		double[] data = new double[] {0, 1, 2, 3, 4, 5};
+		DoubleBuffer b = DoubleBuffer.wrap(data);
+		Dataset d = DatasetFactory.createFromBuffer(b, 2, 3);
+
+		d.set(-1, 1, 2);
+		assertEquals(-1, data[5], 0);
+		d.iadd(10);
+		assertEquals(10, data[0], 0);
+		assertEquals(9, data[5], 0);
+
+		Dataset v = d.getSliceView(new Slice(null, null, -1), new Slice(1, 3));
+		v.imultiply(2);
+		assertEquals(22, data[1], 0);
+		assertEquals(28, data[4], 0);
+		v.setSlice(0, new Slice(1, 2));
+		assertEquals(0, data[1], 0);
+
+		Dataset c = d.clone();
+		assertTrue(c instanceof DoubleBufferDataset);
+		assertEquals(d, c);
+		c.set(100, 0, 0);
+		assertEquals(10, data[0], 0);
+		assertFalse(d.equals(c));
+		assertEquals(d, d.getSlice());
+
+		double[] other = new double[] {-1, -2, -3, -4, -5, -6};
+		d.overrideInternal(other, 3, 2);
+		assertArrayEquals(new int[] {3, 2}, d.getShapeRef());
+		assertEquals(-4, d.getDouble(1, 1), 0);
+		d.set(7, 2, 1);
+		assertEquals(7, other[5], 0);
+		assertEquals(18, data[5], 0);
+	}
+
+	@Test
+	public void testMaths() {
+		Dataset a = DatasetFactory.createRange(20).reshape(4, 5);
+		Dataset d = createDirect(ByteOrder.LITTLE_ENDIAN, 4, 5);
+
+		Dataset r = Maths.add(d, d.getSliceView(new Slice(1, 2)));
+		assertEquals(DoubleDataset.class, r.getClass());
+		TestUtils.assertDatasetEquals(Maths.add(a, a.getSliceView(new Slice(1, 2))), r, 0, 0);
+		TestUtils.assertDatasetEquals(Maths.sin(a), Maths.sin(d), true, 1e-15, 1e-15);
+		TestUtils.assertDatasetEquals(Maths.difference(a, 1, 0), Maths.difference(d, 1, 0), true, 0, 0);
+
+		assertEquals(a.sum(), d.sum());
+		assertEquals(a.mean(), d.mean());
+		assertArrayEquals(a.maxPos(), d.maxPos());
+		TestUtils.assertDatasetEquals(a.sum(1), d.sum(1), true, 0, 0);
+		TestUtils.assertDatasetEquals(a.getTransposedView().getSlice(), d.getTransposedView().getSlice(), true, 0, 0);
+		TestUtils.assertDatasetEquals(a.getSlice(new Slice(null, null, 2)), d.getSlice(new Slice(null, null, 2)), true, 0, 0);
+
+		d.set(Double.NaN, 2, 2);
+		assertTrue(d.containsNans());
+		DatasetUtils.makeFinite(d);
+		assertEquals(0, d.getDouble(2, 2), 0);
+
+		d.imultiply(-1).sort(null);
+		assertEquals(-19, d.getDouble(0, 0), 0);
+		assertEquals(0, d.getDouble(3, 4), 0);
+
+		Dataset i = DatasetFactory.createFromBuffer(IntegerDataset.class,
+				ByteBuffer.allocate(16).order(ByteOrder.BIG_ENDIAN).putInt(0, 6).putInt(4, 9));
+		i.idivide(DatasetFactory.createFromObject(new int[] {2, 0, 1, 1}));
+		assertArrayEquals(new int[] {3, 0, 0, 0}, (int[]) DatasetUtils.copy(IntegerDataset.class, i).getBuffer());
+	}
+
+	@Test
+	public void testOutput() {
+		Dataset a = DatasetFactory.createRange(6).reshape(2, 3);
+		Dataset d = createDirect(ByteOrder.LITTLE_ENDIAN, 2, 3);
+		assertEquals(a, d);
+		assertEquals(d, a);
+		assertEquals(a.hashCode(), d.hashCode());
+
+		try {
+			Maths.add(a, a, d);
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+		try {
+			Maths.sin(a, d);
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+		try {
+			Maths.abs(d, d);
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+		assertEquals(a, d);
+
+		d.iadd(a);
+		a.imultiply(2);
+		assertEquals(a, d);
+		d.setSlice(-1, new Slice(1, 2));
+		assertEquals(-1, d.getDouble(1, 2), 0);
+		assertFalse(a.equals(d));
+		assertFalse(d.equals(a));
+	}
+
+	@Test
+	public void testBufferView() {
+		Dataset a = DatasetFactory.createRange(IntegerDataset.class, 12).reshape(3, 4);
+		IntBuffer b = (IntBuffer) DatasetUtils.getBufferView(a.getSliceView(new Slice(1, 3)));
+		assertEquals(8, b.remaining());
+		assertEquals(4, b.get(0));
+		b.put(1, -5);
+		assertEquals(-5, a.getInt(1, 1));
+
+		Dataset d = DatasetFactory.createFromBuffer(b, 2, 4);
+		TestUtils.assertDatasetEquals(a.getSlice(new Slice(1, 3)), d, true, 0, 0);
+		IntBuffer c = (IntBuffer) DatasetUtils.getBufferView(d.getSliceView(new Slice(1, 2)));
+		assertEquals(4, c.remaining());
+		assertEquals(8, c.get(0));
+
+		try {
+			DatasetUtils.getBufferView(a.getSliceView(null, new Slice(1, 3)));
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+		try {
+			DatasetUtils.getBufferView(DatasetFactory.zeros(BooleanDataset.class, 2));
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+}
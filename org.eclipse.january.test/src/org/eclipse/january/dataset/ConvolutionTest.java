@@ -0,0 +1,256 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.dataset.Convolution.Boundary;
+import org.junit.Test;
+
+public class ConvolutionTest {
+
+	private static final double[] RAMP = {0, 1, 2, 3, 4};
+
+	private static final double[] FIVE = {1, 1, 1, 1, 1};
+
+	private static Dataset ramp() {
+		return DatasetFactory.createFromObject(RAMP);
+	}
+
+	@Test
+	public void testBoundaries() {
+		assertArrayEquals(new double[] {4, 6, 10, 14, 16}, correlate1d(FIVE, Boundary.REFLECT, 0), 1e-15);
+		assertArrayEquals(new double[] {3, 6, 10, 14, 17}, correlate1d(FIVE, Boundary.NEAREST, 0), 1e-15);
+		assertArrayEquals(new double[] {10, 10, 10, 10, 10}, correlate1d(FIVE, Boundary.WRAP, 0), 1e-15);
+		assertArrayEquals(new double[] {3, 6, 10, 10, 9}, correlate1d(FIVE, Boundary.CONSTANT, 0), 1e-15);
+		assertArrayEquals(new double[] {5, 7, 10, 11, 11}, correlate1d(FIVE, Boundary.CONSTANT, 1), 1e-15);
+
+		// halo larger than dataset
+		double[] w = new double[13];
+		w[0] = 1;
+		assertArrayEquals(new double[] {4, 4, 3, 2, 1}, correlate1d(w, Boundary.REFLECT, 0), 1e-15);
+		assertArrayEquals(new double[] {4, 0, 1, 2, 3}, correlate1d(w, Boundary.WRAP, 0), 1e-15);
+		assertArrayEquals(new double[] {0, 0, 0, 0, 0}, correlate1d(w, Boundary.NEAREST, 0), 1e-15);
+	}
+
+	private static double[] correlate1d(double[] w, Boundary mode, double cval) {
+		return ((DoubleDataset) Convolution.correlate1d(ramp(), w, 0, mode, cval)).getData();
+	}
+
+	@Test
+	public void testEvenKernels() {
+		// examples from SciPy's documentation
+		Dataset a = DatasetFactory.createFromObject(new double[] {2, 8, 0, 4, 1, 9, 9, 0});
+		double[] w = {1, 3};
+		assertEquals(DatasetFactory.createFromObject(new double[] {14, 24, 4, 13, 12, 36, 27, 0}),
+				Convolution.convolve1d(a, w, 0, Boundary.REFLECT, 0));
+		assertEquals(DatasetFactory.createFromObject(new double[] {8, 26, 8, 12, 7, 28, 36, 9}),
+				Convolution.correlate1d(a, w, 0, Boundary.REFLECT, 0));
+
+		Dataset k = DatasetFactory.createFromObject(w);
+		assertEquals(Convolution.convolve1d(a, w, 0, Boundary.REFLECT, 0), Convolution.convolve(a, k, Boundary.REFLECT, 0));
+		assertEquals(Convolution.correlate1d(a, w, 0, Boundary.REFLECT, 0), Convolution.correlate(a, k, Boundary.REFLECT, 0));
+	}
+
+	/**
+	 * Brute force correlation
+	 */
+	private static Dataset correlate(Dataset a, Dataset k, Boundary mode, double cval) {
+		int[] shape = a.getShapeRef();
+		int[] kshape = k.getShapeRef();
+		int rank = shape.length;
+		Dataset r = DatasetFactory.zeros(shape);
+		IndexIterator it = r.getIterator(true);
+		int[] pos = it.getPos();
+		int[] q = new int[rank];
+		while (it.hasNext()) {
+			double sum = 0;
+			IndexIterator kt = k.getIterator(true);
+			int[] kp = kt.getPos();
+			while (kt.hasNext()) {
+				boolean outside = false;
+				for (int d = 0; d < rank; d++) {
+					int i = pos[d] + kp[d] - kshape[d] / 2;
+					int n = shape[d];
+					while (i < 0 || i >= n) {
+						if (mode == Boundary.CONSTANT) {
+							outside = true;
+							break;
+						} else if (mode == Boundary.NEAREST) {
+							i = i < 0 ? 0 : n - 1;
+						} else if (mode == Boundary.WRAP) {
+							i += i < 0 ? n : -n;
+						} else {
+							i = i < 0 ? -1 - i : 2 * n - 1 - i;
+						}
+					}
+					q[d] = i;
+				}
+				sum += k.getDouble(kp) * (outside ? cval : a.getDouble(q));
+			}
+			r.set(sum, pos);
+		}
+		return r;
+	}
+
+	@Test
+	public void testND() {
+		Random.seed(12371);
+		Dataset a = Random.randn(37, 41, 5);
+		Dataset k = Random.randn(3, 4, 2);
+		k.set(0, 1, 1, 1);
+		for (Boundary mode : Boundary.values()) {
+			TestUtils.assertDatasetEquals(correlate(a, k, mode, 0.5), Convolution.correlate(a, k, mode, 0.5), 1e-12, 1e-12);
+		}
+
+		Dataset flipped = k.getSlice(new Slice(null, null, -1), new Slice(null, null, -1), new Slice(null, null, -1));
+		// convolution of odd kernel is correlation with flipped kernel
+		Dataset o = Random.randn(3, 5, 1);
+		TestUtils.assertDatasetEquals(Convolution.correlate(a, o.getSlice(new Slice(null, null, -1), new Slice(null, null, -1), null), Boundary.WRAP, 0),
+				Convolution.convolve(a, o, Boundary.WRAP, 0), 1e-12, 1e-12);
+		assertTrue(Convolution.convolve(a, flipped, Boundary.WRAP, 0) instanceof DoubleDataset);
+
+		// large images are split into tiles
+		a = Random.randn(300, 130);
+		k = Random.randn(5, 7);
+		TestUtils.assertDatasetEquals(correlate(a, k, Boundary.REFLECT, 0), Convolution.correlate(a, k, Boundary.REFLECT, 0), 1e-12, 1e-12);
+
+		// non-contiguous input
+		Dataset v = a.getSliceView(new Slice(null, null, 3), new Slice(100, 10, -2));
+		TestUtils.assertDatasetEquals(correlate(v, k, Boundary.NEAREST, 0), Convolution.correlate(v, k, Boundary.NEAREST, 0), 1e-12, 1e-12);
+	}
+
+	@Test
+	public void testSeparable() {
+		Random.seed(12371);
+		Dataset a = Random.randn(60, 70, 3);
+		double[] u = Random.randn(5).getData();
+		double[] v = Random.randn(4).getData();
+		Dataset k = DatasetFactory.zeros(5, 4, 1);
+		for (int i = 0; i < u.length; i++) {
+			for (int j = 0; j < v.length; j++) {
+				k.set(u[i] * v[j], i, j, 0);
+			}
+		}
+		for (Boundary mode : Boundary.values()) { // a non-zero constant is not separable
+			TestUtils.assertDatasetEquals(Convolution.correlate(a, k, mode, 0), Convolution.correlate(a, new double[][] {u, v}, new int[] {0, 1}, mode, 0), 1e-12, 1e-12);
+			TestUtils.assertDatasetEquals(Convolution.convolve(a, k, mode, 0), Convolution.convolve(a, new double[][] {v, u}, new int[] {1, 0}, mode, 0), 1e-12, 1e-12);
+		}
+		TestUtils.assertDatasetEquals(Convolution.correlate(a, k, Boundary.WRAP, 0), Convolution.correlate(a, new double[][] {u, v, {1}}, null, Boundary.WRAP, 0), 1e-12, 1e-12);
+		assertEquals(a, Convolution.correlate(a, new double[0][], new int[0], Boundary.WRAP, 0));
+	}
+
+	@Test
+	public void testUniformAndGaussian() {
+		Random.seed(12371);
+		Dataset a = Random.randn(40, 33);
+		Dataset box = DatasetFactory.ones(3, 4).idivide(12);
+		for (Boundary mode : Boundary.values()) {
+			TestUtils.assertDatasetEquals(Convolution.correlate(a, box, mode, 0), Convolution.uniformFilter(a, new int[] {3, 4}, mode, 0), 1e-12, 1e-12);
+		}
+
+		Dataset ones = DatasetFactory.ones(20, 30);
+		TestUtils.assertDatasetEquals(ones, Convolution.gaussianFilter(ones, 2.5, Boundary.REFLECT, 0), 1e-12, 1e-12);
+		Dataset g = Convolution.gaussianFilter(a, new double[] {1.5, 0}, Boundary.NEAREST, 0);
+		double[] w = new double[13];
+		double s = 0;
+		for (int i = 0; i < w.length; i++) {
+			s += w[i] = Math.exp(-0.5 * (i - 6) * (i - 6) / 2.25);
+		}
+		for (int i = 0; i < w.length; i++) {
+			w[i] /= s;
+		}
+		TestUtils.assertDatasetEquals(Convolution.correlate1d(a, w, 0, Boundary.NEAREST, 0), g, 1e-12, 1e-12);
+	}
+
+	/**
+	 * Brute force rank filter
+	 */
+	private static Dataset rankFilter(Dataset a, int[] size, Boundary mode, double cval, int rank) {
+		int[] shape = a.getShapeRef();
+		int[] q = new int[shape.length];
+		Dataset r = DatasetFactory.zeros(shape);
+		IndexIterator it = r.getIterator(true);
+		int[] pos = it.getPos();
+		int n = ShapeUtils.calcSize(size);
+		double[] values = new double[n];
+		while (it.hasNext()) {
+			Dataset k = DatasetFactory.zeros(size);
+			IndexIterator kt = k.getIterator(true);
+			int[] kp = kt.getPos();
+			int j = 0;
+			while (kt.hasNext()) {
+				boolean outside = false;
+				for (int d = 0; d < shape.length; d++) {
+					int i = pos[d] + kp[d] - size[d] / 2;
+					if (i < 0 || i >= shape[d]) {
+						if (mode != Boundary.CONSTANT) {
+							throw new IllegalArgumentException("Only constant mode supported");
+						}
+						outside = true;
+					}
+					q[d] = i;
+				}
+				values[j++] = outside ? cval : a.getDouble(q);
+			}
+			Arrays.sort(values);
+			r.set(values[rank < 0 ? n + rank : rank], pos);
+		}
+		return r;
+	}
+
+	@Test
+	public void testRankFilters() {
+		Random.seed(12371);
+		Dataset a = Random.randn(31, 26);
+		int[] size = {3, 4};
+		TestUtils.assertDatasetEquals(rankFilter(a, size, Boundary.CONSTANT, 0.25, 0), Convolution.minimumFilter(a, size, Boundary.CONSTANT, 0.25), 0, 0);
+		TestUtils.assertDatasetEquals(rankFilter(a, size, Boundary.CONSTANT, 0.25, -1), Convolution.maximumFilter(a, size, Boundary.CONSTANT, 0.25), 0, 0);
+		TestUtils.assertDatasetEquals(rankFilter(a, size, Boundary.CONSTANT, 0.25, 6), Convolution.medianFilter(a, size, Boundary.CONSTANT, 0.25), 0, 0);
+
+		size = new int[] {5};
+		for (int n : new int[] {1, 2, 4, 5, 11}) {
+			Dataset b = Random.randn(n);
+			TestUtils.assertDatasetEquals(rankFilter(b, size, Boundary.CONSTANT, -1, 4), Convolution.maximumFilter(b, size, Boundary.CONSTANT, -1), 0, 0);
+			TestUtils.assertDatasetEquals(rankFilter(b, size, Boundary.CONSTANT, -1, 2), Convolution.medianFilter(b, size, Boundary.CONSTANT, -1), 0, 0);
+		}
+
+		Dataset r = ramp();
+		assertEquals(DatasetFactory.createFromObject(new double[] {0, 0, 0, 1, 2}), Convolution.minimumFilter(r, size, Boundary.REFLECT, 0));
+		assertEquals(DatasetFactory.createFromObject(new double[] {4, 4, 3, 4, 4}), Convolution.maximumFilter(r, new int[] {4}, Boundary.WRAP, 0));
+	}
+
+	@Test
+	public void testTypes() {
+		Dataset i = DatasetFactory.createRange(IntegerDataset.class, 20).reshape(4, 5);
+		Dataset m = Convolution.medianFilter(i, new int[] {1, 3}, Boundary.NEAREST, 0);
+		assertTrue(m instanceof IntegerDataset);
+		assertEquals(i, m);
+		assertTrue(Convolution.maximumFilter(i, new int[] {1}, Boundary.NEAREST, 0) instanceof IntegerDataset);
+
+		Dataset u = Convolution.uniformFilter(i, new int[] {1, 2}, Boundary.NEAREST, 0);
+		assertTrue(u instanceof DoubleDataset);
+		assertEquals(0.5, u.getDouble(0, 1), 1e-15);
+
+		Dataset f = Convolution.gaussianFilter(i.cast(FloatDataset.class), 1, Boundary.REFLECT, 0);
+		assertTrue(f instanceof FloatDataset);
+		TestUtils.assertDatasetEquals(Convolution.gaussianFilter(i, 1, Boundary.REFLECT, 0), f.cast(DoubleDataset.class), 1e-6, 1e-6);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadKernel() {
+		Convolution.correlate(Random.randn(4, 4), Random.randn(3), Boundary.REFLECT, 0);
+	}
+}
@@ -0,0 +1,146 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.dataset.Binning.Mode;
+import org.eclipse.january.io.ILazyLoader;
+import org.junit.Test;
+
+public class DatasetPyramidTest {
+
+	/**
+	 * Loader that counts number of elements loaded
+	 */
+	static class CountingLoader implements ILazyLoader {
+		private static final long serialVersionUID = 1L;
+		private final Dataset data;
+		long loaded = 0;
+
+		CountingLoader(Dataset data) {
+			this.data = data;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return true;
+		}
+
+		@Override
+		public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			SliceND nslice = slice.clone();
+			nslice.updateSourceShape(data.getShapeRef());
+			Dataset d = data.getSlice(nslice);
+			loaded += d.getSize();
+			return d;
+		}
+	}
+
+	private static Dataset binLevels(Dataset a, Mode mode, int level, int... factors) {
+		int[] f = factors.clone();
+		for (int i = 0; i < f.length; i++) {
+			f[i] = (int) Math.pow(f[i], level);
+		}
+		return Binning.bin(a, mode, f);
+	}
+
+	@Test
+	public void testLevels() throws DatasetException {
+		Random.seed(12371);
+		Dataset a = Random.randint(0, 1000, new int[] {3, 1000, 700});
+		CountingLoader loader = new CountingLoader(a);
+		LazyDataset lazy = new LazyDataset(loader, "image", IntegerDataset.class, a.getShapeRef());
+
+		for (Mode m : Mode.values()) {
+			DatasetPyramid p = new DatasetPyramid(lazy, m, 1, 2, 2);
+			assertEquals(11, p.getLevels());
+			assertArrayEquals(new int[] {3, 125, 88}, p.getShape(3));
+			assertArrayEquals(new int[] {3, 1, 1}, p.getShape(10));
+			for (int l = 0; l < p.getLevels(); l++) {
+				Dataset e = binLevels(a, m, l, 1, 2, 2);
+				TestUtils.assertDatasetEquals(e, p.getSlice(l, null), 1e-12, 1e-12);
+				assertEquals(l == 0 ? IntegerDataset.class : e.getClass(), p.getLevel(l).getSlice().getClass());
+			}
+
+			// stepped slices
+			SliceND s = new SliceND(p.getShape(2), new Slice(1, 2), new Slice(240, 10, -7), new Slice(3, 160, 4));
+			TestUtils.assertDatasetEquals(binLevels(a, m, 2, 1, 2, 2).getSlice(s), p.getSlice(2, s), 1e-12, 1e-12);
+			TestUtils.assertDatasetEquals(binLevels(a, m, 2, 1, 2, 2).getSlice(s), DatasetUtils.convertToDataset(p.getLevel(2).getSlice(s)), 1e-12, 1e-12);
+		}
+	}
+
+	@Test
+	public void testLoading() throws DatasetException {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {2048, 1536});
+		CountingLoader loader = new CountingLoader(a);
+		LazyDataset lazy = new LazyDataset(loader, "image", DoubleDataset.class, a.getShapeRef());
+		DatasetPyramid p = new DatasetPyramid(lazy, Mode.MEAN, 2);
+
+		// zoomed-out view of part of image loads the tiles covering that part once
+		SliceND s = new SliceND(p.getShape(1), new Slice(0, 64), new Slice(0, 32));
+		Dataset e = Binning.bin(a, Mode.MEAN, 2).getSlice(s);
+		TestUtils.assertDatasetEquals(e, p.getSlice(1, s), 1e-12, 1e-12);
+		assertEquals(512 * 512, loader.loaded);
+		TestUtils.assertDatasetEquals(e, p.getSlice(1, s), 1e-12, 1e-12);
+		assertEquals(512 * 512, loader.loaded);
+		s = new SliceND(p.getShape(2), new Slice(0, 32), new Slice(0, 16));
+		TestUtils.assertDatasetEquals(Binning.bin(a, Mode.MEAN, 4).getSlice(s), p.getSlice(2, s), 1e-12, 1e-12);
+		assertEquals(1024 * 1024, loader.loaded);
+
+		// views of whole image at higher levels load it only once
+		TestUtils.assertDatasetEquals(Binning.bin(a, Mode.MEAN, 32), p.getSlice(5, null), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(Binning.bin(a, Mode.MEAN, 64), p.getSlice(6, null), 1e-12, 1e-12);
+		assertEquals(a.getSize(), loader.loaded);
+
+		// data loaded elsewhere
+		p.clear();
+		assertEquals(0, p.getCachedSize());
+		SliceND r = new SliceND(a.getShapeRef(), new Slice(512, 1024), null);
+		assertEquals(3, p.update(r, lazy.getSlice(r)));
+		long before = loader.loaded;
+		TestUtils.assertDatasetEquals(Binning.bin(a.getSlice(r), Mode.MEAN, 2), p.getSlice(1, new SliceND(p.getShape(1), new Slice(256, 512), null)), 1e-12, 1e-12);
+		assertEquals(before, loader.loaded);
+	}
+
+	@Test
+	public void testDirectBuffer() throws DatasetException {
+		Dataset a = DatasetFactory.createRange(60 * 40).reshape(60, 40);
+		ByteBuffer b = ByteBuffer.allocateDirect(a.getSize() * 8).order(ByteOrder.nativeOrder());
+		b.asDoubleBuffer().put((double[]) a.getBuffer());
+		DatasetPyramid p = new DatasetPyramid(DatasetFactory.createFromBuffer(DoubleDataset.class, b, 60, 40), Mode.MEAN, 2);
+		for (int l = 0; l < p.getLevels(); l++) {
+			TestUtils.assertDatasetEquals(binLevels(a, Mode.MEAN, l, 2, 2), p.getSlice(l, null), 1e-12, 1e-12);
+		}
+	}
+
+	@Test
+	public void testCacheLimit() throws DatasetException {
+		Dataset a = DatasetFactory.createRange(IntegerDataset.class, 600 * 600).reshape(600, 600);
+		CountingLoader loader = new CountingLoader(a);
+		LazyDataset lazy = new LazyDataset(loader, "image", IntegerDataset.class, a.getShapeRef());
+		DatasetPyramid p = new DatasetPyramid(lazy, Mode.MAX, new int[] {2}, 3, 70000);
+		assertEquals(3, p.getLevels());
+		TestUtils.assertDatasetEquals(Binning.bin(a, Mode.MAX, 2), p.getSlice(1, null));
+		assertTrue(p.getCachedSize() <= 70000);
+		TestUtils.assertDatasetEquals(Binning.bin(a, Mode.MAX, 4), p.getSlice(2, null));
+		assertTrue(p.getCachedSize() <= 70000);
+	}
+}
@@ -328,4 +328,56 @@ public class DatasetUtilsTest {
 			}
 		}
 	}
+
+	@Test
+	public void testUnique() {
+		Dataset a = DatasetFactory.createFromObject(new double[] {3, Double.NaN, -0., 1, 3, 0., Double.NaN, 1, 1}, 3, 3);
+		List<Dataset> r = DatasetUtils.unique(a, true, true, true);
+		assertEquals(4, r.size());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {-0., 0., 1, 3, Double.NaN}), r.get(0), 0, 0);
+		assertEquals(Double.doubleToLongBits(-0.), Double.doubleToLongBits(r.get(0).getDouble(0)));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {2, 5, 3, 0, 1}), r.get(1));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {3, 4, 0, 2, 3, 1, 4, 2, 2}, 3, 3), r.get(2));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {1, 1, 3, 2, 2}), r.get(3));
+		TestUtils.assertDatasetEquals(r.get(0), a.getUniqueItems(), 0, 0);
+
+		// transposed view
+		Dataset t = a.getTransposedView();
+		r = DatasetUtils.unique(t, true, true, false);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {6, 7, 1, 0, 2}), r.get(1));
+		TestUtils.assertDatasetEquals(r.get(0).getBy1DIndex((IntegerDataset) r.get(2).flatten()), t.flatten(), 0, 0);
+
+		// hashed and sorted paths
+		for (int m : new int[] {7, 3 * UniqueUtils.MAX_HASHED}) {
+			Dataset l = Maths.remainder(DatasetFactory.createRange(IntegerDataset.class, 5 * UniqueUtils.MAX_HASHED).imultiply(31), m).reshape(5, -1);
+			r = DatasetUtils.unique(l, false, true, true);
+			assertEquals(m, r.get(0).getSize());
+			TestUtils.assertDatasetEquals(DatasetFactory.createRange(IntegerDataset.class, m), r.get(0));
+			assertEquals(5 * UniqueUtils.MAX_HASHED, ((Number) r.get(2).sum()).intValue());
+			TestUtils.assertDatasetEquals(l, r.get(0).getBy1DIndex((IntegerDataset) r.get(1).flatten()).reshape(l.getShapeRef()));
+			TestUtils.assertDatasetEquals(r.get(0), l.getUniqueItems());
+		}
+
+		UnsignedByteDataset u = DatasetFactory.createFromObject(UnsignedByteDataset.class, (Object) new int[] {200, 3, 255, 3, 128});
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(UnsignedByteDataset.class, (Object) new int[] {3, 128, 200, 255}), u.getUniqueItems());
+		assertEquals(UnsignedByteDataset.class, DatasetUtils.unique(u, false, false, false).get(0).getClass());
+
+		Dataset s = DatasetFactory.createFromObject(new String[] {"b", "a", "c", "a"});
+		r = DatasetUtils.unique(s, false, false, true);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new String[] {"a", "b", "c"}), r.get(0));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {2, 1, 1}), r.get(1));
+
+		Dataset b = DatasetFactory.createFromObject(new boolean[] {true, true});
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new boolean[] {true}), b.getUniqueItems());
+	}
+
+	@Test
+	public void testFindIndexesForValues() {
+		Dataset a = DatasetFactory.createFromObject(new double[] {3, Double.NaN, -0., 1, 3, 5});
+		Dataset v = DatasetFactory.createFromObject(new double[] {0, 1, 3});
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {2, -1, 0, 1, 2, -1}), DatasetUtils.findIndexesForValues(a, v));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {-1, 0, -1}),
+				DatasetUtils.findIndexesForValues(a.getSliceView(new Slice(null, null, -2)), v.getSliceView(new Slice(1, 3))));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {2, 3, 0}), DatasetUtils.findFirstOccurrences(a, v));
+	}
 }
@@ -10,9 +10,17 @@
 package org.eclipse.january.dataset;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.january.asserts.TestUtils;
 import org.junit.Test;
@@ -172,4 +180,128 @@ public class DateDatasetTest {
 		assertTrue(t2 instanceof DateDataset);
 		TestUtils.assertDatasetEquals(t, t2);
 	}
+
+	private Date[] createDates(int numDates) {
+		int[] times = createOffsets(numDates);
+		Date[] dates = new Date[numDates];
+		for (int i = 0; i < numDates; i++) {
+			dates[i] = new Date(times[i] + START_DATE);
+		}
+		return dates;
+	}
+
+	@Test
+	public void testEpochConstructor() {
+		Date[] dates = createDates(10);
+		EpochDateDataset e = new EpochDateDataset(dates);
+		assertEquals(DateDataset.class, e.getClass().getInterfaces()[0]);
+		assertEquals(Dataset.DATE, e.getDType());
+		for (int i = 0; i < dates.length; i++) {
+			assertEquals(dates[i], e.getDate(i));
+			assertEquals(dates[i], e.getObject(i));
+			assertEquals(dates[i].getTime(), e.getLong(i));
+			assertEquals(dates[i].toInstant(), e.getInstantAbs(i));
+		}
+
+		DateDatasetImpl d = new DateDatasetImpl(dates);
+		TestUtils.assertDatasetEquals(d, e);
+		for (int i = 0; i < dates.length; i++) {
+			assertEquals(d.getString(i), e.getString(i));
+		}
+
+		EpochDateDataset c = DatasetFactory.createFromObject(EpochDateDataset.class, dates);
+		assertEquals(e, c);
+		c = DatasetUtils.cast(EpochDateDataset.class, d);
+		assertEquals(e, c);
+		c = DatasetFactory.createFromObject(EpochDateDataset.class, e.getData());
+		assertEquals(e, c);
+		c = DatasetFactory.zeros(EpochDateDataset.class, 3);
+		assertEquals(new Date(0), c.getDate(2));
+
+		c = DatasetFactory.createFromObject(EpochDateDataset.class, new Object[] {dates[1], null, d.getString(3), dates[4].toInstant()});
+		assertEquals(dates[1], c.getDate(0));
+		assertNull(c.getDate(1));
+		assertNull(c.getString(1));
+		assertEquals(dates[3], c.getDate(2));
+		assertEquals(dates[4], c.getDate(3));
+
+		c.set("2015-10-01T00:00:00Z", 1);
+		assertEquals(START_DATE, c.getLong(1));
+		c.fill(dates[2]);
+		assertEquals(dates[2], c.getDate(3));
+	}
+
+	@Test
+	public void testEpochKernels() {
+		Date[] dates = createDates(10);
+		EpochDateDataset e = new EpochDateDataset(dates);
+
+		Dataset diff = Maths.subtract(e.getSlice(new Slice(1, null)), e.getSlice(new Slice(null, -1)));
+		assertEquals(9, diff.getSize());
+		for (int i = 0; i < 9; i++) {
+			assertEquals(INTERVAL, diff.getLong(i));
+		}
+
+		BooleanDataset after = Comparisons.greaterThan(e, dates[4].getTime());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i > 4, after.getBoolean(i));
+		}
+
+		assertEquals(dates[9].getTime(), e.max().longValue());
+		assertEquals(dates[0].getTime(), e.min().longValue());
+	}
+
+	@Test
+	public void testEpochSliceAndSort() {
+		Date[] dates = createDates(12);
+		EpochDateDataset e = new EpochDateDataset(dates, 3, 4);
+
+		Dataset s = e.getSlice(new Slice(1, 3), new Slice(null, null, 2));
+		assertTrue(s instanceof EpochDateDataset);
+		assertEquals(dates[4], ((DateDataset) s).getDate(0, 0));
+		assertEquals(dates[10], ((DateDataset) s).getDate(1, 1));
+		assertTrue(e.getView(true) instanceof EpochDateDataset);
+		assertTrue(e.clone() instanceof EpochDateDataset);
+
+		EpochDateDataset r = new EpochDateDataset(new Date[] {dates[3], dates[1], dates[2], dates[1]});
+		EpochDateDataset u = r.getUniqueItems();
+		assertEquals(3, u.getSize());
+		assertEquals(dates[1], u.getDate(0));
+		r.sort(null);
+		assertEquals(dates[1], r.getDate(0));
+		assertEquals(dates[1], r.getDate(1));
+		assertEquals(dates[3], r.getDate(3));
+	}
+
+	@Test
+	public void testConcurrentFormatting() throws Exception {
+		final Date[] dates = createDates(200);
+		final DateDatasetImpl d = new DateDatasetImpl(dates);
+		final EpochDateDataset e = new EpochDateDataset(dates);
+		ExecutorService service = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				results.add(service.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for (int j = 0; j < 20; j++) {
+							for (int i = 0; i < dates.length; i++) {
+								if (!dates[i].equals(d.getDate(i)) || !d.getString(i).equals(e.getString(i))) {
+									return false;
+								}
+							}
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> f : results) {
+				assertTrue(f.get());
+			}
+		} finally {
+			service.shutdown();
+		}
+		assertEquals(Instant.ofEpochMilli(START_DATE), e.getInstantAbs(0));
+	}
 }
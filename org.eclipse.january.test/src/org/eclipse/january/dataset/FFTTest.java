@@ -0,0 +1,205 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.math3.complex.Complex;
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class FFTTest {
+
+	private static final double TOL = 1e-9;
+
+	/**
+	 * Naive discrete Fourier transform along last axis
+	 */
+	private static Dataset dft(Dataset a, boolean inverse) {
+		ComplexDoubleDataset c = DatasetUtils.copy(ComplexDoubleDataset.class, a);
+		int[] shape = c.getShapeRef();
+		int n = shape[shape.length - 1];
+		int lines = c.getSize() / n;
+		ComplexDoubleDataset r = DatasetFactory.zeros(ComplexDoubleDataset.class, shape);
+		double[] x = c.getData();
+		double[] y = r.getData();
+		double sign = inverse ? 1 : -1;
+		for (int l = 0; l < lines; l++) {
+			int o = 2 * l * n;
+			for (int k = 0; k < n; k++) {
+				double re = 0;
+				double im = 0;
+				for (int j = 0; j < n; j++) {
+					double t = sign * 2 * Math.PI * ((long) j * k % n) / n;
+					double cs = Math.cos(t);
+					double sn = Math.sin(t);
+					re += x[o + 2 * j] * cs - x[o + 2 * j + 1] * sn;
+					im += x[o + 2 * j] * sn + x[o + 2 * j + 1] * cs;
+				}
+				y[o + 2 * k] = inverse ? re / n : re;
+				y[o + 2 * k + 1] = inverse ? im / n : im;
+			}
+		}
+		return r;
+	}
+
+	private static Dataset randomComplex(int... shape) {
+		return DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, Random.randn(shape), Random.randn(shape));
+	}
+
+	@Test
+	public void testLengths() {
+		Random.seed(12371);
+		for (int n = 1; n <= 40; n++) {
+			checkLength(n);
+		}
+		for (int n : new int[] {37, 64, 101, 128, 210, 243, 997, 1000, 1024}) {
+			checkLength(n);
+		}
+	}
+
+	private void checkLength(int n) {
+		Dataset a = randomComplex(n);
+		Dataset f = FFT.fft(a);
+		double tol = TOL * n;
+		TestUtils.assertDatasetEquals(dft(a, false), f, tol, tol);
+		TestUtils.assertDatasetEquals(dft(a, true), FFT.ifft(a), tol, tol);
+		TestUtils.assertDatasetEquals(a, FFT.ifft(f), tol, tol);
+	}
+
+	@Test
+	public void testReal() {
+		Random.seed(12371);
+		for (int n = 1; n <= 34; n++) {
+			checkReal(n);
+		}
+		for (int n : new int[] {101, 256, 1000, 1022}) {
+			checkReal(n);
+		}
+	}
+
+	private void checkReal(int n) {
+		Dataset a = Random.randn(3, n);
+		double tol = TOL * n;
+		Dataset f = FFT.rfft(a);
+		assertArrayEquals(new int[] {3, n / 2 + 1}, f.getShapeRef());
+		TestUtils.assertDatasetEquals(dft(a, false).getSliceView(null, new Slice(n / 2 + 1)), f, tol, tol);
+		Dataset r = FFT.irfft(f, n, -1);
+		assertTrue(r instanceof DoubleDataset);
+		TestUtils.assertDatasetEquals(a, r, tol, tol);
+	}
+
+	@Test
+	public void testAxes() {
+		Random.seed(12371);
+		Dataset a = randomComplex(6, 7, 10);
+		Dataset e = a;
+		for (int axis = 2; axis >= 0; axis--) { // transform along each axis in turn
+			e = dft(e.swapAxes(axis, 2), false).swapAxes(axis, 2);
+		}
+		TestUtils.assertDatasetEquals(e, FFT.fftn(a), 1e-8, 1e-8);
+		TestUtils.assertDatasetEquals(e, FFT.fftn(a, null, new int[] {1, 0, -1}), 1e-8, 1e-8);
+		TestUtils.assertDatasetEquals(a, FFT.ifftn(FFT.fftn(a)), 1e-8, 1e-8);
+
+		Dataset e2 = dft(dft(a.swapAxes(1, 2), false).swapAxes(1, 2), false);
+		TestUtils.assertDatasetEquals(e2, FFT.fft2(a), 1e-8, 1e-8);
+		TestUtils.assertDatasetEquals(a, FFT.ifft2(FFT.fft2(a)), 1e-8, 1e-8);
+
+		e = dft(a.swapAxes(0, 2), false).swapAxes(0, 2);
+		TestUtils.assertDatasetEquals(e, FFT.fft(a, -1, 0), 1e-8, 1e-8);
+
+		// non-contiguous input
+		Dataset v = a.getSliceView(new Slice(null, null, 2), null, new Slice(1, 9));
+		TestUtils.assertDatasetEquals(dft(v, false), FFT.fft(v), 1e-8, 1e-8);
+	}
+
+	@Test
+	public void testRealN() {
+		Random.seed(12371);
+		for (int n : new int[] {8, 9}) {
+			Dataset a = Random.randn(5, 4, n);
+			Dataset f = FFT.rfftn(a, null, null);
+			Dataset e = FFT.fftn(a).getSliceView(null, null, new Slice(n / 2 + 1));
+			TestUtils.assertDatasetEquals(e, f, 1e-9, 1e-9);
+			TestUtils.assertDatasetEquals(a, FFT.irfftn(f, new int[] {5, 4, n}, null), 1e-9, 1e-9);
+
+			f = FFT.rfftn(a, null, new int[] {2, 0}); // real transform along last given axis
+			e = FFT.fftn(a, null, new int[] {2, 0}).getSliceView(new Slice(3), null, null);
+			TestUtils.assertDatasetEquals(e, f, 1e-9, 1e-9);
+			TestUtils.assertDatasetEquals(a, FFT.irfftn(f, new int[] {n, 5}, new int[] {2, 0}), 1e-9, 1e-9);
+		}
+
+		Dataset a = Random.randn(4, 6);
+		Dataset f = FFT.rfft(a, -1, 0);
+		assertArrayEquals(new int[] {3, 6}, f.getShapeRef());
+		TestUtils.assertDatasetEquals(a, FFT.irfft(f, 4, 0), 1e-9, 1e-9);
+	}
+
+	@Test
+	public void testPadding() {
+		Random.seed(12371);
+		Dataset a = randomComplex(2, 5);
+		Dataset p = DatasetFactory.zeros(ComplexDoubleDataset.class, 2, 8);
+		p.setSlice(a, null, new Slice(5));
+		TestUtils.assertDatasetEquals(FFT.fft(p), FFT.fft(a, 8, -1), 1e-9, 1e-9);
+		TestUtils.assertDatasetEquals(FFT.fft(a.getSlice((Slice) null, new Slice(3))), FFT.fft(a, 3, 1), 1e-9, 1e-9);
+
+		Dataset r = Random.randn(7);
+		Dataset f = FFT.rfft(r);
+		assertEquals(4, f.getSize());
+		assertEquals(6, FFT.irfft(f).getSize());
+		assertEquals(7, FFT.irfft(f, 7, 0).getSize());
+		TestUtils.assertDatasetEquals(r, FFT.irfft(f, 7, 0), 1e-9, 1e-9);
+	}
+
+	@Test
+	public void testFloat() {
+		Random.seed(12371);
+		Dataset a = Random.randn(16, 24).cast(FloatDataset.class);
+		Dataset f = FFT.fft2(a);
+		assertTrue(f instanceof ComplexFloatDataset);
+		TestUtils.assertDatasetEquals(FFT.fft2(a.cast(DoubleDataset.class)), f.cast(ComplexDoubleDataset.class), 1e-5, 1e-4);
+
+		Dataset r = FFT.rfft(a);
+		assertTrue(r instanceof ComplexFloatDataset);
+		Dataset b = FFT.irfft(r);
+		assertTrue(b instanceof FloatDataset);
+		TestUtils.assertDatasetEquals(a, b, 1e-5, 1e-5);
+
+		Dataset i = DatasetFactory.createRange(IntegerDataset.class, 12);
+		assertTrue(FFT.fft(i) instanceof ComplexDoubleDataset);
+		assertEquals(66, ((Complex) FFT.fft(i).getObject(0)).getReal(), 1e-12);
+	}
+
+	@Test
+	public void testInPlace() {
+		Random.seed(12371);
+		Dataset a = randomComplex(12, 10);
+		Dataset e = FFT.fft2(a);
+		Dataset o = a.clone();
+		assertSame(o, FFT.fftn(o, null, o));
+		TestUtils.assertDatasetEquals(e, o, 1e-9, 1e-9);
+		assertSame(o, FFT.ifftn(o, new int[] {-1, 0}, o));
+		TestUtils.assertDatasetEquals(a, o, 1e-9, 1e-9);
+
+		Dataset r = Random.randn(12, 10);
+		o = DatasetFactory.zeros(ComplexDoubleDataset.class, 12, 10);
+		assertSame(o, FFT.fftn(r, new int[] {0}, o));
+		TestUtils.assertDatasetEquals(FFT.fft(r, -1, 0), o, 1e-9, 1e-9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadOutput() {
+		FFT.fftn(Random.randn(4, 4), null, DatasetFactory.zeros(ComplexDoubleDataset.class, 4, 5));
+	}
+}
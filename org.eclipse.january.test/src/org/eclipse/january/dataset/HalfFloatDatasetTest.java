@@ -0,0 +1,147 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class HalfFloatDatasetTest {
+
+	@Test
+	public void testConversions() {
+		for (int i = 0; i < (1 << 16); i++) {
+			short h = (short) i;
+			float f = HalfFloatDataset.toFloat(h);
+			if (Float.isNaN(f)) {
+				assertTrue((i & 0x7c00) == 0x7c00 && (i & 0x3ff) != 0);
+				assertEquals(i | 0x200, HalfFloatDataset.toHalf(f) & 0xffff);
+			} else {
+				assertEquals(h, HalfFloatDataset.toHalf(f));
+			}
+		}
+
+		assertEquals(1f, HalfFloatDataset.toFloat((short) 0x3c00), 0);
+		assertEquals(HalfFloatDataset.MAX_VALUE, HalfFloatDataset.toFloat((short) 0x7bff), 0);
+		assertEquals(0x1p-24f, HalfFloatDataset.toFloat((short) 1), 0);
+		assertEquals(0x7c00, HalfFloatDataset.toHalf(65520f));
+		assertEquals(0x7bff, HalfFloatDataset.toHalf(65519.99f));
+		assertEquals(0, HalfFloatDataset.toHalf(0x1p-25f));
+		assertEquals(1, HalfFloatDataset.toHalf(0x1.000002p-25f));
+		assertEquals(2, HalfFloatDataset.toHalf(0x3p-25f)); // ties to even
+		assertEquals((short) 0x8000, HalfFloatDataset.toHalf(-0f));
+
+		// compare against nearest of neighbouring values
+		java.util.Random r = new java.util.Random(12371);
+		for (int i = 0; i < 100000; i++) {
+			float f = Float.intBitsToFloat(r.nextInt(0x477fe000));
+			short h = HalfFloatDataset.toHalf(f);
+			double e = Math.abs(HalfFloatDataset.toFloat(h) - (double) f);
+			for (int d = h == 0 ? 1 : -1; d <= 1; d += 2) {
+				double n = Math.abs(HalfFloatDataset.toFloat((short) (h + d)) - (double) f);
+				assertTrue(e < n || (e == n && (h & 1) == 0));
+			}
+		}
+	}
+
+	@Test
+	public void testDataset() {
+		Dataset a = DatasetFactory.createFromObject(HalfFloatDataset.class, new double[] {1, 0.1, -2.5, 70000, Double.NaN, 1e-8}, 2, 3);
+		assertEquals(Dataset.FLOAT16, a.getDType());
+		assertEquals("FLOAT16", DTypeUtils.getDTypeName(a));
+		assertEquals(2, a.getItemBytes());
+		assertEquals(Float.class, a.getElementClass());
+		assertTrue(a.hasFloatingPointElements());
+		assertArrayEquals(new short[] {0x3c00, 0x2e66, (short) 0xc100, 0x7c00, 0x7e00, 0}, (short[]) a.getBuffer());
+		assertEquals(0.0999755859375, a.getDouble(0, 1), 0);
+		assertEquals(Float.valueOf(-2.5f), a.getObject(0, 2));
+		assertTrue(a.containsNans());
+		assertTrue(a.containsInfs());
+
+		a.set(3, 1, 1);
+		assertFalse(a.containsNans());
+		assertEquals(Float.POSITIVE_INFINITY, a.max().floatValue(), 0);
+		assertEquals(-2.5f, a.min().floatValue(), 0);
+		assertArrayEquals(new int[] {0, 2}, a.minPos());
+
+		Dataset s = a.getSliceView(null, new Slice(null, null, -1));
+		assertEquals(HalfFloatDataset.class, s.getClass());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {-2.5f, 0.0999755859375f, 1}), s.getSlice(new Slice(0, 1), null).squeeze(), 0, 0);
+		assertEquals(HalfFloatDataset.class, a.clone().getClass());
+		assertEquals(a, a.clone());
+
+		Dataset u = a.clone().sort(1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {-2.5f, 0.0999755859375f, 1,
+				0, 3, Float.POSITIVE_INFINITY}, 2, 3), u, 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {-2.5f, 0, 0.0999755859375f, 1,
+				3, Float.POSITIVE_INFINITY}), a.getUniqueItems(), 0, 0);
+
+		Dataset f = DatasetUtils.cast(FloatDataset.class, a);
+		TestUtils.assertDatasetEquals(f, a, 0, 0);
+		assertEquals(a, DatasetUtils.cast(HalfFloatDataset.class, f));
+	}
+
+	@Test
+	public void testKernels() {
+		Dataset a = DatasetFactory.createRange(HalfFloatDataset.class, 10);
+		Dataset f = DatasetFactory.createRange(FloatDataset.class, 10);
+
+		Dataset r = Maths.add(a, 0.5f);
+		assertEquals(FloatDataset.class, r.getClass());
+		TestUtils.assertDatasetEquals(Maths.add(f, 0.5f), r, 0, 0);
+		assertEquals(FloatDataset.class, Maths.sin(a).getClass());
+		assertEquals(FloatDataset.class, Maths.multiply(a, a).getClass());
+		assertEquals(DoubleDataset.class, Maths.multiply(a, DatasetFactory.zeros(10)).getClass());
+		TestUtils.assertDatasetEquals(Maths.difference(f, 1, 0), Maths.difference(a, 1, 0), 0, 0);
+
+		assertEquals(((Number) f.sum()).doubleValue(), ((Number) a.sum()).doubleValue(), 0);
+		assertEquals(f.variance(), a.variance(), 1e-12);
+		assertEquals(f.argMax(), a.argMax());
+		TestUtils.assertDatasetEquals(f.reshape(2, 5).mean(1), a.reshape(2, 5).mean(1), 1e-12, 1e-12);
+		assertEquals(Stats.median(f), Stats.median(a));
+
+		// results are rounded to the 11-bit significand
+		Dataset c = DatasetFactory.createRange(HalfFloatDataset.class, 2048, 2058, 1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {2048, 2048, 2050, 2052, 2052, 2052, 2054, 2056, 2056, 2056}), c, 0, 0);
+		c.iadd(1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {2048, 2048, 2052, 2052, 2052, 2052, 2056, 2056, 2056, 2056}), c, 0, 0);
+		c.isubtract(DatasetFactory.ones(HalfFloatDataset.class, 10).imultiply(2048));
+		c.idivide(4);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {0, 0, 1, 1, 1, 1, 2, 2, 2, 2}), c, 0, 0);
+		c.ipower(3);
+		assertEquals(8, c.getFloat(9), 0);
+	}
+
+	@Test
+	public void testSetByIndex() {
+		Dataset a = DatasetFactory.zeros(HalfFloatDataset.class, 2, 3);
+		a.setByBoolean(0.1, Comparisons.equalTo(DatasetFactory.createRange(6).reshape(2, 3), 4));
+		assertEquals(0.0999755859375, a.getDouble(1, 1), 0);
+		a.setBy1DIndex(DatasetFactory.createFromObject(HalfFloatDataset.class, new double[] {2.5, 70000}), DatasetFactory.createFromObject(new int[] {0, 5}));
+		a.setByIndexes(-1, DatasetFactory.createFromObject(new int[] {0}), DatasetFactory.createFromObject(new int[] {2}));
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new float[] {2.5f, 0, -1, 0, 0.0999755859375f, Float.POSITIVE_INFINITY}, 2, 3), a, 0, 0);
+		a.setBy1DIndex(DatasetFactory.createFromObject(new double[] {3, 4}), DatasetFactory.createFromObject(new int[] {1, 3}));
+		assertArrayEquals(new short[] {0x4100, 0x4200, (short) 0xbc00, 0x4400, 0x2e66, 0x7c00}, (short[]) a.getBuffer());
+	}
+
+	@Test
+	public void testLazy() throws Exception {
+		Dataset a = DatasetFactory.createRange(HalfFloatDataset.class, 24).reshape(2, 3, 4);
+		ILazyDataset l = LazyDataset.createLazyDataset(a);
+		assertEquals(Float.class, l.getElementClass());
+		Dataset s = DatasetUtils.convertToDataset(l.getSlice(new Slice(1, 2), null, new Slice(null, null, 2)));
+		assertEquals(HalfFloatDataset.class, s.getClass());
+		TestUtils.assertDatasetEquals(a.getSlice(new Slice(1, 2), null, new Slice(null, null, 2)), s, true, 0, 0);
+	}
+}
@@ -16,10 +16,16 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.io.ILazyBatchLoader;
+import org.eclipse.january.io.ILazyLoader;
 import org.eclipse.january.metadata.AxesMetadata;
 import org.eclipse.january.metadata.MetadataFactory;
 import org.junit.Test;
@@ -756,4 +762,104 @@ public class LazyDatasetTest {
 			}
 		}
 	}
+
+	private static class CountingLoader implements ILazyLoader {
+		private static final long serialVersionUID = 1L;
+		protected final Dataset data;
+		int calls = 0;
+		long items = 0;
+
+		CountingLoader(Dataset data) {
+			this.data = data;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return true;
+		}
+
+		@Override
+		public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			calls++;
+			items += ShapeUtils.calcLongSize(slice.getShape());
+			return data.getSlice(slice);
+		}
+
+	}
+
+	private static class BatchCountingLoader extends CountingLoader implements ILazyBatchLoader {
+		private static final long serialVersionUID = 1L;
+
+		BatchCountingLoader(Dataset data) {
+			super(data);
+		}
+
+		@Override
+		public List<Dataset> getDatasets(IMonitor mon, List<SliceND> slices) throws IOException {
+			calls++;
+			List<Dataset> list = new ArrayList<>();
+			for (SliceND s : slices) {
+				items += ShapeUtils.calcLongSize(s.getShape());
+				list.add(data.getSlice(s));
+			}
+			return list;
+		}
+	}
+
+	@Test
+	public void testGetSlices() throws Exception {
+		Dataset d = DatasetFactory.createRange(IntegerDataset.class, 10 * 12).reshape(10, 12);
+		CountingLoader loader = new CountingLoader(d);
+		LazyDataset ld = new LazyDataset(loader, "test", IntegerDataset.class, 10, 12);
+
+		int[] shape = d.getShapeRef();
+		List<SliceND> slices = new ArrayList<>();
+		slices.add(new SliceND(shape, new Slice(0, 2), new Slice(0, 6)));
+		slices.add(new SliceND(shape, new Slice(0, 2), new Slice(6, 12))); // adjacent
+		slices.add(new SliceND(shape, new Slice(2, 4), new Slice(null, null, -1))); // adjacent and reversed
+		slices.add(new SliceND(shape, new Slice(1, 3), new Slice(3, 5))); // overlapping and inside
+		slices.add(new SliceND(shape, new Slice(8, 9), new Slice(0, 1))); // isolated
+		slices.add(new SliceND(shape, new Slice(0, 10, 3), new Slice(1, 2))); // strided
+		slices.add(new SliceND(shape, new Slice(5, 5), null)); // empty
+
+		List<Dataset> results = ld.getSlices(null, slices);
+		assertEquals(slices.size(), results.size());
+		for (int i = 0; i < slices.size(); i++) {
+			assertDatasetEquals(d.getSlice(slices.get(i)), results.get(i));
+		}
+		assertEquals(3, loader.calls);
+		assertEquals(48 + 1 + 4, loader.items);
+
+		loader = new BatchCountingLoader(d);
+		ld = new LazyDataset(loader, "test", IntegerDataset.class, 10, 12);
+		results = ld.getSlices(null, slices);
+		for (int i = 0; i < slices.size(); i++) {
+			assertDatasetEquals(d.getSlice(slices.get(i)), results.get(i));
+		}
+		assertEquals(1, loader.calls);
+
+		// partially overlapping slices are not merged when their bounding box has unrequested items
+		loader = new CountingLoader(d);
+		ld = new LazyDataset(loader, "test", IntegerDataset.class, 10, 12);
+		slices.clear();
+		slices.add(new SliceND(shape, new Slice(0, 2), new Slice(0, 3)));
+		slices.add(new SliceND(shape, new Slice(1, 3), new Slice(0, 2)));
+		results = ld.getSlices(null, slices);
+		for (int i = 0; i < slices.size(); i++) {
+			assertDatasetEquals(d.getSlice(slices.get(i)), results.get(i));
+		}
+		assertEquals(2, loader.calls);
+		assertEquals(6 + 4, loader.items);
+
+		// through a transposed and sliced view
+		LazyDataset view = ld.getTransposedView().getSliceView(new Slice(2, 10), new Slice(1, null));
+		Dataset dv = d.getTransposedView().getSliceView(new Slice(2, 10), new Slice(1, null));
+		slices.clear();
+		slices.add(new SliceND(dv.getShapeRef(), new Slice(0, 3), new Slice(0, 4)));
+		slices.add(new SliceND(dv.getShapeRef(), new Slice(3, 8), new Slice(0, 4)));
+		results = view.getSlices(null, slices);
+		for (int i = 0; i < slices.size(); i++) {
+			assertDatasetEquals(dv.getSlice(slices.get(i)), results.get(i));
+		}
+	}
 }
@@ -9,9 +9,16 @@
 
 package org.eclipse.january.dataset;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
 import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.io.ILazyDynamicLoader;
+import org.eclipse.january.io.ILazyLoader;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -82,4 +89,125 @@ public class LazyDynamicDatasetTest {
 		}
 		Assert.assertEquals(repeat, counter.count);
 	}
+
+	@Test
+	public void testAppendedRegions() {
+		SliceND[] r = LazyDynamicDataset.calcAppendedRegions(new int[] {2, 3}, new int[] {4, 5});
+		Assert.assertEquals(2, r.length);
+		Assert.assertEquals("[:2,3:, 2:,:]", Arrays.toString(r));
+
+		r = LazyDynamicDataset.calcAppendedRegions(new int[] {0, 4}, new int[] {3, 4});
+		Assert.assertEquals(1, r.length);
+		Assert.assertEquals(":,:", r[0].toString());
+		Assert.assertEquals(0, LazyDynamicDataset.calcAppendedRegions(new int[] {3, 4}, new int[] {3, 4}).length);
+		Assert.assertEquals(0, LazyDynamicDataset.calcAppendedRegions(new int[] {0, 0}, new int[] {0, 4}).length);
+		Assert.assertNull(LazyDynamicDataset.calcAppendedRegions(new int[] {1, 4}, new int[] {2, 3}));
+
+		IDynamicDataset lazy = createDynamic();
+		final List<DataEvent> events = new ArrayList<>();
+		lazy.addDataListener(new IDataListener() {
+			@Override
+			public void dataChangePerformed(DataEvent evt) {
+				events.add(evt);
+			}
+		});
+		lazy.resize(2, 4);
+		lazy.fireDataListeners();
+		lazy.resize(5, 4);
+		Assert.assertEquals(3, events.size());
+		Assert.assertEquals("[:,:]", Arrays.toString(events.get(0).getAppended()));
+		Assert.assertEquals(0, events.get(1).getAppended().length);
+		Assert.assertEquals("[2:,:]", Arrays.toString(events.get(2).getAppended()));
+	}
+
+	/**
+	 * Loader that exposes growing part of a dataset
+	 */
+	static class GrowingLoader implements ILazyLoader, ILazyDynamicLoader {
+		private static final long serialVersionUID = 1L;
+		private final Dataset data;
+		int[] shape;
+
+		GrowingLoader(Dataset data, int... shape) {
+			this.data = data;
+			this.shape = shape;
+		}
+
+		@Override
+		public int[] refreshShape() {
+			return shape.clone();
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return true;
+		}
+
+		@Override
+		public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			SliceND nslice = slice.clone();
+			nslice.updateSourceShape(data.getShapeRef());
+			return data.getSlice(nslice);
+		}
+	}
+
+	@Test
+	public void testTailer() throws DatasetException {
+		final Dataset data = DatasetFactory.createRange(IntegerDataset.class, 10 * 6).reshape(10, 2, 3);
+		GrowingLoader loader = new GrowingLoader(data, 0, 2, 3);
+		LazyDynamicDataset lazy = new LazyDynamicDataset(loader, "test", 1, IntegerDataset.class, new int[] {0, 2, 3}, new int[] {IDynamicDataset.UNLIMITED, 2, 3});
+
+		final List<Integer> frames = new ArrayList<>();
+		final Dataset sum = DatasetFactory.zeros(LongDataset.class, 2, 3);
+		final boolean[] fail = {false};
+		DynamicDatasetTailer tailer = new DynamicDatasetTailer(lazy, 3, new DynamicDatasetTailer.IRegionConsumer() {
+			@Override
+			public void consume(SliceND region, Dataset d) throws Exception {
+				if (fail[0]) {
+					fail[0] = false;
+					throw new IllegalStateException("Not ready");
+				}
+				for (int i = region.getStart()[0]; i < region.getStop()[0]; i++) {
+					frames.add(i);
+				}
+				sum.iadd(d.sum(0));
+			}
+		});
+		tailer.start();
+
+		loader.shape[0] = 2;
+		lazy.refreshShape();
+		Assert.assertEquals(Arrays.asList(0, 1), frames);
+
+		fail[0] = true;
+		loader.shape[0] = 7;
+		lazy.refreshShape(); // first batch fails so all is passed again on next event
+		Assert.assertEquals(2, frames.size());
+		Assert.assertArrayEquals(new int[] {2, 2, 3}, tailer.getPassedShape());
+		lazy.fireDataListeners();
+		Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), frames);
+
+		loader.shape[0] = 10;
+		lazy.refreshShape();
+		tailer.stop();
+		Assert.assertEquals(0, tailer.poll());
+		Assert.assertEquals(10, frames.size());
+		TestUtils.assertDatasetEquals(data.sum(0), sum);
+
+		// grows in two dimensions
+		lazy = new LazyDynamicDataset(new GrowingLoader(data, 4, 1, 2), "test", 1, IntegerDataset.class, new int[] {4, 1, 2}, new int[] {10, 2, 3});
+		final Dataset seen = DatasetFactory.zeros(IntegerDataset.class, 10, 2, 3);
+		tailer = new DynamicDatasetTailer(lazy, new DynamicDatasetTailer.IRegionConsumer() {
+			@Override
+			public void consume(SliceND region, Dataset d) throws Exception {
+				seen.getSliceView(region.getStart(), region.getStop(), null).iadd(1);
+			}
+		});
+		Assert.assertEquals(1, tailer.poll());
+		lazy.resize(6, 2, 3);
+		Assert.assertEquals(3, tailer.poll());
+		Assert.assertArrayEquals(new int[] {6, 2, 3}, tailer.getPassedShape());
+		Assert.assertEquals(1, seen.getSlice(new Slice(6)).min().intValue());
+		Assert.assertEquals(1, seen.max().intValue());
+	}
 }
@@ -10,6 +10,7 @@
 package org.eclipse.january.dataset;
 
 import org.eclipse.january.asserts.TestUtils;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -231,4 +232,35 @@ public class LazyMathsTest {
 		TestUtils.assertDatasetEquals(e, LazyMaths.mean(a, 0).getErrors(), 1e-9, 1e-15);
 
 	}
+
+	@Test
+	public void testQuantiles() throws Exception {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {40, 100, 50});
+		ILazyDataset l = LazyDataset.createLazyDataset(a);
+		double e = 3 * QuantileSketch.getNormalizedRankError(QuantileSketch.DEFAULT_K) * a.getSize();
+		double[] q = LazyMaths.quantile(l, 0, 0.1, 0.5, 0.99, 1);
+		Dataset sorted = a.flatten().sort(null);
+		for (int i = 0; i < q.length; i++) {
+			int r = DatasetUtils.findIndexGreaterThanOrEqualTo(sorted, q[i]);
+			double expected = new double[] {0, 0.1, 0.5, 0.99, 1}[i] * (a.getSize() - 1);
+			Assert.assertEquals(expected, r, e);
+		}
+		Assert.assertEquals(a.min().doubleValue(), q[0], 0);
+		Assert.assertEquals(a.max().doubleValue(), q[4], 0);
+
+		Assert.assertEquals(((Number) Stats.median(a)).doubleValue(), LazyMaths.median(l), 0.05);
+		Assert.assertEquals(((Number) Stats.iqr(a)).doubleValue(), LazyMaths.iqr(l), 0.1);
+	}
+
+	@Test
+	public void testCovariance() throws Exception {
+		Random.seed(12371);
+		Dataset a = Random.randn(new int[] {2 * CovarianceUtils.BLOCK + 100, 40});
+		ILazyDataset l = LazyDataset.createLazyDataset(a);
+		TestUtils.assertDatasetEquals(Stats.covariance(a, false, false, null), LazyMaths.covariance(l, false, false, null), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(Stats.covariance(a.transpose(), true, true, null), LazyMaths.covariance(l, false, true, null), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(Stats.correlation(a, false), LazyMaths.correlation(l, false), 1e-12, 1e-12);
+		Assert.assertEquals(0, LazyMaths.covariance(LazyDataset.createLazyDataset(a.getSlice((Slice) null, new Slice(0, 1)).squeeze()), true, false, null).getRank());
+	}
 }
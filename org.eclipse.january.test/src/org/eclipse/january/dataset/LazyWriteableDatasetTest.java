@@ -9,8 +9,18 @@
 
 package org.eclipse.january.dataset;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.io.ILazyDynamicLoader;
+import org.eclipse.january.io.ILazySaver;
 import org.junit.Test;
 
 public class LazyWriteableDatasetTest {
@@ -104,4 +114,82 @@ public class LazyWriteableDatasetTest {
 		sv.setSlice(sd, null);
 		assertEquals(dv, sd);
 	}
+
+	/**
+	 * In-memory saver that grows its data when written beyond its shape
+	 */
+	static class GrowingSaver implements ILazySaver, ILazyDynamicLoader {
+		private static final long serialVersionUID = ILazySaver.serialVersionUID;
+		Dataset d;
+
+		GrowingSaver(Dataset d) {
+			this.d = d;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return true;
+		}
+
+		@Override
+		public boolean isFileWriteable() {
+			return true;
+		}
+
+		@Override
+		public void initialize() throws IOException {
+		}
+
+		@Override
+		public int[] refreshShape() {
+			return d.getShape();
+		}
+
+		@Override
+		public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			return d.getSlice(mon, slice);
+		}
+
+		@Override
+		public void setSlice(IMonitor mon, IDataset data, SliceND slice) throws IOException {
+			if (slice.isExpanded()) {
+				Dataset od = d;
+				d = DatasetFactory.zeros(od.getClass(), slice.getSourceShape());
+				d.setSlice(od, SliceND.createSlice(d, null, od.getShapeRef()));
+			}
+			d.setSlice(data, slice);
+		}
+	}
+
+	@Test
+	public void testWrittenRegionsInEvents() throws Exception {
+		Dataset d = DatasetFactory.zeros(IntegerDataset.class, 2, 3);
+		LazyWriteableDataset ld = new LazyWriteableDataset(new GrowingSaver(d), "test", 1, IntegerDataset.class, d.getShapeRef(), new int[] {-1, 3}, null);
+		final List<DataEvent> events = new ArrayList<>();
+		ld.addDataListener(new IDataListener() {
+			@Override
+			public void dataChangePerformed(DataEvent evt) {
+				events.add(evt);
+			}
+		});
+
+		// overwrite existing data
+		SliceND s = new SliceND(ld.getShape(), new Slice(1, 2), null);
+		ld.setSlice(DatasetFactory.ones(IntegerDataset.class, s.getShape()), s);
+		assertEquals(1, events.size());
+		assertEquals(0, events.get(0).getAppended().length);
+		assertEquals("[1,:]", Arrays.toString(events.get(0).getWritten()));
+
+		// write beyond end so shape grows
+		s = new SliceND(ld.getShape(), ld.getMaxShape(), new Slice(2, 4), null);
+		ld.setSlice(DatasetFactory.ones(IntegerDataset.class, s.getShape()), s);
+		assertEquals(2, events.size());
+		assertArrayEquals(new int[] {4, 3}, events.get(1).getShape());
+		assertEquals("[2:,:]", Arrays.toString(events.get(1).getAppended()));
+		assertEquals("[2:,:]", Arrays.toString(events.get(1).getWritten()));
+
+		ld.fireDataListeners();
+		assertEquals(0, events.get(2).getAppended().length);
+		assertNull(events.get(2).getWritten());
+	}
 }
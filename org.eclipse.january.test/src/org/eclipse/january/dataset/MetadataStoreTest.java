@@ -0,0 +1,174 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.january.MetadataException;
+import org.eclipse.january.metadata.AxesMetadata;
+import org.eclipse.january.metadata.MetadataFactory;
+import org.eclipse.january.metadata.MetadataType;
+import org.eclipse.january.metadata.StatisticsMetadata;
+import org.eclipse.january.metadata.internal.SliceableTestMetadata;
+import org.junit.Test;
+
+public class MetadataStoreTest {
+
+	private static AbstractDataset createWithAxes() throws MetadataException {
+		AbstractDataset a = (AbstractDataset) DatasetFactory.createRange(60).reshape(3, 4, 5);
+		AxesMetadata am = MetadataFactory.createMetadata(AxesMetadata.class, 3);
+		am.setAxis(0, DatasetFactory.createRange(3));
+		am.setAxis(2, DatasetFactory.createRange(5));
+		a.addMetadata(am);
+		return a;
+	}
+
+	@Test
+	public void testSharedViews() throws MetadataException {
+		AbstractDataset a = createWithAxes();
+		AbstractDataset v = a.getView(false);
+		assertSame(a.metadata, v.metadata);
+		assertSame(a.getFirstMetadata(AxesMetadata.class), v.getFirstMetadata(AxesMetadata.class));
+
+		// modifications are not seen by views
+		a.clearMetadata(AxesMetadata.class);
+		assertNull(a.getFirstMetadata(AxesMetadata.class));
+		assertNotNull(v.getFirstMetadata(AxesMetadata.class));
+
+		v.addMetadata(MetadataFactory.createMetadata(AxesMetadata.class, 3));
+		assertEquals(2, v.getMetadata(AxesMetadata.class).size());
+		assertTrue(a.getMetadata(AxesMetadata.class).isEmpty());
+	}
+
+	@Test
+	public void testLazySlicing() throws Exception {
+		AbstractDataset a = createWithAxes();
+		AbstractDataset v = (AbstractDataset) a.getSliceView(new Slice(1, 3), null, new Slice(null, null, 2));
+		assertTrue(v.metadata.isPending());
+		AbstractDataset w = (AbstractDataset) v.getSliceView(new Slice(1), null, new Slice(1, 3));
+		assertTrue(v.metadata.isPending());
+		assertTrue(w.metadata.isPending());
+
+		AxesMetadata wm = w.getFirstMetadata(AxesMetadata.class);
+		assertFalse(w.metadata.isPending());
+		assertArrayEquals(new int[] {1, 4, 2}, w.getShapeRef());
+		assertEquals(1, wm.getAxis(0)[0].getSize());
+		assertEquals(2, wm.getAxis(2)[0].getSize());
+		assertEquals(4., ((Dataset) wm.getAxis(2)[0].getSlice()).flatten().getDouble(1), 0);
+
+		AxesMetadata vm = v.getFirstMetadata(AxesMetadata.class);
+		assertNotSame(vm, a.getFirstMetadata(AxesMetadata.class));
+		assertEquals(2, vm.getAxis(0)[0].getSize());
+		assertEquals(3, vm.getAxis(2)[0].getSize());
+		assertEquals(1., ((Dataset) vm.getAxis(0)[0].getSlice()).flatten().getDouble(0), 0);
+
+		Dataset s = a.getSlice(new Slice(2, 3));
+		assertEquals(1, s.getFirstMetadata(AxesMetadata.class).getAxis(0)[0].getSize());
+	}
+
+	@Test
+	public void testIncompatibleSliceFailsOnView() throws MetadataException {
+		AbstractDataset a = createWithAxes();
+		Map<String, BooleanDataset> map = new HashMap<>();
+		map.put("m", DatasetFactory.zeros(BooleanDataset.class, 3, 4, 3));
+		a.addMetadata(new SliceableTestMetadata(null, null, null, map, null));
+		try {
+			a.getSliceView(new Slice(1, 3));
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+		assertNotNull(a.getFirstMetadata(AxesMetadata.class));
+
+		map.put("m", DatasetFactory.zeros(BooleanDataset.class, 3, 1, 5));
+		a.setMetadata(new SliceableTestMetadata(null, null, null, map, null));
+		AbstractDataset v = (AbstractDataset) a.getSliceView(new Slice(1, 3));
+		AbstractDataset w = (AbstractDataset) v.getSliceView(new Slice(1), new Slice(1, 3));
+		assertTrue(v.metadata.isPending());
+		assertTrue(w.metadata.isPending());
+		SliceableTestMetadata wm = w.getFirstMetadata(SliceableTestMetadata.class);
+		assertArrayEquals(new int[] {1, 1, 5}, wm.getMap().get("m").getShape());
+	}
+
+	@Test
+	public void testMetadataAccess() throws MetadataException {
+		AbstractDataset a = createWithAxes();
+		List<AxesMetadata> l = a.getMetadata(AxesMetadata.class);
+		l.clear();
+		assertEquals(1, a.getMetadata(AxesMetadata.class).size());
+
+		Map<Class<? extends MetadataType>, List<MetadataType>> map = a.getMetadataMap();
+		assertEquals(1, map.get(AxesMetadata.class).size());
+		AbstractDataset b = (AbstractDataset) DatasetFactory.createRange(60).reshape(3, 4, 5);
+		assertNull(b.getMetadataMap());
+		b.setMetadataMap(map);
+		assertSame(a.getFirstMetadata(AxesMetadata.class), b.getFirstMetadata(AxesMetadata.class));
+		b.setMetadataMap(null);
+		assertNull(b.getFirstMetadata(AxesMetadata.class));
+	}
+
+	@Test
+	public void testDirtyItemsNotCopied() throws MetadataException {
+		Dataset a = DatasetFactory.createRange(12).reshape(3, 4);
+		a.max();
+		assertNotNull(a.getFirstMetadata(StatisticsMetadata.class));
+		Dataset v = a.getView(true);
+		assertNotNull(v.getFirstMetadata(StatisticsMetadata.class));
+
+		a.set(20, 0, 0);
+		assertNull(a.getView(true).getMetadata(StatisticsMetadata.class));
+		assertNull(a.getView(false).getMetadata(StatisticsMetadata.class));
+		assertEquals(20, a.max().intValue());
+	}
+
+	@Test
+	public void testConcurrentReads() throws Exception {
+		final AbstractDataset a = createWithAxes();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			for (int j = 0; j < 20; j++) {
+				final Dataset v = a.getSliceView(new Slice(j % 3, 3));
+				List<Future<AxesMetadata>> futures = new ArrayList<>();
+				for (int i = 0; i < 8; i++) {
+					futures.add(executor.submit(new Callable<AxesMetadata>() {
+						@Override
+						public AxesMetadata call() throws Exception {
+							return v.getFirstMetadata(AxesMetadata.class);
+						}
+					}));
+				}
+				AxesMetadata first = futures.get(0).get();
+				assertEquals(3 - j % 3, first.getAxis(0)[0].getSize());
+				for (Future<AxesMetadata> f : futures) {
+					assertSame(first, f.get());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
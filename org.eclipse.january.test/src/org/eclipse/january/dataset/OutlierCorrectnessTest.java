@@ -96,4 +96,100 @@ public class OutlierCorrectnessTest {
 		
 	}
 	
+	private static double qnBrute(Dataset data) {
+		double[] x = DatasetUtils.cast(DoubleDataset.class, data).getData();
+		int n = x.length;
+		double[] d = new double[n * (n - 1) / 2];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				d[m++] = Math.abs(x[i] - x[j]);
+			}
+		}
+		Arrays.sort(d);
+		int h = n / 2 + 1;
+		return 2.2219 * d[h * (h - 1) / 2 - 1];
+	}
+
+	@Test
+	public void testQn() {
+		assertEquals(2.2219, Outliers.qn(dataOneToFour), 1e-12);
+		assertEquals(qnBrute(dataNormal), Outliers.qn(dataNormal), 1e-12);
+
+		Random.seed(1357);
+		for (int n = 2; n < 60; n++) {
+			Dataset d = Random.randn(n);
+			assertEquals("Size " + n, qnBrute(d), Outliers.qn(d), 1e-12);
+			d = Random.randint(0, 5, new int[] {n}); // lots of ties
+			assertEquals("Ties of size " + n, qnBrute(d), Outliers.qn(d), 1e-12);
+		}
+		Dataset d = Random.randn(1001);
+		assertEquals(qnBrute(d), Outliers.qn(d), 1e-12);
+	}
+
+	@Test
+	public void testSnFastAgainstNaive() {
+		Random.seed(9753);
+		for (int n = 2; n < 40; n++) {
+			Dataset d = Random.randn(n);
+			assertEquals("Size " + n, Outliers.snNaive(d), Outliers.snFast(d), 1e-12);
+			d = Random.randint(0, 4, new int[] {n});
+			assertEquals("Ties of size " + n, Outliers.snNaive(d), Outliers.snFast(d), 1e-12);
+		}
+	}
+
+	@Test
+	public void testMAD() {
+		Random.seed(8642);
+		for (int n : new int[] {1, 2, 7, 10, 301}) {
+			Dataset d = Random.randn(n);
+			double median = (Double) Stats.median(d);
+			double mad = 1.4826 * (Double) Stats.median(Maths.abs(Maths.subtract(d, median)));
+			double[] result = Outliers.medianAbsoluteDeviation(d);
+			assertEquals(mad, result[0], 1e-15);
+			assertEquals(median, result[1], 1e-15);
+		}
+	}
+
+	@Test
+	public void testAxes() {
+		Random.seed(1234);
+		Dataset d = Random.randn(7, 23, 5).getSliceView(null, new Slice(null, null, 2), null);
+		for (int axis = 0; axis < 3; axis++) {
+			Dataset[] mad = Outliers.medianAbsoluteDeviation(d, axis);
+			Dataset sn = Outliers.snFast(d, axis);
+			Dataset qn = Outliers.qn(d, axis);
+			int[] shape = ShapeUtils.reduceShape(d.getShapeRef(), axis);
+			assertArrayEqualsShape(shape, mad[0]);
+			assertArrayEqualsShape(shape, sn);
+			assertArrayEqualsShape(shape, qn);
+
+			IndexIterator it = sn.getIterator(true);
+			int[] pos = it.getPos();
+			while (it.hasNext()) {
+				Slice[] slice = new Slice[3];
+				for (int i = 0, j = 0; i < 3; i++) {
+					if (i != axis) {
+						slice[i] = new Slice(pos[j], pos[j] + 1);
+						j++;
+					}
+				}
+				Dataset line = d.getSlice(slice).flatten();
+				double[] m = Outliers.medianAbsoluteDeviation(line);
+				assertEquals(m[0], mad[0].getDouble(pos), 1e-15);
+				assertEquals(m[1], mad[1].getDouble(pos), 1e-15);
+				assertEquals(Outliers.snFast(line), sn.getDouble(pos), 1e-15);
+				assertEquals(Outliers.qn(line), qn.getDouble(pos), 1e-15);
+			}
+		}
+
+		// large enough to be split between threads
+		Dataset stack = Random.randn(64, 40, 40);
+		Dataset sn = Outliers.snFast(stack, 0);
+		assertEquals(Outliers.snFast(stack.getSlice((Slice) null, new Slice(17, 18), new Slice(3, 4)).flatten()), sn.getDouble(17, 3), 1e-15);
+	}
+
+	private static void assertArrayEqualsShape(int[] shape, Dataset d) {
+		assertEquals(Arrays.toString(shape), Arrays.toString(d.getShapeRef()));
+	}
 }
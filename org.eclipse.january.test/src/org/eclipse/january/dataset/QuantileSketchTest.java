@@ -0,0 +1,143 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.january.DatasetException;
+import org.junit.Test;
+
+public class QuantileSketchTest {
+
+	private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+	/**
+	 * Check ranks of quantiles of a permutation of 0 to n-1
+	 */
+	private static void checkRanks(QuantileSketch s, long n) {
+		assertEquals(n, s.getCount());
+		double tol = 2.5 * s.getNormalizedRankError();
+		for (double q : QUANTILES) {
+			double v = s.getQuantile(q);
+			assertEquals("Quantile " + q, q, (v + 1) / n, tol);
+			assertEquals("Rank " + q, (v + 1) / n, s.getRank(v), tol);
+		}
+		assertEquals(0, s.getQuantile(0), 0);
+		assertEquals(n - 1, s.getQuantile(1), 0);
+	}
+
+	@Test
+	public void testSmallIsExact() {
+		QuantileSketch s = new QuantileSketch(100);
+		for (int i = 0; i < 99; i++) {
+			s.update(98 - i);
+		}
+		s.update(Double.NaN);
+		assertEquals(99, s.getCount());
+		assertEquals(99, s.getRetained());
+		assertEquals(49, s.getMedian(), 0);
+		assertEquals(9, s.getQuantile(0.1), 0);
+		assertEquals(50 / 99., s.getRank(49.5), 0);
+		assertEquals(0, s.getRank(-1), 0);
+		assertEquals(1, s.getRank(100), 0);
+		assertTrue(Double.isNaN(new QuantileSketch().getMedian()));
+	}
+
+	@Test
+	public void testAccuracyAndMemory() {
+		int[] perm = new int[1000000];
+		java.util.Random r = new java.util.Random(12371);
+		for (int i = 0; i < perm.length; i++) {
+			perm[i] = i;
+		}
+		for (int i = perm.length - 1; i > 0; i--) {
+			int j = r.nextInt(i + 1);
+			int t = perm[i];
+			perm[i] = perm[j];
+			perm[j] = t;
+		}
+		Dataset p = DatasetFactory.createFromObject(perm);
+
+		QuantileSketch s = new QuantileSketch();
+		s.update(p);
+		checkRanks(s, perm.length);
+		assertTrue(s.getRetained() < 3 * s.getK() + 64);
+
+		QuantileSketch f = QuantileSketch.createFromRankError(0.002);
+		assertTrue(f.getNormalizedRankError() <= 0.002);
+		for (int v : perm) {
+			f.update(v);
+		}
+		checkRanks(f, perm.length);
+		assertEquals(s.getMinimum(), f.getMinimum(), 0);
+		assertEquals(s.getMaximum(), f.getMaximum(), 0);
+	}
+
+	@Test
+	public void testMerge() throws Exception {
+		int n = 300000;
+		Dataset p = DatasetFactory.createRange(n);
+		QuantileSketch[] parts = new QuantileSketch[7];
+		for (int i = 0; i < parts.length; i++) {
+			parts[i] = new QuantileSketch();
+			parts[i].update(p.getSliceView(new Slice(i, null, parts.length))); // interleaved parts
+		}
+		QuantileSketch s = new QuantileSketch();
+		for (QuantileSketch t : parts) {
+			s.merge(t);
+		}
+		checkRanks(s, n);
+
+		// serialized sketches can be merged
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream os = new ObjectOutputStream(out)) {
+			os.writeObject(s);
+		}
+		QuantileSketch d;
+		try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			d = (QuantileSketch) is.readObject();
+		}
+		assertEquals(s.getMedian(), d.getMedian(), 0);
+		QuantileSketch e = new QuantileSketch(50);
+		e.merge(d);
+		e.update(DatasetFactory.createRange(DoubleDataset.class, n, 2 * n, 1));
+		checkRanks(e, 2 * n);
+	}
+
+	@Test
+	public void testLazy() throws DatasetException {
+		Dataset a = DatasetFactory.createRange(ShortDataset.class, 30000).reshape(30, 10, 100);
+		QuantileSketch s = LazyMaths.createQuantileSketch(LazyDataset.createLazyDataset(a), 100);
+		checkRanks(s, 30000);
+	}
+
+	@Test
+	public void testDirectBuffer() {
+		int n = 30000;
+		ByteBuffer b = ByteBuffer.allocateDirect(n * 8).order(ByteOrder.nativeOrder());
+		b.asDoubleBuffer().put((double[]) DatasetFactory.createRange(n).getBuffer());
+		QuantileSketch s = new QuantileSketch(100);
+		s.update((IDataset) DatasetFactory.createFromBuffer(DoubleDataset.class, b, 300, 100));
+		checkRanks(s, n);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompound() {
+		new QuantileSketch().update(DatasetFactory.zeros(2, CompoundDoubleDataset.class, 3));
+	}
+}
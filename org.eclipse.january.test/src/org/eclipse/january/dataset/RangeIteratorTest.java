@@ -0,0 +1,145 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+
+import org.junit.Test;
+
+public class RangeIteratorTest {
+
+	private static Dataset[] createViews() {
+		Dataset a = DatasetFactory.createRange(3 * 4 * 50).reshape(3, 4, 50);
+		return new Dataset[] {a, a.getSliceView(new Slice(1, 3), null, new Slice(40, null, -3)),
+				a.getTransposedView(2, 0, 1), a.getSliceView(new Slice(null, null, -1))};
+	}
+
+	@Test
+	public void testRanges() {
+		for (Dataset v : createViews()) {
+			int size = v.getSize();
+			int[] indices = new int[size];
+			IndexIterator it = v.getIterator();
+			for (int i = 0; it.hasNext(); i++) {
+				indices[i] = it.index;
+			}
+
+			for (int start : new int[] {0, 1, size / 3, size - 1}) {
+				for (int stop : new int[] {start, start + 1, size / 2, size}) {
+					if (stop < start || stop > size) {
+						continue;
+					}
+					IndexIterator r = v.getRangeIterator(start, stop);
+					for (int i = start; i < stop; i++) {
+						assertTrue(r.hasNext());
+						assertEquals(indices[i], r.index);
+						if (r.getPos() != null) {
+							assertEquals(v.getElementDoubleAbs(r.index), v.getDouble(r.getPos()), 0);
+						}
+					}
+					assertFalse(r.hasNext());
+					r.reset();
+					if (stop > start) {
+						assertTrue(r.hasNext());
+						assertEquals(indices[start], r.index);
+					}
+				}
+			}
+		}
+
+		Dataset a = DatasetFactory.createRange(3 * 4 * 50).reshape(3, 4, 50);
+		Dataset z = a.getSliceView(new Slice(1, 2), new Slice(2, 3), new Slice(5, 6)).squeeze();
+		IndexIterator r = z.getRangeIterator(0, 1);
+		assertTrue(r.hasNext());
+		assertEquals(z.getDouble(), z.getElementDoubleAbs(r.index), 0);
+		assertFalse(r.hasNext());
+		assertEquals(z.getDouble(), z.doubleStream().sum(), 0);
+
+		a = DatasetFactory.createRange(10);
+		assertNull(a.getRangeIterator(2, 4).getPos());
+		try {
+			a.getRangeIterator(2, 11);
+			fail("Should have thrown an exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+	@Test
+	public void testStreams() {
+		for (Dataset v : createViews()) {
+			double[] expected = (double[]) v.getSlice().getBuffer();
+			assertArrayEquals(expected, v.doubleStream().toArray(), 0);
+			assertArrayEquals(expected, v.doubleStream().parallel().toArray(), 0);
+			assertEquals(((Number) v.sum()).doubleValue(), v.doubleStream().parallel().sum(), 0);
+			assertEquals(((Number) v.sum()).longValue(), v.longStream().parallel().sum());
+		}
+
+		Dataset l = DatasetFactory.createRange(LongDataset.class, 100).getSliceView(new Slice(null, null, 3));
+		assertArrayEquals((long[]) l.getSlice().getBuffer(), l.longStream().parallel().toArray());
+
+		Dataset b = DatasetFactory.createFromObject(new boolean[] {true, false, true, true});
+		assertEquals(3, b.longStream().sum());
+		assertEquals(3, b.doubleStream().sum(), 0);
+
+		Dataset c = DatasetFactory.createRange(3, CompoundDoubleDataset.class, 10).getSliceView(new Slice(1, null, 2));
+		assertEquals(15, c.doubleStream().count());
+		assertArrayEquals((double[]) c.getSlice().getBuffer(), c.doubleStream().parallel().toArray(), 0);
+	}
+
+	@Test
+	public void testSplit() {
+		Dataset a = DatasetFactory.createRange(3 * 4 * 50).reshape(3, 4, 50);
+		Dataset v = a.getSliceView(null, null, new Slice(1, 48));
+		Spliterator.OfDouble s = v.doubleSpliterator();
+		assertEquals(v.getSize(), s.estimateSize());
+		assertTrue(s.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+
+		Spliterator.OfDouble p = s.trySplit();
+		assertEquals("Split at run boundary", 0, p.estimateSize() % 47);
+		assertEquals(v.getSize(), p.estimateSize() + s.estimateSize());
+
+		final double[] sum = new double[1];
+		DoubleConsumer add = new DoubleConsumer() {
+			@Override
+			public void accept(double value) {
+				sum[0] += value;
+			}
+		};
+		assertTrue(s.tryAdvance(add));
+		assertEquals(p.estimateSize() / 47 * 50 + 1, sum[0], 0);
+		Spliterator.OfDouble q = s.trySplit();
+		assertEquals(v.getSize() - 1, p.estimateSize() + q.estimateSize() + s.estimateSize());
+		p.forEachRemaining(add);
+		q.forEachRemaining(add);
+		s.forEachRemaining(add);
+		assertEquals(((Number) v.sum()).doubleValue(), sum[0], 0);
+		assertEquals(0, s.estimateSize());
+		assertNull(s.trySplit());
+
+		Dataset c = DatasetFactory.createRange(2, CompoundDoubleDataset.class, 8);
+		s = c.doubleSpliterator();
+		assertEquals(16, s.estimateSize());
+		assertTrue(s.tryAdvance(add));
+		assertEquals(15, s.estimateSize());
+		assertNull("Cannot split part way through item", s.trySplit());
+		assertTrue(s.tryAdvance(add));
+		assertEquals(14, s.estimateSize());
+		assertEquals(6, s.trySplit().estimateSize());
+	}
+}
@@ -0,0 +1,121 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class RunningStatisticsTest {
+
+	private static void checkStatistics(Dataset stack, RunningStatistics rs) {
+		assertEquals(stack.getShapeRef()[0], rs.getCount());
+		TestUtils.assertDatasetEquals(stack.mean(0), rs.getCurrentAverage(), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(stack.sum(0).cast(DoubleDataset.class), rs.getCurrentSum(), 1e-10, 1e-10);
+		TestUtils.assertDatasetEquals(stack.variance(0), rs.getCurrentVariance(), 1e-10, 1e-10);
+		TestUtils.assertDatasetEquals(stack.variance(0, true), rs.getCurrentVariance(true), 1e-10, 1e-10);
+		TestUtils.assertDatasetEquals(stack.min(0).cast(DoubleDataset.class), rs.getCurrentMinimum(), 1e-12, 1e-12);
+		TestUtils.assertDatasetEquals(stack.max(0).cast(DoubleDataset.class), rs.getCurrentMaximum(), 1e-12, 1e-12);
+	}
+
+	@Test
+	public void testFrames() {
+		Random.seed(12371);
+		Dataset stack = Random.randint(0, 1000, new int[] {20, 6, 7});
+
+		RunningStatistics rs = new RunningStatistics(stack.getSlice(new Slice(1)).squeeze());
+		for (int i = 1; i < 20; i++) {
+			rs.update(stack.getSliceView(new Slice(i, i + 1)).squeeze());
+		}
+		checkStatistics(stack, rs);
+		assertArrayEquals(new int[] {6, 7}, rs.getShape());
+
+		RunningAverage ra = new RunningAverage(stack.getSlice(new Slice(1)).squeeze());
+		for (int i = 1; i < 20; i++) {
+			ra.update(stack.getSliceView(new Slice(i, i + 1)).squeeze());
+		}
+		TestUtils.assertDatasetEquals(ra.getCurrentAverage(), rs.getCurrentAverage(), 1e-12, 1e-12);
+	}
+
+	@Test
+	public void testBatches() throws DatasetException {
+		Random.seed(12371);
+		Dataset stack = Random.randn(new int[] {30, 5, 4}).imultiply(100).iadd(20);
+
+		RunningStatistics rs = new RunningStatistics(5, 4);
+		rs.update(stack.getSliceView(new Slice(7)));
+		rs.update(stack.getSliceView(new Slice(7, 8)).squeeze());
+		rs.update(stack.getSliceView(new Slice(8, 30)));
+		checkStatistics(stack, rs);
+
+		RunningStatistics lrs = new RunningStatistics(5, 4);
+		lrs.update(LazyDataset.createLazyDataset(stack));
+		checkStatistics(stack, lrs);
+
+		// strided and non-double input
+		Dataset istack = stack.cast(IntegerDataset.class).getSliceView(null, null, new Slice(null, null, 2));
+		RunningStatistics irs = new RunningStatistics(5, 2);
+		irs.update(istack);
+		checkStatistics(istack, irs);
+	}
+
+	@Test
+	public void testMerge() {
+		Random.seed(12371);
+		Dataset stack = Random.randn(new int[] {25, 3, 8});
+
+		RunningStatistics a = new RunningStatistics(3, 8);
+		a.update(stack.getSliceView(new Slice(10)));
+		RunningStatistics b = new RunningStatistics(3, 8);
+		b.update(stack.getSliceView(new Slice(10, 24)));
+		RunningStatistics c = new RunningStatistics(stack.getSlice(new Slice(24, 25)).squeeze());
+
+		a.merge(b);
+		a.merge(c);
+		a.merge(new RunningStatistics(3, 8));
+		checkStatistics(stack, a);
+
+		RunningStatistics e = new RunningStatistics(3, 8);
+		e.merge(a);
+		checkStatistics(stack, e);
+	}
+
+	@Test
+	public void testExactIntegerSum() {
+		Random.seed(12371);
+		Dataset stack = Random.randint(0, 1 << 30, new int[] {3000, 2, 3}).cast(LongDataset.class);
+		LongDataset expected = (LongDataset) stack.sum(0);
+
+		RunningStatistics a = new RunningStatistics(2, 3);
+		a.update(stack.getSliceView(new Slice(1000)));
+		for (int i = 1000; i < 2000; i++) {
+			a.update(stack.getSliceView(new Slice(i, i + 1)).squeeze());
+		}
+		RunningStatistics b = new RunningStatistics(2, 3);
+		b.update(stack.getSliceView(new Slice(2000, null)));
+		a.merge(b);
+
+		assertEquals(3000, a.getCount());
+		Dataset sum = a.getCurrentSum();
+		IndexIterator it = sum.getIterator();
+		for (int i = 0; it.hasNext(); i++) {
+			assertEquals(expected.getAbs(i), sum.getElementDoubleAbs(it.index), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadShape() {
+		RunningStatistics rs = new RunningStatistics(3, 8);
+		rs.update(DatasetFactory.zeros(3, 7));
+	}
+}
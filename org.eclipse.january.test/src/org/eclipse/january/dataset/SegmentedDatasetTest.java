@@ -0,0 +1,161 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class SegmentedDatasetTest {
+
+	private static SegmentedDataset createRange(Dataset a, int maxSegmentSize) {
+		SegmentedDataset s = new SegmentedDataset(a.getClass(), a.getShapeRef(), maxSegmentSize);
+		s.setSlice(a);
+		return s;
+	}
+
+	@Test
+	public void testIndexing() {
+		Dataset a = DatasetFactory.createRange(IntegerDataset.class, 7 * 3 * 4).reshape(7, 3, 4);
+		SegmentedDataset s = createRange(a, 25);
+		assertEquals(2, s.getSegmentRows());
+		assertEquals(4, s.getSegments());
+		assertArrayEquals(new int[] {1, 3, 4}, s.getSegment(3).getShape());
+		assertEquals(84, s.getSize());
+		assertEquals(Integer.class, s.getElementClass());
+
+		assertEquals(59, s.get1DIndex(4, 2, 3));
+		assertEquals(59, s.get1DIndex(-3, -1, -1));
+		assertArrayEquals(new int[] {4, 2, 3}, s.getNDPosition(59));
+		assertEquals(59, s.getLong(4, 2, 3));
+		assertEquals(83., s.getElementDoubleAbs(83), 0);
+		s.set(-5, 6, 2, 1);
+		assertEquals(-5, s.getObjectAbs(81));
+		assertEquals(-5, s.getSegment(3).getInt(0, 2, 1));
+		s.setObjectAbs(81, 81);
+
+		SegmentedDataset.SegmentIterator it = s.getIterator();
+		long n = 0;
+		while (it.hasNext()) {
+			assertEquals(n, it.index);
+			assertEquals(n, it.segment.getElementLongAbs(it.segmentIndex));
+			n++;
+		}
+		assertEquals(84, n);
+		it.reset();
+		assertTrue(it.hasNext());
+		assertEquals(0, it.index);
+
+		// rows larger than maximum segment size are kept whole
+		s = new SegmentedDataset(DoubleDataset.class, new int[] {3, 10}, 4);
+		assertEquals(1, s.getSegmentRows());
+		assertEquals(3, s.getSegments());
+	}
+
+	@Test
+	public void testSlicing() throws Exception {
+		Dataset a = DatasetFactory.createRange(DoubleDataset.class, 9 * 5).reshape(9, 5);
+		SegmentedDataset s = createRange(a, 10);
+		assertEquals(5, s.getSegments());
+
+		Slice[][] slices = new Slice[][] {
+			{null},
+			{new Slice(3)},
+			{new Slice(1, 8, 3), new Slice(null, null, -2)},
+			{new Slice(null, null, -1)},
+			{new Slice(7, 0, -2), new Slice(1, 4)},
+			{new Slice(5, 5)},
+			{new Slice(2, 3), new Slice(4, 0, -1)},
+		};
+		for (Slice[] slice : slices) {
+			TestUtils.assertDatasetEquals(a.getSlice(slice), s.getSlice(slice), 0, 0);
+		}
+		TestUtils.assertDatasetEquals(a.getSlice(new int[] {8, 1}, new int[] {2, 5}, new int[] {-3, 2}),
+				s.getSlice(new int[] {8, 1}, new int[] {2, 5}, new int[] {-3, 2}), 0, 0);
+
+		Dataset b = a.clone();
+		Dataset v = DatasetFactory.createRange(DoubleDataset.class, 4 * 3).reshape(4, 3).imultiply(-1);
+		b.setSlice(v, new Slice(8, 0, -2), new Slice(null, null, 2));
+		s.setSlice(v, new Slice(8, 0, -2), new Slice(null, null, 2));
+		TestUtils.assertDatasetEquals(b, s.getSlice(), 0, 0);
+
+		b.setSlice(DatasetFactory.createFromObject(new double[] {1, 2}), new Slice(null, null, 3), new Slice(2, 4));
+		s.setSlice(DatasetFactory.createFromObject(new double[] {1, 2}), new Slice(null, null, 3), new Slice(2, 4));
+		TestUtils.assertDatasetEquals(b, s.getSlice(), 0, 0);
+
+		ILazyDataset l = s.getLazyDataset();
+		assertArrayEquals(a.getShape(), l.getShape());
+		TestUtils.assertDatasetEquals(b.getSlice(new Slice(1, 9, 2)), DatasetUtils.convertToDataset(l.getSliceView(new Slice(1, 9, 2))
+				.getSliceView(new Slice(null, null, -1)).getSlice(new Slice(null, null, -1))), true, 0, 0);
+	}
+
+	@Test
+	public void testCreateFromLazy() throws Exception {
+		Dataset a = DatasetFactory.createRange(FloatDataset.class, 6 * 4).reshape(6, 4);
+		ILazyDataset l = LazyDataset.createLazyDataset(a).getTransposedView();
+		SegmentedDataset s = SegmentedDataset.createFromLazy(l, 12);
+		assertEquals(FloatDataset.class, s.getInterface());
+		assertEquals(2, s.getSegments());
+		TestUtils.assertDatasetEquals(a.getTransposedView(), s.getSlice(), 0, 0);
+	}
+
+	@Test
+	public void testOperations() {
+		Dataset a = DatasetFactory.createRange(DoubleDataset.class, 50 * 7).reshape(50, 7).isubtract(100);
+		SegmentedDataset s = createRange(a, 30);
+		assertEquals(13, s.getSegments());
+
+		assertEquals(a.max(), s.max());
+		assertEquals(a.min(), s.min());
+		assertEquals((Double) a.sum(), s.sum().doubleValue(), 1e-10);
+		assertEquals((Double) a.mean(), s.mean(), 1e-12);
+		assertEquals(a.variance(), s.variance(false), 1e-9);
+		assertEquals(a.variance(true), s.variance(true), 1e-9);
+		assertEquals(a.stdDeviation(true), s.stdDeviation(true), 1e-9);
+
+		s.set(Double.NaN, 20, 3);
+		assertTrue(Double.isNaN(s.max().doubleValue()));
+		assertTrue(Double.isNaN(s.mean()));
+		assertEquals(a.max(), s.max(true));
+		a.set(Double.NaN, 20, 3);
+		assertEquals((Double) a.mean(true), s.mean(true), 1e-12);
+		assertEquals(a.variance(false, true), s.variance(false, true), 1e-9);
+
+		Dataset b = DatasetFactory.createRange(DoubleDataset.class, 7);
+		s.iadd(b).imultiply(2);
+		a.iadd(b).imultiply(2);
+		TestUtils.assertDatasetEquals(a, s.getSlice(), 0, 0);
+		s.isubtract(s).idivide(3);
+		assertEquals(0, s.max(true).doubleValue(), 0);
+
+		SegmentedDataset t = createRange(DatasetFactory.createRange(IntegerDataset.class, 50 * 7).reshape(50, 7), 30);
+		assertEquals(350L * 349 / 2, t.sum());
+		assertEquals(349, t.max());
+		SegmentedDataset r = t.apply(new SegmentedDataset.SegmentOperation() {
+			@Override
+			public Dataset operate(Dataset segment) {
+				return Maths.sqrt(segment).sum(1);
+			}
+		});
+		assertEquals(DoubleDataset.class, r.getInterface());
+		assertArrayEquals(new int[] {50}, r.getShape());
+		assertEquals(13, r.getSegments());
+		Dataset e = Maths.sqrt(DatasetFactory.createRange(IntegerDataset.class, 50 * 7).reshape(50, 7)).sum(1);
+		TestUtils.assertDatasetEquals(e, r.getSlice(), 1e-12, 1e-12);
+		assertFalse(r.getSegment(0) == t.getSegment(0));
+
+		t.fill(3);
+		assertEquals(3, t.min());
+	}
+}
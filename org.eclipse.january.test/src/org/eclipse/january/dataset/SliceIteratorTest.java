@@ -11,8 +11,11 @@ package org.eclipse.january.dataset;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.january.asserts.TestUtils;
 import org.junit.Test;
@@ -47,6 +50,108 @@ public class SliceIteratorTest {
 		assertFalse(it.hasNext());
 	}
 
+	@Test
+	public void testRuns() {
+		Dataset ta = DatasetFactory.createRange(5 * 6 * 7).reshape(5, 6, 7);
+		checkRuns(ta, 5 * 6 * 7, (Slice) null);
+		checkRuns(ta, 3 * 6 * 7, new Slice(1, 4));
+		checkRuns(ta, 6 * 7, new Slice(2, 3));
+		checkRuns(ta, 3 * 7, new Slice(2, 3), new Slice(1, 4));
+		checkRuns(ta, 3, null, null, new Slice(1, 4));
+		checkRuns(ta, 1, null, null, new Slice(null, null, 2));
+		checkRuns(ta, 4 * 7, new Slice(null, null, 2), new Slice(1, 5));
+		checkRuns(ta, 6 * 7, new Slice(null, null, 2));
+		checkRuns(ta, 6 * 7, new Slice(4, 0, -1));
+		checkRuns(ta, 3, new Slice(4, 0, -1), new Slice(0, 1), new Slice(2, 5));
+
+		Dataset tc = DatasetFactory.zeros(3, CompoundDoubleDataset.class, 4, 6);
+		checkRuns(tc, 1, null, new Slice(null, null, -1));
+		checkRuns(tc, 3, null, new Slice(1, 4));
+	}
+
+	/**
+	 * Check runs visit same elements as iterating each item
+	 */
+	static void checkRuns(Dataset ta, int run, Slice... slice) {
+		SliceIterator it = (SliceIterator) ta.getSliceIterator(new SliceND(ta.getShapeRef(), slice));
+		int isize = ta.getElementsPerItem();
+		List<Integer> expected = new ArrayList<>();
+		while (it.hasNext()) {
+			expected.add(it.index);
+		}
+
+		it.reset();
+		assertEquals(run, it.getRunLength());
+		List<Integer> actual = new ArrayList<>();
+		while (it.nextRun()) {
+			for (int i = 0; i < run; i++) {
+				actual.add(it.index + i * isize);
+			}
+		}
+		assertEquals(expected, actual);
+		it.reset();
+		assertTrue(it.hasNext());
+		assertEquals((int) expected.get(0), it.index);
+	}
+
+	@Test
+	public void testBulkCopies() {
+		Random.seed(12371);
+		Dataset ta = Random.randn(6, 10, 12);
+		Dataset tb = ta.getSliceView(new Slice(1, 5), null, new Slice(null, null, 3)); // strided view
+		for (Class<? extends Dataset> clazz : new Class[] {DoubleDataset.class, IntegerDataset.class, BooleanDataset.class,
+				StringDataset.class, ComplexFloatDataset.class}) {
+			Dataset a = DatasetUtils.cast(clazz, ta.imultiply(1.5));
+			checkBulkCopies(a);
+			checkBulkCopies(a.getSliceView(new Slice(1, 5), new Slice(2, 9)));
+			checkBulkCopies(DatasetUtils.cast(clazz, tb));
+		}
+		checkBulkCopies(DatasetFactory.createCompoundDataset(CompoundShortDataset.class, ta, ta, ta));
+		checkBulkCopies(DatasetFactory.createCompoundDataset(CompoundShortDataset.class, ta, ta, ta).getSliceView(null, new Slice(1, 3)));
+	}
+
+	private void checkBulkCopies(Dataset a) {
+		int[] shape = a.getShapeRef();
+		Slice[][] slices = {{}, {new Slice(1, 3)}, {null, new Slice(1, 3), new Slice(2, shape[2])}, {null, null, new Slice(0, 2)},
+				{new Slice(null, null, 2), new Slice(null, null, -1)}};
+		for (Slice[] s : slices) {
+			Dataset e = DatasetFactory.zeros(a.getElementsPerItem(), a.getClass(), new SliceND(shape, s).getShape());
+			IndexIterator it = e.getIterator(true);
+			int[] pos = it.getPos();
+			int[] start = new SliceND(shape, s).getStart();
+			int[] step = new SliceND(shape, s).getStep();
+			int[] p = new int[pos.length];
+			while (it.hasNext()) {
+				for (int i = 0; i < p.length; i++) {
+					p[i] = start[i] + pos[i] * step[i];
+				}
+				e.set(a.getObject(p), pos);
+			}
+			Dataset g = a.getSlice(s);
+			assertEquals(e, g);
+
+			// set slice into zeroed copy and compare with element-wise setting
+			Dataset b = a.clone();
+			Dataset c = a.clone();
+			Dataset z = DatasetFactory.zeros(a.getElementsPerItem(), a.getClass(), shape).fill(1);
+			b.setSlice(z.getSlice(s), s);
+			IndexIterator zt = c.getSliceIterator(new SliceND(shape, s));
+			while (zt.hasNext()) {
+				c.setObjectAbs(zt.index, z.getObjectAbs(0));
+			}
+			assertEquals(c, b);
+
+			// set slice from view
+			b.setSlice(a.getSliceView(s), s);
+			assertEquals(a, b);
+		}
+
+		Dataset t = DatasetUtils.concatenate(new Dataset[] {a, a.getSlice(new Slice(1, 2))}, 0);
+		assertEquals(a, t.getSlice(new Slice(0, shape[0])));
+		List<Dataset> parts = DatasetUtils.split(t, new int[] {1, 3}, 0);
+		assertEquals(a.getSlice(new Slice(1, 3)), parts.get(1));
+	}
+
 	private void testIterationsND(int size, Class<? extends Dataset> clazz) {
 		Dataset ta;
 
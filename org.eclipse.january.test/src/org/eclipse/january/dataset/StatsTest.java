@@ -466,4 +466,128 @@ public class StatsTest {
 		DoubleDataset cddofexpect = DatasetFactory.createFromObject(DoubleDataset.class, new double[]{38.06645833, -11.01645833, -11.01645833, 37.883125}, 2, 2);
 		assertArrayEquals(cddofexpect.getData(), covcddof.getData(), 1E-7);
 	}
+
+	private static double[][] twoPassCovariance(Dataset a) {
+		int nv = a.getShapeRef()[0];
+		int n = a.getShapeRef()[1];
+		double[] mean = new double[nv];
+		for (int i = 0; i < nv; i++) {
+			for (int k = 0; k < n; k++) {
+				mean[i] += a.getDouble(i, k);
+			}
+			mean[i] /= n;
+		}
+		double[][] c = new double[nv][nv];
+		for (int i = 0; i < nv; i++) {
+			for (int j = 0; j < nv; j++) {
+				for (int k = 0; k < n; k++) {
+					c[i][j] += (a.getDouble(i, k) - mean[i]) * (a.getDouble(j, k) - mean[j]);
+				}
+				c[i][j] /= n - 1;
+			}
+		}
+		return c;
+	}
+
+	@Test
+	public void testCovarianceBlocked() {
+		Random.seed(12371);
+		int nv = 2 * CovarianceUtils.TILE + 7;
+		Dataset a = Random.randn(nv, 2 * CovarianceUtils.BLOCK + 100).iadd(1000);
+		double[][] expected = twoPassCovariance(a);
+
+		Dataset cov = Stats.covariance(a);
+		assertArrayEquals(new int[] {nv, nv}, cov.getShapeRef());
+		Dataset covt = Stats.covariance(a.getTransposedView(), false, false, null);
+		Dataset corr = Stats.correlation(a);
+		for (int i = 0; i < nv; i++) {
+			for (int j = 0; j < nv; j++) {
+				assertEquals(expected[i][j], cov.getDouble(i, j), 1e-10);
+				assertEquals(expected[i][j], covt.getDouble(i, j), 1e-10);
+				assertEquals(expected[i][j] / Math.sqrt(expected[i][i] * expected[j][j]), corr.getDouble(i, j), 1e-10);
+			}
+		}
+		assertEquals(1, corr.getDouble(5, 5), 0);
+
+		Dataset b = DatasetFactory.createFromObject(new double[] {1, 2, 3, 2, 4, 6.5, 3, 2, 1}, 3, 3);
+		Dataset r = Stats.correlation(b);
+		assertEquals(0.9979487158, r.getDouble(0, 1), 1e-9);
+		assertEquals(-1, r.getDouble(0, 2), 1e-15);
+		assertEquals(r.getDouble(1, 2), r.getDouble(2, 1), 0);
+		assertEquals(0, Stats.correlation(b.getSliceView(new Slice(0, 1))).getRank());
+	}
+
+	private static Dataset serialCumulativeSum(Dataset a, int axis) {
+		Dataset r = DatasetFactory.zeros(DoubleDataset.class, a.getShapeRef());
+		PositionIterator pi = r.getPositionIterator(axis);
+		int[] pos = pi.getPos();
+		while (pi.hasNext()) {
+			double s = 0;
+			for (int j = 0; j < a.getShapeRef()[axis]; j++) {
+				pos[axis] = j;
+				s += a.getDouble(pos);
+				r.set(s, pos);
+			}
+		}
+		return r;
+	}
+
+	@Test
+	public void testCumulative() {
+		Dataset a = DatasetFactory.createRange(24).reshape(2, 3, 4);
+		Dataset t = a.getTransposedView(2, 0, 1);
+		for (int i = 0; i < 3; i++) {
+			TestUtils.assertDatasetEquals(serialCumulativeSum(a, i), Stats.cumulativeSum(a, i), 1e-15, 1e-15);
+			TestUtils.assertDatasetEquals(serialCumulativeSum(t, i), Stats.cumulativeSum(t, i), 1e-15, 1e-15);
+		}
+		TestUtils.assertDatasetEquals(serialCumulativeSum(a.flatten(), 0), Stats.cumulativeSum(a), 1e-15, 1e-15);
+
+		Dataset p = Stats.cumulativeProduct(DatasetFactory.createFromObject(new double[] {2, Double.POSITIVE_INFINITY, 3, Double.NaN, 0.5}), true);
+		assertArrayEquals("Ignored items are zero", new double[] {2, 0, 6, 0, 3}, (double[]) p.getBuffer(), 0);
+		Dataset s = Stats.cumulativeSum(DatasetFactory.createFromObject(new double[] {1, Double.NaN, 2}), true);
+		assertArrayEquals("Ignored items are zero", new double[] {1, 0, 3}, (double[]) s.getBuffer(), 0);
+		p = Stats.cumulativeProduct(DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, new double[] {2, Double.NaN, 3}, new double[] {0, 1, 0}), true);
+		assertArrayEquals(new double[] {2, 0, 0, 0, 6, 0}, (double[]) p.getBuffer(), 0);
+		s = Stats.cumulativeSum(new CompoundDoubleDataset(2, new double[] {1, 2, Double.NaN, 3, 4, 5}, 3), true);
+		assertArrayEquals("Compound items carry result", new double[] {1, 2, 1, 2, 5, 7}, (double[]) s.getBuffer(), 0);
+		p = Stats.cumulativeProduct(DatasetFactory.createFromObject(new double[] {2, Double.POSITIVE_INFINITY, 0}));
+		assertTrue(Double.isNaN(p.getDouble(2)));
+		p = Stats.cumulativeProduct(DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, new double[] {1, 0, 2}, new double[] {1, 1, 0}));
+		assertArrayEquals(new double[] {1, 1, -1, 1, -2, 2}, (double[]) p.getBuffer(), 0);
+
+		Dataset c = new CompoundIntegerDataset(2, new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, 3, 2);
+		Dataset cs = Stats.cumulativeSum(c, 0);
+		assertEquals(CompoundIntegerDataset.class, cs.getClass());
+		assertArrayEquals(new int[] {0, 1, 2, 3, 4, 6, 8, 10, 12, 15, 18, 21}, (int[]) cs.getBuffer());
+		Dataset b = Stats.cumulativeSum(DatasetFactory.createFromObject(new boolean[] {false, true, false}));
+		assertEquals(BooleanDataset.class, b.getClass());
+		assertArrayEquals(new boolean[] {false, true, true}, (boolean[]) b.getBuffer());
+		Dataset u = Stats.cumulativeSum(DatasetFactory.createFromObject(UnsignedByteDataset.class, new byte[] {-1, 1}));
+		assertEquals(UnsignedByteDataset.class, u.getClass());
+		assertEquals(0, u.getInt(1));
+
+		// long lines
+		int n = 1 << 18;
+		Dataset l = Maths.remainder(DatasetFactory.createRange(IntegerDataset.class, n), 7);
+		Dataset ls = Stats.cumulativeSum(l);
+		assertEquals(IntegerDataset.class, ls.getClass());
+		TestUtils.assertDatasetEquals(serialCumulativeSum(l, 0), ls, false, 0, 0);
+		Dataset lp = Stats.cumulativeProduct(DatasetFactory.ones(LongDataset.class, n).imultiply(-1));
+		assertEquals(1, lp.getLong(n - 1));
+		assertEquals(-1, lp.getLong(n - 2));
+
+		Dataset d = DatasetFactory.ones(n);
+		for (int i = 0; i < n; i += 1001) {
+			d.set(Double.NaN, i);
+		}
+		Dataset ds = Stats.cumulativeSum(d, true);
+		assertEquals(n - (n + 1000) / 1001, ds.getDouble(n - 1), 0);
+		assertEquals(0, ds.getDouble(0), 0);
+		assertEquals(0, ds.getDouble(1001), 0);
+		assertEquals(1001, ds.getDouble(1002), 0);
+		assertTrue(Double.isNaN(Stats.cumulativeSum(d).getDouble(n - 1)));
+		Dataset d2 = d.reshape(4, n / 4);
+		TestUtils.assertDatasetEquals(Stats.cumulativeSum(d2.getSliceView(null, new Slice(1, null)), 0, true),
+				Stats.cumulativeSum(d2, 0, true).getSliceView(null, new Slice(1, null)), 0, 0);
+	}
 }
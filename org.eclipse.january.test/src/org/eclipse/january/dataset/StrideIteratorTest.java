@@ -11,6 +11,7 @@ package org.eclipse.january.dataset;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,6 +56,41 @@ public class StrideIteratorTest {
 		assertFalse(it.hasNext());
 	}
 
+	@Test
+	public void testRuns() {
+		Dataset ta = DatasetFactory.createRange(8 * 6 * 7).reshape(8, 6, 7);
+		Dataset tv = ta.getSliceView(new Slice(1, 7)); // contiguous view with offset
+		assertTrue(tv.getIterator() instanceof StrideIterator);
+		checkRuns(tv, 6 * 6 * 7, (Slice) null);
+		checkRuns(tv, 2 * 6 * 7, new Slice(2, 4));
+		checkRuns(tv, 3, new Slice(2, 4), null, new Slice(1, 4));
+
+		tv = ta.getSliceView(null, new Slice(1, 5)); // 4 x 7 blocks
+		checkRuns(tv, 4 * 7, (Slice) null);
+		checkRuns(tv, 2 * 7, null, new Slice(2, 4, 1));
+		checkRuns(tv, 1, null, null, new Slice(null, null, 3));
+
+		tv = ta.getSliceView(null, null, new Slice(null, null, -1));
+		checkRuns(tv, 1, (Slice) null);
+
+		tv = DatasetFactory.createRange(7).getBroadcastView(4, 7);
+		checkRuns(tv, 7, (Slice) null);
+		tv = DatasetFactory.createRange(4).reshape(4, 1).getBroadcastView(4, 7);
+		checkRuns(tv, 1, (Slice) null);
+
+		Dataset tc = DatasetFactory.zeros(3, CompoundDoubleDataset.class, 4, 6).getSliceView(null, new Slice(1, 4));
+		checkRuns(tc, 3, (Slice) null);
+		checkRuns(tc, 3, new Slice(1, 2));
+	}
+
+	private static void checkRuns(Dataset ta, int run, Slice... slice) {
+		SliceIteratorTest.checkRuns(ta, run, slice);
+		if (slice.length == 1 && slice[0] == null) {
+			StrideIterator it = (StrideIterator) ta.getIterator();
+			assertEquals(run, it.getRunLength());
+		}
+	}
+
 	private void testIterationsND(int size, Class<? extends Dataset> clazz) {
 		Dataset ta;
 
@@ -0,0 +1,106 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.junit.Test;
+
+public class UnsignedDatasetTest {
+
+	@Test
+	public void testGetters() {
+		ShortDataset s = DatasetFactory.createFromObject(ShortDataset.class, new short[] {0, 1, -1, Short.MIN_VALUE});
+		Dataset u = DatasetUtils.asUnsigned(s);
+		assertEquals(UnsignedShortDataset.class, u.getClass());
+		assertSame(s.getBuffer(), u.getBuffer());
+		assertEquals(65535, u.getElementLongAbs(2));
+		assertEquals(32768., u.getDouble(3), 0);
+		assertEquals(65535, u.getInt(2));
+		assertEquals(65535L, u.getLong(2));
+		assertEquals(Integer.valueOf(65535), u.getObject(2));
+		assertEquals("32768", u.getString(3));
+		assertEquals((short) -1, u.getShort(2));
+		assertEquals(Dataset.INT16, u.getDType());
+		assertEquals("UINT16", DTypeUtils.getDTypeName(u));
+		assertTrue(InterfaceUtils.isInteger(u.getClass()));
+		assertEquals(-1, s.getInt(2));
+
+		Dataset v = DatasetFactory.createFromObject(UnsignedIntegerDataset.class, new long[] {0, 4000000000L, 0xffffffffL});
+		assertEquals(4000000000L, v.getLong(1));
+		assertEquals(UnsignedIntegerDataset.MAX_VALUE, v.max().longValue());
+		assertEquals(2, v.argMax());
+		assertEquals(0, v.argMin());
+
+		Dataset b = DatasetUtils.cast(UnsignedByteDataset.class, DatasetFactory.createFromObject(new int[] {255, 256, -1}));
+		assertArrayEquals(new byte[] {-1, 0, -1}, (byte[]) b.getBuffer());
+		assertEquals(255, b.getInt(0));
+		assertEquals(Integer.valueOf(255), b.max());
+		assertEquals(255 * 2 / 3., ((Number) b.mean()).doubleValue(), 1e-12);
+		assertEquals(UnsignedByteDataset.class, b.getSliceView(new Slice(1, null)).getClass());
+		assertEquals(UnsignedByteDataset.class, b.clone().getClass());
+		assertEquals(UnsignedByteDataset.class, DatasetFactory.zeros(b).getClass());
+	}
+
+	@Test
+	public void testKernels() {
+		UnsignedShortDataset u = DatasetFactory.createFromObject(UnsignedShortDataset.class, new int[] {65534, 65535, 1, 40000}, 4);
+		Dataset r = Maths.add(u, u);
+		assertEquals(UnsignedShortDataset.class, r.getClass());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {65532, 65534, 2, 14464}), r, 0, 0);
+
+		r = Maths.divide(u, 2);
+		assertEquals(UnsignedShortDataset.class, r.getClass());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {32767, 32767, 0, 20000}), r, 0, 0);
+
+		// mixing signs promotes as NumPy does
+		assertEquals(IntegerDataset.class, Maths.add(u, DatasetFactory.zeros(ShortDataset.class, 4)).getClass());
+		assertEquals(ShortDataset.class, Maths.add(DatasetFactory.zeros(UnsignedByteDataset.class, 4),
+				DatasetFactory.zeros(ShortDataset.class, 4)).getClass());
+		assertEquals(LongDataset.class, Maths.add(DatasetFactory.zeros(UnsignedIntegerDataset.class, 4),
+				DatasetFactory.zeros(IntegerDataset.class, 4)).getClass());
+		assertEquals(UnsignedShortDataset.class, Maths.add(u, DatasetFactory.zeros(UnsignedByteDataset.class, 4)).getClass());
+		r = Maths.multiply(u, 0.5);
+		assertEquals(DoubleDataset.class, r.getClass());
+		assertEquals(32767.5, r.getDouble(1), 0);
+
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new boolean[] {true, true, false, true}),
+				Comparisons.greaterThan(u, 32767), true, 0, 0);
+
+		Dataset c = u.clone();
+		c.idivide(2);
+		c.iadd(1.5);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {32768, 32768, 1, 20001}), c, 0, 0);
+		c.isubtract(32769);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {65535, 65535, 32768, 52768}), c, 0, 0);
+
+		AxisReduction a = AxisReduction.reduce(u.reshape(2, 2), false, false, 1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {65535, 40000}), a.getMaximum(), 0, 0);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new double[] {65534.5, 20000.5}), a.getMean(), 0, 0);
+	}
+
+	@Test
+	public void testSort() {
+		Dataset u = DatasetFactory.createFromObject(UnsignedShortDataset.class, new int[] {65535, 1, 32768, 1, 0, 40000}, 2, 3);
+		Dataset s = u.clone().sort(1);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {1, 32768, 65535, 0, 1, 40000}, 2, 3), s, 0, 0);
+
+		u.getSliceView(null, new Slice(null, null, -1)).sort(null);
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {1, 1, 0, 65535, 40000, 32768}, 2, 3), u, 0, 0);
+
+		Dataset q = u.getUniqueItems();
+		assertEquals(UnsignedShortDataset.class, q.getClass());
+		TestUtils.assertDatasetEquals(DatasetFactory.createFromObject(new int[] {0, 1, 32768, 40000, 65535}), q, 0, 0);
+	}
+}
@@ -0,0 +1,204 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.dataset.ComplexDoubleDataset;
+import org.eclipse.january.dataset.CompoundDataset;
+import org.eclipse.january.dataset.CompoundDoubleDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDynamicDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.ShapeUtils;
+import org.eclipse.january.dataset.ShortDataset;
+import org.eclipse.january.dataset.Slice;
+import org.eclipse.january.dataset.SliceND;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChunkedStoreTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCompressors() throws Exception {
+		byte[] text = "the quick brown fox jumps over the lazy dog; the quick brown fox jumps over the lazy dog!".getBytes(StandardCharsets.US_ASCII);
+		byte[] zeros = new byte[100000];
+		byte[] random = new byte[70000];
+		new java.util.Random(1).nextBytes(random);
+		byte[] ramp = new byte[5000];
+		for (int i = 0; i < ramp.length; i++) {
+			ramp[i] = (byte) (i % 7);
+		}
+		for (ChunkCompressor c : new ChunkCompressor[] {new LZ4Compressor(), new DeflateCompressor(), new DeflateCompressor(9)}) {
+			for (byte[] b : new byte[][] {new byte[0], new byte[] {1, 2, 3}, text, zeros, random, ramp}) {
+				byte[] z = c.compress(b);
+				assertArrayEquals(c.toString(), b, c.decompress(z, b.length));
+			}
+			assertTrue(c.compress(zeros).length < 1000);
+		}
+	}
+
+	@Test
+	public void testReadWrite() throws Exception {
+		Dataset d = Random.randn(23, 17, 9);
+		Slice[][] slices = new Slice[][] {
+			{},
+			{new Slice(3, 4)},
+			{new Slice(5, 20), new Slice(2, 15), new Slice(1, 8)},
+			{null, new Slice(null, null, 3), new Slice(null, null, 5)},
+			{new Slice(null, null, -2), new Slice(16, 0, -4), null},
+			{new Slice(22, 23), new Slice(16, 17), new Slice(8, 9)},
+		};
+
+		for (ChunkCompressor c : new ChunkCompressor[] {null, new DeflateCompressor(), new LZ4Compressor()}) {
+			File dir = new File(folder.getRoot(), "store" + c);
+			ChunkedStore store = new ChunkedStore(dir, DoubleDataset.class, 1, d.getShapeRef(), new int[] {4, 5, 3}, c);
+			store.initialize();
+			store.setSlice(null, d, new SliceND(d.getShapeRef()));
+
+			ChunkedStore read = new ChunkedStore(dir);
+			assertArrayEquals(d.getShapeRef(), read.getShape());
+			assertArrayEquals(new int[] {4, 5, 3}, read.getChunking());
+			assertEquals(c, read.getCompressor());
+			assertEquals(DoubleDataset.class, read.getInterface());
+			for (Slice[] s : slices) {
+				SliceND slice = new SliceND(d.getShapeRef(), s);
+				TestUtils.assertDatasetEquals(d.getSlice(slice), read.getDataset(null, slice), 0, 0);
+			}
+
+			List<SliceND> batch = new ArrayList<>();
+			for (Slice[] s : slices) {
+				batch.add(new SliceND(d.getShapeRef(), s));
+			}
+			List<Dataset> results = read.createDynamicDataset("data").getSlices(null, batch);
+			for (int i = 0; i < batch.size(); i++) {
+				TestUtils.assertDatasetEquals(d.getSlice(batch.get(i)), results.get(i), 0, 0);
+			}
+		}
+	}
+
+	@Test
+	public void testPartialWrites() throws Exception {
+		File dir = folder.newFolder("partial");
+		ChunkedStore store = new ChunkedStore(dir, IntegerDataset.class, 1, new int[] {10, 10}, new int[] {3, 4}, new LZ4Compressor());
+		store.setFillValue(-1);
+		store.initialize();
+
+		Dataset e = DatasetFactory.zeros(IntegerDataset.class, 10, 10).fill(-1);
+		SliceND s = new SliceND(e.getShapeRef(), new Slice(1, 8, 3), new Slice(9, 2, -2));
+		Dataset v = DatasetFactory.createRange(IntegerDataset.class, ShapeUtils.calcSize(s.getShape())).reshape(s.getShape());
+		store.setSlice(null, v, s);
+		e.setSlice(v, s);
+		s = new SliceND(e.getShapeRef(), new Slice(4, 6), new Slice(3, 9));
+		v = DatasetFactory.createRange(IntegerDataset.class, 100, 100 + ShapeUtils.calcSize(s.getShape()), 1).reshape(s.getShape());
+		store.setSlice(null, v, s);
+		e.setSlice(v, s);
+
+		assertEquals(e, store.getDataset(null, null));
+		assertEquals(-1, ((Number) new ChunkedStore(dir).getFillValue()).intValue());
+		assertTrue(new File(dir, "2.0").exists());
+		assertTrue(!new File(dir, "3.0").exists()); // untouched chunk
+	}
+
+	@Test
+	public void testCompoundAndComplex() throws Exception {
+		CompoundDataset c = DatasetUtils.createCompoundDatasetFromLastAxis(DatasetUtils.convertToDataset(Random.randn(5, 3, 2)), true);
+		File dir = folder.newFolder("compound");
+		ChunkedStore store = new ChunkedStore(dir, CompoundDoubleDataset.class, 2, new int[] {5, 3}, new int[] {2, 2}, null);
+		store.initialize();
+		store.setSlice(null, c, new SliceND(c.getShapeRef()));
+		ChunkedStore read = new ChunkedStore(dir);
+		assertEquals(CompoundDoubleDataset.class, read.getInterface());
+		assertArrayEquals(new int[] {5, 3}, read.getShape());
+		SliceND s = new SliceND(c.getShapeRef(), new Slice(1, 4));
+		assertEquals(c.getSlice(s), read.getDataset(null, s));
+
+		Dataset z = DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, Random.randn(6).getData(), Random.randn(6).getData());
+		dir = folder.newFolder("complex");
+		store = new ChunkedStore(dir, ComplexDoubleDataset.class, 1, new int[] {6}, new int[] {4}, new DeflateCompressor());
+		store.initialize();
+		store.setSlice(null, z, new SliceND(z.getShapeRef()));
+		s = new SliceND(z.getShapeRef(), new Slice(1, null, 2));
+		assertEquals(z.getSlice(s), new ChunkedStore(dir).getDataset(null, s));
+	}
+
+	@Test
+	public void testGrowth() throws Exception {
+		File dir = folder.newFolder("growing");
+		ChunkedStore store = new ChunkedStore(dir, DoubleDataset.class, 1, new int[] {0, 6}, new int[] {2, 6}, new DeflateCompressor());
+		store.initialize();
+		LazyWriteableDataset lazy = store.createWriteableDataset("data", new int[] {-1, 6});
+
+		ChunkedStore reader = new ChunkedStore(dir);
+		LazyDynamicDataset dynamic = reader.createDynamicDataset("data");
+		assertArrayEquals(new int[] {0, 6}, dynamic.getShape());
+
+		Dataset all = Random.rand(5, 6);
+		for (int i = 0; i < 5; i++) {
+			lazy.setSlice(null, all.getSlice(new Slice(i, i + 1)), new SliceND(lazy.getShape(), new int[] {-1, 6}, new Slice(i, i + 1), null));
+			assertArrayEquals(new int[] {i + 1, 6}, lazy.getShape());
+			assertTrue(dynamic.refreshShape());
+			assertArrayEquals(new int[] {i + 1, 6}, dynamic.getShape());
+		}
+		assertEquals(all, dynamic.getSlice());
+	}
+
+	@Test
+	public void testAsync() throws Exception {
+		File dir = folder.newFolder("async");
+		try (ChunkedStore store = new ChunkedStore(dir, IntegerDataset.class, 1, new int[] {0, 4}, new int[] {3, 4}, null)) {
+			store.initialize();
+			Dataset row = DatasetFactory.zeros(IntegerDataset.class, 1, 4);
+			for (int i = 0; i < 20; i++) {
+				row.fill(i);
+				store.setSliceAsync(null, row, new SliceND(new int[] {i, 4}, new int[] {-1, 4}, new Slice(i, i + 1), null));
+			}
+			store.flush();
+			assertArrayEquals(new int[] {20, 4}, store.refreshShape());
+			Dataset d = store.getDataset(null, null);
+			for (int i = 0; i < 20; i++) {
+				assertEquals(i, d.getInt(i, 3));
+			}
+		}
+	}
+
+	@Test
+	public void testMetadata() throws Exception {
+		File dir = folder.newFolder("zarr");
+		String json = "{\"chunks\": [2, 2], \"compressor\": {\"blocksize\": 0, \"id\": \"zlib\", \"level\": 5}, \"dtype\": \">i2\","
+				+ " \"fill_value\": 7, \"filters\": null, \"order\": \"C\", \"shape\": [3, 3], \"zarr_format\": 2}";
+		Files.write(new File(dir, ChunkedStore.METADATA).toPath(), json.getBytes(StandardCharsets.UTF_8));
+		ChunkedStore store = new ChunkedStore(dir);
+		assertEquals(new DeflateCompressor(5), store.getCompressor());
+		Dataset d = store.getDataset(null, null);
+		assertEquals(DatasetFactory.zeros(ShortDataset.class, 3, 3).fill(7), d);
+
+		store.setSlice(null, DatasetFactory.createFromObject(new short[] {-5}).reshape(1, 1), new SliceND(new int[] {3, 3}, new Slice(2, 3), new Slice(0, 1)));
+		assertEquals(-5, new ChunkedStore(dir).getDataset(null, null).getInt(2, 0));
+	}
+}
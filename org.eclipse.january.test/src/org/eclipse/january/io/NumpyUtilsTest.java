@@ -0,0 +1,378 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.asserts.TestUtils;
+import org.eclipse.january.dataset.BooleanDataset;
+import org.eclipse.january.dataset.ComplexDoubleDataset;
+import org.eclipse.january.dataset.ComplexFloatDataset;
+import org.eclipse.january.dataset.CompoundDataset;
+import org.eclipse.january.dataset.CompoundIntegerDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DateDataset;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.HalfFloatDataset;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.Random;
+import org.eclipse.january.dataset.ShortDataset;
+import org.eclipse.january.dataset.Slice;
+import org.eclipse.january.dataset.StringDataset;
+import org.eclipse.january.dataset.UnsignedShortDataset;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NumpyUtilsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Dataset roundTrip(Dataset d) throws IOException {
+		File f = new File(folder.getRoot(), "d.npy");
+		NumpyUtils.writeNpy(f, d);
+		return NumpyUtils.readNpy(f);
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Dataset[] ds = new Dataset[] {
+				DatasetFactory.createFromObject(BooleanDataset.class, new boolean[] {true, false, true, true}, 2, 2),
+				DatasetFactory.createRange(ShortDataset.class, -5, 7, 1).reshape(3, 4),
+				DatasetFactory.createRange(IntegerDataset.class, 24).reshape(2, 3, 4),
+				DatasetFactory.createRange(LongDataset.class, 5),
+				DatasetFactory.createRange(FloatDataset.class, 6).reshape(3, 2),
+				Random.randn(4, 5),
+				DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, new double[] {1, 2, 3}, new double[] {-1, 0.5, 4}),
+				DatasetFactory.createComplexDataset(ComplexFloatDataset.class, new float[] {1, 2}, new float[] {-1, 0.5f}),
+		};
+
+		for (Dataset d : ds) {
+			Dataset r = roundTrip(d);
+			assertEquals(d.getClass(), r.getClass());
+			assertArrayEquals(d.getShapeRef(), r.getShapeRef());
+			assertEquals(d, r);
+		}
+	}
+
+	@Test
+	public void testRoundTripZeroRank() throws IOException {
+		Dataset d = DatasetFactory.createFromObject(3.5);
+		Dataset r = roundTrip(d);
+		assertEquals(0, r.getRank());
+		assertEquals(3.5, r.getDouble(), 0);
+	}
+
+	@Test
+	public void testRoundTripView() throws IOException {
+		Dataset d = DatasetFactory.createRange(20).reshape(4, 5);
+		Dataset v = d.getSliceView(new Slice(1, 4, 2), new Slice(null, null, -2));
+		Dataset r = roundTrip(v);
+		assertEquals(v, r);
+	}
+
+	@Test
+	public void testRoundTripStringsAndDates() throws IOException {
+		Dataset s = DatasetFactory.createFromObject(StringDataset.class, new String[] {"a", "long string", "", "été"});
+		Dataset r = roundTrip(s);
+		assertEquals(s, r);
+
+		Date[] dates = new Date[] {new Date(0), new Date(1234567890123L), new Date(-1), new Date(-1234567890123L)};
+		Dataset d = DatasetFactory.createFromObject(DateDataset.class, dates);
+		File f = folder.newFile("dates.npy");
+		NumpyUtils.writeNpy(f, d);
+		DateDataset dr = (DateDataset) NumpyUtils.readNpy(f);
+		for (int i = 0; i < dates.length; i++) {
+			assertEquals(dates[i], dr.getDate(i));
+		}
+	}
+
+	private static byte[] createDatetimes(String unit, long... times) {
+		String dict = "{'descr': '<M8[" + unit + "]', 'fortran_order': False, 'shape': (" + times.length + ",), }";
+		StringBuilder s = new StringBuilder(dict);
+		while ((10 + s.length() + 1) % 64 != 0) {
+			s.append(' ');
+		}
+		s.append('\n');
+		ByteBuffer b = ByteBuffer.allocate(10 + s.length() + 8 * times.length);
+		b.put(new byte[] {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0});
+		b.order(ByteOrder.LITTLE_ENDIAN).putShort((short) s.length());
+		b.put(s.toString().getBytes(StandardCharsets.ISO_8859_1));
+		for (long t : times) {
+			b.putLong(t);
+		}
+		return b.array();
+	}
+
+	@Test
+	public void testDatetimeUnits() throws IOException {
+		// sub-millisecond times are rounded down, also before the epoch
+		DateDataset d = (DateDataset) NumpyUtils.readNpy(new ByteArrayInputStream(createDatetimes("us", -1, -1500, 1500, 0)));
+		long[] expected = new long[] {-1, -2, 1, 0};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], d.getDate(i).getTime());
+		}
+		d = (DateDataset) NumpyUtils.readNpy(new ByteArrayInputStream(createDatetimes("ns", -1, -1000001, 999999)));
+		expected = new long[] {-1, -2, 0};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], d.getDate(i).getTime());
+		}
+		d = (DateDataset) NumpyUtils.readNpy(new ByteArrayInputStream(createDatetimes("D", -1)));
+		assertEquals(-86400000L, d.getDate(0).getTime());
+
+		try {
+			NumpyUtils.readNpy(new ByteArrayInputStream(createDatetimes("D", Long.MAX_VALUE / 1000)));
+			fail("Should have thrown an exception");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("out of range"));
+		}
+	}
+
+	@Test
+	public void testRoundTripCompound() throws IOException {
+		CompoundDataset c = DatasetFactory.createRange(3, CompoundIntegerDataset.class, 4);
+		Dataset r = roundTrip(c);
+		assertArrayEquals(new int[] {4, 3}, r.getShapeRef());
+		assertEquals(c, DatasetUtils.createCompoundDatasetFromLastAxis(r, true));
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		Dataset d = Random.rand(3, 7);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NumpyUtils.writeNpy(out, d);
+		byte[] bytes = out.toByteArray();
+		assertEquals(0, (bytes.length - d.getSize() * 8) % 64); // aligned header
+		assertEquals(d, NumpyUtils.readNpy(new ByteArrayInputStream(bytes)));
+	}
+
+	/**
+	 * Create .npy bytes as NumPy would with unsigned shorts of big-endian byte order in Fortran order
+	 */
+	private static byte[] createFortranUnsigned(int rows, int cols) {
+		String dict = "{'descr': '>u2', 'fortran_order': True, 'shape': (" + rows + ", " + cols + "), }";
+		StringBuilder s = new StringBuilder(dict);
+		while ((10 + s.length() + 1) % 64 != 0) {
+			s.append(' ');
+		}
+		s.append('\n');
+		ByteBuffer b = ByteBuffer.allocate(10 + s.length() + 2 * rows * cols);
+		b.put(new byte[] {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', 1, 0});
+		b.order(ByteOrder.LITTLE_ENDIAN).putShort((short) s.length());
+		b.put(s.toString().getBytes(StandardCharsets.ISO_8859_1));
+		b.order(ByteOrder.BIG_ENDIAN);
+		for (int j = 0; j < cols; j++) {
+			for (int i = 0; i < rows; i++) {
+				b.putShort((short) (60000 + i * cols + j));
+			}
+		}
+		return b.array();
+	}
+
+	@Test
+	public void testFortranOrderUnsigned() throws Exception {
+		File f = folder.newFile("fortran.npy");
+		try (FileOutputStream out = new FileOutputStream(f)) {
+			out.write(createFortranUnsigned(3, 4));
+		}
+		Dataset e = DatasetFactory.createRange(IntegerDataset.class, 60000, 60012, 1).reshape(3, 4);
+
+		Dataset d = NumpyUtils.readNpy(f);
+		assertTrue(d instanceof UnsignedShortDataset);
+		TestUtils.assertDatasetEquals(e, d, 0, 0);
+
+		File g = folder.newFile("unsigned.npy");
+		NumpyUtils.writeNpy(g, d);
+		assertEquals(d, NumpyUtils.readNpy(g));
+
+		LazyDataset l = NumpyUtils.createLazyDataset(f);
+		assertArrayEquals(new int[] {3, 4}, l.getShape());
+		Slice[] s = new Slice[] {new Slice(1, 3), new Slice(null, null, 2)};
+		TestUtils.assertDatasetEquals(e.getSlice(s), l.getSlice(s), 0, 0);
+	}
+
+	@Test
+	public void testHalfPrecision() throws Exception {
+		Dataset d = DatasetFactory.createFromObject(HalfFloatDataset.class, new float[] {0.5f, -1e-7f, 65504, Float.NaN, 3.14159f, 1e6f}, 2, 3);
+		File f = folder.newFile("half.npy");
+		NumpyUtils.writeNpy(f, d);
+		Dataset e = NumpyUtils.readNpy(f);
+		assertEquals(HalfFloatDataset.class, e.getClass());
+		assertArrayEquals((short[]) d.getBuffer(), (short[]) e.getBuffer());
+
+		File g = folder.newFile("halfview.npy");
+		Dataset v = d.getTransposedView();
+		NumpyUtils.writeNpy(g, v);
+		TestUtils.assertDatasetEquals(v, NumpyUtils.readNpy(g), true, 0, 0);
+
+		LazyDataset l = NumpyUtils.createLazyDataset(g);
+		assertEquals(HalfFloatDataset.class, l.getInterface());
+		TestUtils.assertDatasetEquals(v.getSlice(new Slice(1, 3)), l.getSlice(new Slice(1, 3)), true, 0, 0);
+	}
+
+	@Test
+	public void testLazySlicing() throws Exception {
+		Dataset d = DatasetFactory.createRange(2 * 5 * 6 * 7).reshape(2, 5, 6, 7);
+		File f = folder.newFile("lazy.npy");
+		NumpyUtils.writeNpy(f, d);
+
+		LazyDataset l = NumpyUtils.createLazyDataset(f);
+		assertEquals("lazy", l.getName());
+		assertEquals(DoubleDataset.class, l.getInterface());
+
+		Slice[][] slices = new Slice[][] {
+			{},
+			{new Slice(1, 2)},
+			{null, new Slice(1, 4)},
+			{null, null, new Slice(2, 3), null},
+			{null, new Slice(null, null, 2), null, new Slice(1, 6)},
+			{new Slice(null, null, -1), null, new Slice(5, 0, -2), new Slice(0, 7, 3)},
+		};
+		for (Slice[] s : slices) {
+			TestUtils.assertDatasetEquals(d.getSlice(s), l.getSlice(s), 0, 0);
+		}
+
+		ILazyDataset v = l.getTransposedView(3, 1, 0, 2).getSliceView(new Slice(2, 5));
+		TestUtils.assertDatasetEquals(d.getTransposedView(3, 1, 0, 2).getSlice(new Slice(2, 5)), DatasetUtils.convertToDataset(v.getSlice()), 0, 0);
+	}
+
+	@Test
+	public void testWriteLazy() throws Exception {
+		Dataset d = Random.randn(11, 3, 2);
+		ILazyDataset l = LazyDataset.createLazyDataset(d);
+		File f = folder.newFile("lazy.npy");
+		NumpyUtils.writeNpy(f, l);
+		assertEquals(d, NumpyUtils.readNpy(f));
+
+		Dataset c = DatasetFactory.createComplexDataset(ComplexDoubleDataset.class, new double[] {1, 2, 3}, new double[] {-1, 0.5, 4});
+		NumpyUtils.writeNpy(f, LazyDataset.createLazyDataset(c));
+		assertEquals(c, NumpyUtils.readNpy(f));
+	}
+
+	@Test
+	public void testNpz() throws Exception {
+		Map<String, Dataset> map = new LinkedHashMap<>();
+		map.put("x", DatasetFactory.createRange(10));
+		map.put("y", Random.randn(3, 4));
+		map.put("s", DatasetFactory.createFromObject(StringDataset.class, new String[] {"abc", "de"}));
+
+		for (boolean compress : new boolean[] {false, true}) {
+			File f = folder.newFile("arrays" + compress + ".npz");
+			NumpyUtils.writeNpz(f, map, compress);
+
+			Map<String, Dataset> read = NumpyUtils.readNpz(f);
+			assertArrayEquals(map.keySet().toArray(), read.keySet().toArray());
+			for (String k : map.keySet()) {
+				assertEquals(map.get(k), read.get(k));
+			}
+
+			Map<String, ILazyDataset> lazy = NumpyUtils.createLazyDatasets(f);
+			for (String k : map.keySet()) {
+				ILazyDataset l = lazy.get(k);
+				assertEquals(k, l.getName());
+				assertEquals(map.get(k).getSlice(new Slice(1, 2)), DatasetUtils.convertToDataset(l.getSlice(new Slice(1, 2))));
+			}
+		}
+	}
+
+	@Test
+	public void testNpzLazySlicing() throws Exception {
+		Map<String, Dataset> map = new LinkedHashMap<>();
+		Dataset d = DatasetFactory.createRange(IntegerDataset.class, 2 * 5 * 6 * 7).reshape(2, 5, 6, 7);
+		map.put("d", d);
+		File f = folder.newFile("lazy.npz");
+		NumpyUtils.writeNpz(f, map, true);
+
+		ILazyDataset l = NumpyUtils.createLazyDatasets(f).get("d");
+		assertEquals(IntegerDataset.class, ((LazyDataset) l).getInterface());
+		assertArrayEquals(d.getShapeRef(), l.getShape());
+		Slice[][] slices = new Slice[][] {
+			{},
+			{new Slice(1, 2)},
+			{null, null, new Slice(2, 3), null},
+			{null, new Slice(null, null, 2), null, new Slice(1, 6)},
+			{new Slice(null, null, -1), null, new Slice(5, 0, -2), new Slice(0, 7, 3)},
+		};
+		for (Slice[] s : slices) {
+			TestUtils.assertDatasetEquals(d.getSlice(s), DatasetUtils.convertToDataset(l.getSlice(s)), 0, 0);
+		}
+
+		File g = folder.newFile("fortran.npz");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(g))) {
+			zip.putNextEntry(new ZipEntry("u.npy"));
+			zip.write(createFortranUnsigned(3, 4));
+			zip.closeEntry();
+		}
+		Dataset e = DatasetFactory.createRange(IntegerDataset.class, 60000, 60012, 1).reshape(3, 4);
+		l = NumpyUtils.createLazyDatasets(g).get("u");
+		assertEquals(UnsignedShortDataset.class, ((LazyDataset) l).getInterface());
+		Slice[] s = new Slice[] {new Slice(2, 0, -1), new Slice(null, null, 2)};
+		TestUtils.assertDatasetEquals(e.getSlice(s), DatasetUtils.convertToDataset(l.getSlice(s)), 0, 0);
+	}
+
+	@Test
+	public void testNpzOnlyReadsNeededItems() throws Exception {
+		// entry is truncated so only its header and first items can be read
+		byte[] bytes = createFortranUnsigned(300, 400);
+		File f = folder.newFile("truncated.npz");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(f))) {
+			zip.putNextEntry(new ZipEntry("u.npy"));
+			zip.write(bytes, 0, bytes.length / 2);
+			zip.closeEntry();
+		}
+
+		ILazyDataset l = NumpyUtils.createLazyDatasets(f).get("u");
+		assertArrayEquals(new int[] {300, 400}, l.getShape());
+		Dataset c = DatasetUtils.convertToDataset(l.getSlice(new Slice(2, 5), new Slice(0, 1)));
+		assertEquals(60000 + 2 * 400, c.getInt(0, 0));
+		try {
+			l.getSlice((Slice) null, new Slice(399, 400));
+			fail("Should have thrown an exception");
+		} catch (DatasetException ex) {
+			assertTrue(ex.getCause() instanceof EOFException);
+		}
+	}
+
+	@Test
+	public void testUnsupportedDatetimeUnit() {
+		try {
+			NumpyUtils.readNpy(new ByteArrayInputStream(createDatetimes("ps", 1)));
+			fail("Should have thrown an exception");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("ps"));
+		}
+	}
+}
@@ -135,11 +135,6 @@ public abstract class AbstractCompoundDataset extends AbstractDataset implements
 		return isize == other.getElementsPerItem();
 	}
 
-	@Override
-	public int hashCode() {
-		return getCompoundStats().getHash(shape);
-	}
-
 	@Override
 	public CompoundDataset cast(boolean repeat, int dtype, int isize) {
 		return (CompoundDataset) super.cast(repeat, dtype, isize);
@@ -17,6 +17,10 @@ import java.lang.reflect.Array;
 import java.text.Format;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
@@ -49,6 +53,9 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 	protected int[] stride; // can be null for row-major, contiguous datasets
 	protected int offset;
 
+	transient private volatile boolean contentHashed; // is false when content hash needs computing
+	transient private long contentHash;
+
 	/**
 	 * The data itself, held in a 1D array, but the object will wrap it to appear as possessing as many dimensions as
 	 * wanted
@@ -83,7 +90,23 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 
 	@Override
 	public int hashCode() {
-		return getStats().getHash(shape);
+		long h = getContentHash();
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@Override
+	public long getContentHash() {
+		if (!contentHashed) {
+			contentHash = HashUtils.hash(this);
+			contentHashed = true;
+		}
+		return contentHash;
+	}
+
+	@Override
+	public void setDirty() {
+		contentHashed = false;
+		super.setDirty();
 	}
 
 	@Override
@@ -147,9 +170,9 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 	protected static void copyToView(Dataset orig, AbstractDataset view, boolean clone, boolean cloneMetadata) {
 		view.name = orig.getName();
 		view.size = orig.getSize();
-		view.odata = orig.getBuffer();
-		view.offset = orig.getOffset();
 		AbstractDataset a = orig instanceof AbstractDataset ? (AbstractDataset) orig : null;
+		view.odata = a == null ? orig.getBuffer() : a.odata; // as buffer-backed datasets return copies
+		view.offset = orig.getOffset();
 		view.base = a == null ? null : a.base;
 
 		int[] s = a == null ? null : a.stride;
@@ -161,7 +184,11 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 			view.stride = s;
 		}
 
-		view.metadata = getMetadataMap(orig, cloneMetadata);
+		if (orig instanceof LazyDatasetBase) {
+			view.shareMetadata((LazyDatasetBase) orig, cloneMetadata);
+		} else {
+			view.metadata = MetadataStore.create(getMetadataMap(orig, cloneMetadata));
+		}
 		Class<? extends Dataset> oc = InterfaceUtils.findSubInterface(orig.getClass());
 		Class<? extends Dataset> vc = InterfaceUtils.findSubInterface(view.getClass());
 		if (!oc.equals(vc)) {
@@ -328,6 +355,31 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 		return getIterator(false);
 	}
 
+	@Override
+	public IndexIterator getRangeIterator(final int start, final int stop) {
+		return new RangeIterator(this, start, stop);
+	}
+
+	@Override
+	public Spliterator.OfDouble doubleSpliterator() {
+		return new DatasetSpliterator.DoubleSpliterator(this, 0, size);
+	}
+
+	@Override
+	public Spliterator.OfLong longSpliterator() {
+		return new DatasetSpliterator.LongSpliterator(this, 0, size);
+	}
+
+	@Override
+	public DoubleStream doubleStream() {
+		return StreamSupport.doubleStream(doubleSpliterator(), false);
+	}
+
+	@Override
+	public LongStream longStream() {
+		return StreamSupport.longStream(longSpliterator(), false);
+	}
+
 	@Override
 	public PositionIterator getPositionIterator(final int... axes) {
 		return new PositionIterator(shape, axes);
@@ -407,45 +459,38 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 	public Dataset getByBoolean(Dataset selection) {
 		checkCompatibility(selection);
 
-		final int length = ((Number) selection.sum()).intValue();
-		final int is = getElementsPerItem();
-		Dataset r = DatasetFactory.zeros(is, getClass(), length);
-		BooleanIterator biter = getBooleanIterator(selection);
-
-		int i = 0;
-		while (biter.hasNext()) {
-			r.setObjectAbs(i, getObjectAbs(biter.index));
-			i += is;
-		}
-		return r;
+		final int[] indices = GatherUtils.getIndices(this, selection);
+		return gather(indices, new int[] {indices.length});
 	}
 
 	@Override
 	public Dataset getBy1DIndex(IntegerDataset index) {
-		final int is = getElementsPerItem();
-		final Dataset r = DatasetFactory.zeros(is, getClass(), index.getShapeRef());
-		final IntegerIterator iter = new IntegerIterator(index, size, is);
+		final IntegerIterator iter = new IntegerIterator(index, size, getElementsPerItem());
 
-		int i = 0;
-		while (iter.hasNext()) {
-			r.setObjectAbs(i, getObjectAbs(iter.index));
-			i += is;
-		}
-		return r;
+		return gather(GatherUtils.getIndices(iter, index.getSize()), index.getShapeRef());
 	}
 
 	@Override
 	public Dataset getByIndexes(final Object... indexes) {
 		final IntegersIterator iter = new IntegersIterator(shape, indexes);
-		final int is = getElementsPerItem();
-		final Dataset r = DatasetFactory.zeros(is, getClass(), iter.getShape());
 
-		final int[] pos = iter.getPos();
-		int i = 0;
-		while (iter.hasNext()) {
-			r.setObjectAbs(i, getObject(pos));
-			i += is;
+		return gather(GatherUtils.getIndices(this, iter), iter.getShape());
+	}
+
+	/**
+	 * @param indices indices of first elements of items
+	 * @param newShape shape of result
+	 * @return new dataset of items at given indices
+	 */
+	private Dataset gather(final int[] indices, final int[] newShape) {
+		final int is = getElementsPerItem();
+		final Dataset r = DatasetFactory.zeros(is, getClass(), newShape);
+		if (!GatherUtils.gather(getBuffer(), indices, is, r.getBuffer())) {
+			for (int i = 0; i < indices.length; i++) {
+				r.setObjectAbs(i * is, getObjectAbs(indices[i]));
+			}
 		}
+		r.setDirty();
 		return r;
 	}
 
@@ -823,7 +868,7 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 		s.offset = sOffset[0];
 		s.base = this;
 
-		s.metadata = copyMetadata();
+		s.shareMetadata(this, true);
 		s.sliceMetadata(true, slice);
 
 		s.setDirty();
@@ -1419,7 +1464,7 @@ public abstract class AbstractDataset extends LazyDatasetBase implements Dataset
 	private Dataset internalGetSlice(final SliceND slice) {
 		SliceIterator it = (SliceIterator) internalGetSliceIterator(slice);
 		AbstractDataset s = getSlice(it);
-		s.metadata = copyMetadata();
+		s.shareMetadata(this, true);
 		s.setDirty();
 		s.sliceMetadata(true, slice);
 		return s;
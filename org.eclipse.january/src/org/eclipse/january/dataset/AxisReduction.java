@@ -0,0 +1,599 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of a dataset along axes.
+ * <p>
+ * The dataset is traversed in storage order, a row at a time, and each item is accumulated
+ * into primitive arrays of counts, sums, extrema (with their positions) and means and sums of
+ * squared deviations (using Welford's method). So reducing a stack of images over its first axis
+ * streams through memory rather than striding across it for every pixel. Blocks of independent
+ * output items are calculated in parallel.
+ * <p>
+ * When NaNs are not ignored, the first NaN makes all statistics of its output item NaN and the
+ * positions of its extrema point to the NaN.
+ * @since 3.0
+ */
+public final class AxisReduction {
+	private static final int CHUNK = 4096; // maximum number of items converted at a time
+
+	private final Dataset a;
+	private final Object buffer;
+	private final int isize;
+	private final boolean ignoreNaNs;
+	private final boolean ignoreInfs;
+
+	// dimensions after removing unit dimensions and coalescing those that are contiguous
+	private int offset;
+	private int m;
+	private int[] ext;    // extent
+	private int[] sst;    // source stride
+	private int[] ost;    // output stride (zero if reduced)
+	private int[] ast;    // stride of position along reduced axis (zero unless reduced)
+	private boolean[] red;
+
+	// accumulators
+	private final long[] count;
+	private final double[] sum;
+	private final double[] mean;
+	private final double[] m2;
+	private final double[] max;
+	private final double[] min;
+	private final int[] maxPos;
+	private final int[] minPos;
+	private final boolean[] nans;
+
+	private Dataset maximum;
+	private Dataset minimum;
+	private IntegerDataset argMaximum;
+	private IntegerDataset argMinimum;
+	private LongDataset counts;
+	private Dataset sums;
+	private Dataset means;
+	private Dataset variances;
+
+	private AxisReduction(final Dataset a, final int[] axes, final boolean ignoreNaNs, final boolean ignoreInfs) {
+		this.a = a;
+		isize = a.getElementsPerItem();
+		Object b = a.getBuffer();
+		// unsigned and half-precision datasets are read with element getters
+		buffer = (b instanceof double[] || b instanceof float[] || b instanceof long[] || b instanceof int[]
+				|| b instanceof short[] || b instanceof byte[] || b instanceof boolean[]) && !InterfaceUtils.isBufferEncoded(a.getClass()) ? b : null;
+		this.ignoreNaNs = ignoreNaNs;
+		this.ignoreInfs = ignoreInfs;
+
+		int[] nshape = coalesce(axes);
+		int n = ShapeUtils.calcSize(nshape);
+		count = new long[n];
+		sum = new double[n * isize];
+		mean = new double[n * isize];
+		m2 = new double[n * isize];
+		if (isize == 1) {
+			max = new double[n];
+			min = new double[n];
+			maxPos = new int[n];
+			minPos = new int[n];
+			nans = new boolean[n];
+			Arrays.fill(max, Double.NEGATIVE_INFINITY);
+			Arrays.fill(min, Double.POSITIVE_INFINITY);
+		} else {
+			max = null;
+			min = null;
+			maxPos = null;
+			minPos = null;
+			nans = null;
+		}
+
+		if (a.getSize() > 0) {
+			traverse();
+		}
+		finish(nshape, axes.length == 1);
+	}
+
+	/**
+	 * Calculate summary statistics along given axes
+	 * @param a dataset
+	 * @param ignoreNaNs if true, ignore NaNs
+	 * @param ignoreInfs if true, ignore infinities
+	 * @param axes to reduce over
+	 * @return reduction
+	 */
+	public static AxisReduction reduce(final Dataset a, final boolean ignoreNaNs, final boolean ignoreInfs, final int... axes) {
+		return new AxisReduction(a, ShapeUtils.checkAxes(a.getRank(), axes), ignoreNaNs, ignoreInfs);
+	}
+
+	/**
+	 * @return maxima (null for compound datasets)
+	 */
+	public Dataset getMaximum() {
+		return maximum;
+	}
+
+	/**
+	 * @return minima (null for compound datasets)
+	 */
+	public Dataset getMinimum() {
+		return minimum;
+	}
+
+	/**
+	 * @return positions of first maxima along reduced axis (null for compound datasets or if more than one axis was reduced)
+	 */
+	public IntegerDataset getArgMaximum() {
+		return argMaximum;
+	}
+
+	/**
+	 * @return positions of first minima along reduced axis (null for compound datasets or if more than one axis was reduced)
+	 */
+	public IntegerDataset getArgMinimum() {
+		return argMinimum;
+	}
+
+	/**
+	 * @return numbers of items used
+	 */
+	public LongDataset getCount() {
+		return counts;
+	}
+
+	/**
+	 * @return sums
+	 */
+	public Dataset getSum() {
+		return sums;
+	}
+
+	/**
+	 * @return means
+	 */
+	public Dataset getMean() {
+		return means;
+	}
+
+	/**
+	 * @return sample variances
+	 */
+	public Dataset getVariance() {
+		return variances;
+	}
+
+	/**
+	 * Set up coalesced dimensions
+	 * @param axes to reduce over
+	 * @return output shape
+	 */
+	private int[] coalesce(final int[] axes) {
+		final int[] shape = a.getShapeRef();
+		final int rank = shape.length;
+		boolean[] reduced = new boolean[rank];
+		for (int x : axes) {
+			reduced[x] = true;
+		}
+		int[] off = new int[1];
+		int[] stride = AbstractDataset.createStrides(a, off);
+		offset = off[0];
+
+		int[] nshape = new int[rank - axes.length];
+		ext = new int[Math.max(1, rank)];
+		sst = new int[ext.length];
+		ost = new int[ext.length];
+		ast = new int[ext.length];
+		red = new boolean[ext.length];
+
+		int[] ostride = new int[rank];
+		for (int i = rank - 1, j = nshape.length, s = 1; i >= 0; i--) {
+			if (!reduced[i]) {
+				nshape[--j] = shape[i];
+				ostride[i] = s;
+				s *= shape[i];
+			}
+		}
+
+		m = 0;
+		for (int i = 0; i < rank; i++) {
+			int e = shape[i];
+			if (e == 1) {
+				continue;
+			}
+			int o = ostride[i];
+			int p = reduced[i] && axes.length == 1 ? 1 : 0;
+			int k = m - 1;
+			if (k >= 0 && red[k] == reduced[i] && sst[k] == stride[i] * e && ost[k] == o * e && ast[k] == p * e) {
+				ext[k] *= e;
+				sst[k] = stride[i];
+				ost[k] = o;
+				ast[k] = p;
+			} else {
+				ext[m] = e;
+				sst[m] = stride[i];
+				ost[m] = o;
+				ast[m] = p;
+				red[m++] = reduced[i];
+			}
+		}
+		if (m == 0) {
+			ext[0] = 1;
+			sst[0] = isize;
+			red[0] = true;
+			m = 1;
+		}
+		return nshape;
+	}
+
+	private void traverse() {
+		int split = -1;
+		for (int i = 0; i < m; i++) {
+			if (!red[i] && (split < 0 || ext[i] > ext[split])) {
+				split = i;
+			}
+		}
+		if (split < 0) {
+			traverse(-1, 0, 0);
+			return;
+		}
+
+		final int s = split;
+		ParallelUtils.forRange(ext[s], a.getSize() / ext[s], new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				traverse(s, start, end);
+			}
+		});
+	}
+
+	/**
+	 * Traverse dataset in storage order
+	 * @param split dimension to restrict (can be -1 for none)
+	 * @param start first position in restricted dimension
+	 * @param end stop position in restricted dimension
+	 */
+	private void traverse(final int split, final int start, final int end) {
+		final int last = m - 1;
+		final int[] lo = new int[m];
+		final int[] hi = Arrays.copyOf(ext, m);
+		if (split >= 0) {
+			lo[split] = start;
+			hi[split] = end;
+		}
+
+		final double[][] x = new double[isize][Math.min(CHUNK, hi[last] - lo[last])];
+		if (red[last]) {
+			traverse(lo, hi, lo[last], hi[last], x);
+		} else { // keep block of output items in cache while traversing outer dimensions
+			for (int j = lo[last]; j < hi[last]; j += CHUNK) {
+				traverse(lo, hi, j, Math.min(hi[last], j + CHUNK), x);
+			}
+		}
+	}
+
+	/**
+	 * Traverse rows over outer dimensions
+	 * @param lo start positions
+	 * @param hi stop positions
+	 * @param rowStart start position in row
+	 * @param rowEnd stop position in row
+	 * @param x buffers for values
+	 */
+	private void traverse(final int[] lo, final int[] hi, final int rowStart, final int rowEnd, final double[][] x) {
+		final int last = m - 1;
+		final int[] pos = lo.clone();
+		int src = offset;
+		int out = 0;
+		int arg = 0;
+		for (int i = 0; i < last; i++) {
+			src += lo[i] * sst[i];
+			out += lo[i] * ost[i];
+			arg += lo[i] * ast[i];
+		}
+
+		final int rowStride = sst[last];
+		final int argStride = ast[last];
+		final boolean rowReduced = red[last];
+		while (true) {
+			for (int j = rowStart; j < rowEnd; j += CHUNK) {
+				int n = Math.min(CHUNK, rowEnd - j);
+				read(src + j * rowStride, rowStride, x, n);
+				if (isize == 1) {
+					if (rowReduced) {
+						reduce(out, arg + j * argStride, argStride, x[0], n);
+					} else {
+						accumulate(out + j, arg, x[0], n);
+					}
+				} else {
+					accumulate(out + (rowReduced ? 0 : j), rowReduced, x, n);
+				}
+			}
+
+			int i = last - 1;
+			for (; i >= 0; i--) {
+				src += sst[i];
+				out += ost[i];
+				arg += ast[i];
+				if (++pos[i] < hi[i]) {
+					break;
+				}
+				int d = hi[i] - lo[i];
+				src -= d * sst[i];
+				out -= d * ost[i];
+				arg -= d * ast[i];
+				pos[i] = lo[i];
+			}
+			if (i < 0) {
+				break;
+			}
+		}
+	}
+
+	private void read(final int off, final int step, final double[][] x, final int n) {
+		for (int k = 0; k < isize; k++) {
+			double[] xk = x[k];
+			if (buffer != null) {
+				CopyUtils.toDouble(buffer, off + k, step, xk, n);
+			} else {
+				for (int i = 0, j = off; i < n; i++, j += step) {
+					xk[i] = a.getElementDoubleAbs(j);
+				}
+			}
+		}
+	}
+
+	private boolean isIgnored(final double v) {
+		return (ignoreNaNs && Double.isNaN(v)) || (ignoreInfs && Double.isInfinite(v));
+	}
+
+	private void setNaN(final int o, final int p) {
+		nans[o] = true;
+		count[o]++;
+		maxPos[o] = p;
+		minPos[o] = p;
+	}
+
+	/**
+	 * Accumulate each value into its own output item
+	 * @param out first output item
+	 * @param p position along reduced axis
+	 * @param x values
+	 * @param n number of values
+	 */
+	private void accumulate(final int out, final int p, final double[] x, final int n) {
+		final boolean[] nans = this.nans;
+		final long[] count = this.count;
+		final double[] sum = this.sum;
+		final double[] mean = this.mean;
+		final double[] m2 = this.m2;
+		final double[] max = this.max;
+		final double[] min = this.min;
+		final int[] maxPos = this.maxPos;
+		final int[] minPos = this.minPos;
+		final boolean ignoreInfs = this.ignoreInfs;
+		for (int j = 0, o = out; j < n; j++, o++) {
+			final double v = x[j];
+			if (nans[o] || Double.isNaN(v) || (ignoreInfs && Double.isInfinite(v))) {
+				if (nans[o]) {
+					if (!Double.isNaN(v)) {
+						count[o]++;
+					}
+				} else if (Double.isNaN(v) && !ignoreNaNs) {
+					setNaN(o, p);
+				}
+				continue;
+			}
+
+			if (v > max[o]) {
+				max[o] = v;
+				maxPos[o] = p;
+			}
+			if (v < min[o]) {
+				min[o] = v;
+				minPos[o] = p;
+			}
+			final long c = ++count[o];
+			sum[o] += v;
+			final double d = v - mean[o];
+			final double u = mean[o] + d / c;
+			mean[o] = u;
+			m2[o] += d * (v - u);
+		}
+	}
+
+	/**
+	 * Reduce values into an output item
+	 * @param o output item
+	 * @param p position along reduced axis of first value
+	 * @param dp increment in position
+	 * @param x values
+	 * @param n number of values
+	 */
+	private void reduce(final int o, final int p, final int dp, final double[] x, final int n) {
+		if (nans[o]) {
+			countNonNaNs(o, x, 0, n);
+			return;
+		}
+
+		long c = 0;
+		double s = 0;
+		double hi = Double.NEGATIVE_INFINITY;
+		double lo = Double.POSITIVE_INFINITY;
+		int hj = 0;
+		int lj = 0;
+		for (int j = 0; j < n; j++) {
+			final double v = x[j];
+			if (Double.isNaN(v)) {
+				if (ignoreNaNs) {
+					continue;
+				}
+				count[o] += c;
+				setNaN(o, p + j * dp);
+				countNonNaNs(o, x, j + 1, n);
+				return;
+			}
+			if (ignoreInfs && Double.isInfinite(v)) {
+				continue;
+			}
+			c++;
+			s += v;
+			if (v > hi) {
+				hi = v;
+				hj = j;
+			}
+			if (v < lo) {
+				lo = v;
+				lj = j;
+			}
+		}
+		if (c == 0) {
+			return;
+		}
+
+		// corrected two-pass sum of squared deviations from mean of these values
+		final double lm = s / c;
+		double e = 0;
+		double q = 0;
+		for (int j = 0; j < n; j++) {
+			final double v = x[j];
+			if (!isIgnored(v)) {
+				final double d = v - lm;
+				e += d;
+				q += d * d;
+			}
+		}
+		q -= e * e / c;
+
+		if (hi > max[o]) {
+			max[o] = hi;
+			maxPos[o] = p + hj * dp;
+		}
+		if (lo < min[o]) {
+			min[o] = lo;
+			minPos[o] = p + lj * dp;
+		}
+		merge(o, c, s, lm, q);
+	}
+
+	private void countNonNaNs(final int o, final double[] x, final int start, final int end) {
+		long c = 0;
+		for (int j = start; j < end; j++) {
+			if (!Double.isNaN(x[j])) {
+				c++;
+			}
+		}
+		count[o] += c;
+	}
+
+	/**
+	 * Merge partial statistics into output item
+	 */
+	private void merge(final int o, final long c, final double s, final double lm, final double q) {
+		final long ca = count[o];
+		final long t = ca + c;
+		final double d = lm - mean[o];
+		mean[o] += d * c / t;
+		m2[o] += q + d * d * ((double) ca * c / t);
+		sum[o] += s;
+		count[o] = t;
+	}
+
+	/**
+	 * Accumulate compound values
+	 * @param out first output item
+	 * @param reduced if true, accumulate all values into first output item
+	 * @param x values
+	 * @param n number of values
+	 */
+	private void accumulate(final int out, final boolean reduced, final double[][] x, final int n) {
+		for (int j = 0; j < n; j++) {
+			boolean skip = false;
+			for (int k = 0; k < isize; k++) {
+				if (isIgnored(x[k][j])) {
+					skip = true;
+					break;
+				}
+			}
+			if (skip) {
+				continue;
+			}
+
+			final int o = reduced ? out : out + j;
+			final long c = ++count[o];
+			for (int k = 0, l = o * isize; k < isize; k++, l++) {
+				final double v = x[k][j];
+				sum[l] += v;
+				final double d = v - mean[l];
+				mean[l] += d / c;
+				m2[l] += d * (v - mean[l]);
+			}
+		}
+	}
+
+	private void finish(final int[] nshape, final boolean hasPositions) {
+		final int n = count.length;
+		final double[] var = m2;
+		for (int o = 0; o < n; o++) {
+			final long c = count[o];
+			if (nans != null && nans[o]) {
+				sum[o] = Double.NaN;
+				mean[o] = Double.NaN;
+				var[o] = Double.NaN;
+				max[o] = Double.NaN;
+				min[o] = Double.NaN;
+				continue;
+			}
+			for (int k = 0, l = o * isize; k < isize; k++, l++) {
+				if (c == 0) {
+					mean[l] = Double.NaN;
+					var[l] = Double.NaN;
+				} else {
+					if (Double.isNaN(mean[l]) && !Double.isNaN(sum[l])) { // infinities present
+						mean[l] = sum[l] / c;
+					}
+					var[l] = c == 1 ? 0 : var[l] / (c - 1);
+				}
+			}
+		}
+
+		Class<? extends Dataset> clazz = InterfaceUtils.getLargestInterface(a);
+		if (isize == 1) {
+			sums = DatasetUtils.cast(clazz, create(sum, nshape));
+			means = create(mean, nshape);
+			variances = create(var, nshape);
+			maximum = DatasetUtils.cast(clazz, create(max, nshape));
+			minimum = DatasetUtils.cast(clazz, create(min, nshape));
+			if (hasPositions) {
+				argMaximum = setShape(new IntegerDataset(maxPos, n), nshape);
+				argMinimum = setShape(new IntegerDataset(minPos, n), nshape);
+			}
+		} else {
+			if (clazz == ComplexDoubleDataset.class) {
+				sums = setShape(new ComplexDoubleDataset(sum, n), nshape);
+			} else {
+				sums = DatasetUtils.cast(isize, clazz, setShape(new CompoundDoubleDataset(isize, sum, n), nshape), false);
+			}
+			means = setShape(new CompoundDoubleDataset(isize, mean, n), nshape);
+			variances = setShape(new CompoundDoubleDataset(isize, var, n), nshape);
+		}
+		counts = setShape(new LongDataset(count, n), nshape);
+	}
+
+	private static DoubleDataset create(final double[] data, final int[] shape) {
+		return setShape(new DoubleDataset(data, data.length), shape);
+	}
+
+	/**
+	 * Data-based constructors treat empty shapes as 1D so set shape afterwards
+	 */
+	private static <T extends Dataset> T setShape(final T d, final int[] shape) {
+		d.setShape(shape);
+		return d;
+	}
+}
@@ -0,0 +1,424 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+import org.eclipse.january.DatasetException;
+
+/**
+ * Block binning (downsampling) of datasets by reducing each block of items to one item.
+ * <p>
+ * Each dimension is binned by an integer factor so a binned dataset has a shape of
+ * ceil(shape / factor). Blocks at the ends of dimensions that are not multiples of their factors
+ * are partial and are reduced over the items present. Datasets are traversed once in memory order,
+ * a row at a time, and rows are processed in parallel. Lazy datasets are loaded in batches of rows
+ * whose lengths are multiples of the leading factor.
+ * <p>
+ * Sums and means give float datasets for float input and double datasets otherwise. Maxima and
+ * minima give datasets of the same class as the input. Elements of compound items are binned
+ * separately. Values are reduced as doubles and NaNs are propagated in sums and means but ignored
+ * in maxima and minima.
+ * @since 3.0
+ */
+public class Binning {
+
+	/**
+	 * Reductions of blocks
+	 */
+	public enum Mode {
+		/**
+		 * Sum of items in block
+		 */
+		SUM,
+		/**
+		 * Mean of items in block
+		 */
+		MEAN,
+		/**
+		 * Maximum of items in block
+		 */
+		MAX,
+		/**
+		 * Minimum of items in block
+		 */
+		MIN,
+	}
+
+	/**
+	 * Maximum number of elements to load at once from lazy datasets
+	 */
+	private static final int BATCH_SIZE = 1 << 22;
+
+	/**
+	 * Number of elements of a row converted to doubles at a time
+	 */
+	private static final int CHUNK = 1 << 12;
+
+	/**
+	 * Bin dataset
+	 * @param a dataset
+	 * @param mode reduction of each block
+	 * @param factors binning factor for each dimension, or a single factor for all dimensions
+	 * @return binned dataset
+	 */
+	public static Dataset bin(final Dataset a, final Mode mode, final int... factors) {
+		return bin(a, mode, checkFactors(a.getRank(), factors), false);
+	}
+
+	/**
+	 * Bin lazy dataset, loading it in batches
+	 * @param a lazy dataset
+	 * @param mode reduction of each block
+	 * @param factors binning factor for each dimension, or a single factor for all dimensions
+	 * @return binned dataset
+	 * @throws DatasetException if dataset could not be loaded
+	 */
+	public static Dataset bin(final ILazyDataset a, final Mode mode, final int... factors) throws DatasetException {
+		if (a instanceof Dataset) {
+			return bin((Dataset) a, mode, factors);
+		}
+
+		final int[] shape = a.getShape();
+		final int[] f = checkFactors(shape.length, factors);
+		if (shape.length == 0 || shape[0] == 0) {
+			return bin(DatasetUtils.convertToDataset(a.getSlice()), mode, f, false);
+		}
+
+		final long row = Math.max(1, ShapeUtils.calcLongSize(shape) / shape[0] * a.getElementsPerItem());
+		final long blocks = Math.max(1, BATCH_SIZE / (row * f[0]));
+		final int rows = (int) Math.min(shape[0], blocks * f[0]);
+		final SliceND slice = new SliceND(shape);
+		Dataset result = null;
+		for (int i = 0; i < shape[0]; i += rows) {
+			final int end = Math.min(shape[0], i + rows);
+			slice.setSlice(0, i, end, 1);
+			final Dataset b = bin(DatasetUtils.convertToDataset(a.getSlice(slice)), mode, f, false);
+			if (end == shape[0] && result == null) {
+				return b;
+			}
+			if (result == null) {
+				result = DatasetFactory.zeros(b.getElementsPerItem(), b.getClass(), getBinnedShape(shape, f));
+			}
+			final int o = i / f[0];
+			result.setSlice(b, new Slice(o, o + b.getShapeRef()[0]));
+		}
+		return result;
+	}
+
+	/**
+	 * @param shape shape of dataset
+	 * @param factors binning factor for each dimension, or a single factor for all dimensions
+	 * @return shape of binned dataset
+	 */
+	public static int[] getBinnedShape(final int[] shape, final int... factors) {
+		final int[] f = checkFactors(shape.length, factors);
+		final int[] s = new int[shape.length];
+		for (int i = 0; i < shape.length; i++) {
+			s[i] = (int) ((shape[i] + (long) f[i] - 1) / f[i]);
+		}
+		return s;
+	}
+
+	private static int[] checkFactors(final int rank, final int[] factors) {
+		if (factors == null || (factors.length != 1 && factors.length != rank)) {
+			throw new IllegalArgumentException("Number of factors must be one or match rank of dataset");
+		}
+		final int[] f = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			f[i] = factors.length == 1 ? factors[0] : factors[i];
+			if (f[i] < 1) {
+				throw new IllegalArgumentException("Factors must be positive");
+			}
+		}
+		return f;
+	}
+
+	/**
+	 * @param clazz dataset class
+	 * @param isize number of elements per item
+	 * @return class of sums and means
+	 */
+	static Class<? extends Dataset> getLinearClass(final Class<? extends Dataset> clazz, final int isize) {
+		if (FloatDataset.class.isAssignableFrom(clazz) || CompoundFloatDataset.class.isAssignableFrom(clazz)
+				|| CompoundDoubleDataset.class.isAssignableFrom(clazz)) {
+			return clazz;
+		}
+		return isize == 1 ? DoubleDataset.class : CompoundDoubleDataset.class;
+	}
+
+	/**
+	 * @param a dataset
+	 * @param mode reduction of each block
+	 * @param f binning factors
+	 * @param keepDouble if true, give sums and means as double datasets
+	 * @return binned dataset
+	 */
+	static Dataset bin(Dataset a, final Mode mode, final int[] f, final boolean keepDouble) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Binning mode must be defined");
+		}
+		final boolean linear = mode == Mode.SUM || mode == Mode.MEAN;
+		if (!linear && InterfaceUtils.isComplex(a.getClass())) {
+			throw new IllegalArgumentException("Maxima and minima of complex datasets are not supported");
+		}
+		Class<? extends Dataset> clazz = linear ? getLinearClass(a.getClass(), a.getElementsPerItem()) : a.getClass();
+		if (keepDouble && linear) {
+			clazz = a.getElementsPerItem() == 1 ? DoubleDataset.class : CompoundDoubleDataset.class;
+		}
+
+		if (a instanceof BooleanDataset) {
+			a = DatasetUtils.cast(ByteDataset.class, a);
+		} else if (InterfaceUtils.isBufferEncoded(a.getClass())) { // as buffer is read directly
+			a = DatasetUtils.cast(InterfaceUtils.getLargestInterface(a), a);
+		} else if (!InterfaceUtils.isInteger(a.getClass()) && !InterfaceUtils.isFloating(a.getClass())) {
+			throw new IllegalArgumentException("Dataset must be numerical");
+		}
+		if (!(a instanceof AbstractDataset && ((AbstractDataset) a).isContiguous())) {
+			a = a.clone();
+		}
+
+		final int[] shape = a.getShapeRef();
+		final int[] oshape = getBinnedShape(shape, f);
+		final int isize = a.getElementsPerItem();
+		final double[] out = new double[ShapeUtils.calcSize(oshape) * isize];
+		if (mode == Mode.MAX) {
+			Arrays.fill(out, Double.NEGATIVE_INFINITY);
+		} else if (mode == Mode.MIN) {
+			Arrays.fill(out, Double.POSITIVE_INFINITY);
+		}
+
+		if (a.getSize() > 0) {
+			if (shape.length == 0) {
+				CopyUtils.toDouble(a.getBuffer(), 0, out, isize);
+			} else {
+				binRows(a.getBuffer(), shape, isize, f, oshape, mode, out);
+				if (mode == Mode.MEAN) {
+					divideByCounts(shape, isize, f, oshape, out);
+				}
+			}
+		}
+
+		Dataset d = isize == 1 ? new DoubleDataset(out, oshape) : new CompoundDoubleDataset(isize, out, oshape);
+		return clazz == d.getClass() ? d : DatasetUtils.cast(clazz, d);
+	}
+
+	private static int[] getStrides(final int[] shape) {
+		final int[] strides = new int[shape.length];
+		int s = 1;
+		for (int d = shape.length - 1; d >= 0; d--) {
+			strides[d] = s;
+			s *= shape[d];
+		}
+		return strides;
+	}
+
+	/**
+	 * Reduce rows into output
+	 */
+	private static void binRows(final Object b, final int[] shape, final int isize, final int[] f, final int[] oshape,
+			final Mode mode, final double[] out) {
+		final int rank = shape.length;
+		final int cols = shape[rank - 1];
+		final int fc = f[rank - 1];
+		final int ocols = oshape[rank - 1];
+		if (rank == 1) {
+			ParallelUtils.forRange(ocols, (long) fc * isize, new ParallelUtils.RangeTask() {
+				@Override
+				public void run(int start, int end) {
+					binRow(b, 0, cols, fc, isize, start, end, mode, out, 0, new double[CHUNK]);
+				}
+			});
+			return;
+		}
+
+		final int[] ostrides = getStrides(oshape);
+		final int inner = ShapeUtils.calcSize(shape) / shape[0] / cols; // rows per leading index
+		final int f0 = f[0];
+		ParallelUtils.forRange(oshape[0], (long) inner * cols * isize * f0, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				final double[] x = new double[CHUNK];
+				final int[] pos = new int[rank - 1];
+				final int pend = Math.min(shape[0], end * f0);
+				for (int p0 = start * f0; p0 < pend; p0++) {
+					Arrays.fill(pos, 0);
+					pos[0] = p0;
+					int in = p0 * inner * cols * isize;
+					for (int r = 0; r < inner; r++, in += cols * isize) {
+						int o = 0;
+						for (int d = 0; d < rank - 1; d++) {
+							o += (pos[d] / f[d]) * ostrides[d];
+						}
+						binRow(b, in, cols, fc, isize, 0, ocols, mode, out, o * isize, x);
+						for (int d = rank - 2; d > 0; d--) { // increment position over inner dimensions
+							if (++pos[d] < shape[d]) {
+								break;
+							}
+							pos[d] = 0;
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Reduce blocks of a row into output row
+	 * @param b data array
+	 * @param in index of start of row
+	 * @param cols number of items in row
+	 * @param fc binning factor
+	 * @param isize number of elements per item
+	 * @param bstart first block
+	 * @param bend last block (exclusive)
+	 * @param mode reduction
+	 * @param out output
+	 * @param o index of start of output row
+	 * @param x buffer
+	 */
+	private static void binRow(final Object b, final int in, final int cols, final int fc, final int isize,
+			final int bstart, final int bend, final Mode mode, final double[] out, final int o, final double[] x) {
+		final int cstart = bstart * fc;
+		final int cend = (int) Math.min(cols, (long) bend * fc);
+		final int chunk = Math.max(1, CHUNK / isize);
+		for (int c = cstart; c < cend;) {
+			final int n = Math.min(cend - c, chunk);
+			CopyUtils.toDouble(b, in + c * isize, x, n * isize);
+			int k = o + (c / fc) * isize;
+			int j = 0;
+			int left = fc - c % fc; // items left in current block
+			while (j < n) {
+				final int m = Math.min(n - j, left);
+				if (isize == 1) {
+					out[k] = reduce(x, j, j + m, mode, out[k]);
+				} else {
+					final int jend = (j + m) * isize;
+					for (int i = 0; i < isize; i++) {
+						out[k + i] = reduce(x, j * isize + i, jend, isize, mode, out[k + i]);
+					}
+				}
+				j += m;
+				left -= m;
+				if (left == 0) {
+					left = fc;
+					k += isize;
+				}
+			}
+			c += n;
+		}
+	}
+
+	/**
+	 * @param x values
+	 * @param start index
+	 * @param end index (exclusive)
+	 * @param mode reduction
+	 * @param acc initial value
+	 * @return reduction of contiguous values
+	 */
+	private static double reduce(final double[] x, final int start, final int end, final Mode mode, double acc) {
+		switch (mode) {
+		case MAX:
+			for (int j = start; j < end; j++) {
+				final double v = x[j];
+				acc = v > acc ? v : acc;
+			}
+			break;
+		case MIN:
+			for (int j = start; j < end; j++) {
+				final double v = x[j];
+				acc = v < acc ? v : acc;
+			}
+			break;
+		default:
+			for (int j = start; j < end; j++) {
+				acc += x[j];
+			}
+			break;
+		}
+		return acc;
+	}
+
+	/**
+	 * @param x values
+	 * @param start index
+	 * @param end index (exclusive)
+	 * @param stride between values
+	 * @param mode reduction
+	 * @param acc initial value
+	 * @return reduction of strided values
+	 */
+	private static double reduce(final double[] x, final int start, final int end, final int stride, final Mode mode, double acc) {
+		switch (mode) {
+		case MAX:
+			for (int j = start; j < end; j += stride) {
+				final double v = x[j];
+				acc = v > acc ? v : acc;
+			}
+			break;
+		case MIN:
+			for (int j = start; j < end; j += stride) {
+				final double v = x[j];
+				acc = v < acc ? v : acc;
+			}
+			break;
+		default:
+			for (int j = start; j < end; j += stride) {
+				acc += x[j];
+			}
+			break;
+		}
+		return acc;
+	}
+
+	/**
+	 * @return number of items in each block along a dimension
+	 */
+	private static int[] getCounts(final int n, final int f, final int on) {
+		final int[] c = new int[on];
+		for (int i = 0; i < on; i++) {
+			c[i] = (int) Math.min(f, n - (long) i * f);
+		}
+		return c;
+	}
+
+	/**
+	 * Divide sums by numbers of items in blocks
+	 */
+	private static void divideByCounts(final int[] shape, final int isize, final int[] f, final int[] oshape, final double[] out) {
+		final int rank = shape.length;
+		final int[][] counts = new int[rank][];
+		for (int d = 0; d < rank; d++) {
+			counts[d] = getCounts(shape[d], f[d], oshape[d]);
+		}
+		final int ocols = oshape[rank - 1];
+		final int[] last = counts[rank - 1];
+		final int[] pos = new int[rank];
+		for (int k = 0; k < out.length;) {
+			long c = 1;
+			for (int d = 0; d < rank - 1; d++) {
+				c *= counts[d][pos[d]];
+			}
+			for (int j = 0; j < ocols; j++) {
+				final double r = 1. / (c * last[j]);
+				for (int i = 0; i < isize; i++) {
+					out[k++] *= r;
+				}
+			}
+			for (int d = rank - 2; d >= 0; d--) {
+				if (++pos[d] < oshape[d]) {
+					break;
+				}
+				pos[d] = 0;
+			}
+		}
+	}
+}
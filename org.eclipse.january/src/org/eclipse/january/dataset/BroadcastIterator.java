@@ -82,9 +82,10 @@ public abstract class BroadcastIterator extends BroadcastIteratorBase {
 		oDataset = o;
 		outputA = a == o;
 		outputB = b == o;
-		read = InterfaceUtils.isNumerical(a.getClass()) && InterfaceUtils.isNumerical(b.getClass());
+		read = InterfaceUtils.isNumerical(BroadcastUtils.getKernelClass(a.getClass())) && InterfaceUtils.isNumerical(BroadcastUtils.getKernelClass(b.getClass()));
 		asDouble = aDataset.hasFloatingPointElements() || bDataset.hasFloatingPointElements();
 		BroadcastUtils.checkItemSize(a, b, o);
+		BroadcastUtils.checkOutput(o);
 		if (o != null) {
 			o.setDirty();
 		}
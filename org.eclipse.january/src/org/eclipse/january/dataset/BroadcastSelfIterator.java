@@ -36,7 +36,7 @@ public abstract class BroadcastSelfIterator extends BroadcastIteratorBase {
 	 */
 	protected BroadcastSelfIterator(Dataset a, Dataset b) {
 		super(a, b);
-		read = InterfaceUtils.isNumerical(b.getClass());
+		read = InterfaceUtils.isNumerical(BroadcastUtils.getKernelClass(b.getClass()));
 		asDouble = aDataset.hasFloatingPointElements();
 		BroadcastUtils.checkItemSize(a, b, null);
 	}
@@ -179,16 +179,33 @@ public final class BroadcastUtils {
 		}
 	}
 
+	/**
+	 * @param clazz dataset class
+	 * @return class of dataset used to hold results of numerical kernels applied to given class
+	 */
+	static Class<? extends Dataset> getKernelClass(Class<? extends Dataset> clazz) {
+		if (EpochDateDataset.class.isAssignableFrom(clazz)) { // arithmetic on epoch dates yields plain times
+			return LongDataset.class;
+		}
+		if (BufferDataset.class.isAssignableFrom(clazz)) { // results are held in Java arrays
+			return InterfaceUtils.findSubInterface(clazz);
+		}
+		// half-precision items are computed (and stored) in single precision
+		return HalfFloatDataset.class.isAssignableFrom(clazz) ? FloatDataset.class : clazz;
+	}
+
 	static Dataset createDataset(final Dataset a, final Dataset b, final int[] shape) {
 		final Class<? extends Dataset> rc;
 		final int ar = a.getRank();
 		final int br = b.getRank();
-		Class<? extends Dataset> tc = InterfaceUtils.getBestInterface(a.getClass(), b.getClass());
+		final Class<? extends Dataset> ac = getKernelClass(a.getClass());
+		final Class<? extends Dataset> bc = getKernelClass(b.getClass());
+		Class<? extends Dataset> tc = InterfaceUtils.getBestInterface(ac, bc);
 		if (ar == 0 ^ br == 0) { // ignore type of zero-rank dataset unless it's floating point
 			if (ar == 0) {
-				rc = a.hasFloatingPointElements() ? tc : b.getClass();
+				rc = a.hasFloatingPointElements() ? tc : bc;
 			} else {
-				rc = b.hasFloatingPointElements() ? tc : a.getClass();
+				rc = b.hasFloatingPointElements() ? tc : ac;
 			}
 		} else {
 			rc = tc;
@@ -199,6 +216,18 @@ public final class BroadcastUtils {
 		return DatasetFactory.zeros(ia > ib ? ia : ib, rc, shape);
 	}
 
+	/**
+	 * Check dataset can be used as an output of a broadcast kernel. Buffer datasets
+	 * are rejected as kernels write through a copy of their data
+	 * @param o output dataset (can be null)
+	 * @throws IllegalArgumentException if output is a buffer dataset
+	 */
+	static void checkOutput(Dataset o) {
+		if (o instanceof BufferDataset) {
+			throw new IllegalArgumentException("Can not output to a buffer dataset; use its in-place methods or a copy instead");
+		}
+	}
+
 	/**
 	 * Check if dataset item sizes are compatible
 	 * <p>
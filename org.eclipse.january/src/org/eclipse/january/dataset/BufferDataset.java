@@ -0,0 +1,30 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.nio.Buffer;
+
+/**
+ * Interface for a dataset whose items are held in an NIO {@link Buffer} instead of a Java array,
+ * e.g. a direct buffer shared with native code or a buffer mapped from a file. The buffer is
+ * wrapped without copying so the dataset and its views read and write through to it.
+ * <p>
+ * As there is no Java array, {@link #getBuffer()} returns a copy of the items so changes to
+ * it are not written back. Results of numerical kernels are held in Java arrays
+ * @since 3.0
+ */
+public interface BufferDataset extends Dataset {
+
+	/**
+	 * @return duplicate of buffer that holds items, starting at first item in buffer. A view
+	 * indexes this with its offset and strides
+	 */
+	public Buffer getNioBuffer();
+}
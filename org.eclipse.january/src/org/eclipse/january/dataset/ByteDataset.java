@@ -17,8 +17,6 @@ package org.eclipse.january.dataset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
 
 import org.apache.commons.math3.complex.Complex;
 import org.eclipse.january.metadata.StatisticsMetadata;
@@ -120,10 +118,11 @@ public class ByteDataset extends AbstractDataset {
 				stride = null;
 				base = null;
 				odata = data = createArray(size);
-
-				IndexIterator iter = dataset.getIterator();
-				for (int i = 0; iter.hasNext(); i++) {
-					data[i] = dataset.data[iter.index];
+				if (!CopyUtils.copyTiled(dataset, data)) {
+					IndexIterator iter = dataset.getIterator();
+					for (int i = 0; iter.hasNext(); i++) {
+						data[i] = dataset.data[iter.index];
+					}
 				}
 			}
 		} catch (Throwable t) {
@@ -164,6 +163,9 @@ public class ByteDataset extends AbstractDataset {
 		}
 
 		if (!getClass().equals(obj.getClass())) {
+			if (obj instanceof BufferDataset) { // buffer datasets compare by content
+				return obj.equals(this);
+			}
 			if (getRank() == 0) { // for zero-rank datasets
 				return obj.equals(getObjectAbs(offset));
 			}
@@ -696,18 +698,9 @@ public class ByteDataset extends AbstractDataset {
 
 	@Override
 	public ByteDataset getUniqueItems() {
-		Set<Byte> set = new TreeSet<Byte>(); // CLASS_TYPE
-		IndexIterator it = getIterator();
-		while (it.hasNext()) {
-			set.add(data[it.index]);
-		}
-
-		ByteDataset u = new ByteDataset(set.size()); // CLASS_TYPE
-		int i = 0;
-		byte[] udata = u.getData(); // PRIM_TYPE
-		for (Byte v : set) { // CLASS_TYPE
-			udata[i++] = v;
-		}
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		ByteDataset u = new ByteDataset(first.length); // CLASS_TYPE
+		GatherUtils.gather(data, first, 1, u.data);
 		return u;
 	}
 
@@ -716,8 +709,10 @@ public class ByteDataset extends AbstractDataset {
 		ByteDataset result = new ByteDataset(siter.getShape());
 		byte[] rdata = result.data; // PRIM_TYPE
 
-		for (int i = 0; siter.hasNext(); i++)
-			rdata[i] = data[siter.index];
+		if (!CopyUtils.copy(data, siter, rdata, null, 1, result.size)) {
+			for (int i = 0; siter.hasNext(); i++)
+				rdata[i] = data[siter.index];
+		}
 
 		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
 		return result;
@@ -725,11 +720,14 @@ public class ByteDataset extends AbstractDataset {
 
 	@Override
 	public void fillDataset(Dataset result, IndexIterator iter) {
-		IndexIterator riter = result.getIterator();
 		result.setDirty();
 
 		byte[] rdata = ((ByteDataset) result).data; // PRIM_TYPE
+		if (CopyUtils.copy(data, iter, rdata, CopyUtils.getIterator(result), 1, result.getSize())) {
+			return;
+		}
 
+		IndexIterator riter = result.getIterator();
 		while (riter.hasNext() && iter.hasNext()) {
 			rdata[riter.index] = data[iter.index];
 		}
@@ -738,55 +736,23 @@ public class ByteDataset extends AbstractDataset {
 	@Override
 	public ByteDataset setByBoolean(final Object obj, Dataset selection) {
 		setDirty();
-		if (obj instanceof Dataset) {
-			final Dataset ds = (Dataset) obj;
-			final int length = ((Number) selection.sum()).intValue();
-			if (length != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of true items in selection does not match number of items in dataset");
-			}
-
-			final IndexIterator oiter = ds.getIterator();
-			final BooleanIterator biter = getBooleanIterator(selection);
-
-			while (biter.hasNext() && oiter.hasNext()) {
-				data[biter.index] = (byte) ds.getElementLongAbs(oiter.index); // GET_ELEMENT_WITH_CAST
-			}
-		} else {
-			final byte dv = (byte) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
-			final BooleanIterator biter = getBooleanIterator(selection);
-
-			while (biter.hasNext()) {
-				data[biter.index] = dv;
-			}
+		final int[] indices = GatherUtils.getIndices(this, selection);
+		if (obj instanceof Dataset && indices.length != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of true items in selection does not match number of items in dataset");
 		}
+		scatter(obj, indices, true);
 		return this;
 	}
 
 	@Override
 	public ByteDataset setBy1DIndex(final Object obj, final Dataset index) {
 		setDirty();
-		if (obj instanceof Dataset) {
-			final Dataset ds = (Dataset) obj;
-			if (index.getSize() != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of items in index dataset does not match number of items in dataset");
-			}
-
-			final IndexIterator oiter = ds.getIterator();
-			final IntegerIterator iter = new IntegerIterator(index, size);
-
-			while (iter.hasNext() && oiter.hasNext()) {
-				data[iter.index] = (byte) ds.getElementLongAbs(oiter.index); // GET_ELEMENT_WITH_CAST
-			}
-		} else {
-			final byte dv = (byte) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
-			IntegerIterator iter = new IntegerIterator(index, size);
-
-			while (iter.hasNext()) {
-				data[iter.index] = dv;
-			}
+		if (obj instanceof Dataset && index.getSize() != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index dataset does not match number of items in dataset");
 		}
+		scatter(obj, GatherUtils.getIndices(new IntegerIterator(index, size), index.getSize()), false);
 		return this;
 	}
 
@@ -794,33 +760,49 @@ public class ByteDataset extends AbstractDataset {
 	public ByteDataset setByIndexes(final Object obj, final Object... indexes) {
 		setDirty();
 		final IntegersIterator iter = new IntegersIterator(shape, indexes);
-		final int[] pos = iter.getPos();
+		if (obj instanceof Dataset && ShapeUtils.calcSize(iter.getShape()) != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index datasets does not match number of items in dataset");
+		}
+		scatter(obj, GatherUtils.getIndices(this, iter), false);
+		return this;
+	}
 
+	/**
+	 * Set items at given indices to items of dataset or to value
+	 * @param obj dataset or value
+	 * @param indices indices in data array
+	 * @param unique true if indices are distinct
+	 */
+	private void scatter(final Object obj, final int[] indices, final boolean unique) {
+		final Object dst = getBuffer(); // null when held in NIO buffer
 		if (obj instanceof Dataset) {
 			final Dataset ds = (Dataset) obj;
-			if (ShapeUtils.calcSize(iter.getShape()) != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of items in index datasets does not match number of items in dataset");
+			if (ds instanceof ByteDataset && ds.getStrides() == null
+					&& GatherUtils.scatter(ds.getBuffer(), ds.getSize(), indices, 1, dst, unique)) {
+				return;
 			}
 
 			final IndexIterator oiter = ds.getIterator();
-
-			while (iter.hasNext() && oiter.hasNext()) {
-				setItem((byte) ds.getElementLongAbs(oiter.index), pos); // GET_ELEMENT_WITH_CAST
+			for (int i = 0; oiter.hasNext(); i++) {
+				setAbs(indices[i], (byte) ds.getElementLongAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
 			}
 		} else {
 			final byte dv = (byte) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
-
-			while (iter.hasNext()) {
-				setItem(dv, pos);
+			if (!GatherUtils.scatter(new byte[] {dv}, 1, indices, 1, dst, unique)) { // PRIM_TYPE
+				for (int i : indices) {
+					setAbs(i, dv);
+				}
 			}
 		}
-		return this;
 	}
 
 	@Override
 	ByteDataset setSlicedView(Dataset view, Dataset d) {
 		setDirty();
+		if (d instanceof ByteDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
 		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
 
 		while (it.hasNext()) {
@@ -845,8 +827,11 @@ public class ByteDataset extends AbstractDataset {
 
 			if (ds instanceof Dataset) {
 				final Dataset ads = (Dataset) ds;
-				final IndexIterator oiter = ads.getIterator();
+				if (ads instanceof ByteDataset && CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, 1, ads.getSize())) {
+					return this;
+				}
 
+				final IndexIterator oiter = ads.getIterator();
 				while (siter.hasNext() && oiter.hasNext())
 					data[siter.index] = (byte) ads.getElementLongAbs(oiter.index); // GET_ELEMENT_WITH_CAST
 			} else {
@@ -589,11 +589,13 @@ public class ComplexDoubleDataset extends CompoundDoubleDataset { // CLASS_TYPE
 	public ComplexDoubleDataset getSlice(final SliceIterator siter) {
 		ComplexDoubleDataset result = new ComplexDoubleDataset(siter.getShape());
 		double[] rdata = result.data; // PRIM_TYPE
-		IndexIterator riter = result.getIterator();
 
-		while (siter.hasNext() && riter.hasNext()) {
-			rdata[riter.index] = data[siter.index];
-			rdata[riter.index+1] = data[siter.index+1];
+		if (!CopyUtils.copy(data, siter, rdata, null, 2, result.size)) {
+			IndexIterator riter = result.getIterator();
+			while (siter.hasNext() && riter.hasNext()) {
+				rdata[riter.index] = data[siter.index];
+				rdata[riter.index+1] = data[siter.index+1];
+			}
 		}
 
 		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
@@ -603,6 +605,9 @@ public class ComplexDoubleDataset extends CompoundDoubleDataset { // CLASS_TYPE
 	@Override
 	ComplexDoubleDataset setSlicedView(Dataset view, Dataset d) {
 		setDirty();
+		if (d instanceof ComplexDoubleDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
 		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
 
 		if (d instanceof ComplexFloatDataset || d instanceof ComplexDoubleDataset) {
@@ -622,6 +627,14 @@ public class ComplexDoubleDataset extends CompoundDoubleDataset { // CLASS_TYPE
 	@Override
 	public ComplexDoubleDataset setSlice(final Object o, final IndexIterator siter) {
 		setDirty();
+		if (o instanceof ComplexDoubleDataset) {
+			final Dataset ads = (Dataset) o;
+			if (ShapeUtils.areShapesCompatible(siter.getShape(), ads.getShapeRef())
+					&& CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, 2, ads.getSize())) {
+				return this;
+			}
+		}
+
 		if (o instanceof ComplexFloatDataset) {
 			ComplexFloatDataset zds = (ComplexFloatDataset) o;
 
@@ -580,11 +580,13 @@ public class ComplexFloatDataset extends CompoundFloatDataset { // CLASS_TYPE
 	public ComplexFloatDataset getSlice(final SliceIterator siter) {
 		ComplexFloatDataset result = new ComplexFloatDataset(siter.getShape());
 		float[] rdata = result.data; // PRIM_TYPE
-		IndexIterator riter = result.getIterator();
 
-		while (siter.hasNext() && riter.hasNext()) {
-			rdata[riter.index] = data[siter.index];
-			rdata[riter.index+1] = data[siter.index+1];
+		if (!CopyUtils.copy(data, siter, rdata, null, 2, result.size)) {
+			IndexIterator riter = result.getIterator();
+			while (siter.hasNext() && riter.hasNext()) {
+				rdata[riter.index] = data[siter.index];
+				rdata[riter.index+1] = data[siter.index+1];
+			}
 		}
 
 		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
@@ -594,6 +596,9 @@ public class ComplexFloatDataset extends CompoundFloatDataset { // CLASS_TYPE
 	@Override
 	ComplexFloatDataset setSlicedView(Dataset view, Dataset d) {
 		setDirty();
+		if (d instanceof ComplexFloatDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
 		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
 
 		if (d instanceof ComplexFloatDataset || d instanceof ComplexFloatDataset) {
@@ -613,6 +618,14 @@ public class ComplexFloatDataset extends CompoundFloatDataset { // CLASS_TYPE
 	@Override
 	public ComplexFloatDataset setSlice(final Object o, final IndexIterator siter) {
 		setDirty();
+		if (o instanceof ComplexFloatDataset) {
+			final Dataset ads = (Dataset) o;
+			if (ShapeUtils.areShapesCompatible(siter.getShape(), ads.getShapeRef())
+					&& CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, 2, ads.getSize())) {
+				return this;
+			}
+		}
+
 		if (o instanceof ComplexFloatDataset) {
 			ComplexFloatDataset zds = (ComplexFloatDataset) o;
 
@@ -102,10 +102,12 @@ public class CompoundLongDataset extends AbstractCompoundDataset {
 				stride = null;
 				base = null;
 				odata = data = createArray(size);
-				IndexIterator iter = dataset.getIterator();
-				for (int j = 0; iter.hasNext();) {
-					for (int i = 0; i < isize; i++) {
-						data[j++] = dataset.data[iter.index + i];
+				if (!CopyUtils.copyTiled(dataset, data)) {
+					IndexIterator iter = dataset.getIterator();
+					for (int j = 0; iter.hasNext();) {
+						for (int i = 0; i < isize; i++) {
+							data[j++] = dataset.data[iter.index + i];
+						}
 					}
 				}
 			}
@@ -996,8 +998,12 @@ public class CompoundLongDataset extends AbstractCompoundDataset {
 	public CompoundLongDataset getSlice(final SliceIterator siter) {
 		CompoundLongDataset result = new CompoundLongDataset(isize, siter.getShape());
 		long[] rdata = result.data; // PRIM_TYPE
-		IndexIterator riter = result.getIterator();
+		if (CopyUtils.copy(data, siter, rdata, null, isize, result.size)) {
+			result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
+			return result;
+		}
 
+		IndexIterator riter = result.getIterator();
 		while (siter.hasNext() && riter.hasNext()) {
 			for (int i = 0; i < isize; i++)
 				rdata[riter.index + i] = data[siter.index + i];
@@ -1085,11 +1091,14 @@ public class CompoundLongDataset extends AbstractCompoundDataset {
 
 	@Override
 	public void fillDataset(Dataset result, IndexIterator iter) {
-		IndexIterator riter = result.getIterator();
 		result.setDirty();
 
 		long[] rdata = ((CompoundLongDataset) result).data; // PRIM_TYPE
+		if (result.getElementsPerItem() == isize && CopyUtils.copy(data, iter, rdata, CopyUtils.getIterator(result), isize, result.getSize())) {
+			return;
+		}
 
+		IndexIterator riter = result.getIterator();
 		while (riter.hasNext() && iter.hasNext()) {
 			for (int i = 0; i < isize; i++) {
 				rdata[riter.index + i] = data[iter.index + i];
@@ -1250,6 +1259,9 @@ public class CompoundLongDataset extends AbstractCompoundDataset {
 	@Override
 	CompoundLongDataset setSlicedView(Dataset view, Dataset d) {
 		setDirty();
+		if (d instanceof CompoundLongDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
 		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
 
 		final int is = view.getElementsPerItem();
@@ -1300,6 +1312,9 @@ public class CompoundLongDataset extends AbstractCompoundDataset {
 					if (isize != ads.getElementsPerItem()) {
 						throw new IllegalArgumentException("Input dataset is not compatible with slice");
 					}
+					if (ads instanceof CompoundLongDataset && CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, isize, ads.getSize())) {
+						return this;
+					}
 
 					while (siter.hasNext() && oiter.hasNext()) {
 						for (int i = 0; i < isize; i++) {
@@ -0,0 +1,894 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Convolution, correlation and sliding-window filters of N-dimensional datasets, modelled on
+ * SciPy's ndimage module.
+ * <p>
+ * All results have the same shape as the input and items beyond the edges of the input are
+ * supplied according to a {@link Boundary} mode. Kernels are centred on each item so the
+ * centre of a kernel of length k is at k/2 for correlation and at (k-1)/2 for convolution.
+ * <p>
+ * Linear filters give float datasets for float input and double datasets otherwise. Rank filters
+ * (minimum, maximum and median) give datasets of the same class as the input. General N-d kernels
+ * are applied over tiles, with each tile and its halo gathered into a small buffer, and separable
+ * kernels are applied one axis at a time over groups of adjacent lines. Tiles and groups are
+ * processed in parallel.
+ * @since 3.0
+ */
+public class Convolution {
+
+	/**
+	 * Modes of supplying items beyond the edges of a dataset
+	 */
+	public enum Boundary {
+		/**
+		 * Use a constant value (k k k k | a b c d | k k k k)
+		 */
+		CONSTANT,
+		/**
+		 * Reflect about the edges, repeating the edge items (d c b a | a b c d | d c b a)
+		 */
+		REFLECT,
+		/**
+		 * Wrap around to the opposite edge (a b c d | a b c d | a b c d)
+		 */
+		WRAP,
+		/**
+		 * Repeat the edge items (a a a a | a b c d | d d d d)
+		 */
+		NEAREST,
+	}
+
+	/**
+	 * Maximum number of adjacent lines gathered together when filtering along an axis
+	 */
+	private static final int GROUP = 8;
+
+	/**
+	 * Maximum number of output items in a tile
+	 */
+	private static final int TILE = 1 << 14;
+
+	/**
+	 * Correlate dataset with N-d kernel
+	 * @param a dataset
+	 * @param kernel of same rank as dataset
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return correlation
+	 */
+	public static Dataset correlate(final Dataset a, final Dataset kernel, final Boundary mode, final double cval) {
+		return correlate(a, kernel, mode, cval, false);
+	}
+
+	/**
+	 * Convolve dataset with N-d kernel
+	 * @param a dataset
+	 * @param kernel of same rank as dataset
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return convolution
+	 */
+	public static Dataset convolve(final Dataset a, final Dataset kernel, final Boundary mode, final double cval) {
+		return correlate(a, kernel, mode, cval, true);
+	}
+
+	/**
+	 * Correlate dataset with separable kernel given as 1-d kernels along each axis
+	 * @param a dataset
+	 * @param weights 1-d kernels
+	 * @param axes to filter along, can be null for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return correlation
+	 */
+	public static Dataset correlate(final Dataset a, final double[][] weights, final int[] axes, final Boundary mode, final double cval) {
+		return separable(a, weights, axes, mode, cval, false);
+	}
+
+	/**
+	 * Convolve dataset with separable kernel given as 1-d kernels along each axis
+	 * @param a dataset
+	 * @param weights 1-d kernels
+	 * @param axes to filter along, can be null for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return convolution
+	 */
+	public static Dataset convolve(final Dataset a, final double[][] weights, final int[] axes, final Boundary mode, final double cval) {
+		return separable(a, weights, axes, mode, cval, true);
+	}
+
+	/**
+	 * Correlate dataset with 1-d kernel along an axis
+	 * @param a dataset
+	 * @param weights 1-d kernel
+	 * @param axis to filter along
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return correlation
+	 */
+	public static Dataset correlate1d(final Dataset a, final double[] weights, final int axis, final Boundary mode, final double cval) {
+		return separable(a, new double[][] {weights}, new int[] {axis}, mode, cval, false);
+	}
+
+	/**
+	 * Convolve dataset with 1-d kernel along an axis
+	 * @param a dataset
+	 * @param weights 1-d kernel
+	 * @param axis to filter along
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return convolution
+	 */
+	public static Dataset convolve1d(final Dataset a, final double[] weights, final int axis, final Boundary mode, final double cval) {
+		return separable(a, new double[][] {weights}, new int[] {axis}, mode, cval, true);
+	}
+
+	/**
+	 * Filter dataset with mean over a box-shaped window
+	 * @param a dataset
+	 * @param size of window in each axis, or a single size for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset uniformFilter(final Dataset a, final int[] size, final Boundary mode, final double cval) {
+		final int[] s = checkSizes(a, size);
+		return filterAxes(a, s, mode, cval, getLinearClass(a), new LineFilterFactory() {
+			@Override
+			public LineFilter create(final int axis) {
+				return new UniformFilter(s[axis]);
+			}
+		});
+	}
+
+	/**
+	 * Filter dataset with Gaussian kernel truncated at four standard deviations
+	 * @param a dataset
+	 * @param sigma standard deviation of kernel
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset gaussianFilter(final Dataset a, final double sigma, final Boundary mode, final double cval) {
+		return gaussianFilter(a, new double[] {sigma}, mode, cval);
+	}
+
+	/**
+	 * Filter dataset with Gaussian kernel truncated at four standard deviations
+	 * @param a dataset
+	 * @param sigma standard deviation of kernel in each axis (zero to leave an axis unfiltered),
+	 * or a single value for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset gaussianFilter(final Dataset a, final double[] sigma, final Boundary mode, final double cval) {
+		checkDataset(a);
+		final int rank = a.getRank();
+		if (sigma.length != 1 && sigma.length != rank) {
+			throw new IllegalArgumentException("Number of standard deviations must be one or match rank of dataset");
+		}
+		int[] axes = new int[rank];
+		double[][] weights = new double[rank][];
+		int n = 0;
+		for (int i = 0; i < rank; i++) {
+			double s = sigma.length == 1 ? sigma[0] : sigma[i];
+			if (s < 0) {
+				throw new IllegalArgumentException("Standard deviation must not be negative");
+			}
+			if (s > 0) {
+				axes[n] = i;
+				weights[n++] = createGaussian(s);
+			}
+		}
+		return separable(a, Arrays.copyOf(weights, n), Arrays.copyOf(axes, n), mode, cval, false);
+	}
+
+	private static double[] createGaussian(final double sigma) {
+		final int r = (int) (4 * sigma + 0.5);
+		final double[] w = new double[2 * r + 1];
+		final double f = -0.5 / (sigma * sigma);
+		double sum = 0;
+		for (int i = 0; i < w.length; i++) {
+			double x = i - r;
+			sum += w[i] = Math.exp(f * x * x);
+		}
+		for (int i = 0; i < w.length; i++) {
+			w[i] /= sum;
+		}
+		return w;
+	}
+
+	/**
+	 * Filter dataset with minimum over a box-shaped window
+	 * @param a dataset
+	 * @param size of window in each axis, or a single size for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset minimumFilter(final Dataset a, final int[] size, final Boundary mode, final double cval) {
+		return extremumFilter(a, size, mode, cval, false);
+	}
+
+	/**
+	 * Filter dataset with maximum over a box-shaped window
+	 * @param a dataset
+	 * @param size of window in each axis, or a single size for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset maximumFilter(final Dataset a, final int[] size, final Boundary mode, final double cval) {
+		return extremumFilter(a, size, mode, cval, true);
+	}
+
+	private static Dataset extremumFilter(final Dataset a, final int[] size, final Boundary mode, final double cval, final boolean max) {
+		final int[] s = checkSizes(a, size);
+		return filterAxes(a, s, mode, cval, a.getClass(), new LineFilterFactory() {
+			@Override
+			public LineFilter create(final int axis) {
+				return new ExtremumFilter(s[axis], max);
+			}
+		});
+	}
+
+	/**
+	 * Filter dataset with median over a box-shaped window. For windows with an even number
+	 * of items, the upper of the two middle items is used
+	 * @param a dataset
+	 * @param size of window in each axis, or a single size for all axes
+	 * @param mode boundary mode
+	 * @param cval constant value used for {@link Boundary#CONSTANT} mode
+	 * @return filtered dataset
+	 */
+	public static Dataset medianFilter(final Dataset a, final int[] size, final Boundary mode, final double cval) {
+		final int[] s = checkSizes(a, size);
+		final int rank = s.length;
+		final int[] origin = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			origin[i] = s[i] / 2;
+		}
+		double[] footprint = new double[ShapeUtils.calcSize(s)];
+		Arrays.fill(footprint, 1);
+		return filterTiles(a, footprint, s, origin, footprint.length / 2, mode, cval, a.getClass());
+	}
+
+	private static void checkDataset(final Dataset a) {
+		if (a.getRank() == 0) {
+			throw new IllegalArgumentException("Dataset must have at least one dimension");
+		}
+		if (a.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Compound datasets are not supported");
+		}
+	}
+
+	private static void checkMode(final Boundary mode) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Boundary mode must be defined");
+		}
+	}
+
+	private static int[] checkSizes(final Dataset a, final int[] size) {
+		checkDataset(a);
+		final int rank = a.getRank();
+		if (size.length != 1 && size.length != rank) {
+			throw new IllegalArgumentException("Number of sizes must be one or match rank of dataset");
+		}
+		int[] s = new int[rank];
+		for (int i = 0; i < rank; i++) {
+			s[i] = size.length == 1 ? size[0] : size[i];
+			if (s[i] < 1) {
+				throw new IllegalArgumentException("Sizes must be positive");
+			}
+		}
+		return s;
+	}
+
+	private static Class<? extends Dataset> getLinearClass(final Dataset a) {
+		return a instanceof FloatDataset ? FloatDataset.class : DoubleDataset.class;
+	}
+
+	/**
+	 * @return buffer of contiguous double items, which must not be modified
+	 */
+	private static double[] getData(final Dataset a) {
+		if (a instanceof DoubleDataset && !(a instanceof BufferDataset) && ((AbstractDataset) a).isContiguous()) {
+			return ((DoubleDataset) a).getData();
+		}
+		return DatasetUtils.copy(DoubleDataset.class, a).getData();
+	}
+
+	private static Dataset createResult(final double[] data, final int[] shape, final Class<? extends Dataset> clazz) {
+		Dataset d = new DoubleDataset(data, shape);
+		return clazz == DoubleDataset.class ? d : DatasetUtils.cast(clazz, d);
+	}
+
+	/**
+	 * Map positions in padded axis to indexes in axis
+	 * @param n length of axis
+	 * @param before number of items before start of axis
+	 * @param after number of items after end of axis
+	 * @param mode boundary mode
+	 * @return indexes or -1 for constant items
+	 */
+	static int[] createIndexMap(final int n, final int before, final int after, final Boundary mode) {
+		final int[] map = new int[before + n + after];
+		final int p2 = 2 * n;
+		for (int p = 0; p < map.length; p++) {
+			int i = p - before;
+			if (i < 0 || i >= n) {
+				switch (mode) {
+				case CONSTANT:
+					i = -1;
+					break;
+				case NEAREST:
+					i = i < 0 ? 0 : n - 1;
+					break;
+				case WRAP:
+					i %= n;
+					if (i < 0) {
+						i += n;
+					}
+					break;
+				case REFLECT:
+				default:
+					i %= p2;
+					if (i < 0) {
+						i += p2;
+					}
+					if (i >= n) {
+						i = p2 - 1 - i;
+					}
+					break;
+				}
+			}
+			map[p] = i;
+		}
+		return map;
+	}
+
+	private static Dataset correlate(final Dataset a, final Dataset kernel, final Boundary mode, final double cval, final boolean flip) {
+		checkDataset(a);
+		final int rank = a.getRank();
+		if (kernel.getRank() != rank) {
+			throw new IllegalArgumentException("Kernel must have same rank as dataset");
+		}
+		if (kernel.getSize() == 0) {
+			throw new IllegalArgumentException("Kernel must not be empty");
+		}
+
+		final int[] kshape = kernel.getShape();
+		final int[] origin = new int[rank];
+		Dataset k = kernel;
+		if (flip) {
+			Slice[] reverse = new Slice[rank];
+			for (int i = 0; i < rank; i++) {
+				reverse[i] = new Slice(null, null, -1);
+				origin[i] = (kshape[i] - 1) / 2;
+			}
+			k = kernel.getSliceView(reverse);
+		} else {
+			for (int i = 0; i < rank; i++) {
+				origin[i] = kshape[i] / 2;
+			}
+		}
+		return filterTiles(a, DatasetUtils.copy(DoubleDataset.class, k).getData(), kshape, origin, -1, mode, cval, getLinearClass(a));
+	}
+
+	/**
+	 * Apply kernel over tiles of dataset
+	 * @param a dataset
+	 * @param kernel weights
+	 * @param kshape shape of kernel
+	 * @param origin position of kernel's centre
+	 * @param rank if negative, sum weighted items, otherwise select item of given rank from items with non-zero weights
+	 * @param mode boundary mode
+	 * @param cval constant value
+	 * @param clazz class of result
+	 * @return filtered dataset
+	 */
+	private static Dataset filterTiles(final Dataset a, final double[] kernel, final int[] kshape, final int[] origin, final int rank,
+			final Boundary mode, final double cval, final Class<? extends Dataset> clazz) {
+		checkMode(mode);
+		final int[] shape = a.getShape();
+		final int size = a.getSize();
+		if (size == 0) {
+			return DatasetFactory.zeros(clazz, shape);
+		}
+
+		final int r = shape.length;
+		final int last = r - 1;
+		final int[][] maps = new int[r][];
+		for (int d = 0; d < r; d++) {
+			maps[d] = createIndexMap(shape[d], origin[d], kshape[d] - 1 - origin[d], mode);
+		}
+
+		final int[] tile = getTileShape(shape);
+		final int[] pshape = new int[r];
+		final int[] tiles = new int[r];
+		for (int d = 0; d < r; d++) {
+			pshape[d] = tile[d] + kshape[d] - 1;
+			tiles[d] = (shape[d] + tile[d] - 1) / tile[d];
+		}
+		final int[] strides = getStrides(shape);
+		final int[] pstrides = getStrides(pshape);
+		final int psize = ShapeUtils.calcSize(pshape);
+
+		// offsets of kernel items in padded tile
+		int nnz = 0;
+		for (double w : kernel) {
+			if (w != 0) {
+				nnz++;
+			}
+		}
+		final int nk = nnz;
+		final double[] weights = new double[nk];
+		final int[] offsets = new int[nk];
+		int[] pos = new int[r];
+		for (int i = 0, j = 0; i < kernel.length; i++) {
+			if (kernel[i] != 0) {
+				int o = 0;
+				for (int d = 0; d < r; d++) {
+					o += pos[d] * pstrides[d];
+				}
+				weights[j] = kernel[i];
+				offsets[j++] = o;
+			}
+			increment(pos, kshape, r);
+		}
+
+		final double[] src = getData(a);
+		final double[] dst = new double[size];
+		ParallelUtils.forRange(ShapeUtils.calcSize(tiles), (long) ShapeUtils.calcSize(tile) * Math.max(1, nk), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				final double[] pad = new double[psize];
+				final double[] values = rank < 0 ? null : new double[nk];
+				final int[] first = new int[r];
+				final int[] extent = new int[r];
+				final int[] pextent = new int[r];
+				final int[] p = new int[r];
+				for (int t = start; t < end; t++) {
+					int q = t;
+					for (int d = last; d >= 0; d--) {
+						first[d] = (q % tiles[d]) * tile[d];
+						q /= tiles[d];
+						extent[d] = Math.min(tile[d], shape[d] - first[d]);
+						pextent[d] = extent[d] + kshape[d] - 1;
+					}
+
+					// gather tile and halo
+					final int[] map = maps[last];
+					final int s0 = first[last];
+					final int pl = pextent[last];
+					Arrays.fill(p, 0);
+					do {
+						int sbase = 0;
+						int pbase = 0;
+						boolean outside = false;
+						for (int d = 0; d < last; d++) {
+							int i = maps[d][first[d] + p[d]];
+							if (i < 0) {
+								outside = true;
+							}
+							sbase += i * strides[d];
+							pbase += p[d] * pstrides[d];
+						}
+						if (outside) {
+							Arrays.fill(pad, pbase, pbase + pl, cval);
+						} else {
+							for (int j = 0; j < pl; j++) {
+								int i = map[s0 + j];
+								pad[pbase + j] = i < 0 ? cval : src[sbase + i];
+							}
+						}
+					} while (increment(p, pextent, last));
+
+					// apply kernel
+					final int el = extent[last];
+					Arrays.fill(p, 0);
+					do {
+						int pbase = 0;
+						int dbase = s0;
+						for (int d = 0; d < last; d++) {
+							pbase += p[d] * pstrides[d];
+							dbase += (first[d] + p[d]) * strides[d];
+						}
+						if (rank < 0) {
+							for (int j = 0; j < el; j++) {
+								final int o = pbase + j;
+								double sum = 0;
+								for (int k = 0; k < nk; k++) {
+									sum += weights[k] * pad[o + offsets[k]];
+								}
+								dst[dbase + j] = sum;
+							}
+						} else {
+							for (int j = 0; j < el; j++) {
+								final int o = pbase + j;
+								for (int k = 0; k < nk; k++) {
+									values[k] = pad[o + offsets[k]];
+								}
+								dst[dbase + j] = select(values, rank);
+							}
+						}
+					} while (increment(p, extent, last));
+				}
+			}
+		});
+		return createResult(dst, shape, clazz);
+	}
+
+	/**
+	 * @return tile shape found by halving largest dimension until tile is small enough
+	 */
+	private static int[] getTileShape(final int[] shape) {
+		final int[] tile = shape.clone();
+		long size = ShapeUtils.calcLongSize(tile);
+		while (size > TILE) {
+			int m = 0;
+			for (int d = 1; d < tile.length; d++) {
+				if (tile[d] > tile[m]) {
+					m = d;
+				}
+			}
+			size /= tile[m];
+			tile[m] = (tile[m] + 1) / 2;
+			size *= tile[m];
+		}
+		return tile;
+	}
+
+	private static int[] getStrides(final int[] shape) {
+		final int[] strides = new int[shape.length];
+		int s = 1;
+		for (int d = shape.length - 1; d >= 0; d--) {
+			strides[d] = s;
+			s *= shape[d];
+		}
+		return strides;
+	}
+
+	/**
+	 * Increment position over leading dimensions
+	 * @param pos
+	 * @param limits
+	 * @param n number of leading dimensions
+	 * @return false when position wraps around to zero
+	 */
+	private static boolean increment(final int[] pos, final int[] limits, final int n) {
+		for (int d = n - 1; d >= 0; d--) {
+			if (++pos[d] < limits[d]) {
+				return true;
+			}
+			pos[d] = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Select item of given rank using quickselect, reordering the values
+	 */
+	private static double select(final double[] values, final int rank) {
+		int lo = 0;
+		int hi = values.length - 1;
+		while (hi > lo) {
+			final double pivot = values[(lo + hi) >>> 1];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					final double t = values[i];
+					values[i++] = values[j];
+					values[j--] = t;
+				}
+			}
+			if (rank <= j) {
+				hi = j;
+			} else if (rank >= i) {
+				lo = i;
+			} else {
+				break;
+			}
+		}
+		return values[rank];
+	}
+
+	/**
+	 * Filter applied to lines
+	 */
+	private interface LineFilter {
+		/**
+		 * @return number of items before start of line needed
+		 */
+		int getBefore();
+
+		/**
+		 * @return number of items after end of line needed
+		 */
+		int getAfter();
+
+		/**
+		 * @param in padded line
+		 * @param out filtered line
+		 * @param n length of filtered line
+		 * @param work array of twice length of padded line
+		 */
+		void apply(double[] in, double[] out, int n, double[] work);
+	}
+
+	private interface LineFilterFactory {
+		/**
+		 * @param axis
+		 * @return filter for axis or null to skip axis
+		 */
+		LineFilter create(int axis);
+	}
+
+	private static class CorrelationFilter implements LineFilter {
+		private final double[] weights;
+		private final int before;
+
+		CorrelationFilter(double[] weights, boolean flip) {
+			final int k = weights.length;
+			if (flip) {
+				this.weights = new double[k];
+				for (int i = 0; i < k; i++) {
+					this.weights[i] = weights[k - 1 - i];
+				}
+				before = (k - 1) / 2;
+			} else {
+				this.weights = weights.clone();
+				before = k / 2;
+			}
+		}
+
+		@Override
+		public int getBefore() {
+			return before;
+		}
+
+		@Override
+		public int getAfter() {
+			return weights.length - 1 - before;
+		}
+
+		@Override
+		public void apply(double[] in, double[] out, int n, double[] work) {
+			final int k = weights.length;
+			for (int i = 0; i < n; i++) {
+				double sum = 0;
+				for (int j = 0; j < k; j++) {
+					sum += weights[j] * in[i + j];
+				}
+				out[i] = sum;
+			}
+		}
+	}
+
+	/**
+	 * Mean of window using running sum
+	 */
+	private static class UniformFilter implements LineFilter {
+		private final int size;
+
+		UniformFilter(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public int getBefore() {
+			return size / 2;
+		}
+
+		@Override
+		public int getAfter() {
+			return size - 1 - size / 2;
+		}
+
+		@Override
+		public void apply(double[] in, double[] out, int n, double[] work) {
+			final double f = 1. / size;
+			double sum = 0;
+			for (int j = 0; j < size; j++) {
+				sum += in[j];
+			}
+			out[0] = sum * f;
+			for (int i = 1; i < n; i++) {
+				sum += in[i + size - 1] - in[i - 1];
+				out[i] = sum * f;
+			}
+		}
+	}
+
+	/**
+	 * Minimum or maximum of window using the van Herk/Gil-Werman algorithm which
+	 * takes three comparisons per item, independent of window size
+	 */
+	private static class ExtremumFilter implements LineFilter {
+		private final int size;
+		private final boolean max;
+
+		ExtremumFilter(int size, boolean max) {
+			this.size = size;
+			this.max = max;
+		}
+
+		@Override
+		public int getBefore() {
+			return size / 2;
+		}
+
+		@Override
+		public int getAfter() {
+			return size - 1 - size / 2;
+		}
+
+		private double extremum(double a, double b) {
+			return max ? Math.max(a, b) : Math.min(a, b);
+		}
+
+		@Override
+		public void apply(double[] in, double[] out, int n, double[] work) {
+			final int l = n + size - 1;
+			// extrema from start of each block of size items to each item
+			for (int i = 0; i < l; i++) {
+				work[i] = i % size == 0 ? in[i] : extremum(work[i - 1], in[i]);
+			}
+			// extrema from each item to end of its block
+			work[2 * l - 1] = in[l - 1];
+			for (int i = l - 2; i >= 0; i--) {
+				work[l + i] = (i + 1) % size == 0 ? in[i] : extremum(work[l + i + 1], in[i]);
+			}
+			for (int i = 0; i < n; i++) {
+				out[i] = extremum(work[l + i], work[i + size - 1]);
+			}
+		}
+	}
+
+	private static Dataset separable(final Dataset a, final double[][] weights, final int[] axes, final Boundary mode, final double cval, final boolean flip) {
+		checkDataset(a);
+		final int rank = a.getRank();
+		final LineFilter[] filters = new LineFilter[rank];
+		if (axes == null) {
+			if (weights.length != rank) {
+				throw new IllegalArgumentException("Number of kernels must match rank of dataset");
+			}
+			for (int i = 0; i < rank; i++) {
+				filters[i] = createCorrelationFilter(weights[i], flip);
+			}
+		} else {
+			if (weights.length != axes.length) {
+				throw new IllegalArgumentException("Number of kernels must match number of axes");
+			}
+			for (int i = 0; i < axes.length; i++) {
+				int axis = ShapeUtils.checkAxis(rank, axes[i]);
+				if (filters[axis] != null) {
+					throw new IllegalArgumentException("Axes must not be repeated");
+				}
+				filters[axis] = createCorrelationFilter(weights[i], flip);
+			}
+		}
+
+		return filterAxes(a, null, mode, cval, getLinearClass(a), new LineFilterFactory() {
+			@Override
+			public LineFilter create(int axis) {
+				return filters[axis];
+			}
+		});
+	}
+
+	private static LineFilter createCorrelationFilter(final double[] weights, final boolean flip) {
+		if (weights == null || weights.length == 0) {
+			throw new IllegalArgumentException("Kernel must not be empty");
+		}
+		return new CorrelationFilter(weights, flip);
+	}
+
+	/**
+	 * Apply line filters along each axis in turn
+	 * @param a dataset
+	 * @param size of window for each axis, filters are skipped for unit sizes. Can be null
+	 * @param mode boundary mode
+	 * @param cval constant value
+	 * @param clazz class of result
+	 * @param factory of filters
+	 * @return filtered dataset
+	 */
+	private static Dataset filterAxes(final Dataset a, final int[] size, final Boundary mode, final double cval,
+			final Class<? extends Dataset> clazz, final LineFilterFactory factory) {
+		checkMode(mode);
+		final int[] shape = a.getShape();
+		final double[] data = getData(a);
+		double[] src = data;
+		double[] dst = null;
+		for (int axis = 0; axis < shape.length; axis++) {
+			LineFilter filter = size != null && size[axis] == 1 ? null : factory.create(axis);
+			if (filter == null) {
+				continue;
+			}
+			if (dst == null) {
+				dst = new double[src.length];
+			}
+			filterAxis(src, dst, shape, axis, filter, mode, cval);
+			double[] t = src == data ? null : src; // do not overwrite input
+			src = dst;
+			dst = t;
+		}
+		if (src == data) { // no filtering done
+			return DatasetUtils.copy(clazz, a);
+		}
+		return createResult(src, shape, clazz);
+	}
+
+	/**
+	 * Filter contiguous buffer along axis
+	 */
+	private static void filterAxis(final double[] src, final double[] dst, final int[] shape, final int axis,
+			final LineFilter filter, final Boundary mode, final double cval) {
+		final int n = shape[axis];
+		final int outer = ShapeUtils.calcSize(Arrays.copyOf(shape, axis));
+		final int inner = ShapeUtils.calcSize(Arrays.copyOfRange(shape, axis + 1, shape.length));
+		if (n == 0 || outer * inner == 0) {
+			return;
+		}
+
+		final int[] map = createIndexMap(n, filter.getBefore(), filter.getAfter(), mode);
+		final int length = map.length;
+		final int groups = (inner + GROUP - 1) / GROUP;
+		ParallelUtils.forRange(outer * groups, (long) length * Math.min(GROUP, inner), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				final double[][] lines = new double[GROUP][length];
+				final double[][] outs = new double[GROUP][n];
+				final double[] work = new double[2 * length];
+				for (int g = start; g < end; g++) {
+					final int first = (g % groups) * GROUP;
+					final int count = Math.min(GROUP, inner - first);
+					final int base = (g / groups) * n * inner + first;
+					for (int p = 0; p < length; p++) {
+						final int i = map[p];
+						if (i < 0) {
+							for (int b = 0; b < count; b++) {
+								lines[b][p] = cval;
+							}
+						} else {
+							final int s = base + i * inner;
+							for (int b = 0; b < count; b++) {
+								lines[b][p] = src[s + b];
+							}
+						}
+					}
+					for (int b = 0; b < count; b++) {
+						filter.apply(lines[b], outs[b], n, work);
+					}
+					for (int t = 0, d = base; t < n; t++, d += inner) {
+						for (int b = 0; b < count; b++) {
+							dst[d + b] = outs[b][t];
+						}
+					}
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,463 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Helper to copy items between data arrays in runs of contiguous elements using {@link System#arraycopy}
+ * or in tiles, and to copy elements of numerical data arrays to double arrays
+ */
+final class CopyUtils {
+
+	/**
+	 * Minimum number of elements in a run for copying in bulk
+	 */
+	static final int MIN_RUN = 8;
+
+	/**
+	 * Minimum number of elements to copy for copying in parallel
+	 */
+	static final int PARALLEL_SIZE = 1 << 20;
+
+	/**
+	 * Length of side of tile (in items) for copying transposed datasets
+	 */
+	static final int TILE = 32;
+
+	/**
+	 * Minimum number of items to copy in tiles
+	 */
+	static final int TILE_SIZE = 4 * TILE * TILE;
+
+	private CopyUtils() {
+	}
+
+	/**
+	 * Copy items from source to destination data array. Each array is traversed by a slice
+	 * iterator or is contiguous from its start. Copying stops when either iterator finishes
+	 * @param src source data array
+	 * @param siter source iterator, can be null if source is contiguous
+	 * @param dst destination data array of same type as source
+	 * @param diter destination iterator, can be null if destination is contiguous
+	 * @param isize number of elements per item
+	 * @param items maximum number of items to copy
+	 * @return false, without using iterators, if items cannot be copied in runs that are
+	 * long enough on average to be worth copying in bulk or either array is missing
+	 */
+	static boolean copy(final Object src, final IndexIterator siter, final Object dst, final IndexIterator diter, final int isize, final int items) {
+		if (src == null || dst == null) { // held in NIO buffer
+			return false;
+		}
+		if (items == 0) {
+			return true;
+		}
+
+		final int srun = getRunLength(siter, items);
+		final int drun = getRunLength(diter, items);
+		if (srun == 0 || drun == 0 || Math.min(srun, drun) * isize < MIN_RUN) {
+			return false;
+		}
+
+		final SliceIterator s = (SliceIterator) siter;
+		final SliceIterator d = (SliceIterator) diter;
+		final boolean parallel = ParallelUtils.getParallelism() > 1 && (long) items * isize >= PARALLEL_SIZE;
+		final int[] chunks = parallel ? new int[3 * (items / srun + items / drun + 2)] : null;
+		int n = 0;
+		int si = 0; // start index of remaining part of current run
+		int di = 0;
+		int sleft = 0; // number of items left in current run
+		int dleft = 0;
+		int left = items;
+		while (left > 0) {
+			if (sleft == 0) {
+				if (s == null) {
+					sleft = left;
+				} else {
+					if (!s.nextRun()) {
+						break;
+					}
+					si = s.index;
+					sleft = srun;
+				}
+			}
+			if (dleft == 0) {
+				if (d == null) {
+					dleft = left;
+				} else {
+					if (!d.nextRun()) {
+						break;
+					}
+					di = d.index;
+					dleft = drun;
+				}
+			}
+
+			final int l = Math.min(left, Math.min(sleft, dleft));
+			final int e = l * isize;
+			if (parallel) {
+				chunks[n++] = si;
+				chunks[n++] = di;
+				chunks[n++] = e;
+			} else {
+				System.arraycopy(src, si, dst, di, e);
+			}
+			si += e;
+			di += e;
+			sleft -= l;
+			dleft -= l;
+			left -= l;
+		}
+
+		if (parallel) {
+			final int count = n / 3;
+			ParallelUtils.forRange(count, ((long) items * isize) / Math.max(1, count), new ParallelUtils.RangeTask() {
+				@Override
+				public void run(int start, int end) {
+					for (int i = 3 * start, imax = 3 * end; i < imax; i += 3) {
+						System.arraycopy(src, chunks[i], dst, chunks[i + 1], chunks[i + 2]);
+					}
+				}
+			});
+		}
+		return true;
+	}
+
+	/**
+	 * @return number of items in run or zero if iterator is not supported
+	 */
+	private static int getRunLength(final IndexIterator it, final int items) {
+		if (it == null) {
+			return items;
+		}
+		return it instanceof SliceIterator ? ((SliceIterator) it).getRunLength() : 0;
+	}
+
+	/**
+	 * Copy items from a dataset of same class into a view of the destination data array
+	 * when no broadcasting is needed
+	 * @param view view of destination dataset
+	 * @param d source dataset
+	 * @param dst destination data array
+	 * @return true if copied
+	 */
+	static boolean copyIntoView(final Dataset view, final Dataset d, final Object dst) {
+		final int isize = view.getElementsPerItem();
+		final int size = view.getSize();
+		if (d.getSize() != size || d.getElementsPerItem() != isize || !ShapeUtils.areShapesCompatible(view.getShapeRef(), d.getShapeRef())) {
+			return false;
+		}
+		return copy(d.getBuffer(), getIterator(d), dst, getIterator(view), isize, size);
+	}
+
+	/**
+	 * @param a dataset
+	 * @return iterator over dataset, or null if dataset is contiguous from start of its data array
+	 */
+	static IndexIterator getIterator(final Dataset a) {
+		return a instanceof AbstractDataset && ((AbstractDataset) a).isContiguous() ? null : a.getIterator();
+	}
+
+	/**
+	 * @param a dataset
+	 * @return true if dataset is a view whose fastest-varying dimension is not the fastest-varying
+	 * in its data array, e.g. a transposed view, and is large enough to be worth copying in tiles
+	 */
+	static boolean isWorthTiling(final Dataset a) {
+		return findTiledDimensions(a) != null;
+	}
+
+	/**
+	 * @return dimensions (of rank-1 dimensions, fastest-varying dimension in data array and in dataset)
+	 * or null if not worth tiling
+	 */
+	private static int[] findTiledDimensions(final Dataset a) {
+		if (!(a instanceof AbstractDataset) || a.getSize() < TILE_SIZE) {
+			return null;
+		}
+		final int[] stride = a.getStrides();
+		if (stride == null) {
+			return null;
+		}
+		final int[] shape = a.getShapeRef();
+		int q = shape.length - 1;
+		while (q >= 0 && shape[q] == 1) {
+			q--;
+		}
+		int p = -1;
+		for (int i = 0; i < q; i++) {
+			if (shape[i] > 1 && (p < 0 || Math.abs(stride[i]) < Math.abs(stride[p]))) {
+				p = i;
+			}
+		}
+		if (p < 0 || Math.abs(stride[p]) >= Math.abs(stride[q])) {
+			return null;
+		}
+		return new int[] {p, q};
+	}
+
+	/**
+	 * Copy items of a view, whose fastest-varying dimension is not the fastest-varying in its data array,
+	 * to a contiguous data array. The view is traversed in square tiles spanned by its fastest-varying
+	 * dimension and the fastest-varying dimension in its data array so both arrays are read and written
+	 * within cache. Tiles are copied in parallel
+	 * @param a view
+	 * @param dst destination data array of same type as view's
+	 * @return false if view is not worth copying in tiles
+	 */
+	static boolean copyTiled(final Dataset a, final Object dst) {
+		final int[] pq = findTiledDimensions(a);
+		final Object src = pq == null ? null : a.getBuffer();
+		if (src == null) {
+			return false;
+		}
+
+		final int p = pq[0];
+		final int q = pq[1];
+		final int isize = a.getElementsPerItem();
+		final int[] shape = a.getShapeRef();
+		final int[] sstride = a.getStrides();
+		final int rank = shape.length;
+		final int[] dstride = new int[rank];
+		for (int i = rank - 1, s = isize; i >= 0; i--) {
+			dstride[i] = s;
+			s *= shape[i];
+		}
+
+		// remaining dimensions
+		int n = 0;
+		final int[] oshape = new int[rank];
+		final int[] osstride = new int[rank];
+		final int[] odstride = new int[rank];
+		int outer = 1;
+		for (int i = 0; i < rank; i++) {
+			if (i != p && i != q && shape[i] > 1) {
+				oshape[n] = shape[i];
+				osstride[n] = sstride[i];
+				odstride[n++] = dstride[i];
+				outer *= shape[i];
+			}
+		}
+
+		final int offset = a.getOffset();
+		final int np = shape[p];
+		final int nq = shape[q];
+		final int sp = sstride[p];
+		final int sq = sstride[q];
+		final int dp = dstride[p];
+		final int strips = (np + TILE - 1) / TILE;
+		final int m = n;
+		ParallelUtils.forRange(outer * strips, (long) TILE * nq * isize, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int t = start; t < end; t++) {
+					int u = t / strips;
+					int i = (t - u * strips) * TILE;
+					int s = offset + i * sp;
+					int d = i * dp;
+					for (int k = m - 1; k >= 0; k--) {
+						int o = u % oshape[k];
+						u /= oshape[k];
+						s += o * osstride[k];
+						d += o * odstride[k];
+					}
+					int ni = Math.min(TILE, np - i);
+					for (int j = 0; j < nq; j += TILE) {
+						copyTile(src, s + j * sq, sp, sq, dst, d + j * isize, dp, ni, Math.min(TILE, nq - j), isize);
+					}
+				}
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Copy tile of items
+	 * @param src source data array
+	 * @param s source index of first item
+	 * @param s0 source stride of rows
+	 * @param s1 source stride of columns
+	 * @param dst destination data array
+	 * @param d destination index of first item
+	 * @param d0 destination stride of rows (columns are contiguous)
+	 * @param n0 number of rows
+	 * @param n1 number of columns
+	 * @param isize number of elements per item
+	 */
+	private static void copyTile(final Object src, final int s, final int s0, final int s1, final Object dst, final int d,
+			final int d0, final int n0, final int n1, final int isize) {
+		if (src instanceof double[]) {
+			final double[] x = (double[]) src;
+			final double[] y = (double[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof float[]) {
+			final float[] x = (float[]) src;
+			final float[] y = (float[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof long[]) {
+			final long[] x = (long[]) src;
+			final long[] y = (long[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof int[]) {
+			final int[] x = (int[]) src;
+			final int[] y = (int[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof short[]) {
+			final short[] x = (short[]) src;
+			final short[] y = (short[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof byte[]) {
+			final byte[] x = (byte[]) src;
+			final byte[] y = (byte[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else if (src instanceof boolean[]) {
+			final boolean[] x = (boolean[]) src;
+			final boolean[] y = (boolean[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		} else {
+			final Object[] x = (Object[]) src;
+			final Object[] y = (Object[]) dst;
+			for (int i = 0, si = s, di = d; i < n0; i++, si += s0, di += d0) {
+				for (int j = 0, sj = si, dj = di; j < n1; j++, sj += s1) {
+					for (int k = 0; k < isize; k++) {
+						y[dj++] = x[sj + k];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy elements of numerical data array to double array
+	 * @param b data array of doubles, floats, longs, ints, shorts or bytes
+	 * @param off offset
+	 * @param x destination
+	 * @param n number of elements
+	 */
+	static void toDouble(final Object b, final int off, final double[] x, final int n) {
+		if (b instanceof double[]) {
+			System.arraycopy(b, off, x, 0, n);
+		} else if (b instanceof float[]) {
+			float[] a = (float[]) b;
+			for (int i = 0; i < n; i++) {
+				x[i] = a[off + i];
+			}
+		} else if (b instanceof long[]) {
+			long[] a = (long[]) b;
+			for (int i = 0; i < n; i++) {
+				x[i] = a[off + i];
+			}
+		} else if (b instanceof int[]) {
+			int[] a = (int[]) b;
+			for (int i = 0; i < n; i++) {
+				x[i] = a[off + i];
+			}
+		} else if (b instanceof short[]) {
+			short[] a = (short[]) b;
+			for (int i = 0; i < n; i++) {
+				x[i] = a[off + i];
+			}
+		} else {
+			byte[] a = (byte[]) b;
+			for (int i = 0; i < n; i++) {
+				x[i] = a[off + i];
+			}
+		}
+	}
+
+	/**
+	 * Copy elements of numerical data array to double array
+	 * @param b data array of doubles, floats, longs, ints, shorts, bytes or booleans
+	 * @param off offset
+	 * @param step increment between elements
+	 * @param x destination
+	 * @param n number of elements
+	 */
+	static void toDouble(final Object b, final int off, final int step, final double[] x, final int n) {
+		if (step == 1 && !(b instanceof boolean[])) {
+			toDouble(b, off, x, n);
+		} else if (b instanceof double[]) {
+			double[] a = (double[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		} else if (b instanceof float[]) {
+			float[] a = (float[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		} else if (b instanceof long[]) {
+			long[] a = (long[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		} else if (b instanceof int[]) {
+			int[] a = (int[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		} else if (b instanceof short[]) {
+			short[] a = (short[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		} else if (b instanceof boolean[]) {
+			boolean[] a = (boolean[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j] ? 1 : 0;
+			}
+		} else {
+			byte[] a = (byte[]) b;
+			for (int i = 0, j = off; i < n; i++, j += step) {
+				x[i] = a[j];
+			}
+		}
+	}
+}
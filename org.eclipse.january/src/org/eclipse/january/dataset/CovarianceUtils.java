@@ -0,0 +1,201 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import org.eclipse.january.DatasetException;
+
+/**
+ * Helper to accumulate the sums of centred cross-products of variables in a single pass over
+ * observations. Observations are loaded in blocks which are centred on their own means. The
+ * cross-products of each block are merged into the running sums with a correction for the
+ * difference in means (as in Chan, Golub and LeVeque's pairwise algorithm), so the data is
+ * only read once. Only the upper triangle is computed, in parallel over pairs of tiles of
+ * variables, and then mirrored
+ */
+final class CovarianceUtils {
+
+	/**
+	 * Maximum number of observations in each block
+	 */
+	static final int BLOCK = 1 << 10;
+
+	/**
+	 * Maximum number of elements in each block
+	 */
+	private static final int MAX_BLOCK_SIZE = 1 << 22;
+
+	/**
+	 * Number of variables in each tile
+	 */
+	static final int TILE = 32;
+
+	private CovarianceUtils() {
+	}
+
+	/**
+	 * @param a dataset
+	 * @param rowvar if true, each row is a variable otherwise each column is a variable
+	 * @return true if each row is a variable
+	 */
+	static boolean isRowVariable(final ILazyDataset a, final boolean rowvar) {
+		return rowvar || a.getRank() == 1 || a.getShape()[0] == 1;
+	}
+
+	/**
+	 * @param a dataset
+	 * @param rowvar if true, each row is a variable otherwise each column is a variable
+	 * @return number of observations
+	 */
+	static int getObservations(final ILazyDataset a, final boolean rowvar) {
+		int[] shape = a.getShape();
+		return shape.length == 1 ? shape[0] : shape[isRowVariable(a, rowvar) ? 1 : 0];
+	}
+
+	/**
+	 * Accumulate sums of centred cross-products
+	 * @param a dataset of rank 1 or 2 with real values. A rank 1 dataset is treated as a single variable
+	 * @param rowvar if true, each row is a variable otherwise each column is a variable
+	 * @return square dataset of sums of centred cross-products
+	 * @throws DatasetException when data cannot be retrieved
+	 */
+	static DoubleDataset crossProducts(final ILazyDataset a, boolean rowvar) throws DatasetException {
+		final int rank = a.getRank();
+		if (rank < 1 || rank > 2) {
+			throw new IllegalArgumentException("Dataset must be of rank 1 or 2");
+		}
+		if (a.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Compound datasets are not supported");
+		}
+
+		final int[] shape = a.getShape();
+		rowvar = isRowVariable(a, rowvar);
+		final int oaxis = rank == 1 ? 0 : (rowvar ? 1 : 0);
+		final int nv = rank == 1 ? 1 : shape[1 - oaxis];
+		final int nobs = shape[oaxis];
+		final int bn = Math.max(1, Math.min(BLOCK, MAX_BLOCK_SIZE / Math.max(1, nv)));
+
+		final double[] c = new double[nv * nv];
+		final double[] mean = new double[nv];
+		final double[] x = new double[nv * bn];
+		final double[] delta = new double[nv];
+		final int[][] tiles = createTilePairs(nv);
+		long n = 0;
+		for (int start = 0; start < nobs; start += bn) {
+			final int m = Math.min(bn, nobs - start);
+			SliceND slice = new SliceND(shape);
+			slice.setSlice(oaxis, start, start + m, 1);
+			Dataset d = a instanceof Dataset ? ((Dataset) a).getSliceView(slice) : DatasetUtils.convertToDataset(a.getSlice(slice));
+			load(d, rowvar || rank == 1, nv, m, x);
+
+			// centre block and find difference from running means
+			final double w = n * (double) m / (n + m);
+			for (int v = 0; v < nv; v++) {
+				final int b = v * m;
+				double s = 0;
+				for (int k = b, kmax = b + m; k < kmax; k++) {
+					s += x[k];
+				}
+				final double bmean = s / m;
+				for (int k = b, kmax = b + m; k < kmax; k++) {
+					x[k] -= bmean;
+				}
+				delta[v] = bmean - mean[v];
+				mean[v] += delta[v] * m / (n + m);
+			}
+
+			ParallelUtils.forRange(tiles.length, (long) TILE * TILE * m, new ParallelUtils.RangeTask() {
+				@Override
+				public void run(int first, int last) {
+					for (int p = first; p < last; p++) {
+						accumulate(x, m, nv, tiles[p][0], tiles[p][1], delta, w, c);
+					}
+				}
+			});
+			n += m;
+		}
+
+		for (int i = 0; i < nv; i++) {
+			for (int j = 0; j < i; j++) {
+				c[i * nv + j] = c[j * nv + i];
+			}
+		}
+		return new DoubleDataset(c, nv, nv);
+	}
+
+	/**
+	 * @param nv number of variables
+	 * @return pairs of first variables of tiles in upper triangle
+	 */
+	private static int[][] createTilePairs(final int nv) {
+		final int nt = (nv + TILE - 1) / TILE;
+		final int[][] tiles = new int[nt * (nt + 1) / 2][];
+		int p = 0;
+		for (int i = 0; i < nt; i++) {
+			for (int j = i; j < nt; j++) {
+				tiles[p++] = new int[] {i * TILE, j * TILE};
+			}
+		}
+		return tiles;
+	}
+
+	/**
+	 * Load block of observations into array so each variable is contiguous
+	 * @param d block
+	 * @param rowvar if true, each row is a variable
+	 * @param nv number of variables
+	 * @param m number of observations
+	 * @param x array
+	 */
+	private static void load(final Dataset d, final boolean rowvar, final int nv, final int m, final double[] x) {
+		final IndexIterator it = d.getIterator();
+		int i = 0;
+		if (rowvar) {
+			while (it.hasNext()) {
+				x[i++] = d.getElementDoubleAbs(it.index);
+			}
+		} else {
+			for (int k = 0; k < m; k++) {
+				for (int v = 0; v < nv; v++) {
+					it.hasNext();
+					x[v * m + k] = d.getElementDoubleAbs(it.index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add cross-products of centred observations in tile and correction for means to sums
+	 * @param x centred observations
+	 * @param m number of observations
+	 * @param nv number of variables
+	 * @param ti first variable of row tile
+	 * @param tj first variable of column tile
+	 * @param delta differences of block means from prior means
+	 * @param w weight of correction
+	 * @param c sums of cross-products
+	 */
+	private static void accumulate(final double[] x, final int m, final int nv, final int ti, final int tj, final double[] delta, final double w, final double[] c) {
+		final int imax = Math.min(ti + TILE, nv);
+		final int jmax = Math.min(tj + TILE, nv);
+		for (int i = ti; i < imax; i++) {
+			final int bi = i * m;
+			final double di = delta[i] * w;
+			final int ci = i * nv;
+			for (int j = Math.max(i, tj); j < jmax; j++) {
+				final int bj = j * m;
+				double s = 0;
+				for (int k = 0; k < m; k++) {
+					s += x[bi + k] * x[bj + k];
+				}
+				c[ci + j] += s + di * delta[j];
+			}
+		}
+	}
+}
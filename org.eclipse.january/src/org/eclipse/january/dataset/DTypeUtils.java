@@ -32,6 +32,7 @@ public class DTypeUtils {
 		map.put(ShortDataset.class, Dataset.INT16);
 		map.put(IntegerDataset.class, Dataset.INT32);
 		map.put(LongDataset.class, Dataset.INT64);
+		map.put(HalfFloatDataset.class, Dataset.FLOAT16);
 		map.put(FloatDataset.class, Dataset.FLOAT32);
 		map.put(DoubleDataset.class, Dataset.FLOAT64);
 		map.put(ComplexFloatDataset.class, Dataset.COMPLEX64);
@@ -61,6 +62,10 @@ public class DTypeUtils {
 		for (Entry<Class<? extends Dataset>, Integer> e : interface2DTypes.entrySet()) {
 			dtype2Interface.put(e.getValue(), e.getKey());
 		}
+		// unsigned datasets share the dataset type of their storage (so also the kernels)
+		interface2DTypes.put(UnsignedByteDataset.class, Dataset.INT8);
+		interface2DTypes.put(UnsignedShortDataset.class, Dataset.INT16);
+		interface2DTypes.put(UnsignedIntegerDataset.class, Dataset.INT32);
 	}
 
 	/**
@@ -118,7 +123,7 @@ public class DTypeUtils {
 	 * @return true if each dataset item has single element
 	 */
 	public static boolean isDTypeElemental(int dtype) {
-		return dtype <= Dataset.DATE;
+		return dtype <= Dataset.FLOAT16;
 	}
 
 	/**
@@ -135,7 +140,7 @@ public class DTypeUtils {
 	 * @return true if dataset elements are floats
 	 */
 	public static boolean isDTypeFloating(int dtype) {
-		return dtype == Dataset.FLOAT32 || dtype == Dataset.FLOAT64 || dtype == Dataset.COMPLEX64 || dtype == Dataset.COMPLEX128 ||
+		return dtype == Dataset.FLOAT16 || dtype == Dataset.FLOAT32 || dtype == Dataset.FLOAT64 || dtype == Dataset.COMPLEX64 || dtype == Dataset.COMPLEX128 ||
 				dtype == Dataset.ARRAYFLOAT32 || dtype == Dataset.ARRAYFLOAT64;
 	}
 
@@ -286,6 +291,7 @@ public class DTypeUtils {
 		case Dataset.INT32:
 		case Dataset.INT64:
 			return Dataset.INT64;
+		case Dataset.FLOAT16:
 		case Dataset.FLOAT32:
 		case Dataset.FLOAT64:
 			return Dataset.FLOAT64;
@@ -324,7 +330,8 @@ public class DTypeUtils {
 			return IntegerDataset.class;
 		} else if (IntegerDataset.class.isAssignableFrom(clazz) || LongDataset.class.isAssignableFrom(clazz)) {
 			return LongDataset.class;
-		} else if (FloatDataset.class.isAssignableFrom(clazz) || DoubleDataset.class.isAssignableFrom(clazz)) {
+		} else if (HalfFloatDataset.class.isAssignableFrom(clazz) || FloatDataset.class.isAssignableFrom(clazz)
+				|| DoubleDataset.class.isAssignableFrom(clazz)) {
 			return DoubleDataset.class;
 		} else if (ComplexFloatDataset.class.isAssignableFrom(clazz) || ComplexDoubleDataset.class.isAssignableFrom(clazz)) {
 			return ComplexDoubleDataset.class;
@@ -430,6 +437,9 @@ public class DTypeUtils {
 		case Dataset.ARRAYINT64:
 			size = Long.SIZE / 8;
 			break;
+		case Dataset.FLOAT16:
+			size = Short.SIZE / 8;
+			break;
 		case Dataset.FLOAT32:
 		case Dataset.ARRAYFLOAT32:
 		case Dataset.COMPLEX64:
@@ -1156,6 +1166,7 @@ public class DTypeUtils {
 			for (int i = 0; i < x.length; i++)
 				i64[i] = (long) x[i];
 			return i64;
+		case Dataset.FLOAT16:
 		case Dataset.FLOAT32:
 			float[] f32 = new float[x.length];
 			for (int i = 0; i < x.length; i++)
@@ -1189,6 +1200,7 @@ public class DTypeUtils {
 		case Dataset.INT64:
 		case Dataset.ARRAYINT64:
 			return Long.class;
+		case Dataset.FLOAT16:
 		case Dataset.FLOAT32:
 		case Dataset.ARRAYFLOAT32:
 			return Float.class;
@@ -1231,6 +1243,7 @@ public class DTypeUtils {
 			return Integer.valueOf((int) (long) x);
 		case Dataset.INT64:
 			return Long.valueOf((long) x);
+		case Dataset.FLOAT16:
 		case Dataset.FLOAT32:
 			return Float.valueOf((float) x);
 		case Dataset.FLOAT64:
@@ -1325,6 +1338,9 @@ public class DTypeUtils {
 		if (ObjectDataset.class.isAssignableFrom(clazz)) {
 			return prefix + "OBJECT";
 		}
+		if (InterfaceUtils.isUnsigned(clazz)) {
+			return prefix + "UINT" + bytes*8;
+		}
 
 		return prefix + "INT" + bytes*8;
 	}
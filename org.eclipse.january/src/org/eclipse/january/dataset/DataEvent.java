@@ -41,6 +41,16 @@ public class DataEvent extends EventObject {
 	 */
 	private String name;
 
+	/**
+	 * Regions of data appended since the previous event, may be null if not known
+	 */
+	private transient SliceND[] appended;
+
+	/**
+	 * Regions of data written since the previous event, may be null if not known
+	 */
+	private transient SliceND[] written;
+
 	public DataEvent() {
 		this("", new int[] { 1 });
 	}
@@ -51,9 +61,34 @@ public class DataEvent extends EventObject {
 	 * @param shape of dataset
 	 */
 	public DataEvent(String name, int[] shape) {
+		this(name, shape, null);
+	}
+
+	/**
+	 * Creates an event to notify that this data has changed.
+	 * @param name of event
+	 * @param shape of dataset
+	 * @param appended regions of data appended since the previous event (can be null if not known)
+	 * @since 3.0
+	 */
+	public DataEvent(String name, int[] shape, SliceND[] appended) {
+		this(name, shape, appended, null);
+	}
+
+	/**
+	 * Creates an event to notify that this data has changed.
+	 * @param name of event
+	 * @param shape of dataset
+	 * @param appended regions of data appended since the previous event (can be null if not known)
+	 * @param written regions of data written since the previous event (can be null if not known)
+	 * @since 3.0
+	 */
+	public DataEvent(String name, int[] shape, SliceND[] appended, SliceND[] written) {
 		super(name);
 		this.shape = shape;
 		this.name  = name;
+		this.appended = appended;
+		this.written = written;
 	}
 
 	@Override
@@ -77,6 +112,41 @@ public class DataEvent extends EventObject {
 		this.shape = shape;
 	}
 
+	/**
+	 * @return disjoint regions of data appended since the previous event, ordered so that
+	 * each region extends the union of the previous shape and earlier regions to a larger box.
+	 * Can be empty if no data was appended or null if not known
+	 * @since 3.0
+	 */
+	public SliceND[] getAppended() {
+		return appended;
+	}
+
+	/**
+	 * @param appended regions of data appended since the previous event (can be null if not known)
+	 * @since 3.0
+	 */
+	public void setAppended(SliceND[] appended) {
+		this.appended = appended;
+	}
+
+	/**
+	 * @return regions of data written since the previous event. These can overlap each other,
+	 * existing data and appended regions. Can be null if not known
+	 * @since 3.0
+	 */
+	public SliceND[] getWritten() {
+		return written;
+	}
+
+	/**
+	 * @param written regions of data written since the previous event (can be null if not known)
+	 * @since 3.0
+	 */
+	public void setWritten(SliceND[] written) {
+		this.written = written;
+	}
+
 	public String getFilePath() {
 		return filePath;
 	}
@@ -13,6 +13,9 @@
 package org.eclipse.january.dataset;
 
 import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 
 import org.eclipse.january.IMonitor;
 
@@ -105,6 +108,12 @@ public interface Dataset extends IDataset {
 	 */
 	public static final int DATE = 11;
 
+	/**
+	 * 16-bit (half-precision) floating point
+	 * @since 3.0
+	 */
+	public static final int FLOAT16 = 12;
+
 	static final int ARRAYMUL = 100;
 
 	/**
@@ -242,6 +251,16 @@ public interface Dataset extends IDataset {
 	 */
 	public void setDirty();
 
+	/**
+	 * Get a 64-bit hash of the shape and items of the dataset. This is computed from the data
+	 * array, in parallel for large datasets, and cached until the dataset is set dirty. Datasets
+	 * that are equal have the same content hash. As views share data but not their dirty state,
+	 * the hash of a view is stale after another view of the same data is modified
+	 * @return content hash
+	 * @since 3.0
+	 */
+	public long getContentHash();
+
 	/**
 	 * This method calculates the n-dimensional position in the dataset of
 	 * the given index in the data array
@@ -459,6 +478,46 @@ public interface Dataset extends IDataset {
 	 */
 	public IndexIterator getIterator();
 
+	/**
+	 * Get an iterator over a range of positions in iteration order. Iterators over disjoint
+	 * ranges can be used concurrently to process a dataset in parallel
+	 * @param start first position (inclusive)
+	 * @param stop last position (exclusive)
+	 * @return an IndexIterator over the items in the given range
+	 * @since 3.0
+	 */
+	public IndexIterator getRangeIterator(int start, int stop);
+
+	/**
+	 * Get a spliterator over the elements of items in iteration order. This is split at
+	 * the boundaries of runs of items so each part reads the data array sequentially
+	 * @return spliterator of elements as doubles
+	 * @since 3.0
+	 */
+	public Spliterator.OfDouble doubleSpliterator();
+
+	/**
+	 * Get a spliterator over the elements of items in iteration order. This is split at
+	 * the boundaries of runs of items so each part reads the data array sequentially
+	 * @return spliterator of elements as longs
+	 * @since 3.0
+	 */
+	public Spliterator.OfLong longSpliterator();
+
+	/**
+	 * @return sequential stream of elements as doubles, which can be made parallel
+	 * @see #doubleSpliterator()
+	 * @since 3.0
+	 */
+	public DoubleStream doubleStream();
+
+	/**
+	 * @return sequential stream of elements as longs, which can be made parallel
+	 * @see #longSpliterator()
+	 * @since 3.0
+	 */
+	public LongStream longStream();
+
 	/**
 	 * @param axes axes to omit from iterator
 	 * @return a PositionIterator that misses out axes
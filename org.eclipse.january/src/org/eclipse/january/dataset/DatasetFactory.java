@@ -12,6 +12,14 @@
 
 package org.eclipse.january.dataset;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.util.Date;
 import java.util.List;
 
@@ -442,6 +450,8 @@ public class DatasetFactory {
 			d = IntegerDataset.createRange(start, stop, step);
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			d = LongDataset.createRange(start, stop, step);
+		} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+			d = HalfFloatDataset.createRange(start, stop, step);
 		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 			d = FloatDataset.createRange(start, stop, step);
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
@@ -683,12 +693,20 @@ public class DatasetFactory {
 //				}
 				if (BooleanDataset.class.isAssignableFrom(clazz)) {
 					d = BooleanDataset.createFromObject(obj);
+				} else if (UnsignedByteDataset.class.isAssignableFrom(clazz)) {
+					d = UnsignedByteDataset.createFromObject(obj);
 				} else if (ByteDataset.class.isAssignableFrom(clazz)) {
 					d = ByteDataset.createFromObject(obj);
+				} else if (UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+					d = UnsignedShortDataset.createFromObject(obj);
 				} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 					d = ShortDataset.createFromObject(obj);
+				} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+					d = UnsignedIntegerDataset.createFromObject(obj);
 				} else if (IntegerDataset.class.isAssignableFrom(clazz)) {
 					d = IntegerDataset.createFromObject(obj);
+				} else if (EpochDateDataset.class.isAssignableFrom(clazz)) {
+					d = EpochDateDataset.createFromObject(obj);
 				} else if (LongDataset.class.isAssignableFrom(clazz)) {
 					d = LongDataset.createFromObject(obj);
 				} else if (RGBByteDataset.class.isAssignableFrom(clazz)) {
@@ -703,6 +721,8 @@ public class DatasetFactory {
 					d = CompoundIntegerDataset.createFromObject(itemSize, obj);
 				} else if (CompoundLongDataset.class.isAssignableFrom(clazz)) {
 					d = CompoundLongDataset.createFromObject(itemSize, obj);
+				} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+					d = HalfFloatDataset.createFromObject(obj);
 				} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 					d = FloatDataset.createFromObject(obj);
 				} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
@@ -812,6 +832,77 @@ public class DatasetFactory {
 		}
 	}
 
+	/**
+	 * Create half-precision dataset that uses given array of bits as its buffer
+	 *
+	 * @param data IEEE 754 half-precision bits
+	 * @param shape can be null to create 1D dataset
+	 * @return half-precision dataset
+	 * @since 3.0
+	 */
+	public static HalfFloatDataset createHalfFloatDataset(short[] data, int... shape) {
+		return new HalfFloatDataset(data, shape);
+	}
+
+	/**
+	 * Create dataset that wraps given NIO buffer, without copying, from its current position. The
+	 * class of dataset follows the buffer's, e.g. a {@link DoubleBufferDataset} wraps a {@link DoubleBuffer}
+	 *
+	 * @param buffer heap or direct buffer
+	 * @param shape can be null to create 1D dataset of all remaining items in buffer
+	 * @return buffer-backed dataset
+	 * @since 3.0
+	 */
+	public static Dataset createFromBuffer(Buffer buffer, int... shape) {
+		if (buffer instanceof DoubleBuffer) {
+			return new DoubleBufferDataset((DoubleBuffer) buffer, shape);
+		} else if (buffer instanceof FloatBuffer) {
+			return new FloatBufferDataset((FloatBuffer) buffer, shape);
+		} else if (buffer instanceof LongBuffer) {
+			return new LongBufferDataset((LongBuffer) buffer, shape);
+		} else if (buffer instanceof IntBuffer) {
+			return new IntegerBufferDataset((IntBuffer) buffer, shape);
+		} else if (buffer instanceof ShortBuffer) {
+			return new ShortBufferDataset((ShortBuffer) buffer, shape);
+		} else if (buffer instanceof ByteBuffer) {
+			return new ByteBufferDataset((ByteBuffer) buffer, shape);
+		}
+
+		throw new IllegalArgumentException("Buffer class not supported");
+	}
+
+	/**
+	 * Create dataset that wraps given byte buffer, without copying, from its current position. The
+	 * bytes are read as items of given class in the buffer's byte order
+	 *
+	 * @param <T> dataset sub-interface
+	 * @param clazz dataset sub-interface: one of byte, short, integer, long, float or double
+	 * @param buffer heap or direct buffer, e.g. one mapped from a file
+	 * @param shape can be null to create 1D dataset of all remaining items in buffer
+	 * @return buffer-backed dataset
+	 * @since 3.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Dataset> T createFromBuffer(Class<T> clazz, ByteBuffer buffer, int... shape) {
+		final Class<? extends Dataset> c = InterfaceUtils.findSubInterface(clazz);
+		final ByteOrder order = buffer.order();
+		if (DoubleDataset.class.equals(c)) {
+			return (T) new DoubleBufferDataset(buffer.slice().order(order).asDoubleBuffer(), shape);
+		} else if (FloatDataset.class.equals(c)) {
+			return (T) new FloatBufferDataset(buffer.slice().order(order).asFloatBuffer(), shape);
+		} else if (LongDataset.class.equals(c)) {
+			return (T) new LongBufferDataset(buffer.slice().order(order).asLongBuffer(), shape);
+		} else if (IntegerDataset.class.equals(c)) {
+			return (T) new IntegerBufferDataset(buffer.slice().order(order).asIntBuffer(), shape);
+		} else if (ShortDataset.class.equals(c)) {
+			return (T) new ShortBufferDataset(buffer.slice().order(order).asShortBuffer(), shape);
+		} else if (ByteDataset.class.equals(c)) {
+			return (T) new ByteBufferDataset(buffer, shape);
+		}
+
+		throw new IllegalArgumentException("Dataset class not supported");
+	}
+
 	/**
 	 * @param shape output shape
 	 * @return a new double dataset of given shape, filled with zeros
@@ -853,14 +944,24 @@ public class DatasetFactory {
 	public static <T extends Dataset> T zeros(Class<T> clazz, int... shape) {
 		if (BooleanDataset.class.isAssignableFrom(clazz)) {
 			return (T) new BooleanDataset(shape);
+		} else if (UnsignedByteDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedByteDataset(shape);
 		} else if (ByteDataset.class.isAssignableFrom(clazz)) {
 			return (T) new ByteDataset(shape);
+		} else if (UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedShortDataset(shape);
 		} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 			return (T) new ShortDataset(shape);
+		} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedIntegerDataset(shape);
 		} else if (IntegerDataset.class.isAssignableFrom(clazz)) {
 			return (T) new IntegerDataset(shape);
+		} else if (EpochDateDataset.class.isAssignableFrom(clazz)) {
+			return (T) new EpochDateDataset(shape);
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			return (T) new LongDataset(shape);
+		} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+			return (T) new HalfFloatDataset(shape);
 		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 			return (T) new FloatDataset(shape);
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
@@ -983,14 +1084,24 @@ public class DatasetFactory {
 	public static <T extends Dataset> T ones(Class<T> clazz, int... shape) {
 		if (BooleanDataset.class.isAssignableFrom(clazz)) {
 			return (T) BooleanDataset.ones(shape);
+		} else if (UnsignedByteDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedByteDataset(shape).fill(1);
 		} else if (ByteDataset.class.isAssignableFrom(clazz)) {
 			return (T) ByteDataset.ones(shape);
+		} else if (UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedShortDataset(shape).fill(1);
 		} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 			return (T) ShortDataset.ones(shape);
+		} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			return (T) new UnsignedIntegerDataset(shape).fill(1);
 		} else if (IntegerDataset.class.isAssignableFrom(clazz)) {
 			return (T) IntegerDataset.ones(shape);
+		} else if (EpochDateDataset.class.isAssignableFrom(clazz)) {
+			return (T) new EpochDateDataset(shape).fill(1);
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			return (T) LongDataset.ones(shape);
+		} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+			return (T) HalfFloatDataset.ones(shape);
 		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 			return (T) FloatDataset.ones(shape);
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
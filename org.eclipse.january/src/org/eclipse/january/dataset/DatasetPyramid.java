@@ -0,0 +1,481 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.io.ILazyLoader;
+
+/**
+ * Multi-resolution pyramid of a (lazy) dataset for zoomed-out views.
+ * <p>
+ * Level 0 is the dataset and each subsequent level is binned from the previous level by the
+ * pyramid's factors, see {@link Binning}. Levels are split into tiles, of 256 items along binned
+ * dimensions, that are binned on demand from tiles of the previous level and cached. A view of a
+ * level only loads the parts of the dataset covered by its tiles that have not been computed, so
+ * repeated and overlapping views, and views of the same region at higher levels, are made from
+ * cached tiles. Data loaded from the dataset for other reasons can be passed to
+ * {@link #update(SliceND, IDataset)} so tiles of level 1 are made without loading again.
+ * <p>
+ * Tiles of levels above 0 are cached up to a given number of elements with the least recently
+ * used tiles discarded. Sums are cached for the mean mode so means are exact over partial blocks.
+ * The pyramid must be cleared if the dataset is modified.
+ * @since 3.0
+ */
+public class DatasetPyramid {
+
+	/**
+	 * Length of tile for binned dimensions
+	 */
+	static final int TILE = 256;
+
+	private final ILazyDataset dataset;
+	private final Binning.Mode mode;
+	private final Binning.Mode cacheMode;
+	private final int[] factors;
+	private final int[][] shapes;
+	private final int[] tile;
+	private final long maxCached;
+	private final Class<? extends Dataset> clazz; // class of levels above 0
+	private long cached; // number of elements in cache
+
+	private final Map<TileKey, Dataset> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+	private static final class TileKey {
+		private final int level;
+		private final int[] pos;
+		private final int hash;
+
+		TileKey(int level, int[] pos) {
+			this.level = level;
+			this.pos = pos;
+			hash = 31 * level + Arrays.hashCode(pos);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TileKey)) {
+				return false;
+			}
+			TileKey other = (TileKey) obj;
+			return level == other.level && Arrays.equals(pos, other.pos);
+		}
+	}
+
+	/**
+	 * Create pyramid with levels until all binned dimensions have length 1 and no limit on cache
+	 * @param dataset (lazy) dataset
+	 * @param mode reduction of each block
+	 * @param factors binning factor for each dimension, or a single factor for all dimensions.
+	 * At least one must be greater than 1
+	 */
+	public DatasetPyramid(ILazyDataset dataset, Binning.Mode mode, int... factors) {
+		this(dataset, mode, factors, Integer.MAX_VALUE, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Create pyramid
+	 * @param dataset (lazy) dataset
+	 * @param mode reduction of each block
+	 * @param factors binning factor for each dimension, or a single factor for all dimensions.
+	 * At least one must be greater than 1
+	 * @param levels maximum number of levels (including level 0)
+	 * @param maxCached maximum number of elements held in cached tiles
+	 */
+	public DatasetPyramid(ILazyDataset dataset, Binning.Mode mode, int[] factors, int levels, long maxCached) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Binning mode must be defined");
+		}
+		if (levels < 1) {
+			throw new IllegalArgumentException("Number of levels must be positive");
+		}
+		this.dataset = dataset;
+		this.mode = mode;
+		this.maxCached = maxCached;
+		cacheMode = mode == Binning.Mode.MEAN ? Binning.Mode.SUM : mode;
+
+		int[] shape = dataset.getShape();
+		factors = factors != null && factors.length == 1 && shape.length > 1 ? fill(shape.length, factors[0]) : factors;
+		int[] binned = Binning.getBinnedShape(shape, factors);
+		this.factors = factors.clone();
+		boolean binning = false;
+		tile = new int[shape.length];
+		for (int i = 0; i < shape.length; i++) {
+			if (this.factors[i] > 1) {
+				binning = true;
+				tile[i] = TILE;
+			} else {
+				tile[i] = 1;
+			}
+		}
+		if (!binning) {
+			throw new IllegalArgumentException("At least one factor must be greater than 1");
+		}
+
+		int n = 1;
+		int[] s = shape;
+		while (n < levels && !Arrays.equals(s, binned)) { // stop when binning has no effect
+			n++;
+			s = binned;
+			binned = Binning.getBinnedShape(s, factors);
+		}
+		shapes = new int[n][];
+		shapes[0] = shape;
+		for (int l = 1; l < n; l++) {
+			shapes[l] = Binning.getBinnedShape(shapes[l - 1], factors);
+		}
+
+		int isize = dataset.getElementsPerItem();
+		Class<? extends Dataset> dclazz = dataset instanceof Dataset ? ((Dataset) dataset).getClass() : InterfaceUtils.getInterfaceFromClass(isize, dataset.getElementClass());
+		clazz = mode == Binning.Mode.MAX || mode == Binning.Mode.MIN ? dclazz : Binning.getLinearClass(dclazz, isize);
+	}
+
+	private static int[] fill(int n, int v) {
+		int[] a = new int[n];
+		Arrays.fill(a, v);
+		return a;
+	}
+
+	/**
+	 * @return number of levels
+	 */
+	public int getLevels() {
+		return shapes.length;
+	}
+
+	/**
+	 * @param level
+	 * @return shape of level
+	 */
+	public int[] getShape(int level) {
+		checkLevel(level);
+		return shapes[level].clone();
+	}
+
+	/**
+	 * @return binning factors between levels
+	 */
+	public int[] getFactors() {
+		return factors.clone();
+	}
+
+	/**
+	 * @return number of elements held in cached tiles
+	 */
+	public synchronized long getCachedSize() {
+		return cached;
+	}
+
+	/**
+	 * Discard all cached tiles
+	 */
+	public synchronized void clear() {
+		cache.clear();
+		cached = 0;
+	}
+
+	private void checkLevel(int level) {
+		if (level < 0 || level >= shapes.length) {
+			throw new IllegalArgumentException("Level " + level + " is out of range [0, " + shapes.length + ")");
+		}
+	}
+
+	/**
+	 * Get lazy view of level whose slices are made from tiles of pyramid
+	 * @param level
+	 * @return lazy dataset
+	 */
+	public ILazyDataset getLevel(final int level) {
+		checkLevel(level);
+		if (level == 0) {
+			return dataset;
+		}
+		return new LazyDataset(new LevelLoader(this, level), dataset.getName() + "_level" + level, dataset.getElementsPerItem(), clazz, shapes[level]);
+	}
+
+	private static class LevelLoader implements ILazyLoader {
+		private static final long serialVersionUID = 7166416573367442787L;
+		private final transient DatasetPyramid pyramid;
+		private final int level;
+
+		LevelLoader(DatasetPyramid pyramid, int level) {
+			this.pyramid = pyramid;
+			this.level = level;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return pyramid != null;
+		}
+
+		@Override
+		public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			try {
+				return pyramid.getSlice(level, slice);
+			} catch (DatasetException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Get slice of level
+	 * @param level
+	 * @param slice of level, can be null for whole level
+	 * @return slice
+	 * @throws DatasetException if data could not be loaded
+	 */
+	public Dataset getSlice(int level, SliceND slice) throws DatasetException {
+		checkLevel(level);
+		final int[] shape = shapes[level];
+		if (slice == null) {
+			slice = new SliceND(shape);
+		} else if (!Arrays.equals(slice.getSourceShape(), shape)) {
+			throw new IllegalArgumentException("Slice must be of shape of level");
+		}
+		if (level == 0) {
+			return DatasetUtils.convertToDataset(dataset.getSlice(slice));
+		}
+
+		final int[] sshape = slice.getShape();
+		if (ShapeUtils.calcLongSize(sshape) == 0) {
+			return DatasetFactory.zeros(dataset.getElementsPerItem(), clazz, sshape);
+		}
+
+		final int rank = sshape.length;
+		final int[] start = slice.getStart();
+		final int[] step = slice.getStep();
+		final int[] lo = new int[rank]; // bounding box of slice
+		final int[] hi = new int[rank];
+		final int[] vstart = new int[rank];
+		boolean stepped = false;
+		for (int i = 0; i < rank; i++) {
+			int last = start[i] + (sshape[i] - 1) * step[i];
+			lo[i] = Math.min(start[i], last);
+			hi[i] = Math.max(start[i], last) + 1;
+			vstart[i] = start[i] - lo[i];
+			if (step[i] != 1) {
+				stepped = true;
+			}
+		}
+
+		Dataset result = getRegion(level, lo, hi);
+		if (mode == Binning.Mode.MEAN) {
+			result = divideByCounts(result, level, lo);
+		} else if (result.getClass() != clazz) {
+			result = DatasetUtils.cast(clazz, result);
+		}
+		if (stepped) {
+			result = result.getSlice(vstart, null, step);
+		}
+		return result;
+	}
+
+	/**
+	 * Pass data loaded from dataset to make any tiles of level 1 that are covered by it
+	 * @param slice of dataset
+	 * @param data loaded for slice
+	 * @return number of tiles made
+	 */
+	public int update(SliceND slice, IDataset data) {
+		if (shapes.length < 2) {
+			return 0;
+		}
+		for (int s : slice.getStep()) {
+			if (s != 1) {
+				return 0;
+			}
+		}
+		final Dataset d = DatasetUtils.convertToDataset(data).getSliceView().reshape(slice.getShape());
+		final int[] start = slice.getStart();
+		final int[] stop = slice.getStop();
+		final int[] dshape = shapes[0];
+		final int rank = start.length;
+		final int[] tstart = new int[rank];
+		final int[] tstop = new int[rank];
+		for (int i = 0; i < rank; i++) { // range of tiles covered by slice
+			long b = (long) tile[i] * factors[i];
+			tstart[i] = (int) ((start[i] + b - 1) / b);
+			tstop[i] = (int) (stop[i] == dshape[i] ? (stop[i] + b - 1) / b : stop[i] / b);
+			if (tstart[i] >= tstop[i]) {
+				return 0;
+			}
+		}
+
+		int n = 0;
+		int[] pos = tstart.clone();
+		int[] rstart = new int[rank];
+		int[] rstop = new int[rank];
+		do {
+			TileKey key = new TileKey(1, pos.clone());
+			synchronized (this) {
+				if (cache.containsKey(key)) {
+					continue;
+				}
+			}
+			for (int i = 0; i < rank; i++) {
+				long b = (long) tile[i] * factors[i];
+				rstart[i] = (int) (pos[i] * b) - start[i];
+				rstop[i] = (int) Math.min(dshape[i], (pos[i] + 1) * b) - start[i];
+			}
+			putTile(key, Binning.bin(d.getSliceView(rstart, rstop, null), cacheMode, factors, true));
+			n++;
+		} while (increment(pos, tstart, tstop));
+		return n;
+	}
+
+	private static boolean increment(int[] pos, int[] start, int[] stop) {
+		for (int d = pos.length - 1; d >= 0; d--) {
+			if (++pos[d] < stop[d]) {
+				return true;
+			}
+			pos[d] = start[d];
+		}
+		return false;
+	}
+
+	/**
+	 * @return new dataset of region of level (level > 0) assembled from tiles
+	 */
+	private Dataset getRegion(int level, int[] start, int[] stop) throws DatasetException {
+		final int rank = start.length;
+		final int[] shape = shapes[level];
+		final int[] tstart = new int[rank];
+		final int[] tstop = new int[rank];
+		final int[] rshape = new int[rank];
+		boolean single = true;
+		for (int i = 0; i < rank; i++) {
+			rshape[i] = stop[i] - start[i];
+			tstart[i] = start[i] / tile[i];
+			tstop[i] = rshape[i] == 0 ? tstart[i] : (stop[i] - 1) / tile[i] + 1;
+			if (tstop[i] - tstart[i] > 1) {
+				single = false;
+			}
+		}
+		Dataset result = null;
+		final int[] pos = tstart.clone();
+		final int[] dstart = new int[rank];
+		final int[] dstop = new int[rank];
+		final int[] sstart = new int[rank];
+		final int[] sstop = new int[rank];
+		do {
+			Dataset t = getTile(level, pos);
+			for (int i = 0; i < rank; i++) {
+				int to = pos[i] * tile[i]; // origin of tile
+				int lo = Math.max(start[i], to);
+				int hi = Math.min(Math.min(stop[i], to + tile[i]), shape[i]);
+				sstart[i] = lo - to;
+				sstop[i] = hi - to;
+				dstart[i] = lo - start[i];
+				dstop[i] = hi - start[i];
+			}
+			if (single) {
+				return t.getSlice(sstart, sstop, null);
+			}
+			if (result == null) {
+				result = DatasetFactory.zeros(t.getElementsPerItem(), t.getClass(), rshape);
+			}
+			result.setSlice(t.getSliceView(sstart, sstop, null), dstart, dstop, null);
+		} while (increment(pos, tstart, tstop));
+		return result;
+	}
+
+	/**
+	 * @return cached tile, which must not be modified
+	 */
+	private Dataset getTile(int level, int[] pos) throws DatasetException {
+		TileKey key = new TileKey(level, pos.clone());
+		synchronized (this) {
+			Dataset t = cache.get(key);
+			if (t != null) {
+				return t;
+			}
+		}
+
+		final int rank = pos.length;
+		final int[] shape = shapes[level];
+		final int[] pshape = shapes[level - 1];
+		final int[] start = new int[rank];
+		final int[] stop = new int[rank];
+		for (int i = 0; i < rank; i++) { // region of previous level
+			start[i] = (int) ((long) pos[i] * tile[i] * factors[i]);
+			stop[i] = (int) Math.min(pshape[i], Math.min(shape[i], (pos[i] + 1L) * tile[i]) * factors[i]);
+		}
+		Dataset d;
+		if (level == 1) {
+			d = DatasetUtils.convertToDataset(dataset.getSlice(start, stop, null));
+		} else {
+			d = getRegion(level - 1, start, stop);
+		}
+		Dataset t = Binning.bin(d, cacheMode, factors, true);
+		putTile(key, t);
+		return t;
+	}
+
+	private synchronized void putTile(TileKey key, Dataset t) {
+		Dataset old = cache.put(key, t);
+		if (old != null) {
+			cached -= old.getSize() * (long) old.getElementsPerItem();
+		}
+		cached += t.getSize() * (long) t.getElementsPerItem();
+		Iterator<Dataset> it = cache.values().iterator();
+		while (cached > maxCached && it.hasNext()) {
+			Dataset e = it.next();
+			if (e == t) {
+				break;
+			}
+			cached -= e.getSize() * (long) e.getElementsPerItem();
+			it.remove();
+		}
+	}
+
+	/**
+	 * @param sums new dataset of region
+	 * @return means from sums of region
+	 */
+	private Dataset divideByCounts(Dataset sums, int level, int[] start) {
+		final int rank = start.length;
+		final int[] rshape = sums.getShapeRef();
+		final int[] base = shapes[0];
+		Dataset result = sums;
+		for (int d = 0; d < rank; d++) {
+			long f = 1;
+			for (int l = 0; l < level; l++) {
+				f *= factors[d];
+			}
+			if (f == 1) {
+				continue;
+			}
+			double[] c = new double[rshape[d]];
+			for (int i = 0; i < c.length; i++) {
+				long s = (start[d] + i) * f;
+				c[i] = Math.min(f, base[d] - s);
+			}
+			int[] bshape = fill(rank, 1);
+			bshape[d] = c.length;
+			result.idivide(DatasetFactory.createFromObject(c, bshape));
+		}
+		return result.getClass() == clazz ? result : DatasetUtils.cast(clazz, result);
+	}
+}
@@ -0,0 +1,218 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Base of spliterators over the elements of items of a dataset in iteration order. A range of
+ * positions is traversed with a {@link RangeIterator} and is split, where possible, at the
+ * boundaries of runs of items that are uniformly spaced in the data array so each part reads
+ * memory sequentially
+ */
+abstract class DatasetSpliterator {
+	protected final Dataset dataset;
+	protected final int isize;
+	private final int run; // number of items in each run
+	protected int next; // position of next item
+	protected final int stop; // position after last item
+	protected RangeIterator it; // is null until traversal starts
+	protected int element; // index of next element in current item
+
+	DatasetSpliterator(final Dataset dataset, final int start, final int stop) {
+		this.dataset = dataset;
+		isize = dataset.getElementsPerItem();
+		run = getRunLength(dataset);
+		next = start;
+		this.stop = stop;
+		element = isize;
+	}
+
+	/**
+	 * @param a dataset
+	 * @return number of items in each run of uniformly spaced items
+	 */
+	static int getRunLength(final Dataset a) {
+		final int[] strides = a.getStrides();
+		if (strides == null) {
+			return 1; // any position is on a boundary
+		}
+
+		final int[] shape = a.getShapeRef();
+		int d = shape.length - 1;
+		if (d < 0) {
+			return 1;
+		}
+		int length = shape[d];
+		for (; d > 0 && strides[d - 1] == strides[d] * shape[d]; d--) {
+			length *= shape[d - 1];
+		}
+		return Math.max(1, length);
+	}
+
+	/**
+	 * @return position of first item not yet started
+	 */
+	protected int getFrom() {
+		return it == null ? next : Math.min(stop, it.getPosition() + 1);
+	}
+
+	/**
+	 * Move start of this spliterator to position of split
+	 * @param from position of first item not yet started
+	 * @return position to split at or -1 if it cannot be split
+	 */
+	protected int split(final int from) {
+		if (element != isize) { // part way through item
+			return -1;
+		}
+		final int n = stop - from;
+		if (n < 2) {
+			return -1;
+		}
+
+		int mid = from + n / 2;
+		if (run > 1) {
+			int b = (mid / run) * run;
+			if (b <= from) {
+				b += run;
+			}
+			if (b < stop) {
+				mid = b;
+			}
+		}
+		next = mid;
+		it = null;
+		return mid;
+	}
+
+	protected boolean nextItem() {
+		if (element < isize) {
+			return true;
+		}
+		if (it == null) {
+			it = new RangeIterator(dataset, next, stop);
+		}
+		if (!it.hasNext()) {
+			return false;
+		}
+		element = 0;
+		return true;
+	}
+
+	public long estimateSize() {
+		if (element == isize) {
+			return (long) (stop - getFrom()) * isize;
+		}
+		return (long) (stop - it.getPosition()) * isize - element;
+	}
+
+	public int characteristics() {
+		return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+	}
+
+	/**
+	 * Spliterator over elements as doubles
+	 */
+	static final class DoubleSpliterator extends DatasetSpliterator implements Spliterator.OfDouble {
+		private final double[] data;
+		private final boolean bool;
+
+		DoubleSpliterator(final Dataset dataset, final int start, final int stop) {
+			super(dataset, start, stop);
+			Object b = dataset instanceof BufferDataset ? null : dataset.getBuffer(); // as that is a copy
+			data = b instanceof double[] ? (double[]) b : null;
+			bool = dataset.getElementClass() == Boolean.class;
+		}
+
+		private double get(final int index) {
+			if (data != null) {
+				return data[index];
+			}
+			return bool ? (dataset.getElementBooleanAbs(index) ? 1 : 0) : dataset.getElementDoubleAbs(index);
+		}
+
+		@Override
+		public boolean tryAdvance(final DoubleConsumer action) {
+			if (!nextItem()) {
+				return false;
+			}
+			action.accept(get(it.index + element++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final DoubleConsumer action) {
+			while (nextItem()) {
+				final int index = it.index;
+				while (element < isize) {
+					action.accept(get(index + element++));
+				}
+			}
+		}
+
+		@Override
+		public Spliterator.OfDouble trySplit() {
+			final int from = getFrom();
+			final int mid = split(from);
+			return mid < 0 ? null : new DoubleSpliterator(dataset, from, mid);
+		}
+	}
+
+	/**
+	 * Spliterator over elements as longs
+	 */
+	static final class LongSpliterator extends DatasetSpliterator implements Spliterator.OfLong {
+		private final long[] data;
+		private final boolean bool;
+
+		LongSpliterator(final Dataset dataset, final int start, final int stop) {
+			super(dataset, start, stop);
+			Object b = dataset instanceof BufferDataset ? null : dataset.getBuffer(); // as that is a copy
+			data = b instanceof long[] ? (long[]) b : null;
+			bool = dataset.getElementClass() == Boolean.class;
+		}
+
+		private long get(final int index) {
+			if (data != null) {
+				return data[index];
+			}
+			return bool ? (dataset.getElementBooleanAbs(index) ? 1 : 0) : dataset.getElementLongAbs(index);
+		}
+
+		@Override
+		public boolean tryAdvance(final LongConsumer action) {
+			if (!nextItem()) {
+				return false;
+			}
+			action.accept(get(it.index + element++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(final LongConsumer action) {
+			while (nextItem()) {
+				final int index = it.index;
+				while (element < isize) {
+					action.accept(get(index + element++));
+				}
+			}
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			final int from = getFrom();
+			final int mid = split(from);
+			return mid < 0 ? null : new LongSpliterator(dataset, from, mid);
+		}
+	}
+}
@@ -14,6 +14,13 @@ package org.eclipse.january.dataset;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -91,15 +98,12 @@ public class DatasetUtils {
 	 */
 	public static <T extends Dataset> T put(final T a, final Dataset indices, Object values) {
 		IndexIterator it = indices.getIterator();
-		Dataset vd = DatasetFactory.createFromObject(values).flatten();
-		int vlen = vd.getSize();
-		int v = 0;
+		final int[] index = new int[indices.getSize()];
+		int i = 0;
 		while (it.hasNext()) {
-			if (v >= vlen) v -= vlen;
-
-			a.setObjectAbs((int) indices.getElementLongAbs(it.index), vd.getObjectAbs(v++));
+			index[i++] = (int) indices.getElementLongAbs(it.index);
 		}
-		return a;
+		return put(a, index, values);
 	}
 
 	/**
@@ -113,6 +117,15 @@ public class DatasetUtils {
 	public static <T extends Dataset> T put(final T a, final int[] indices, Object values) {
 		int ilen = indices.length;
 		Dataset vd = DatasetFactory.createFromObject(values).flatten();
+		if (a.getElementsPerItem() == 1 && !(a instanceof BufferDataset) && a.getBuffer() != null && InterfaceUtils.isNumerical(a.getClass())) {
+			final Serializable dst = a.getBuffer();
+			GatherUtils.checkIndices(indices, 1, Array.getLength(dst)); // before any item is changed
+			Dataset cd = cast(a.getClass(), vd);
+			if (cd.getStrides() == null && GatherUtils.scatter(cd.getBuffer(), cd.getSize(), indices, 1, dst, false)) {
+				a.setDirty();
+				return a;
+			}
+		}
 		int vlen = vd.getSize();
 		for (int i = 0, v= 0; i < ilen; i++) {
 			if (v >= vlen) v -= vlen;
@@ -152,14 +165,25 @@ public class DatasetUtils {
 		final int rank = ashape.length;
 		final int ilen = indices.length;
 
+		final Dataset s = getArrayBacked(a);
 		T result;
 		if (axis == null) {
 			ashape = new int[1];
 			ashape[0] = ilen;
 			result = DatasetFactory.zeros(a, ashape);
-			Serializable src = a.getBuffer();
-			for (int i = 0; i < ilen; i++) {
-				((AbstractDataset) result).setItemDirect(i, indices[i], src);
+			final int is = a.getElementsPerItem();
+			int[] index = indices;
+			if (is > 1) {
+				index = new int[ilen];
+				for (int i = 0; i < ilen; i++) {
+					index[i] = indices[i] * is;
+				}
+			}
+			if (!GatherUtils.gather(s.getBuffer(), index, is, result.getBuffer())) {
+				Serializable src = s.getBuffer();
+				for (int i = 0; i < ilen; i++) {
+					((AbstractDataset) result).setItemDirect(i * is, index[i], src);
+				}
 			}
 		} else {
 			axis = a.checkAxis(axis);
@@ -171,11 +195,11 @@ public class DatasetUtils {
 			boolean[] axes = new boolean[rank];
 			Arrays.fill(axes, true);
 			axes[axis] = false;
-			Serializable src = a.getBuffer();
+			Serializable src = s.getBuffer();
 			for (int i = 0; i < ilen; i++) {
 				spos[axis] = indices[i];
 				dpos[axis] = i;
-				SliceIterator siter = a.getSliceIteratorFromAxes(spos, axes);
+				SliceIterator siter = s.getSliceIteratorFromAxes(spos, axes);
 				SliceIterator diter = result.getSliceIteratorFromAxes(dpos, axes);
 
 				while (siter.hasNext() && diter.hasNext()) {
@@ -595,7 +619,7 @@ public class DatasetUtils {
 	 * @return dataset
 	 */
 	public static <T extends Dataset> T repeat(T a, int[] repeats, int axis) {
-		Serializable buf = a.getBuffer();
+		Serializable buf = getArrayBacked(a).getBuffer();
 		int[] shape = a.getShape();
 		int rank = shape.length;
 
@@ -725,17 +749,28 @@ public class DatasetUtils {
 	@SuppressWarnings("unchecked")
 	public static <T extends Dataset> T copy(Class<T> clazz, final IDataset d) {
 		Dataset a = convertToDataset(d);
+		if (CopyUtils.isWorthTiling(a)) { // so items are read in order below
+			a = a.clone();
+		}
 		Dataset c = null;
 		try {
 			// copy across the data
 			if (BooleanDataset.class.isAssignableFrom(clazz)) {
 				c = new BooleanDataset(a);
+			} else if (UnsignedByteDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedByteDataset(a);
 			} else if (ByteDataset.class.isAssignableFrom(clazz)) {
 				c = new ByteDataset(a);
+			} else if (UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedShortDataset(a);
 			} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 				c = new ShortDataset(a);
+			} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedIntegerDataset(a);
 			} else if (IntegerDataset.class.isAssignableFrom(clazz)) {
 				c = new IntegerDataset(a);
+			} else if (EpochDateDataset.class.isAssignableFrom(clazz)) {
+				c = new EpochDateDataset(a);
 			} else if (LongDataset.class.isAssignableFrom(clazz)) {
 				c = new LongDataset(a);
 			} else if (RGBByteDataset.class.isAssignableFrom(clazz)) {
@@ -774,6 +809,8 @@ public class DatasetUtils {
 				} else {
 					c = new CompoundLongDataset(a);
 				}
+			} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+				c = new HalfFloatDataset(a);
 			} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 				c = new FloatDataset(a);
 			} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
@@ -905,12 +942,20 @@ public class DatasetUtils {
 			// copy across the data
 			if (BooleanDataset.class.isAssignableFrom(clazz)) {
 				c = new BooleanDataset(a);
+			} else if (UnsignedByteDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedByteDataset(a);
 			} else if (ByteDataset.class.isAssignableFrom(clazz)) {
 				c = new ByteDataset(a);
+			} else if (UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedShortDataset(a);
 			} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 				c = new ShortDataset(a);
+			} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+				c = new UnsignedIntegerDataset(a);
 			} else if (IntegerDataset.class.isAssignableFrom(clazz)) {
 				c = new IntegerDataset(a);
+			} else if (EpochDateDataset.class.isAssignableFrom(clazz)) {
+				c = new EpochDateDataset(a);
 			} else if (LongDataset.class.isAssignableFrom(clazz)) {
 				c = new LongDataset(a);
 			} else if (RGBByteDataset.class.isAssignableFrom(clazz)) {
@@ -933,6 +978,8 @@ public class DatasetUtils {
 				c = new CompoundIntegerDataset(isize, repeat, a);
 			} else if (CompoundLongDataset.class.isAssignableFrom(clazz)) {
 				c = new CompoundLongDataset(isize, repeat, a);
+			} else if (HalfFloatDataset.class.isAssignableFrom(clazz)) {
+				c = new HalfFloatDataset(a);
 			} else if (FloatDataset.class.isAssignableFrom(clazz)) {
 				c = new FloatDataset(a);
 			} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
@@ -1005,11 +1052,41 @@ public class DatasetUtils {
 		return cast(DTypeUtils.getInterface(dtype), a);
 	}
 
+	/**
+	 * Interpret the contents of a dataset as unsigned integers. Unlike {@link #makeUnsigned(IDataset)},
+	 * this keeps the storage as it creates an unsigned view that shares the dataset's data
+	 * @param a byte, short or integer dataset
+	 * @return unsigned view of dataset or original if it is already unsigned
+	 * @since 3.0
+	 */
+	public static Dataset asUnsigned(IDataset a) {
+		Dataset d = convertToDataset(a);
+		if (InterfaceUtils.isUnsigned(d.getClass())) {
+			return d;
+		}
+
+		AbstractDataset v;
+		if (d instanceof ByteDataset) {
+			v = new UnsignedByteDataset();
+		} else if (d instanceof ShortDataset) {
+			v = new UnsignedShortDataset();
+		} else if (d instanceof IntegerDataset) {
+			v = new UnsignedIntegerDataset();
+		} else {
+			utilsLogger.error("Dataset must be a byte, short or integer dataset");
+			throw new IllegalArgumentException("Dataset must be a byte, short or integer dataset");
+		}
+		AbstractDataset.copyToView(d, v, true, true);
+		v.setData();
+		return v;
+	}
+
 	/**
 	 * Make a dataset unsigned by promoting it to a wider dataset type and unwrapping the signs
 	 * of its contents
 	 * @param a dataset
 	 * @return unsigned dataset or original if it is not an integer dataset
+	 * @see #asUnsigned(IDataset)
 	 */
 	public static Dataset makeUnsigned(IDataset a) {
 		return makeUnsigned(a, false);
@@ -1414,11 +1491,14 @@ public class DatasetUtils {
 
 	/**
 	 * Create a compound dataset from given dataset, sharing data
-	 * @param dataset input
+	 * @param dataset input (not backed by an NIO buffer)
 	 * @param itemSize item size
 	 * @return compound dataset
 	 */
 	public static CompoundDataset createCompoundDataset(final Dataset dataset, final int itemSize) {
+		if (dataset instanceof BufferDataset) {
+			throw new IllegalArgumentException("Dataset backed by an NIO buffer cannot share its data");
+		}
 		int[] shape = dataset.getShapeRef();
 		int[] nshape = shape;
 		if (shape != null && itemSize > 1) {
@@ -1878,7 +1958,7 @@ public class DatasetUtils {
 			matrix = Array.newInstance(int.class, shape);
 		} else if (a instanceof LongDataset) {
 			matrix = Array.newInstance(long.class, shape);
-		} else if (a instanceof FloatDataset) {
+		} else if (a instanceof HalfFloatDataset || a instanceof FloatDataset) {
 			matrix = Array.newInstance(float.class, shape);
 		} else if (a instanceof DoubleDataset) {
 			matrix = Array.newInstance(double.class, shape);
@@ -1899,7 +1979,17 @@ public class DatasetUtils {
 	 * @param value replacement value
 	 */
 	public static void removeNansAndInfinities(Dataset a, final Number value) {
-		if (a instanceof DoubleDataset) {
+		if (a instanceof BufferDataset) {
+			if (a.hasFloatingPointElements()) {
+				final double dvalue = DTypeUtils.toReal(value);
+				final IndexIterator it = a.getIterator();
+				while (it.hasNext()) {
+					double x = a.getElementDoubleAbs(it.index);
+					if (Double.isNaN(x) || Double.isInfinite(x))
+						a.setObjectAbs(it.index, dvalue);
+				}
+			}
+		} else if (a instanceof DoubleDataset) {
 			final double dvalue = DTypeUtils.toReal(value);
 			final DoubleDataset set = (DoubleDataset) a;
 			final IndexIterator it = set.getIterator();
@@ -1919,6 +2009,15 @@ public class DatasetUtils {
 				if (Float.isNaN(x) || Float.isInfinite(x))
 					data[it.index] = fvalue;
 			}
+		} else if (a instanceof HalfFloatDataset) {
+			final float fvalue = (float) DTypeUtils.toReal(value);
+			final HalfFloatDataset set = (HalfFloatDataset) a;
+			final IndexIterator it = set.getIterator();
+			while (it.hasNext()) {
+				float x = set.getAbs(it.index);
+				if (Float.isNaN(x) || Float.isInfinite(x))
+					set.setAbs(it.index, fvalue);
+			}
 		} else if (a instanceof CompoundDoubleDataset) {
 			final double dvalue = DTypeUtils.toReal(value);
 			final CompoundDoubleDataset set = (CompoundDoubleDataset) a;
@@ -1956,7 +2055,27 @@ public class DatasetUtils {
 	 * @param a dataset
 	 */
 	public static void makeFinite(Dataset a) {
-		if (a instanceof DoubleDataset) {
+		if (a instanceof FloatBufferDataset) {
+			final FloatBufferDataset set = (FloatBufferDataset) a;
+			final IndexIterator it = set.getIterator();
+			while (it.hasNext()) {
+				final float x = set.getAbs(it.index);
+				if (Float.isNaN(x))
+					set.setAbs(it.index, 0);
+				else if (Float.isInfinite(x))
+					set.setAbs(it.index, x > 0 ? Float.MAX_VALUE : -Float.MAX_VALUE);
+			}
+		} else if (a instanceof DoubleBufferDataset) {
+			final DoubleBufferDataset set = (DoubleBufferDataset) a;
+			final IndexIterator it = set.getIterator();
+			while (it.hasNext()) {
+				final double x = set.getAbs(it.index);
+				if (Double.isNaN(x))
+					set.setAbs(it.index, 0);
+				else if (Double.isInfinite(x))
+					set.setAbs(it.index, x > 0 ? Double.MAX_VALUE : -Double.MAX_VALUE);
+			}
+		} else if (a instanceof DoubleDataset) {
 			final DoubleDataset set = (DoubleDataset) a;
 			final IndexIterator it = set.getIterator();
 			final double[] data = set.getData();
@@ -1978,6 +2097,16 @@ public class DatasetUtils {
 				else if (Float.isInfinite(x))
 					data[it.index] = x > 0 ? Float.MAX_VALUE : -Float.MAX_VALUE;
 			}
+		} else if (a instanceof HalfFloatDataset) {
+			final HalfFloatDataset set = (HalfFloatDataset) a;
+			final IndexIterator it = set.getIterator();
+			while (it.hasNext()) {
+				final float x = set.getAbs(it.index);
+				if (Float.isNaN(x))
+					set.setAbs(it.index, 0);
+				else if (Float.isInfinite(x))
+					set.setAbs(it.index, x > 0 ? HalfFloatDataset.MAX_VALUE : -HalfFloatDataset.MAX_VALUE);
+			}
 		} else if (a instanceof CompoundDoubleDataset) {
 			final CompoundDoubleDataset set = (CompoundDoubleDataset) a;
 			final int is = set.getElementsPerItem();
@@ -2089,6 +2218,33 @@ public class DatasetUtils {
 		return iter.index;
 	}
 
+	/**
+	 * Find unique items of dataset, like NumPy's unique function. Items are sorted as in {@link Dataset#sort(Integer)}
+	 * @param a dataset that is not compound
+	 * @param returnIndex if true, also return positions of first occurrences of unique items
+	 * @param returnInverse if true, also return indexes of unique items that reconstruct dataset
+	 * @param returnCounts if true, also return numbers of occurrences of unique items
+	 * @return list of 1D dataset of unique items followed by requested integer datasets of positions
+	 * (in flattened dataset), inverse indexes (in shape of dataset) and counts
+	 * @since 3.0
+	 */
+	public static List<Dataset> unique(final Dataset a, final boolean returnIndex, final boolean returnInverse, final boolean returnCounts) {
+		final UniqueUtils.Unique u = UniqueUtils.unique(a, returnInverse);
+		final List<Dataset> results = new ArrayList<Dataset>();
+		final int m = u.first.length;
+		results.add(a.getBy1DIndex(new IntegerDataset(UniqueUtils.getIndices(a, u.first.clone()), m)));
+		if (returnIndex) {
+			results.add(new IntegerDataset(u.first, m));
+		}
+		if (returnInverse) {
+			results.add(new IntegerDataset(u.inverse, a.getShape()));
+		}
+		if (returnCounts) {
+			results.add(new IntegerDataset(u.counts, m));
+		}
+		return results;
+	}
+
 	/**
 	 * Find first occurrences in one dataset of values given in another sorted dataset
 	 * @param a dataset
@@ -2100,73 +2256,23 @@ public class DatasetUtils {
 			throw new IllegalArgumentException("Values dataset must be 1D");
 		}
 		IntegerDataset indexes = new IntegerDataset(values.getSize());
-		indexes.fill(-1);
+		final int[] idata = indexes.getData();
+		Arrays.fill(idata, -1);
 
 		IndexIterator it = a.getIterator();
-		final int n = values.getSize();
 		if (values instanceof LongDataset) {
+			final long[] v = getSortedValues((LongDataset) values);
 			while (it.hasNext()) {
-				long x = a.getElementLongAbs(it.index);
-
-				int l = 0; // binary search to find value in sorted dataset
-				long vl = values.getLong(l);
-				if (x <= vl) {
-					if (x == vl && indexes.getAbs(l) < 0)
-						indexes.setAbs(l, it.index);
-					continue;
-				}
-				int h = n - 1;
-				long vh = values.getLong(h);
-				if (x >= vh) {
-					if (x == vh && indexes.getAbs(h) < 0)
-						indexes.setAbs(h, it.index);
-					continue;
-				}
-				while (h - l > 1) {
-					int m = (l + h) / 2;
-					long vm = values.getLong(m);
-					if (x < vm) {
-						h = m;
-					} else if (x > vm) {
-						l = m;
-					} else {
-						if (indexes.getAbs(m) < 0)
-							indexes.setAbs(m, it.index);
-						break;
-					}
-				}
+				int m = findSorted(v, a.getElementLongAbs(it.index));
+				if (m >= 0 && idata[m] < 0)
+					idata[m] = it.index;
 			}
 		} else {
+			final double[] v = getSortedValues(values);
 			while (it.hasNext()) {
-				double x = a.getElementDoubleAbs(it.index);
-
-				int l = 0; // binary search to find value in sorted dataset
-				double vl = values.getDouble(l);
-				if (x <= vl) {
-					if (x == vl && indexes.getAbs(l) < 0)
-						indexes.setAbs(l, it.index);
-					continue;
-				}
-				int h = n - 1;
-				double vh = values.getDouble(h);
-				if (x >= vh) {
-					if (x == vh && indexes.getAbs(h) < 0)
-						indexes.setAbs(h, it.index);
-					continue;
-				}
-				while (h - l > 1) {
-					int m = (l + h) / 2;
-					double vm = values.getDouble(m);
-					if (x < vm) {
-						h = m;
-					} else if (x > vm) {
-						l = m;
-					} else {
-						if (indexes.getAbs(m) < 0)
-							indexes.setAbs(m, it.index);
-						break;
-					}
-				}
+				int m = findSorted(v, a.getElementDoubleAbs(it.index));
+				if (m >= 0 && idata[m] < 0)
+					idata[m] = it.index;
 			}
 		}
 		return indexes;
@@ -2183,73 +2289,43 @@ public class DatasetUtils {
 			throw new IllegalArgumentException("Values dataset must be 1D");
 		}
 		IntegerDataset indexes = new IntegerDataset(a.getSize());
-		indexes.fill(-1);
+		final int[] idata = indexes.getData();
 
-		IndexIterator it = a.getIterator();
-		int i = -1;
 		final int n = values.getSize();
+		final long cost = 32 - Integer.numberOfLeadingZeros(n);
+		final boolean contiguous = a.getStrides() == null && a.getElementsPerItem() == 1;
 		if (values instanceof LongDataset) {
-			while (it.hasNext()) {
-				i++;
-				long x = a.getElementLongAbs(it.index);
-
-				int l = 0; // binary search to find value in sorted dataset
-				long vl = values.getLong(l);
-				if (x <= vl) {
-					if (x == vl)
-						indexes.setAbs(i, l);
-					continue;
-				}
-				int h = n - 1;
-				long vh = values.getLong(h);
-				if (x >= vh) {
-					if (x == vh)
-						indexes.setAbs(i, h);
-					continue;
-				}
-				while (h - l > 1) {
-					int m = (l + h) / 2;
-					long vm = values.getLong(m);
-					if (x < vm) {
-						h = m;
-					} else if (x > vm) {
-						l = m;
-					} else {
-						indexes.setAbs(i, m);
-						break;
+			final long[] v = getSortedValues((LongDataset) values);
+			if (contiguous) {
+				ParallelUtils.forRange(idata.length, cost, new ParallelUtils.RangeTask() {
+					@Override
+					public void run(int start, int end) {
+						for (int i = start; i < end; i++) {
+							idata[i] = findSorted(v, a.getElementLongAbs(i));
+						}
 					}
+				});
+			} else {
+				IndexIterator it = a.getIterator();
+				for (int i = 0; it.hasNext(); i++) {
+					idata[i] = findSorted(v, a.getElementLongAbs(it.index));
 				}
 			}
 		} else {
-			while (it.hasNext()) {
-				i++;
-				double x = a.getElementDoubleAbs(it.index);
-
-				int l = 0; // binary search to find value in sorted dataset
-				double vl = values.getDouble(l);
-				if (x <= vl) {
-					if (x == vl)
-						indexes.setAbs(i, l);
-					continue;
-				}
-				int h = n - 1;
-				double vh = values.getDouble(h);
-				if (x >= vh) {
-					if (x == vh)
-						indexes.setAbs(i, h);
-					continue;
-				}
-				while (h - l > 1) {
-					int m = (l + h) / 2;
-					double vm = values.getDouble(m);
-					if (x < vm) {
-						h = m;
-					} else if (x > vm) {
-						l = m;
-					} else {
-						indexes.setAbs(i, m);
-						break;
+			final double[] v = getSortedValues(values);
+			if (contiguous) {
+				ParallelUtils.forRange(idata.length, cost, new ParallelUtils.RangeTask() {
+					@Override
+					public void run(int start, int end) {
+						for (int i = start; i < end; i++) {
+							idata[i] = findSorted(v, a.getElementDoubleAbs(i));
+						}
 					}
+				});
+			} else {
+				IndexIterator it = a.getIterator();
+				for (int i = 0; it.hasNext(); i++) {
+					idata[i] = findSorted(v, a.getElementDoubleAbs(it.index));
 				}
 			}
 		}
@@ -2257,6 +2333,68 @@ public class DatasetUtils {
 		return indexes;
 	}
 
+	private static long[] getSortedValues(final LongDataset values) {
+		final long[] v = new long[values.getSize()];
+		IndexIterator it = values.getIterator();
+		for (int i = 0; it.hasNext(); i++) {
+			v[i] = values.getElementLongAbs(it.index);
+		}
+		return v;
+	}
+
+	private static double[] getSortedValues(final Dataset values) {
+		final double[] v = new double[values.getSize()];
+		IndexIterator it = values.getIterator();
+		for (int i = 0; it.hasNext(); i++) {
+			v[i] = values.getElementDoubleAbs(it.index);
+		}
+		return v;
+	}
+
+	/**
+	 * Binary search to find value in sorted array
+	 * @return index or -1 if not found
+	 */
+	private static int findSorted(final long[] v, final long x) {
+		int l = 0;
+		int h = v.length - 1;
+		while (l <= h) {
+			int m = (l + h) >>> 1;
+			long vm = v[m];
+			if (x < vm) {
+				h = m - 1;
+			} else if (x > vm) {
+				l = m + 1;
+			} else {
+				return m;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Binary search to find value in sorted array. NaNs are not found and zeros of either sign match
+	 * @return index or -1 if not found
+	 */
+	private static int findSorted(final double[] v, final double x) {
+		int l = 0;
+		int h = v.length - 1;
+		while (l <= h) {
+			int m = (l + h) >>> 1;
+			double vm = v[m];
+			if (x < vm) {
+				h = m - 1;
+			} else if (x > vm) {
+				l = m + 1;
+			} else if (x == vm) {
+				return m;
+			} else {
+				return -1; // NaN
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Roll items over given axis by given amount
 	 * @param <T> dataset class
@@ -2665,11 +2803,90 @@ public class DatasetUtils {
 	 * @return some java array
 	 */
 	public static Serializable serializeDataset(final IDataset data) {
-		Dataset d = convertToDataset(data).getView(false);
+		Dataset d = getArrayBacked(convertToDataset(data)).getView(false);
 		d.clearMetadata(null);
 		return d.flatten().getBuffer();
 	}
 
+	/**
+	 * @param a dataset
+	 * @return dataset or, if it is backed by an NIO buffer, a copy that holds its items in a Java array
+	 */
+	static Dataset getArrayBacked(final Dataset a) {
+		return a instanceof BufferDataset ? copy(InterfaceUtils.findSubInterface(a.getClass()), a) : a;
+	}
+
+	/**
+	 * Get view of contiguous storage of dataset as an NIO buffer, without copying, so items
+	 * written to either are seen by both. Elements are as held in its buffer, see {@link Dataset#getBuffer()},
+	 * so compound items are interleaved and unsigned integers and half-precision floats are encoded
+	 * @param a dataset of bytes, shorts, integers, longs, floats or doubles that is contiguous, e.g.
+	 * not a view with steps or transposed axes
+	 * @return buffer that starts with dataset's first element and whose limit is its number of elements
+	 * @throws IllegalArgumentException if dataset is not contiguous or of a supported type
+	 * @since 3.0
+	 */
+	public static Buffer getBufferView(final Dataset a) {
+		if (!isContiguousRun(a)) {
+			throw new IllegalArgumentException("Dataset must be contiguous");
+		}
+		final int offset = a.getOffset();
+		final int length = a.getSize() * a.getElementsPerItem();
+
+		if (a instanceof BufferDataset) {
+			Buffer b = ((BufferDataset) a).getNioBuffer();
+			b.position(offset);
+			b.limit(offset + length);
+			if (b instanceof DoubleBuffer) {
+				return ((DoubleBuffer) b).slice();
+			} else if (b instanceof FloatBuffer) {
+				return ((FloatBuffer) b).slice();
+			} else if (b instanceof LongBuffer) {
+				return ((LongBuffer) b).slice();
+			} else if (b instanceof IntBuffer) {
+				return ((IntBuffer) b).slice();
+			} else if (b instanceof ShortBuffer) {
+				return ((ShortBuffer) b).slice();
+			}
+			return ((ByteBuffer) b).slice();
+		}
+
+		final Object d = a.getBuffer();
+		if (d instanceof double[]) {
+			return DoubleBuffer.wrap((double[]) d, offset, length).slice();
+		} else if (d instanceof float[]) {
+			return FloatBuffer.wrap((float[]) d, offset, length).slice();
+		} else if (d instanceof long[]) {
+			return LongBuffer.wrap((long[]) d, offset, length).slice();
+		} else if (d instanceof int[]) {
+			return IntBuffer.wrap((int[]) d, offset, length).slice();
+		} else if (d instanceof short[]) {
+			return ShortBuffer.wrap((short[]) d, offset, length).slice();
+		} else if (d instanceof byte[]) {
+			return ByteBuffer.wrap((byte[]) d, offset, length).slice();
+		}
+		throw new IllegalArgumentException("Dataset type not supported");
+	}
+
+	/**
+	 * @return true if items of dataset lie in a single run of its buffer, ignoring dimensions of length one
+	 */
+	private static boolean isContiguousRun(final Dataset a) {
+		final int[] stride = a.getStrides();
+		if (stride == null) {
+			return true;
+		}
+		final int[] shape = a.getShapeRef();
+		int s = a.getElementsPerItem();
+		for (int i = shape.length - 1; i >= 0; i--) {
+			if (shape[i] > 1 && stride[i] != s) {
+				return false;
+			}
+			s *= shape[i];
+		}
+		return true;
+	}
+
 	/**
 	 * Extract values where condition is non-zero. This is similar to Dataset#getByBoolean but supports broadcasting
 	 * @param data dataset
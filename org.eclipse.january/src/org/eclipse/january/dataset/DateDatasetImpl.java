@@ -9,8 +9,6 @@
 
 package org.eclipse.january.dataset;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.slf4j.Logger;
@@ -22,8 +20,6 @@ public class DateDatasetImpl extends StringDataset implements DateDataset {
 
 	private static final Logger logger = LoggerFactory.getLogger(DateDatasetImpl.class);
 
-	private static final SimpleDateFormat ISO8601_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
-	
 	static DateDatasetImpl createFromObject(final Object obj) {
 		final DateDatasetImpl result = new DateDatasetImpl();
 		result.shape = ShapeUtils.getShapeFromObject(obj);
@@ -62,7 +58,7 @@ public class DateDatasetImpl extends StringDataset implements DateDataset {
 	
 	private static String dateToString(final Date date) {
 		if (date != null) {
-			return ISO8601_DATE_FORMAT.format(date);
+			return EpochDateDataset.timeToString(date.getTime());
 		}
 		
 		return null;
@@ -95,10 +91,9 @@ public class DateDatasetImpl extends StringDataset implements DateDataset {
 	private static Date stringToDate(final String dateAsString) {
 		if (dateAsString != null) {
 			try {
-				return ISO8601_DATE_FORMAT.parse(dateAsString);
-			} catch (ParseException e) {
+				return new Date(EpochDateDataset.stringToTime(dateAsString));
+			} catch (IllegalArgumentException e) {
 				// fall through to return null
-				logger.error("Could not parse datetime: " + dateAsString);
 			}
 		}
 		
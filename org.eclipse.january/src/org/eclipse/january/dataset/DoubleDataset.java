@@ -17,8 +17,6 @@ package org.eclipse.january.dataset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
 
 import org.apache.commons.math3.complex.Complex; // NAN_OMIT
 import org.eclipse.january.metadata.StatisticsMetadata;
@@ -120,10 +118,11 @@ public class DoubleDataset extends AbstractDataset {
 				stride = null;
 				base = null;
 				odata = data = createArray(size);
-
-				IndexIterator iter = dataset.getIterator();
-				for (int i = 0; iter.hasNext(); i++) {
-					data[i] = dataset.data[iter.index];
+				if (!CopyUtils.copyTiled(dataset, data)) {
+					IndexIterator iter = dataset.getIterator();
+					for (int i = 0; iter.hasNext(); i++) {
+						data[i] = dataset.data[iter.index];
+					}
 				}
 			}
 		} catch (Throwable t) {
@@ -164,6 +163,9 @@ public class DoubleDataset extends AbstractDataset {
 		}
 
 		if (!getClass().equals(obj.getClass())) {
+			if (obj instanceof BufferDataset) { // buffer datasets compare by content // NAN_OMIT
+				return obj.equals(this); // NAN_OMIT
+			} // NAN_OMIT
 			if (getRank() == 0) { // for zero-rank datasets
 				return obj.equals(getObjectAbs(offset));
 			}
@@ -696,18 +698,9 @@ public class DoubleDataset extends AbstractDataset {
 
 	@Override
 	public DoubleDataset getUniqueItems() {
-		Set<Double> set = new TreeSet<Double>(); // CLASS_TYPE
-		IndexIterator it = getIterator();
-		while (it.hasNext()) {
-			set.add(data[it.index]);
-		}
-
-		DoubleDataset u = new DoubleDataset(set.size()); // CLASS_TYPE
-		int i = 0;
-		double[] udata = u.getData(); // PRIM_TYPE
-		for (Double v : set) { // CLASS_TYPE
-			udata[i++] = v;
-		}
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		DoubleDataset u = new DoubleDataset(first.length); // CLASS_TYPE
+		GatherUtils.gather(data, first, 1, u.data);
 		return u;
 	}
 
@@ -716,8 +709,10 @@ public class DoubleDataset extends AbstractDataset {
 		DoubleDataset result = new DoubleDataset(siter.getShape());
 		double[] rdata = result.data; // PRIM_TYPE
 
-		for (int i = 0; siter.hasNext(); i++)
-			rdata[i] = data[siter.index];
+		if (!CopyUtils.copy(data, siter, rdata, null, 1, result.size)) {
+			for (int i = 0; siter.hasNext(); i++)
+				rdata[i] = data[siter.index];
+		}
 
 		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
 		return result;
@@ -725,11 +720,14 @@ public class DoubleDataset extends AbstractDataset {
 
 	@Override
 	public void fillDataset(Dataset result, IndexIterator iter) {
-		IndexIterator riter = result.getIterator();
 		result.setDirty();
 
 		double[] rdata = ((DoubleDataset) result).data; // PRIM_TYPE
+		if (CopyUtils.copy(data, iter, rdata, CopyUtils.getIterator(result), 1, result.getSize())) {
+			return;
+		}
 
+		IndexIterator riter = result.getIterator();
 		while (riter.hasNext() && iter.hasNext()) {
 			rdata[riter.index] = data[iter.index];
 		}
@@ -738,55 +736,23 @@ public class DoubleDataset extends AbstractDataset {
 	@Override
 	public DoubleDataset setByBoolean(final Object obj, Dataset selection) {
 		setDirty();
-		if (obj instanceof Dataset) {
-			final Dataset ds = (Dataset) obj;
-			final int length = ((Number) selection.sum()).intValue();
-			if (length != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of true items in selection does not match number of items in dataset");
-			}
-
-			final IndexIterator oiter = ds.getIterator();
-			final BooleanIterator biter = getBooleanIterator(selection);
-
-			while (biter.hasNext() && oiter.hasNext()) {
-				data[biter.index] = ds.getElementDoubleAbs(oiter.index); // GET_ELEMENT_WITH_CAST
-			}
-		} else {
-			final double dv = DTypeUtils.toReal(obj); // PRIM_TYPE // FROM_OBJECT
-			final BooleanIterator biter = getBooleanIterator(selection);
-
-			while (biter.hasNext()) {
-				data[biter.index] = dv;
-			}
+		final int[] indices = GatherUtils.getIndices(this, selection);
+		if (obj instanceof Dataset && indices.length != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of true items in selection does not match number of items in dataset");
 		}
+		scatter(obj, indices, true);
 		return this;
 	}
 
 	@Override
 	public DoubleDataset setBy1DIndex(final Object obj, final Dataset index) {
 		setDirty();
-		if (obj instanceof Dataset) {
-			final Dataset ds = (Dataset) obj;
-			if (index.getSize() != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of items in index dataset does not match number of items in dataset");
-			}
-
-			final IndexIterator oiter = ds.getIterator();
-			final IntegerIterator iter = new IntegerIterator(index, size);
-
-			while (iter.hasNext() && oiter.hasNext()) {
-				data[iter.index] = ds.getElementDoubleAbs(oiter.index); // GET_ELEMENT_WITH_CAST
-			}
-		} else {
-			final double dv = DTypeUtils.toReal(obj); // PRIM_TYPE // FROM_OBJECT
-			IntegerIterator iter = new IntegerIterator(index, size);
-
-			while (iter.hasNext()) {
-				data[iter.index] = dv;
-			}
+		if (obj instanceof Dataset && index.getSize() != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index dataset does not match number of items in dataset");
 		}
+		scatter(obj, GatherUtils.getIndices(new IntegerIterator(index, size), index.getSize()), false);
 		return this;
 	}
 
@@ -794,33 +760,49 @@ public class DoubleDataset extends AbstractDataset {
 	public DoubleDataset setByIndexes(final Object obj, final Object... indexes) {
 		setDirty();
 		final IntegersIterator iter = new IntegersIterator(shape, indexes);
-		final int[] pos = iter.getPos();
+		if (obj instanceof Dataset && ShapeUtils.calcSize(iter.getShape()) != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index datasets does not match number of items in dataset");
+		}
+		scatter(obj, GatherUtils.getIndices(this, iter), false);
+		return this;
+	}
 
+	/**
+	 * Set items at given indices to items of dataset or to value
+	 * @param obj dataset or value
+	 * @param indices indices in data array
+	 * @param unique true if indices are distinct
+	 */
+	private void scatter(final Object obj, final int[] indices, final boolean unique) {
+		final Object dst = getBuffer(); // null when held in NIO buffer
 		if (obj instanceof Dataset) {
 			final Dataset ds = (Dataset) obj;
-			if (ShapeUtils.calcSize(iter.getShape()) != ds.getSize()) {
-				throw new IllegalArgumentException(
-						"Number of items in index datasets does not match number of items in dataset");
+			if (ds instanceof DoubleDataset && ds.getStrides() == null
+					&& GatherUtils.scatter(ds.getBuffer(), ds.getSize(), indices, 1, dst, unique)) {
+				return;
 			}
 
 			final IndexIterator oiter = ds.getIterator();
-
-			while (iter.hasNext() && oiter.hasNext()) {
-				setItem(ds.getElementDoubleAbs(oiter.index), pos); // GET_ELEMENT_WITH_CAST
+			for (int i = 0; oiter.hasNext(); i++) {
+				setAbs(indices[i], ds.getElementDoubleAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
 			}
 		} else {
 			final double dv = DTypeUtils.toReal(obj); // PRIM_TYPE // FROM_OBJECT
-
-			while (iter.hasNext()) {
-				setItem(dv, pos);
+			if (!GatherUtils.scatter(new double[] {dv}, 1, indices, 1, dst, unique)) { // PRIM_TYPE
+				for (int i : indices) {
+					setAbs(i, dv);
+				}
 			}
 		}
-		return this;
 	}
 
 	@Override
 	DoubleDataset setSlicedView(Dataset view, Dataset d) {
 		setDirty();
+		if (d instanceof DoubleDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
 		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
 
 		while (it.hasNext()) {
@@ -845,8 +827,11 @@ public class DoubleDataset extends AbstractDataset {
 
 			if (ds instanceof Dataset) {
 				final Dataset ads = (Dataset) ds;
-				final IndexIterator oiter = ads.getIterator();
+				if (ads instanceof DoubleDataset && CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, 1, ads.getSize())) {
+					return this;
+				}
 
+				final IndexIterator oiter = ads.getIterator();
 				while (siter.hasNext() && oiter.hasNext())
 					data[siter.index] = ads.getElementDoubleAbs(oiter.index); // GET_ELEMENT_WITH_CAST
 			} else {
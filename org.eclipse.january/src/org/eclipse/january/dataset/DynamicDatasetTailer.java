@@ -0,0 +1,169 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+import org.eclipse.january.DatasetException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper that passes data appended to a growing dynamic dataset to a consumer so that
+ * live processing only needs to read new data.
+ * <p>
+ * Data is passed in order of growth as regions that each extend the data already passed
+ * to a larger box: with a stack of frames that grows along its first dimension, regions
+ * contain the new frames in order. The data passed is tracked as a shape and only advanced
+ * when the consumer returns normally so data is passed at least once and without gaps. Each
+ * dimension of the dataset must not shrink.
+ * <p>
+ * Polling is done on data events when started or can be done explicitly.
+ * @since 3.0
+ */
+public class DynamicDatasetTailer implements IDataListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(DynamicDatasetTailer.class);
+
+	/**
+	 * Consumer of appended data
+	 */
+	public interface IRegionConsumer {
+		/**
+		 * @param region of data in dataset
+		 * @param data slice of dataset
+		 * @throws Exception if data could not be processed. This region is passed again on next poll
+		 */
+		void consume(SliceND region, Dataset data) throws Exception;
+	}
+
+	private final IDynamicDataset dataset;
+	private final IRegionConsumer consumer;
+	private final int batch;
+	private int[] passed; // shape of data already passed
+
+	/**
+	 * Create a tailer that will pass all data
+	 * @param dataset dynamic dataset
+	 * @param consumer of data
+	 */
+	public DynamicDatasetTailer(IDynamicDataset dataset, IRegionConsumer consumer) {
+		this(dataset, Integer.MAX_VALUE, consumer);
+	}
+
+	/**
+	 * Create a tailer that will pass all data
+	 * @param dataset dynamic dataset
+	 * @param batch maximum extent of growing dimension in each region (i.e. maximum number of frames)
+	 * @param consumer of data
+	 */
+	public DynamicDatasetTailer(IDynamicDataset dataset, int batch, IRegionConsumer consumer) {
+		if (batch <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.dataset = dataset;
+		this.consumer = consumer;
+		this.batch = batch;
+		passed = new int[dataset.getRank()];
+	}
+
+	/**
+	 * Start polling on data events
+	 */
+	public void start() {
+		dataset.addDataListener(this);
+	}
+
+	/**
+	 * Stop polling on data events
+	 */
+	public void stop() {
+		dataset.removeDataListener(this);
+	}
+
+	/**
+	 * @return shape of data already passed to consumer
+	 */
+	public synchronized int[] getPassedShape() {
+		return passed.clone();
+	}
+
+	/**
+	 * Set shape of data already passed, e.g. to resume processing
+	 * @param shape of data already passed
+	 */
+	public synchronized void setPassedShape(int... shape) {
+		if (shape.length != passed.length) {
+			throw new IllegalArgumentException("Rank of shape must match dataset");
+		}
+		passed = shape.clone();
+	}
+
+	@Override
+	public void dataChangePerformed(DataEvent evt) {
+		try {
+			poll();
+		} catch (DatasetException e) {
+			logger.error("Could not pass appended data of {}", dataset.getName(), e);
+		}
+	}
+
+	/**
+	 * Pass any data appended since the last poll to the consumer
+	 * @return number of regions passed
+	 * @throws DatasetException if data could not be read or processed, or the dataset has shrunk
+	 */
+	public synchronized int poll() throws DatasetException {
+		int[] shape = dataset.getShape();
+		SliceND[] regions = LazyDynamicDataset.calcAppendedRegions(passed, shape);
+		if (regions == null) {
+			throw new DatasetException("Dataset has shrunk from " + Arrays.toString(passed) + " to " + Arrays.toString(shape));
+		}
+
+		int n = 0;
+		for (SliceND r : regions) {
+			int d = findGrowingDimension(r);
+			int[] start = r.getStart();
+			int[] stop = r.getStop();
+			int end = stop[d];
+			for (int i = start[d], e; i < end; i = e) {
+				SliceND b = r.clone();
+				e = (int) Math.min(end, (long) i + batch);
+				b.setSlice(d, i, e, 1);
+				Dataset data = DatasetUtils.convertToDataset(dataset.getSlice(b));
+				try {
+					consumer.consume(b, data);
+				} catch (Exception ex) {
+					throw new DatasetException("Consumer could not process " + b, ex);
+				}
+				for (int j = d + 1; j < stop.length; j++) { // skipped regions were empty
+					passed[j] = stop[j];
+				}
+				passed[d] = e;
+				n++;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * @param r region
+	 * @return dimension where region extends the passed data
+	 */
+	private int findGrowingDimension(SliceND r) {
+		int[] stop = r.getStop();
+		for (int i = 0; i < stop.length; i++) {
+			if (stop[i] != passed[i]) {
+				return i;
+			}
+		}
+		return 0;
+	}
+}
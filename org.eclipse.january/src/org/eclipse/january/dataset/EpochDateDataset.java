@@ -0,0 +1,363 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Date dataset that stores each date as a primitive number of milliseconds since the Unix epoch.
+ * <p>
+ * As it is a long dataset, all the integer kernels (e.g. in {@link Maths} and {@link Comparisons})
+ * operate directly on the stored times and sorting uses primitive comparisons. Dates are only
+ * formatted as strings when requested, using the same ISO 8601 representation as {@link DateDatasetImpl}
+ * in the system's default time zone. Missing dates are held as {@link #NOT_A_TIME}.
+ * @since 3.0
+ */
+public class EpochDateDataset extends LongDataset implements DateDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	private static final Logger logger = LoggerFactory.getLogger(EpochDateDataset.class);
+
+	/**
+	 * Value used to store a missing date (as NumPy's NaT)
+	 */
+	public static final long NOT_A_TIME = Long.MIN_VALUE;
+
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+
+	// immutable so safe to share between threads
+	private static final DateTimeFormatter ISO8601_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZONE);
+
+	static EpochDateDataset createFromObject(final Object obj) {
+		EpochDateDataset result = new EpochDateDataset();
+
+		if (obj != null) {
+			result.shape = ShapeUtils.getShapeFromObject(obj);
+			result.size = ShapeUtils.calcSize(result.shape);
+			result.odata = result.data = createArray(result.size);
+
+			int[] pos = new int[result.shape.length];
+			result.fillData(obj, 0, pos);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	EpochDateDataset() {
+		super();
+	}
+
+	/**
+	 * Create a dataset of given shape with all dates at the epoch
+	 * @param shape
+	 */
+	EpochDateDataset(final int... shape) {
+		super(shape);
+	}
+
+	/**
+	 * Create a dataset using given times
+	 * @param times milliseconds since epoch
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	EpochDateDataset(final long[] times, int... shape) {
+		super(times, shape);
+	}
+
+	/**
+	 * Create a dataset using given dates
+	 * @param dates
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	EpochDateDataset(final Date[] dates, int... shape) {
+		super(datesToTimes(dates), shape);
+	}
+
+	/**
+	 * Copy a dataset
+	 * @param dataset
+	 */
+	EpochDateDataset(final EpochDateDataset dataset) {
+		super(dataset);
+	}
+
+	/**
+	 * Copy and cast a dataset to this class type. Date datasets are converted using their dates and
+	 * other datasets have their items taken as milliseconds since epoch
+	 * @param dataset
+	 */
+	EpochDateDataset(final Dataset dataset) {
+		copyToView(dataset, this, true, false);
+		offset = 0;
+		stride = null;
+		base = null;
+		odata = data = createArray(size);
+		IndexIterator iter = dataset.getIterator();
+		if (dataset instanceof DateDataset) {
+			DateDataset dates = (DateDataset) dataset;
+			for (int i = 0; iter.hasNext(); i++) {
+				data[i] = dateToTime(dates.getDateAbs(iter.index));
+			}
+		} else {
+			for (int i = 0; iter.hasNext(); i++) {
+				data[i] = dataset.getElementLongAbs(iter.index);
+			}
+		}
+	}
+
+	private static long[] datesToTimes(final Date[] dates) {
+		final long[] times = new long[dates.length];
+		for (int i = 0; i < dates.length; i++) {
+			times[i] = dateToTime(dates[i]);
+		}
+		return times;
+	}
+
+	private static long dateToTime(final Date date) {
+		return date == null ? NOT_A_TIME : date.getTime();
+	}
+
+	private static Date timeToDate(final long time) {
+		return time == NOT_A_TIME ? null : new Date(time);
+	}
+
+	/**
+	 * @param time milliseconds since epoch
+	 * @return ISO 8601 string in default time zone or null for a missing date
+	 */
+	static String timeToString(final long time) {
+		return time == NOT_A_TIME ? null : ISO8601_DATE_FORMAT.format(Instant.ofEpochMilli(time));
+	}
+
+	/**
+	 * Parse date string. This accepts the format used by {@link DateDatasetImpl} (in default time zone)
+	 * or an ISO 8601 instant such as "2015-10-01T00:00:00Z"
+	 * @param text
+	 * @return milliseconds since epoch
+	 */
+	static long stringToTime(final String text) {
+		try {
+			return LocalDateTime.parse(text, ISO8601_DATE_FORMAT).atZone(ZONE).toInstant().toEpochMilli();
+		} catch (DateTimeParseException e) {
+			try {
+				return Instant.parse(text).toEpochMilli();
+			} catch (DateTimeParseException ex) {
+				logger.error("Could not parse datetime: {}", text);
+				throw new IllegalArgumentException("Could not parse datetime: " + text, ex);
+			}
+		}
+	}
+
+	private static long toTime(final Object obj) {
+		if (obj == null) {
+			return NOT_A_TIME;
+		} else if (obj instanceof Date) {
+			return ((Date) obj).getTime();
+		} else if (obj instanceof Instant) {
+			return ((Instant) obj).toEpochMilli();
+		} else if (obj instanceof String) {
+			return stringToTime((String) obj);
+		} else if (obj instanceof Dataset) {
+			Dataset dataset = (Dataset) obj;
+			if (dataset.getSize() != 1) {
+				logger.error("Given dataset must only have one item");
+				throw new IllegalArgumentException("Given dataset must have only one item");
+			}
+			return dataset instanceof DateDataset ? dateToTime(((DateDataset) dataset).getDateAbs(dataset.getOffset())) :
+				toTime(dataset.getObjectAbs(dataset.getOffset()));
+		} else if (obj instanceof IDataset) {
+			IDataset dataset = (IDataset) obj;
+			if (dataset.getSize() != 1) {
+				logger.error("Given dataset must only have one item");
+				throw new IllegalArgumentException("Given dataset must have only one item");
+			}
+			return toTime(dataset.getObject(new int[dataset.getRank()]));
+		}
+		return DTypeUtils.toLong(obj);
+	}
+
+	@Override
+	protected void fillData(Object obj, final int depth, final int[] pos) {
+		if (obj == null) {
+			setItem(NOT_A_TIME, pos);
+		} else {
+			super.fillData(obj, depth, pos);
+		}
+	}
+
+	@Override
+	public EpochDateDataset clone() {
+		return new EpochDateDataset(this);
+	}
+
+	@Override
+	public EpochDateDataset getView(boolean deepCopyMetadata) {
+		EpochDateDataset view = new EpochDateDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.setData();
+		return view;
+	}
+
+	@Override
+	public EpochDateDataset getSlice(final SliceIterator siter) {
+		LongDataset base = super.getSlice(siter);
+
+		EpochDateDataset slice = new EpochDateDataset();
+		copyToView(base, slice, false, false);
+		slice.setData();
+		return slice;
+	}
+
+	@Override
+	public EpochDateDataset fill(final Object obj) {
+		super.fill(toTime(obj));
+		return this;
+	}
+
+	@Override
+	public EpochDateDataset getUniqueItems() {
+		return new EpochDateDataset(super.getUniqueItems().getData());
+	}
+
+	@Override
+	public EpochDateDataset sort(Integer axis) {
+		super.sort(axis);
+		return this;
+	}
+
+	/**
+	 * @param index absolute index
+	 * @return instant at given index or null for a missing date
+	 */
+	public Instant getInstantAbs(final int index) {
+		long t = data[index];
+		return t == NOT_A_TIME ? null : Instant.ofEpochMilli(t);
+	}
+
+	@Override
+	public Date getDate() {
+		return timeToDate(get());
+	}
+
+	@Override
+	public Date getDate(final int i) {
+		return timeToDate(get(i));
+	}
+
+	@Override
+	public Date getDate(final int i, final int j) {
+		return timeToDate(get(i, j));
+	}
+
+	@Override
+	public Date getDate(final int... pos) {
+		return timeToDate(get(pos));
+	}
+
+	@Override
+	public Date getDateAbs(final int index) {
+		return timeToDate(data[index]);
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return getDateAbs(index);
+	}
+
+	@Override
+	public Object getObject() {
+		return getDate();
+	}
+
+	@Override
+	public Object getObject(final int i) {
+		return getDate(i);
+	}
+
+	@Override
+	public Object getObject(final int i, final int j) {
+		return getDate(i, j);
+	}
+
+	@Override
+	public Object getObject(final int... pos) {
+		return getDate(pos);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		return timeToString(data[index]);
+	}
+
+	@Override
+	protected void setItemDirect(final int dindex, final int sindex, final Object src) {
+		if (src instanceof Date[]) {
+			setDirty();
+			data[dindex] = dateToTime(((Date[]) src)[sindex]);
+		} else {
+			super.setItemDirect(dindex, sindex, src);
+		}
+	}
+
+	/**
+	 * @param index absolute index
+	 * @param date can be null
+	 */
+	public void setAbs(final int index, final Date date) {
+		setAbs(index, dateToTime(date));
+	}
+
+	@Override
+	public void setObjectAbs(final int index, final Object obj) {
+		if (index < 0 || index > data.length) {
+			throw new IndexOutOfBoundsException("Index given is outside dataset");
+		}
+
+		setAbs(index, toTime(obj));
+	}
+
+	@Override
+	public void set(final Object obj) {
+		setItem(toTime(obj));
+	}
+
+	@Override
+	public void set(final Object obj, final int i) {
+		setItem(toTime(obj), i);
+	}
+
+	@Override
+	public void set(final Object obj, final int i, final int j) {
+		setItem(toTime(obj), i, j);
+	}
+
+	@Override
+	public void set(final Object obj, int... pos) {
+		if (pos == null || (pos.length == 0 && shape.length > 0)) {
+			pos = new int[shape.length];
+		}
+
+		setItem(toTime(obj), pos);
+	}
+}
@@ -0,0 +1,722 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Discrete Fourier transforms of datasets, modelled on NumPy's fft module.
+ * <p>
+ * Transforms are unscaled in the forward direction and scaled by 1/n in the inverse direction.
+ * Single precision datasets (float and complex float) give complex float datasets and all others
+ * give complex double datasets. Transforms work directly on the interleaved buffers of the complex
+ * datasets and independent lines along an axis are transformed in parallel. Plans for each length
+ * are cached and any length is supported: lengths with large prime factors use Bluestein's algorithm.
+ * @since 3.0
+ */
+public class FFT {
+
+	/**
+	 * Maximum number of adjacent lines gathered together when transforming along an axis
+	 */
+	private static final int GROUP = 8;
+
+	/**
+	 * Compute the one-dimensional discrete Fourier transform along the last axis
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset fft(final Dataset a) {
+		return fft(a, -1, -1);
+	}
+
+	/**
+	 * Compute the one-dimensional discrete Fourier transform along an axis
+	 * @param a dataset
+	 * @param n length of transform (input is truncated or zero-padded), if positive, otherwise length of axis
+	 * @param axis to transform along
+	 * @return complex dataset
+	 */
+	public static Dataset fft(final Dataset a, final int n, final int axis) {
+		return fftn(a, n > 0 ? new int[] {n} : null, new int[] {axis});
+	}
+
+	/**
+	 * Compute the one-dimensional inverse discrete Fourier transform along the last axis
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset ifft(final Dataset a) {
+		return ifft(a, -1, -1);
+	}
+
+	/**
+	 * Compute the one-dimensional inverse discrete Fourier transform along an axis
+	 * @param a dataset
+	 * @param n length of transform (input is truncated or zero-padded), if positive, otherwise length of axis
+	 * @param axis to transform along
+	 * @return complex dataset
+	 */
+	public static Dataset ifft(final Dataset a, final int n, final int axis) {
+		return ifftn(a, n > 0 ? new int[] {n} : null, new int[] {axis});
+	}
+
+	/**
+	 * Compute the two-dimensional discrete Fourier transform over the last two axes
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset fft2(final Dataset a) {
+		return fftn(a, null, new int[] {-2, -1});
+	}
+
+	/**
+	 * Compute the two-dimensional inverse discrete Fourier transform over the last two axes
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset ifft2(final Dataset a) {
+		return ifftn(a, null, new int[] {-2, -1});
+	}
+
+	/**
+	 * Compute the N-dimensional discrete Fourier transform over all axes
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset fftn(final Dataset a) {
+		return fftn(a, null, (int[]) null);
+	}
+
+	/**
+	 * Compute the N-dimensional discrete Fourier transform
+	 * @param a dataset
+	 * @param s lengths of transform for each axis (input is truncated or zero-padded), can be null
+	 * @param axes to transform over, can be null for all axes (or last axes when lengths are given)
+	 * @return complex dataset
+	 */
+	public static Dataset fftn(final Dataset a, final int[] s, final int[] axes) {
+		return complexTransform(a, s, axes, false);
+	}
+
+	/**
+	 * Compute the N-dimensional discrete Fourier transform into an output dataset
+	 * @param a dataset
+	 * @param axes to transform over, can be null for all axes
+	 * @param o output complex dataset of same shape as input, which can be the input to transform
+	 * in place, or null for a new dataset
+	 * @return output
+	 */
+	public static Dataset fftn(final Dataset a, final int[] axes, final Dataset o) {
+		return complexTransform(a, axes, o, false);
+	}
+
+	/**
+	 * Compute the N-dimensional inverse discrete Fourier transform over all axes
+	 * @param a dataset
+	 * @return complex dataset
+	 */
+	public static Dataset ifftn(final Dataset a) {
+		return ifftn(a, null, (int[]) null);
+	}
+
+	/**
+	 * Compute the N-dimensional inverse discrete Fourier transform
+	 * @param a dataset
+	 * @param s lengths of transform for each axis (input is truncated or zero-padded), can be null
+	 * @param axes to transform over, can be null for all axes (or last axes when lengths are given)
+	 * @return complex dataset
+	 */
+	public static Dataset ifftn(final Dataset a, final int[] s, final int[] axes) {
+		return complexTransform(a, s, axes, true);
+	}
+
+	/**
+	 * Compute the N-dimensional inverse discrete Fourier transform into an output dataset
+	 * @param a dataset
+	 * @param axes to transform over, can be null for all axes
+	 * @param o output complex dataset of same shape as input, which can be the input to transform
+	 * in place, or null for a new dataset
+	 * @return output
+	 */
+	public static Dataset ifftn(final Dataset a, final int[] axes, final Dataset o) {
+		return complexTransform(a, axes, o, true);
+	}
+
+	/**
+	 * Compute the one-dimensional discrete Fourier transform of real input along the last axis. This
+	 * omits the negative frequency terms as they are the complex conjugates of the positive terms
+	 * @param a real dataset
+	 * @return complex dataset whose last axis has length n/2 + 1
+	 */
+	public static Dataset rfft(final Dataset a) {
+		return rfft(a, -1, -1);
+	}
+
+	/**
+	 * Compute the one-dimensional discrete Fourier transform of real input along an axis. This
+	 * omits the negative frequency terms as they are the complex conjugates of the positive terms
+	 * @param a real dataset
+	 * @param n length of transform (input is truncated or zero-padded), if positive, otherwise length of axis
+	 * @param axis to transform along
+	 * @return complex dataset whose axis has length n/2 + 1
+	 */
+	public static Dataset rfft(final Dataset a, final int n, final int axis) {
+		return rfftn(a, n > 0 ? new int[] {n} : null, new int[] {axis});
+	}
+
+	/**
+	 * Compute the inverse of {@link #rfft(Dataset)} along the last axis
+	 * @param a complex dataset of non-negative frequency terms
+	 * @return real dataset whose last axis has length 2(m - 1) where m is the length of the input axis
+	 */
+	public static Dataset irfft(final Dataset a) {
+		return irfft(a, -1, -1);
+	}
+
+	/**
+	 * Compute the inverse of {@link #rfft(Dataset, int, int)}
+	 * @param a complex dataset of non-negative frequency terms
+	 * @param n length of output axis, if positive, otherwise 2(m - 1) where m is the length of the input axis
+	 * @param axis to transform along
+	 * @return real dataset
+	 */
+	public static Dataset irfft(final Dataset a, final int n, final int axis) {
+		return irfftn(a, n > 0 ? new int[] {n} : null, new int[] {axis});
+	}
+
+	/**
+	 * Compute the N-dimensional discrete Fourier transform of real input. The last axis given is
+	 * transformed as in {@link #rfft(Dataset, int, int)} and the others as complex transforms
+	 * @param a real dataset
+	 * @param s lengths of transform for each axis (input is truncated or zero-padded), can be null
+	 * @param axes to transform over, can be null for all axes (or last axes when lengths are given)
+	 * @return complex dataset
+	 */
+	public static Dataset rfftn(final Dataset a, final int[] s, final int[] axes) {
+		checkReal(a);
+		final int[] ax = checkAxes(a.getRank(), s, axes);
+		final int[] shape = getShape(a.getShapeRef(), s, ax);
+		final int last = ax[ax.length - 1];
+
+		Dataset r = resize(a, InterfaceUtils.isFloating(a.getClass()) && !(a instanceof DoubleDataset) ? FloatDataset.class : DoubleDataset.class, shape);
+		Dataset c = realToComplex(r, last);
+		for (int i = 0; i < ax.length - 1; i++) {
+			transformAxis(c, ax[i], false);
+		}
+		return c;
+	}
+
+	/**
+	 * Compute the inverse of {@link #rfftn(Dataset, int[], int[])}
+	 * @param a complex dataset
+	 * @param s lengths of output for each axis, can be null. For the last axis, the input is truncated
+	 * or zero-padded to s/2 + 1
+	 * @param axes to transform over, can be null for all axes (or last axes when lengths are given)
+	 * @return real dataset
+	 */
+	public static Dataset irfftn(final Dataset a, final int[] s, final int[] axes) {
+		final int[] ax = checkAxes(a.getRank(), s, axes);
+		final int last = ax[ax.length - 1];
+		final int[] ishape = a.getShapeRef();
+		final int n = s == null ? 2 * (ishape[last] - 1) : s[s.length - 1];
+		if (n < 1) {
+			throw new IllegalArgumentException("Output length must be positive");
+		}
+
+		final int[] shape = getShape(ishape, s, ax);
+		shape[last] = n / 2 + 1;
+		Dataset c = resize(a, getComplexClass(a), shape);
+		for (int i = 0; i < ax.length - 1; i++) {
+			transformAxis(c, ax[i], true);
+		}
+		return complexToReal(c, last, n);
+	}
+
+	private static void checkReal(final Dataset a) {
+		if (a.getElementsPerItem() != 1 || !InterfaceUtils.isNumerical(a.getClass())) {
+			throw new IllegalArgumentException("Dataset must be real");
+		}
+	}
+
+	private static Class<? extends Dataset> getComplexClass(final Dataset a) {
+		if (a.isComplex()) {
+			return a instanceof ComplexFloatDataset ? ComplexFloatDataset.class : ComplexDoubleDataset.class;
+		}
+		if (a.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Dataset must be real or complex");
+		}
+		return a instanceof FloatDataset ? ComplexFloatDataset.class : ComplexDoubleDataset.class;
+	}
+
+	/**
+	 * @return axes checked and in range [0, rank)
+	 */
+	private static int[] checkAxes(final int rank, final int[] s, int[] axes) {
+		if (rank == 0) {
+			throw new IllegalArgumentException("Dataset must have at least one dimension");
+		}
+		if (axes == null) {
+			int n = s == null ? rank : s.length;
+			if (n > rank) {
+				throw new IllegalArgumentException("Too many lengths given");
+			}
+			axes = new int[n];
+			for (int i = 0; i < n; i++) {
+				axes[i] = rank - n + i;
+			}
+		} else {
+			if (axes.length == 0) {
+				throw new IllegalArgumentException("No axes given");
+			}
+			axes = axes.clone();
+			for (int i = 0; i < axes.length; i++) {
+				axes[i] = ShapeUtils.checkAxis(rank, axes[i]);
+			}
+		}
+		if (s != null && s.length != axes.length) {
+			throw new IllegalArgumentException("Number of lengths must match number of axes");
+		}
+		return axes;
+	}
+
+	private static int[] getShape(final int[] ishape, final int[] s, final int[] axes) {
+		int[] shape = ishape.clone();
+		if (s != null) {
+			for (int i = 0; i < axes.length; i++) {
+				if (s[i] < 1) {
+					throw new IllegalArgumentException("Lengths must be positive");
+				}
+				shape[axes[i]] = s[i];
+			}
+		}
+		return shape;
+	}
+
+	/**
+	 * @return contiguous copy of given class and shape, truncated or zero-padded
+	 */
+	private static Dataset resize(final Dataset a, final Class<? extends Dataset> clazz, final int[] shape) {
+		final int[] ashape = a.getShapeRef();
+		if (Arrays.equals(ashape, shape)) {
+			return DatasetUtils.copy(clazz, a);
+		}
+
+		Dataset c = DatasetFactory.zeros(clazz, shape);
+		final int rank = shape.length;
+		Slice[] slice = new Slice[rank];
+		for (int i = 0; i < rank; i++) {
+			int l = Math.min(ashape[i], shape[i]);
+			if (l == 0) {
+				return c;
+			}
+			slice[i] = new Slice(l);
+		}
+		c.setSlice(a.getSliceView(slice), slice);
+		return c;
+	}
+
+	private static Dataset complexTransform(final Dataset a, final int[] s, final int[] axes, final boolean inverse) {
+		final int[] ax = checkAxes(a.getRank(), s, axes);
+		Dataset c = resize(a, getComplexClass(a), getShape(a.getShapeRef(), s, ax));
+		for (int axis : ax) {
+			transformAxis(c, axis, inverse);
+		}
+		return c;
+	}
+
+	private static Dataset complexTransform(final Dataset a, final int[] axes, Dataset o, final boolean inverse) {
+		if (o == null) {
+			return complexTransform(a, null, axes, inverse);
+		}
+
+		if (!(o instanceof ComplexDoubleDataset || o instanceof ComplexFloatDataset) || !((AbstractDataset) o).isContiguous()) {
+			throw new IllegalArgumentException("Output must be a contiguous complex dataset");
+		}
+		if (!Arrays.equals(a.getShapeRef(), o.getShapeRef())) {
+			throw new IllegalArgumentException("Output must have same shape as input");
+		}
+		final int[] ax = checkAxes(a.getRank(), null, axes);
+		if (o != a) {
+			o.setSlice(a);
+		}
+		for (int axis : ax) {
+			transformAxis(o, axis, inverse);
+		}
+		return o;
+	}
+
+	/**
+	 * Task for a group of adjacent lines along an axis
+	 */
+	private abstract static class GroupTask implements ParallelUtils.RangeTask {
+		protected final int n; // length of lines
+		protected final int inner; // step between items in a line
+		private final int groups; // number of groups per outer index
+
+		GroupTask(int n, int inner) {
+			this.n = n;
+			this.inner = inner;
+			groups = (inner + GROUP - 1) / GROUP;
+		}
+
+		/**
+		 * @return number of groups
+		 */
+		int getGroups(int outer) {
+			return outer * groups;
+		}
+
+		/**
+		 * Initialise thread's state
+		 */
+		abstract void init();
+
+		/**
+		 * @param outer index of outer dimensions
+		 * @param first index of first line in inner dimensions
+		 * @param count number of lines
+		 */
+		abstract void run(int outer, int first, int count);
+
+		@Override
+		public void run(int start, int end) {
+			init();
+			for (int g = start; g < end; g++) {
+				int o = g / groups;
+				int first = (g % groups) * GROUP;
+				run(o, first, Math.min(GROUP, inner - first));
+			}
+		}
+	}
+
+	private static long getCost(int n) {
+		return 5L * n * (33 - Integer.numberOfLeadingZeros(n)) * Math.min(GROUP, n);
+	}
+
+	/**
+	 * Transform contiguous complex dataset in place along axis
+	 */
+	private static void transformAxis(final Dataset c, final int axis, final boolean inverse) {
+		final int[] shape = c.getShapeRef();
+		final int n = shape[axis];
+		final int outer = ShapeUtils.calcSize(Arrays.copyOf(shape, axis));
+		final int inner = ShapeUtils.calcSize(Arrays.copyOfRange(shape, axis + 1, shape.length));
+		if (n == 1 || outer * inner == 0) {
+			return;
+		}
+
+		final FFTPlan plan = FFTPlan.getPlan(n);
+		final double scale = inverse ? 1. / n : 1;
+		final Object buffer = c.getBuffer();
+		GroupTask task = new GroupTask(n, inner) {
+			private double[][] lines;
+			private double[][] work;
+
+			@Override
+			void init() {
+				lines = new double[GROUP][2 * n];
+				work = plan.createWork();
+			}
+
+			@Override
+			void run(int o, int first, int count) {
+				int base = o * n * inner + first;
+				gatherComplex(buffer, base, inner, n, lines, count);
+				for (int b = 0; b < count; b++) {
+					plan.transform(lines[b], work, inverse);
+				}
+				scatterComplex(buffer, base, inner, n, lines, count, scale);
+			}
+		};
+		ParallelUtils.forRange(task.getGroups(outer), getCost(n), task);
+		c.setDirty();
+	}
+
+	/**
+	 * Transform contiguous real dataset along axis
+	 * @return complex dataset
+	 */
+	private static Dataset realToComplex(final Dataset r, final int axis) {
+		final int[] shape = r.getShape();
+		final int n = shape[axis];
+		shape[axis] = n / 2 + 1;
+		final Class<? extends Dataset> clazz = r instanceof FloatDataset ? ComplexFloatDataset.class : ComplexDoubleDataset.class;
+		final Dataset c = DatasetFactory.zeros(clazz, shape);
+		final int outer = ShapeUtils.calcSize(Arrays.copyOf(shape, axis));
+		final int inner = ShapeUtils.calcSize(Arrays.copyOfRange(shape, axis + 1, shape.length));
+		if (outer * inner == 0) {
+			return c;
+		}
+
+		final int h = n / 2;
+		final boolean even = n % 2 == 0;
+		final FFTPlan plan = FFTPlan.getPlan(even ? h : n);
+		final double[] twiddles = even ? createTwiddles(n, h) : null;
+		final Object input = r.getBuffer();
+		final Object output = c.getBuffer();
+		GroupTask task = new GroupTask(n, inner) {
+			private double[][] lines;
+			private double[][] spectra;
+			private double[][] work;
+
+			@Override
+			void init() {
+				lines = new double[GROUP][2 * n];
+				spectra = new double[GROUP][2 * (h + 1)];
+				work = plan.createWork();
+			}
+
+			@Override
+			void run(int o, int first, int count) {
+				gatherReal(input, o * n * inner + first, inner, n, lines, count, even);
+				for (int b = 0; b < count; b++) {
+					double[] x = lines[b];
+					plan.transform(x, work, false);
+					double[] y = spectra[b];
+					if (even) {
+						unpackReal(x, y, h, twiddles);
+					} else {
+						System.arraycopy(x, 0, y, 0, 2 * (h + 1));
+					}
+				}
+				scatterComplex(output, o * (h + 1) * inner + first, inner, h + 1, spectra, count, 1);
+			}
+		};
+		ParallelUtils.forRange(task.getGroups(outer), getCost(n), task);
+		return c;
+	}
+
+	/**
+	 * Inverse transform of contiguous complex dataset along axis
+	 * @param n length of output
+	 * @return real dataset
+	 */
+	private static Dataset complexToReal(final Dataset c, final int axis, final int n) {
+		final int[] shape = c.getShape();
+		final int m = shape[axis]; // equals h + 1
+		shape[axis] = n;
+		final Class<? extends Dataset> clazz = c instanceof ComplexFloatDataset ? FloatDataset.class : DoubleDataset.class;
+		final Dataset r = DatasetFactory.zeros(clazz, shape);
+		final int outer = ShapeUtils.calcSize(Arrays.copyOf(shape, axis));
+		final int inner = ShapeUtils.calcSize(Arrays.copyOfRange(shape, axis + 1, shape.length));
+		if (outer * inner == 0) {
+			return r;
+		}
+
+		final int h = n / 2;
+		final boolean even = n % 2 == 0;
+		final FFTPlan plan = FFTPlan.getPlan(even ? h : n);
+		final double[] twiddles = even ? createTwiddles(n, h) : null;
+		final double scale = even ? 1. / h : 1. / n; // packed transform has half the length
+		final Object input = c.getBuffer();
+		final Object output = r.getBuffer();
+		GroupTask task = new GroupTask(n, inner) {
+			private double[][] spectra;
+			private double[][] lines;
+			private double[][] work;
+
+			@Override
+			void init() {
+				spectra = new double[GROUP][2 * m];
+				lines = new double[GROUP][2 * n];
+				work = plan.createWork();
+			}
+
+			@Override
+			void run(int o, int first, int count) {
+				gatherComplex(input, o * m * inner + first, inner, m, spectra, count);
+				for (int b = 0; b < count; b++) {
+					double[] x = lines[b];
+					double[] y = spectra[b];
+					if (even) {
+						packReal(y, x, h, twiddles);
+					} else {
+						System.arraycopy(y, 0, x, 0, 2 * m);
+						for (int k = 1; k < m; k++) { // Hermitian symmetry
+							x[2 * (n - k)] = y[2 * k];
+							x[2 * (n - k) + 1] = -y[2 * k + 1];
+						}
+					}
+					plan.transform(x, work, true);
+				}
+				scatterReal(output, o * n * inner + first, inner, n, lines, count, even, scale);
+			}
+		};
+		ParallelUtils.forRange(task.getGroups(outer), getCost(n), task);
+		return r;
+	}
+
+	/**
+	 * @return interleaved exp(-2 pi i k/n) for k in [0, h]
+	 */
+	private static double[] createTwiddles(final int n, final int h) {
+		double[] w = new double[2 * (h + 1)];
+		for (int k = 0; k <= h; k++) {
+			double a = 2 * Math.PI * k / n;
+			w[2 * k] = Math.cos(a);
+			w[2 * k + 1] = -Math.sin(a);
+		}
+		return w;
+	}
+
+	/**
+	 * Split transform of packed even and odd items into spectrum of real sequence of length 2h
+	 * @param z transform of h packed items
+	 * @param x h+1 items of spectrum
+	 */
+	private static void unpackReal(final double[] z, final double[] x, final int h, final double[] w) {
+		for (int k = 0; k <= h; k++) {
+			final int i = 2 * (k == h ? 0 : k);
+			final int j = 2 * (k == 0 ? 0 : h - k);
+			final double ar = z[i];
+			final double ai = z[i + 1];
+			final double br = z[j];
+			final double bi = -z[j + 1];
+			final double er = 0.5 * (ar + br); // transform of even items
+			final double ei = 0.5 * (ai + bi);
+			final double or = 0.5 * (ai - bi); // transform of odd items
+			final double oi = -0.5 * (ar - br);
+			final double wr = w[2 * k];
+			final double wi = w[2 * k + 1];
+			x[2 * k] = er + or * wr - oi * wi;
+			x[2 * k + 1] = ei + or * wi + oi * wr;
+		}
+	}
+
+	/**
+	 * Combine spectrum of real sequence of length 2h into spectrum of packed even and odd items
+	 * @param x h+1 items of spectrum
+	 * @param z h packed items
+	 */
+	private static void packReal(final double[] x, final double[] z, final int h, final double[] w) {
+		for (int k = 0; k < h; k++) {
+			final int j = 2 * (h - k);
+			final double ar = x[2 * k];
+			final double ai = x[2 * k + 1];
+			final double br = x[j];
+			final double bi = -x[j + 1];
+			final double er = 0.5 * (ar + br);
+			final double ei = 0.5 * (ai + bi);
+			final double gr = 0.5 * (ar - br);
+			final double gi = 0.5 * (ai - bi);
+			final double wr = w[2 * k];
+			final double wi = -w[2 * k + 1]; // conjugate
+			final double or = gr * wr - gi * wi;
+			final double oi = gr * wi + gi * wr;
+			z[2 * k] = er - oi;
+			z[2 * k + 1] = ei + or;
+		}
+	}
+
+	/**
+	 * Copy lines of complex items from interleaved buffer
+	 */
+	private static void gatherComplex(final Object buffer, int index, final int step, final int n, final double[][] lines, final int count) {
+		if (buffer instanceof double[]) {
+			final double[] d = (double[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0, i = 2 * index; b < count; b++) {
+					final double[] l = lines[b];
+					l[2 * t] = d[i++];
+					l[2 * t + 1] = d[i++];
+				}
+			}
+		} else {
+			final float[] f = (float[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0, i = 2 * index; b < count; b++) {
+					final double[] l = lines[b];
+					l[2 * t] = f[i++];
+					l[2 * t + 1] = f[i++];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy lines of complex items into interleaved buffer
+	 */
+	private static void scatterComplex(final Object buffer, int index, final int step, final int n, final double[][] lines, final int count, final double scale) {
+		if (buffer instanceof double[]) {
+			final double[] d = (double[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0, i = 2 * index; b < count; b++) {
+					final double[] l = lines[b];
+					d[i++] = l[2 * t] * scale;
+					d[i++] = l[2 * t + 1] * scale;
+				}
+			}
+		} else {
+			final float[] f = (float[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0, i = 2 * index; b < count; b++) {
+					final double[] l = lines[b];
+					f[i++] = (float) (l[2 * t] * scale);
+					f[i++] = (float) (l[2 * t + 1] * scale);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy lines of real items from buffer
+	 * @param packed if true, pack pairs of items into complex values
+	 */
+	private static void gatherReal(final Object buffer, int index, final int step, final int n, final double[][] lines, final int count, final boolean packed) {
+		final int s = packed ? 1 : 2;
+		if (buffer instanceof double[]) {
+			final double[] d = (double[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0; b < count; b++) {
+					final double[] l = lines[b];
+					l[s * t] = d[index + b];
+					if (!packed) {
+						l[s * t + 1] = 0;
+					}
+				}
+			}
+		} else {
+			final float[] f = (float[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0; b < count; b++) {
+					final double[] l = lines[b];
+					l[s * t] = f[index + b];
+					if (!packed) {
+						l[s * t + 1] = 0;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy lines of real items into buffer
+	 * @param packed if true, unpack pairs of items from complex values, otherwise use real parts
+	 */
+	private static void scatterReal(final Object buffer, int index, final int step, final int n, final double[][] lines, final int count, final boolean packed, final double scale) {
+		final int s = packed ? 1 : 2;
+		if (buffer instanceof double[]) {
+			final double[] d = (double[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0; b < count; b++) {
+					d[index + b] = lines[b][s * t] * scale;
+				}
+			}
+		} else {
+			final float[] f = (float[]) buffer;
+			for (int t = 0; t < n; t++, index += step) {
+				for (int b = 0; b < count; b++) {
+					f[index + b] = (float) (lines[b][s * t] * scale);
+				}
+			}
+		}
+	}
+}
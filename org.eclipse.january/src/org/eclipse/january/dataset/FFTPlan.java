@@ -0,0 +1,435 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan for discrete Fourier transforms of a given length that operate on interleaved complex values.
+ * <p>
+ * Lengths whose prime factors are small use mixed-radix passes of a Stockham autosort algorithm
+ * (with dedicated radix-2, 3 and 4 butterflies). Other lengths use Bluestein's chirp-z algorithm
+ * which evaluates the transform as a convolution of power-of-two length. Plans are immutable so
+ * can be shared by threads and the most recently used plans are cached.
+ */
+final class FFTPlan {
+	/**
+	 * Largest prime that is used as a radix. Lengths with bigger factors are handled by Bluestein's algorithm
+	 */
+	private static final int MAX_RADIX = 31;
+
+	private static final int CACHE_SIZE = 32;
+
+	private static final Map<Integer, FFTPlan> CACHE = new LinkedHashMap<Integer, FFTPlan>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, FFTPlan> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	private final int n;
+	private final int[] factors;
+	private final double[] twiddles; // interleaved exp(-2 pi i t/n)
+
+	// for Bluestein's algorithm
+	private final FFTPlan sub;
+	private final double[] chirp; // interleaved exp(-pi i t^2/n)
+	private final double[] kernel; // scaled transform of conjugate chirp
+
+	/**
+	 * @param n length of transform
+	 * @return plan (from cache if possible)
+	 */
+	static FFTPlan getPlan(int n) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Length of transform must be positive");
+		}
+		synchronized (CACHE) {
+			FFTPlan p = CACHE.get(n);
+			if (p != null) {
+				return p;
+			}
+		}
+		FFTPlan p = new FFTPlan(n);
+		synchronized (CACHE) {
+			CACHE.put(n, p);
+		}
+		return p;
+	}
+
+	private FFTPlan(int n) {
+		this.n = n;
+		int[] f = factorize(n);
+		if (f == null) {
+			factors = null;
+			twiddles = null;
+			int m = Integer.highestOneBit(2 * n - 1);
+			if (m < 2 * n - 1) {
+				m <<= 1;
+			}
+			sub = getPlan(m);
+
+			chirp = new double[2 * n];
+			final long twoN = 2L * n;
+			for (int k = 0; k < n; k++) {
+				double a = Math.PI * (((long) k * k) % twoN) / n;
+				chirp[2 * k] = Math.cos(a);
+				chirp[2 * k + 1] = -Math.sin(a);
+			}
+
+			kernel = new double[2 * m];
+			final double s = 1. / m;
+			for (int k = 0; k < n; k++) {
+				double r = chirp[2 * k] * s;
+				double i = -chirp[2 * k + 1] * s;
+				kernel[2 * k] = r;
+				kernel[2 * k + 1] = i;
+				if (k > 0) {
+					kernel[2 * (m - k)] = r;
+					kernel[2 * (m - k) + 1] = i;
+				}
+			}
+			sub.forward(kernel, sub.createWork());
+		} else {
+			factors = f;
+			twiddles = new double[2 * n];
+			for (int t = 0; t < n; t++) {
+				double a = 2 * Math.PI * t / n;
+				twiddles[2 * t] = Math.cos(a);
+				twiddles[2 * t + 1] = -Math.sin(a);
+			}
+			sub = null;
+			chirp = null;
+			kernel = null;
+		}
+	}
+
+	/**
+	 * @return factors or null if length has a prime factor that is too large
+	 */
+	private static int[] factorize(int n) {
+		List<Integer> f = new ArrayList<>();
+		while (n % 4 == 0) {
+			f.add(4);
+			n /= 4;
+		}
+		if (n % 2 == 0) {
+			f.add(2);
+			n /= 2;
+		}
+		for (int p = 3; p <= MAX_RADIX && n > 1; p += 2) {
+			while (n % p == 0) {
+				f.add(p);
+				n /= p;
+			}
+		}
+		if (n > 1) {
+			return null;
+		}
+		int[] factors = new int[f.size()];
+		for (int i = 0; i < factors.length; i++) {
+			factors[i] = f.get(i);
+		}
+		return factors;
+	}
+
+	/**
+	 * @return length of transform
+	 */
+	int getLength() {
+		return n;
+	}
+
+	/**
+	 * @return work arrays for a transform
+	 */
+	double[][] createWork() {
+		int l = 2 * (sub == null ? n : sub.n);
+		return new double[][] {new double[l], new double[l]};
+	}
+
+	/**
+	 * Transform in place
+	 * @param x interleaved complex values
+	 * @param work arrays created by this plan (or a plan of same length)
+	 * @param inverse if true, perform unscaled inverse transform
+	 */
+	void transform(double[] x, double[][] work, boolean inverse) {
+		if (inverse) {
+			conjugate(x, n);
+			forward(x, work);
+			conjugate(x, n);
+		} else {
+			forward(x, work);
+		}
+	}
+
+	private static void conjugate(double[] x, int n) {
+		for (int i = 1, imax = 2 * n; i < imax; i += 2) {
+			x[i] = -x[i];
+		}
+	}
+
+	private void forward(double[] x, double[][] work) {
+		if (n == 1) {
+			return;
+		}
+		if (sub != null) {
+			bluestein(x, work[0], work[1]);
+		} else {
+			stockham(x, work[0]);
+		}
+	}
+
+	/**
+	 * Mixed-radix transform
+	 * @param x
+	 * @param work array of same length as x
+	 */
+	private void stockham(double[] x, double[] work) {
+		double[] src = x;
+		double[] dst = work;
+		int len = n;
+		int s = 1;
+		for (int p : factors) {
+			int m = len / p;
+			switch (p) {
+			case 2:
+				pass2(m, s, src, dst);
+				break;
+			case 3:
+				pass3(m, s, src, dst);
+				break;
+			case 4:
+				pass4(m, s, src, dst);
+				break;
+			default:
+				passGeneric(p, m, s, src, dst);
+				break;
+			}
+			double[] t = src;
+			src = dst;
+			dst = t;
+			len = m;
+			s *= p;
+		}
+		if (src != x) {
+			System.arraycopy(src, 0, x, 0, 2 * n);
+		}
+	}
+
+	/*
+	 * Each pass of the decimation-in-frequency Stockham algorithm takes p items
+	 * a_k = src[q + s(j + k m)] and produces y_r = w^(jr) sum_k a_k exp(-2 pi i rk/p)
+	 * in dst[q + s(p j + r)], where w = exp(-2 pi i s/n)
+	 */
+
+	private void pass2(final int m, final int s, final double[] src, final double[] dst) {
+		final double[] tw = twiddles;
+		for (int j = 0; j < m; j++) {
+			final double wr = tw[2 * j * s];
+			final double wi = tw[2 * j * s + 1];
+			int i0 = 2 * s * j;
+			int i1 = 2 * s * (j + m);
+			int o0 = 2 * s * 2 * j;
+			int o1 = o0 + 2 * s;
+			for (int q = 0; q < s; q++, i0 += 2, i1 += 2, o0 += 2, o1 += 2) {
+				final double ar = src[i0];
+				final double ai = src[i0 + 1];
+				final double br = src[i1];
+				final double bi = src[i1 + 1];
+				dst[o0] = ar + br;
+				dst[o0 + 1] = ai + bi;
+				final double dr = ar - br;
+				final double di = ai - bi;
+				dst[o1] = dr * wr - di * wi;
+				dst[o1 + 1] = dr * wi + di * wr;
+			}
+		}
+	}
+
+	private static final double SIN60 = Math.sqrt(0.75);
+
+	private void pass3(final int m, final int s, final double[] src, final double[] dst) {
+		final double[] tw = twiddles;
+		for (int j = 0; j < m; j++) {
+			final double w1r = tw[2 * j * s];
+			final double w1i = tw[2 * j * s + 1];
+			final double w2r = tw[4 * j * s];
+			final double w2i = tw[4 * j * s + 1];
+			int i0 = 2 * s * j;
+			int i1 = 2 * s * (j + m);
+			int i2 = 2 * s * (j + 2 * m);
+			int o0 = 2 * s * 3 * j;
+			int o1 = o0 + 2 * s;
+			int o2 = o1 + 2 * s;
+			for (int q = 0; q < s; q++, i0 += 2, i1 += 2, i2 += 2, o0 += 2, o1 += 2, o2 += 2) {
+				final double a0r = src[i0];
+				final double a0i = src[i0 + 1];
+				final double a1r = src[i1];
+				final double a1i = src[i1 + 1];
+				final double a2r = src[i2];
+				final double a2i = src[i2 + 1];
+				final double t1r = a1r + a2r;
+				final double t1i = a1i + a2i;
+				final double t2r = a0r - 0.5 * t1r;
+				final double t2i = a0i - 0.5 * t1i;
+				final double t3r = -SIN60 * (a1r - a2r);
+				final double t3i = -SIN60 * (a1i - a2i);
+				dst[o0] = a0r + t1r;
+				dst[o0 + 1] = a0i + t1i;
+				double yr = t2r - t3i;
+				double yi = t2i + t3r;
+				dst[o1] = yr * w1r - yi * w1i;
+				dst[o1 + 1] = yr * w1i + yi * w1r;
+				yr = t2r + t3i;
+				yi = t2i - t3r;
+				dst[o2] = yr * w2r - yi * w2i;
+				dst[o2 + 1] = yr * w2i + yi * w2r;
+			}
+		}
+	}
+
+	private void pass4(final int m, final int s, final double[] src, final double[] dst) {
+		final double[] tw = twiddles;
+		for (int j = 0; j < m; j++) {
+			final double w1r = tw[2 * j * s];
+			final double w1i = tw[2 * j * s + 1];
+			final double w2r = tw[4 * j * s];
+			final double w2i = tw[4 * j * s + 1];
+			final double w3r = tw[6 * j * s];
+			final double w3i = tw[6 * j * s + 1];
+			int i0 = 2 * s * j;
+			int i1 = 2 * s * (j + m);
+			int i2 = 2 * s * (j + 2 * m);
+			int i3 = 2 * s * (j + 3 * m);
+			int o0 = 2 * s * 4 * j;
+			int o1 = o0 + 2 * s;
+			int o2 = o1 + 2 * s;
+			int o3 = o2 + 2 * s;
+			for (int q = 0; q < s; q++, i0 += 2, i1 += 2, i2 += 2, i3 += 2, o0 += 2, o1 += 2, o2 += 2, o3 += 2) {
+				final double a0r = src[i0];
+				final double a0i = src[i0 + 1];
+				final double a1r = src[i1];
+				final double a1i = src[i1 + 1];
+				final double a2r = src[i2];
+				final double a2i = src[i2 + 1];
+				final double a3r = src[i3];
+				final double a3i = src[i3 + 1];
+				final double t0r = a0r + a2r;
+				final double t0i = a0i + a2i;
+				final double t1r = a0r - a2r;
+				final double t1i = a0i - a2i;
+				final double t2r = a1r + a3r;
+				final double t2i = a1i + a3i;
+				final double t3r = a1r - a3r;
+				final double t3i = a1i - a3i;
+				dst[o0] = t0r + t2r;
+				dst[o0 + 1] = t0i + t2i;
+				double yr = t1r + t3i;
+				double yi = t1i - t3r;
+				dst[o1] = yr * w1r - yi * w1i;
+				dst[o1 + 1] = yr * w1i + yi * w1r;
+				yr = t0r - t2r;
+				yi = t0i - t2i;
+				dst[o2] = yr * w2r - yi * w2i;
+				dst[o2 + 1] = yr * w2i + yi * w2r;
+				yr = t1r - t3i;
+				yi = t1i + t3r;
+				dst[o3] = yr * w3r - yi * w3i;
+				dst[o3 + 1] = yr * w3i + yi * w3r;
+			}
+		}
+	}
+
+	private void passGeneric(final int p, final int m, final int s, final double[] src, final double[] dst) {
+		final double[] tw = twiddles;
+		final int np = n / p; // step in table for p-th roots of unity
+		final double[] a = new double[2 * p];
+		for (int j = 0; j < m; j++) {
+			for (int q = 0; q < s; q++) {
+				for (int k = 0; k < p; k++) {
+					int i = 2 * (q + s * (j + k * m));
+					a[2 * k] = src[i];
+					a[2 * k + 1] = src[i + 1];
+				}
+				for (int r = 0; r < p; r++) {
+					double yr = a[0];
+					double yi = a[1];
+					int t = 0;
+					for (int k = 1; k < p; k++) {
+						t += r;
+						if (t >= p) {
+							t -= p;
+						}
+						final double cr = tw[2 * t * np];
+						final double ci = tw[2 * t * np + 1];
+						final double ar = a[2 * k];
+						final double ai = a[2 * k + 1];
+						yr += ar * cr - ai * ci;
+						yi += ar * ci + ai * cr;
+					}
+					final double wr = tw[2 * j * r * s];
+					final double wi = tw[2 * j * r * s + 1];
+					int o = 2 * (q + s * (p * j + r));
+					dst[o] = yr * wr - yi * wi;
+					dst[o + 1] = yr * wi + yi * wr;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Chirp-z transform using power-of-two sub-plan
+	 * @param x
+	 * @param a work array for convolution
+	 * @param subWork work array for sub-plan
+	 */
+	private void bluestein(double[] x, double[] a, double[] subWork) {
+		final int m = sub.n;
+		for (int k = 0; k < n; k++) {
+			final double cr = chirp[2 * k];
+			final double ci = chirp[2 * k + 1];
+			final double xr = x[2 * k];
+			final double xi = x[2 * k + 1];
+			a[2 * k] = xr * cr - xi * ci;
+			a[2 * k + 1] = xr * ci + xi * cr;
+		}
+		for (int k = 2 * n; k < 2 * m; k++) {
+			a[k] = 0;
+		}
+
+		// convolve with conjugate chirp
+		sub.stockham(a, subWork);
+		for (int k = 0; k < m; k++) {
+			final double ar = a[2 * k];
+			final double ai = a[2 * k + 1];
+			final double br = kernel[2 * k];
+			final double bi = kernel[2 * k + 1];
+			a[2 * k] = ar * br - ai * bi;
+			a[2 * k + 1] = -(ar * bi + ai * br); // conjugate for inverse
+		}
+		sub.stockham(a, subWork);
+
+		for (int k = 0; k < n; k++) {
+			final double cr = chirp[2 * k];
+			final double ci = chirp[2 * k + 1];
+			final double ar = a[2 * k];
+			final double ai = -a[2 * k + 1];
+			x[2 * k] = ar * cr - ai * ci;
+			x[2 * k + 1] = ar * ci + ai * cr;
+		}
+	}
+}
@@ -0,0 +1,377 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Helper to gather items from and scatter items into data arrays at positions given by a
+ * vector of (element) indices, without boxing elements. Indices are found from a boolean
+ * mask or from index datasets. Large selections are processed in parallel
+ */
+final class GatherUtils {
+
+	private GatherUtils() {
+	}
+
+	/**
+	 * Find indices where selection is true
+	 * @param a dataset
+	 * @param selection boolean dataset
+	 * @return indices of first elements of selected items in data array of dataset
+	 */
+	static int[] getIndices(final Dataset a, final Dataset selection) {
+		if (selection instanceof BooleanDataset && a.getStrides() == null && selection.getStrides() == null
+				&& Arrays.equals(a.getShapeRef(), selection.getShapeRef())) {
+			return getIndices((boolean[]) selection.getBuffer(), a.getSize(), a.getElementsPerItem());
+		}
+
+		final int length = ((Number) selection.sum()).intValue();
+		final int[] indices = new int[length];
+		final BooleanIterator biter = a.getBooleanIterator(selection);
+		int i = 0;
+		while (biter.hasNext()) {
+			indices[i++] = biter.index;
+		}
+		return indices;
+	}
+
+	/**
+	 * Find indices of true values in mask. The mask is counted then scanned in parallel chunks
+	 */
+	private static int[] getIndices(final boolean[] mask, final int size, final int isize) {
+		final int chunks = ParallelUtils.isWorthwhile(size, 1) ? 4 * ParallelUtils.getParallelism() : 1;
+		final int csize = (size + chunks - 1) / chunks;
+		final int[] counts = new int[chunks + 1];
+		ParallelUtils.forRange(chunks, csize, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int c = start; c < end; c++) {
+					int n = 0;
+					for (int i = c * csize, imax = Math.min(size, i + csize); i < imax; i++) {
+						if (mask[i]) {
+							n++;
+						}
+					}
+					counts[c + 1] = n;
+				}
+			}
+		});
+		for (int c = 0; c < chunks; c++) {
+			counts[c + 1] += counts[c];
+		}
+
+		final int[] indices = new int[counts[chunks]];
+		ParallelUtils.forRange(chunks, csize, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int c = start; c < end; c++) {
+					int j = counts[c];
+					for (int i = c * csize, imax = Math.min(size, i + csize); i < imax; i++) {
+						if (mask[i]) {
+							indices[j++] = i * isize;
+						}
+					}
+				}
+			}
+		});
+		return indices;
+	}
+
+	/**
+	 * Find indices from items of integer dataset
+	 * @param iter integer iterator
+	 * @param length number of items in index dataset
+	 * @return indices
+	 */
+	static int[] getIndices(final IntegerIterator iter, final int length) {
+		final int[] indices = new int[length];
+		int i = 0;
+		while (iter.hasNext()) {
+			indices[i++] = iter.index;
+		}
+		return indices;
+	}
+
+	/**
+	 * Find indices from positions given by integers iterator
+	 * @param a dataset
+	 * @param iter integers iterator
+	 * @return indices
+	 */
+	static int[] getIndices(final Dataset a, final IntegersIterator iter) {
+		final int[] indices = new int[ShapeUtils.calcSize(iter.getShape())];
+		final int[] pos = iter.getPos();
+		int i = 0;
+		while (iter.hasNext()) {
+			indices[i++] = a.get1DIndex(pos);
+		}
+		return indices;
+	}
+
+	/**
+	 * Gather items from source data array at given indices into contiguous destination data array
+	 * @param src source data array
+	 * @param indices indices of first elements of items in source
+	 * @param isize number of elements per item
+	 * @param dst destination data array of same type as source
+	 * @return false if either array is missing or they differ in type
+	 */
+	static boolean gather(final Object src, final int[] indices, final int isize, final Object dst) {
+		if (src == null || dst == null || src.getClass() != dst.getClass()) {
+			return false;
+		}
+
+		ParallelUtils.forRange(indices.length, isize, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				gather(src, indices, isize, dst, start, end);
+			}
+		});
+		return true;
+	}
+
+	private static void gather(final Object src, final int[] indices, final int isize, final Object dst, final int start, final int end) {
+		if (src instanceof double[]) {
+			final double[] s = (double[]) src;
+			final double[] d = (double[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof float[]) {
+			final float[] s = (float[]) src;
+			final float[] d = (float[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof long[]) {
+			final long[] s = (long[]) src;
+			final long[] d = (long[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof int[]) {
+			final int[] s = (int[]) src;
+			final int[] d = (int[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof short[]) {
+			final short[] s = (short[]) src;
+			final short[] d = (short[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof byte[]) {
+			final byte[] s = (byte[]) src;
+			final byte[] d = (byte[]) dst;
+			if (isize == 1) {
+				for (int i = start; i < end; i++) {
+					d[i] = s[indices[i]];
+				}
+			} else {
+				for (int i = start, j = start * isize; i < end; i++) {
+					for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+						d[j++] = s[k];
+					}
+				}
+			}
+		} else if (src instanceof boolean[]) {
+			final boolean[] s = (boolean[]) src;
+			final boolean[] d = (boolean[]) dst;
+			for (int i = start; i < end; i++) {
+				d[i] = s[indices[i]];
+			}
+		} else {
+			final Object[] s = (Object[]) src;
+			final Object[] d = (Object[]) dst;
+			for (int i = start; i < end; i++) {
+				d[i] = s[indices[i]];
+			}
+		}
+	}
+
+	/**
+	 * Check items at given indices lie within data array
+	 * @param indices indices of first elements of items
+	 * @param isize number of elements per item
+	 * @param length length of data array
+	 * @throws IndexOutOfBoundsException if any index is negative or too large
+	 */
+	static void checkIndices(final int[] indices, final int isize, final int length) {
+		final int max = length - isize;
+		for (int i : indices) {
+			if (i < 0 || i > max) {
+				throw new IndexOutOfBoundsException("Index given is outside dataset");
+			}
+		}
+	}
+
+	/**
+	 * Scatter items from contiguous source data array into destination data array at given indices.
+	 * When there are fewer source items than indices, the source items are repeated
+	 * @param src source data array
+	 * @param length number of items in source
+	 * @param indices indices of first elements of items in destination
+	 * @param isize number of elements per item
+	 * @param dst destination data array of same type as source
+	 * @param unique true if indices are known to be distinct so items can be scattered in parallel.
+	 * Otherwise, items are scattered in order so the last item set at a repeated index is kept
+	 * @return false if either array is missing or they differ in type
+	 */
+	static boolean scatter(final Object src, final int length, final int[] indices, final int isize, final Object dst, final boolean unique) {
+		if (src == null || dst == null || src.getClass() != dst.getClass() || length <= 0) {
+			return false;
+		}
+
+		final ParallelUtils.RangeTask task = new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				scatter(src, length, indices, isize, dst, start, end);
+			}
+		};
+		if (unique) {
+			ParallelUtils.forRange(indices.length, isize, task);
+		} else if (indices.length > 0) {
+			task.run(0, indices.length);
+		}
+		return true;
+	}
+
+	private static void scatter(final Object src, final int length, final int[] indices, final int isize, final Object dst, final int start, final int end) {
+		int j = (start % length) * isize;
+		final int jmax = length * isize;
+		if (src instanceof double[]) {
+			final double[] s = (double[]) src;
+			final double[] d = (double[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof float[]) {
+			final float[] s = (float[]) src;
+			final float[] d = (float[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof long[]) {
+			final long[] s = (long[]) src;
+			final long[] d = (long[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof int[]) {
+			final int[] s = (int[]) src;
+			final int[] d = (int[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof short[]) {
+			final short[] s = (short[]) src;
+			final short[] d = (short[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof byte[]) {
+			final byte[] s = (byte[]) src;
+			final byte[] d = (byte[]) dst;
+			for (int i = start; i < end; i++) {
+				for (int k = indices[i], kmax = k + isize; k < kmax; k++) {
+					d[k] = s[j++];
+				}
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else if (src instanceof boolean[]) {
+			final boolean[] s = (boolean[]) src;
+			final boolean[] d = (boolean[]) dst;
+			for (int i = start; i < end; i++) {
+				d[indices[i]] = s[j++];
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		} else {
+			final Object[] s = (Object[]) src;
+			final Object[] d = (Object[]) dst;
+			for (int i = start; i < end; i++) {
+				d[indices[i]] = s[j++];
+				if (j == jmax) {
+					j = 0;
+				}
+			}
+		}
+	}
+}
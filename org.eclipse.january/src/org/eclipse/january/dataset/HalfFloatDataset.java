@@ -0,0 +1,1203 @@
+/*-
+ *******************************************************************************
+ * Copyright (c) 2011, 2016 Diamond Light Source Ltd.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    Peter Chang - initial API and implementation and/or initial documentation
+ *******************************************************************************/
+
+// This is generated from DoubleDataset.java by fromdoublehalf.py
+
+package org.eclipse.january.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.january.metadata.StatisticsMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Extend dataset for half-precision float values that are kept as IEEE 754 binary16 bits in a short array
+ * <p>
+ * This halves the memory (and bandwidth) used by a float dataset at the cost of precision: values have an
+ * 11-bit significand and magnitudes up to {@value #MAX_VALUE}. Items are presented as floats so the kernels
+ * in {@link Maths}, {@link Comparisons} and {@link Stats} compute in single or double precision and output
+ * float datasets (casting back is needed to store results in half precision). Values are rounded to nearest
+ * (ties to even) when set. Note {@link #getData()} returns the stored bits.
+ * <p>
+ * Only IEEE binary16 is supported. The bfloat16 format (with 8 exponent bits and 7 significand bits) is not
+ * supported
+ * @since 3.0
+ */
+public class HalfFloatDataset extends AbstractDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	private static final Logger logger = LoggerFactory.getLogger(HalfFloatDataset.class);
+
+	/**
+	 * Largest finite value that can be held
+	 */
+	public static final float MAX_VALUE = 65504f;
+
+	// lookup table of all half-precision values
+	private static final float[] FLOATS = new float[1 << 16];
+	static {
+		for (int i = 0; i < FLOATS.length; i++) {
+			FLOATS[i] = convertToFloat(i);
+		}
+	}
+
+	private static float convertToFloat(int h) {
+		int sign = (h & 0x8000) << 16;
+		int exp = (h >>> 10) & 0x1f;
+		int mant = h & 0x3ff;
+		if (exp == 0x1f) { // infinity or NaN
+			return Float.intBitsToFloat(sign | 0x7f800000 | (mant << 13));
+		}
+		if (exp == 0) {
+			if (mant == 0) {
+				return Float.intBitsToFloat(sign);
+			}
+			// subnormal so normalise
+			exp = 1;
+			while ((mant & 0x400) == 0) {
+				mant <<= 1;
+				exp--;
+			}
+			mant &= 0x3ff;
+		}
+		return Float.intBitsToFloat(sign | ((exp + 112) << 23) | (mant << 13));
+	}
+
+	/**
+	 * @param h IEEE 754 half-precision bits
+	 * @return single-precision value
+	 */
+	public static float toFloat(final short h) {
+		return FLOATS[h & 0xffff];
+	}
+
+	/**
+	 * Convert to half-precision by rounding to nearest (ties to even). NaNs keep the top bits of
+	 * their payloads (and become quiet) and values too large overflow to infinities
+	 * @param f single-precision value
+	 * @return IEEE 754 half-precision bits
+	 */
+	public static short toHalf(final float f) {
+		final int bits = Float.floatToRawIntBits(f);
+		final int sign = (bits >>> 16) & 0x8000;
+		final int abs = bits & 0x7fffffff;
+		if (abs >= 0x7f800000) { // infinity or NaN
+			return (short) (sign | 0x7c00 | (abs == 0x7f800000 ? 0 : 0x200 | ((abs >>> 13) & 0x3ff)));
+		}
+		if (abs >= 0x477ff000) { // at least halfway between maximum and 2^16
+			return (short) (sign | 0x7c00);
+		}
+		if (abs >= 0x38800000) { // normal so re-bias exponent and round away lower 13 bits
+			final int r = abs - 0x38000000;
+			return (short) (sign | ((r + 0xfff + ((r >>> 13) & 1)) >>> 13));
+		}
+		if (abs <= 0x33000000) { // no more than halfway to smallest subnormal
+			return (short) sign;
+		}
+		// subnormal so shift significand (with its implicit bit) into place
+		final int shift = 126 - (abs >>> 23);
+		final int mant = (abs & 0x7fffff) | 0x800000;
+		final int half = 1 << (shift - 1);
+		final int rem = mant & ((half << 1) - 1);
+		int h = mant >>> shift;
+		if (rem > half || (rem == half && (h & 1) != 0)) {
+			h++;
+		}
+		return (short) (sign | h);
+	}
+
+	/**
+	 * Sort values in same order as {@link Arrays#sort(float[])}
+	 * @param a half-precision bits
+	 */
+	private static void sortHalves(final short[] a) {
+		final int n = a.length;
+		final float[] f = new float[n];
+		for (int i = 0; i < n; i++) {
+			f[i] = FLOATS[a[i] & 0xffff];
+		}
+		Arrays.sort(f);
+		for (int i = 0; i < n; i++) {
+			a[i] = toHalf(f[i]);
+		}
+	}
+
+	protected short[] data; // subclass alias // PRIM_TYPE
+
+	@Override
+	protected void setData() {
+		data = (short[]) odata; // PRIM_TYPE
+	}
+
+	protected static short[] createArray(final int size) { // PRIM_TYPE
+		short[] array = null; // PRIM_TYPE
+
+		try {
+			array = new short[size]; // PRIM_TYPE
+		} catch (OutOfMemoryError e) {
+			logger.error("The size of the dataset ({}) that is being created is too large "
+					+ "and there is not enough memory to hold it.", size);
+			throw new OutOfMemoryError("The dimensions given are too large, and there is "
+					+ "not enough memory available in the Java Virtual Machine");
+		}
+		return array;
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	HalfFloatDataset() {
+	}
+
+	/**
+	 * Create a zero-filled dataset of given shape
+	 * @param shape
+	 */
+	HalfFloatDataset(final int... shape) {
+		if (shape != null) {
+			size = ShapeUtils.calcSize(shape);
+			this.shape = shape.clone();
+
+			try {
+				odata = data = createArray(size);
+			} catch (Throwable t) {
+				logger.error("Could not create a dataset of shape {}", Arrays.toString(shape), t);
+				throw new IllegalArgumentException(t);
+			}
+		}
+	}
+
+	/**
+	 * Create a dataset using given data
+	 * @param data
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	HalfFloatDataset(final short[] data, int... shape) { // PRIM_TYPE
+		if (data == null) {
+			throw new IllegalArgumentException("Data must not be null");
+		}
+		if (shape == null || shape.length == 0) {
+			shape = new int[] { data.length };
+		}
+		size = ShapeUtils.calcSize(shape);
+		if (size != data.length) {
+			throw new IllegalArgumentException(String.format("Shape %s is not compatible with size of data array, %d",
+					Arrays.toString(shape), data.length));
+		}
+		this.shape = size == 0 ? null : shape.clone();
+
+		odata = this.data = data;
+	}
+
+	/**
+	 * Copy a dataset
+	 * @param dataset
+	 */
+	HalfFloatDataset(final HalfFloatDataset dataset) {
+		copyToView(dataset, this, true, true);
+
+		try {
+			if (dataset.stride == null) {
+				if (dataset.data != null) {
+					odata = data = dataset.data.clone();
+				}
+			} else {
+				offset = 0;
+				stride = null;
+				base = null;
+				odata = data = createArray(size);
+				if (!CopyUtils.copyTiled(dataset, data)) {
+					IndexIterator iter = dataset.getIterator();
+					for (int i = 0; iter.hasNext(); i++) {
+						data[i] = dataset.data[iter.index];
+					}
+				}
+			}
+		} catch (Throwable t) {
+			logger.error("Could not create a dataset of shape {}", Arrays.toString(shape), t);
+			throw new IllegalArgumentException(t);
+		}
+	}
+
+	/**
+	 * Copy and cast a dataset to this class type
+	 * @param dataset
+	 */
+	HalfFloatDataset(final Dataset dataset) {
+		copyToView(dataset, this, true, false);
+		offset = 0;
+		stride = null;
+		base = null;
+		try {
+			odata = data = createArray(size);
+		} catch (Throwable t) {
+			logger.error("Could not create a dataset of shape {}", Arrays.toString(shape), t);
+			throw new IllegalArgumentException(t);
+		}
+		IndexIterator iter = dataset.getIterator();
+		for (int i = 0; iter.hasNext(); i++) {
+			data[i] = toHalf((float) dataset.getElementDoubleAbs(iter.index)); // GET_ELEMENT_WITH_CAST
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null) {
+			return false;
+		}
+
+		if (!getClass().equals(obj.getClass())) {
+			if (obj instanceof BufferDataset) { // buffer datasets compare by content
+				return obj.equals(this);
+			}
+			if (getRank() == 0) { // for zero-rank datasets
+				return obj.equals(getObjectAbs(offset));
+			}
+			return false;
+		}
+
+		HalfFloatDataset other = (HalfFloatDataset) obj;
+		if (size != other.size) {
+			return false;
+		}
+		if (!Arrays.equals(shape, other.shape)) {
+			return false;
+		}
+		if (data == other.data && stride == null && other.stride == null) {
+			return true;
+		}
+
+		IndexIterator iter = getIterator();
+		IndexIterator oiter = other.getIterator();
+		while (iter.hasNext() && oiter.hasNext()) {
+			if (toFloat(data[iter.index]) != toFloat(other.data[oiter.index])) { // OBJECT_UNEQUAL
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	@Override
+	public HalfFloatDataset clone() {
+		return new HalfFloatDataset(this);
+	}
+
+	/**
+	 * Create a dataset from an object which could be a Java list, array (of arrays...) or Number. Ragged
+	 * sequences or arrays are padded with zeros.
+	 *
+	 * @param obj
+	 * @return dataset with contents given by input
+	 */
+	static HalfFloatDataset createFromObject(final Object obj) {
+		HalfFloatDataset result = new HalfFloatDataset();
+
+		if (obj != null) {
+			result.shape = ShapeUtils.getShapeFromObject(obj);
+			result.size = ShapeUtils.calcSize(result.shape);
+
+			try {
+				result.odata = result.data = createArray(result.size);
+			} catch (Throwable t) {
+				logger.error("Could not create a dataset of shape {}", Arrays.toString(result.shape), t);
+				throw new IllegalArgumentException(t);
+			}
+
+			int[] pos = new int[result.shape.length];
+			result.fillData(obj, 0, pos);
+		}
+
+		return result;
+	}
+	
+	/**
+	 *
+	 * @param stop
+	 * @return a new 1D dataset, filled with values determined by parameters
+	 */
+	static HalfFloatDataset createRange(final double stop) {
+		return createRange(0, stop, 1);
+	}
+	
+	/**
+	 *
+	 * @param start
+	 * @param stop
+	 * @param step
+	 * @return a new 1D dataset, filled with values determined by parameters
+	 */
+	static HalfFloatDataset createRange(final double start, final double stop, final double step) {
+		int size = calcSteps(start, stop, step);
+		HalfFloatDataset result = new HalfFloatDataset(size);
+		for (int i = 0; i < size; i++) {
+			result.data[i] = toHalf((float) (start + i * step)); // PRIM_TYPE // ADD_CAST
+		}
+		return result;
+	}
+
+	/**
+	 * @param shape
+	 * @return a dataset filled with ones
+	 */
+	static HalfFloatDataset ones(final int... shape) {
+		return new HalfFloatDataset(shape).fill(1);
+	}
+
+	@Override
+	public HalfFloatDataset fill(final Object obj) {
+		setDirty();
+		short dv = toHalf((float) DTypeUtils.toReal(obj)); // PRIM_TYPE // FROM_OBJECT
+		IndexIterator iter = getIterator();
+		while (iter.hasNext()) {
+			data[iter.index] = dv;
+		}
+
+		return this;
+	}
+
+	/**
+	 * This is a typed version of {@link #getBuffer()}
+	 * @return data buffer as linear array of half-precision bits
+	 */
+	public short[] getData() { // PRIM_TYPE
+		return data;
+	}
+
+	@Override
+	protected int getBufferLength() {
+		if (data == null)
+			return 0;
+		return data.length;
+	}
+
+	@Override
+	public HalfFloatDataset getView(boolean deepCopyMetadata) {
+		HalfFloatDataset view = new HalfFloatDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.setData();
+		return view;
+	}
+
+	/**
+	 * Get a value from an absolute index of the internal array. This is an internal method with no checks so can be
+	 * dangerous. Use with care or ideally with an iterator.
+	 *
+	 * @param index
+	 *            absolute index
+	 * @return value
+	 */
+	public float getAbs(final int index) { // PRIM_TYPE
+		return toFloat(data[index]);
+	}
+
+	@Override
+	public boolean getElementBooleanAbs(final int index) {
+		return toFloat(data[index]) != 0; // BOOLEAN_FALSE
+	}
+
+	@Override
+	public double getElementDoubleAbs(final int index) {
+		return toFloat(data[index]); // BOOLEAN_ZERO
+	}
+
+	@Override
+	public long getElementLongAbs(final int index) {
+		return DTypeUtils.toLong(toFloat(data[index])); // BOOLEAN_ZERO // OMIT_TOLONG_INT
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return toFloat(data[index]);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		return stringFormat == null ? String.format("%.5g", toFloat(data[index])) : // FORMAT_STRING
+			stringFormat.format(toFloat(data[index]));
+	}
+
+	/**
+	 * Set a value at absolute index in the internal array. This is an internal method with no checks so can be
+	 * dangerous. Use with care or ideally with an iterator.
+	 *
+	 * @param index
+	 *            absolute index
+	 * @param val
+	 *            new value
+	 */
+	public void setAbs(final int index, final float val) { // PRIM_TYPE
+		setDirty();
+		data[index] = toHalf(val);
+	}
+
+	@Override
+	protected void setItemDirect(final int dindex, final int sindex, final Object src) {
+		setDirty();
+		short[] dsrc = (short[]) src; // PRIM_TYPE
+		data[dindex] = dsrc[sindex];
+	}
+
+	@Override
+	public void setObjectAbs(final int index, final Object obj) {
+		if (index < 0 || index > data.length) {
+			throw new IndexOutOfBoundsException("Index given is outside dataset");
+		}
+
+		setAbs(index, (float) DTypeUtils.toReal(obj)); // FROM_OBJECT
+	}
+
+	/**
+	 * @return item in first position
+	 */
+	public float get() { // PRIM_TYPE
+		return toFloat(data[getFirst1DIndex()]);
+	}
+
+	/**
+	 * @param i position in first dimension
+	 * @return item in given position
+	 */
+	public float get(final int i) { // PRIM_TYPE
+		return toFloat(data[get1DIndex(i)]);
+	}
+
+	/**
+	 * @param i position in first dimension
+	 * @param j position in second dimension
+	 * @return item in given position
+	 */
+	public float get(final int i, final int j) { // PRIM_TYPE
+		return toFloat(data[get1DIndex(i, j)]);
+	}
+
+	/**
+	 * @param pos position
+	 * @return item in given position
+	 */
+	public float get(final int... pos) { // PRIM_TYPE
+		return toFloat(data[get1DIndex(pos)]);
+	}
+
+	@Override
+	public Object getObject() {
+		return Float.valueOf(get()); // CLASS_TYPE
+	}
+
+	@Override
+	public Object getObject(final int i) {
+		return Float.valueOf(get(i)); // CLASS_TYPE
+	}
+
+	@Override
+	public Object getObject(final int i, final int j) {
+		return Float.valueOf(get(i, j)); // CLASS_TYPE
+	}
+
+	@Override
+	public Object getObject(final int... pos) {
+		return Float.valueOf(get(pos)); // CLASS_TYPE
+	}
+
+	@Override
+	public String getString() {
+		return getStringAbs(getFirst1DIndex());
+	}
+
+	@Override
+	public String getString(final int i) {
+		return getStringAbs(get1DIndex(i));
+	}
+
+	@Override
+	public String getString(final int i, final int j) {
+		return getStringAbs(get1DIndex(i, j));
+	}
+
+	@Override
+	public String getString(final int... pos) {
+		return getStringAbs(get1DIndex(pos));
+	}
+
+	@Override
+	public double getDouble() {
+		return get(); // BOOLEAN_ZERO
+	}
+
+	@Override
+	public double getDouble(final int i) {
+		return get(i); // BOOLEAN_ZERO
+	}
+
+	@Override
+	public double getDouble(final int i, final int j) {
+		return get(i, j); // BOOLEAN_ZERO
+	}
+
+	@Override
+	public double getDouble(final int... pos) {
+		return get(pos); // BOOLEAN_ZERO
+	}
+
+	@Override
+	public float getFloat() {
+		return get(); // BOOLEAN_ZERO // OMIT_REAL_CAST
+	}
+
+	@Override
+	public float getFloat(final int i) {
+		return get(i); // BOOLEAN_ZERO // OMIT_REAL_CAST
+	}
+
+	@Override
+	public float getFloat(final int i, final int j) {
+		return get(i, j); // BOOLEAN_ZERO // OMIT_REAL_CAST
+	}
+
+	@Override
+	public float getFloat(final int... pos) {
+		return get(pos); // BOOLEAN_ZERO // OMIT_REAL_CAST
+	}
+
+	@Override
+	public long getLong() {
+		return (long) get(); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public long getLong(final int i) {
+		return (long) get(i); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public long getLong(final int i, final int j) {
+		return (long) get(i, j); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public long getLong(final int... pos) {
+		return (long) get(pos); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public int getInt() {
+		return (int) get(); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public int getInt(final int i) {
+		return (int) get(i); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public int getInt(final int i, final int j) {
+		return (int) get(i, j); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public int getInt(final int... pos) {
+		return (int) get(pos); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public short getShort() {
+		return (short) get(); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public short getShort(final int i) {
+		return (short) get(i); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public short getShort(final int i, final int j) {
+		return (short) get(i, j); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public short getShort(final int... pos) {
+		return (short) get(pos); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public byte getByte() {
+		return (byte) get(); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public byte getByte(final int i) {
+		return (byte) get(i); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public byte getByte(final int i, final int j) {
+		return (byte) get(i, j); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public byte getByte(final int... pos) {
+		return (byte) get(pos); // BOOLEAN_ZERO // OMIT_UPCAST
+	}
+
+	@Override
+	public boolean getBoolean() {
+		return get() != 0; // BOOLEAN_FALSE
+	}
+
+	@Override
+	public boolean getBoolean(final int i) {
+		return get(i) != 0; // BOOLEAN_FALSE
+	}
+
+	@Override
+	public boolean getBoolean(final int i, final int j) {
+		return get(i, j) != 0; // BOOLEAN_FALSE
+	}
+
+	@Override
+	public boolean getBoolean(final int... pos) {
+		return get(pos) != 0; // BOOLEAN_FALSE
+	}
+
+	/**
+	 * Sets the value at first point to the passed value. The dataset must not be null
+	 *
+	 * @param value to set
+	 */
+	public void setItem(final float value) { // PRIM_TYPE
+		setAbs(getFirst1DIndex(), value);
+	}
+
+	/**
+	 * Sets the value at a particular point to the passed value. The dataset must be 1D
+	 *
+	 * @param value to set
+	 * @param i position in first dimension
+	 */
+	public void setItem(final float value, final int i) { // PRIM_TYPE
+		setAbs(get1DIndex(i), value);
+	}
+
+	/**
+	 * Sets the value at a particular point to the passed value. The dataset must be 2D
+	 *
+	 * @param value to set
+	 * @param i position in first dimension
+	 * @param j position in second dimension
+	 */
+	public void setItem(final float value, final int i, final int j) { // PRIM_TYPE
+		setAbs(get1DIndex(i, j), value);
+	}
+
+	/**
+	 * Sets the value at a particular point to the passed value
+	 *
+	 * @param value to set
+	 * @param pos position
+	 */
+	public void setItem(final float value, final int... pos) { // PRIM_TYPE
+		setAbs(get1DIndex(pos), value);
+	}
+
+	@Override
+	public void set(final Object obj) {
+		setItem((float) DTypeUtils.toReal(obj)); // FROM_OBJECT
+	}
+
+	@Override
+	public void set(final Object obj, final int i) {
+		setItem((float) DTypeUtils.toReal(obj), i); // FROM_OBJECT
+	}
+
+	@Override
+	public void set(final Object obj, final int i, final int j) {
+		setItem((float) DTypeUtils.toReal(obj), i, j); // FROM_OBJECT
+	}
+
+	@Override
+	public void set(final Object obj, int... pos) {
+		if (pos == null || (pos.length == 0 && shape.length > 0)) {
+			pos = new int[shape.length];
+		}
+
+		setItem((float) DTypeUtils.toReal(obj), pos); // FROM_OBJECT
+	}
+
+	@Override
+	public void resize(int... newShape) {
+		setDirty();
+		final IndexIterator iter = getIterator();
+		final int nsize = ShapeUtils.calcSize(newShape);
+		final short[] ndata; // PRIM_TYPE
+		try {
+			ndata = createArray(nsize);
+		} catch (Throwable t) {
+			logger.error("Could not create a dataset of shape {}", Arrays.toString(shape), t);
+			throw new IllegalArgumentException(t);
+		}
+		for (int i = 0; iter.hasNext() && i < nsize; i++) {
+			ndata[i] = data[iter.index];
+		}
+
+		odata = data = ndata;
+		size = nsize;
+		shape = newShape;
+		stride = null;
+		offset = 0;
+		base = null;
+	}
+
+	@Override
+	public HalfFloatDataset sort(Integer axis) {
+		setDirty();
+		if (axis == null) {
+			if (stride == null) {
+				sortHalves(data);
+			} else {
+				HalfFloatDataset ads = clone().sort(null);
+				setSlicedView(getView(false), ads);
+			}
+		} else {
+			axis = checkAxis(axis);
+			
+			HalfFloatDataset ads = new HalfFloatDataset(shape[axis]);
+			PositionIterator pi = getPositionIterator(axis);
+			int[] pos = pi.getPos();
+			boolean[] hit = pi.getOmit();
+			while (pi.hasNext()) {
+				copyItemsFromAxes(pos, hit, ads);
+				sortHalves(ads.data);
+				setItemsOnAxes(pos, hit, ads.data);
+			}
+		}
+		return this;
+		// throw new UnsupportedOperationException("Cannot sort dataset"); // BOOLEAN_USE
+	}
+
+	@Override
+	public HalfFloatDataset getUniqueItems() {
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		HalfFloatDataset u = new HalfFloatDataset(first.length); // CLASS_TYPE
+		GatherUtils.gather(data, first, 1, u.data);
+		return u;
+	}
+
+	@Override
+	public HalfFloatDataset getSlice(final SliceIterator siter) {
+		HalfFloatDataset result = new HalfFloatDataset(siter.getShape());
+		short[] rdata = result.data; // PRIM_TYPE
+
+		if (!CopyUtils.copy(data, siter, rdata, null, 1, result.size)) {
+			for (int i = 0; siter.hasNext(); i++)
+				rdata[i] = data[siter.index];
+		}
+
+		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
+		return result;
+	}
+
+	@Override
+	public void fillDataset(Dataset result, IndexIterator iter) {
+		result.setDirty();
+
+		short[] rdata = ((HalfFloatDataset) result).data; // PRIM_TYPE
+		if (CopyUtils.copy(data, iter, rdata, CopyUtils.getIterator(result), 1, result.getSize())) {
+			return;
+		}
+
+		IndexIterator riter = result.getIterator();
+		while (riter.hasNext() && iter.hasNext()) {
+			rdata[riter.index] = data[iter.index];
+		}
+	}
+
+	@Override
+	public HalfFloatDataset setByBoolean(final Object obj, Dataset selection) {
+		setDirty();
+		final int[] indices = GatherUtils.getIndices(this, selection);
+		if (obj instanceof Dataset && indices.length != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of true items in selection does not match number of items in dataset");
+		}
+		scatter(obj, indices, true);
+		return this;
+	}
+
+	@Override
+	public HalfFloatDataset setBy1DIndex(final Object obj, final Dataset index) {
+		setDirty();
+		if (obj instanceof Dataset && index.getSize() != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index dataset does not match number of items in dataset");
+		}
+		scatter(obj, GatherUtils.getIndices(new IntegerIterator(index, size), index.getSize()), false);
+		return this;
+	}
+
+	@Override
+	public HalfFloatDataset setByIndexes(final Object obj, final Object... indexes) {
+		setDirty();
+		final IntegersIterator iter = new IntegersIterator(shape, indexes);
+		if (obj instanceof Dataset && ShapeUtils.calcSize(iter.getShape()) != ((Dataset) obj).getSize()) {
+			throw new IllegalArgumentException(
+					"Number of items in index datasets does not match number of items in dataset");
+		}
+		scatter(obj, GatherUtils.getIndices(this, iter), false);
+		return this;
+	}
+
+	/**
+	 * Set items at given indices to items of dataset or to value
+	 * @param obj dataset or value
+	 * @param indices indices in data array
+	 * @param unique true if indices are distinct
+	 */
+	private void scatter(final Object obj, final int[] indices, final boolean unique) {
+		final Object dst = getBuffer(); // null when held in NIO buffer
+		if (obj instanceof Dataset) {
+			final Dataset ds = (Dataset) obj;
+			if (ds instanceof HalfFloatDataset && ds.getStrides() == null
+					&& GatherUtils.scatter(ds.getBuffer(), ds.getSize(), indices, 1, dst, unique)) {
+				return;
+			}
+
+			final IndexIterator oiter = ds.getIterator();
+			for (int i = 0; oiter.hasNext(); i++) {
+				setAbs(indices[i], (float) ds.getElementDoubleAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
+			}
+		} else {
+			final short dv = toHalf((float) DTypeUtils.toReal(obj)); // PRIM_TYPE // FROM_OBJECT
+			if (!GatherUtils.scatter(new short[] {dv}, 1, indices, 1, dst, unique)) { // PRIM_TYPE
+				for (int i : indices) {
+					setAbs(i, toFloat(dv));
+				}
+			}
+		}
+	}
+
+	@Override
+	HalfFloatDataset setSlicedView(Dataset view, Dataset d) {
+		setDirty();
+		if (d instanceof HalfFloatDataset && CopyUtils.copyIntoView(view, d, data)) {
+			return this;
+		}
+		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
+
+		while (it.hasNext()) {
+			data[it.aIndex] = toHalf((float) it.bDouble); // BCAST_WITH_CAST d.getElementDoubleAbs(it.bIndex);
+		}
+		return this;
+	}
+
+	@Override
+	public HalfFloatDataset setSlice(final Object obj, final IndexIterator siter) {
+		setDirty();
+
+		if (obj instanceof IDataset) {
+			final IDataset ds = (IDataset) obj;
+			final int[] oshape = ds.getShape();
+
+			if (!ShapeUtils.areShapesCompatible(siter.getShape(), oshape)) {
+				throw new IllegalArgumentException(String.format(
+						"Input dataset is not compatible with slice: %s cf %s", Arrays.toString(oshape),
+						Arrays.toString(siter.getShape())));
+			}
+
+			if (ds instanceof Dataset) {
+				final Dataset ads = (Dataset) ds;
+				if (ads instanceof HalfFloatDataset && CopyUtils.copy(ads.getBuffer(), CopyUtils.getIterator(ads), data, siter, 1, ads.getSize())) {
+					return this;
+				}
+
+				final IndexIterator oiter = ads.getIterator();
+				while (siter.hasNext() && oiter.hasNext())
+					data[siter.index] = toHalf((float) ads.getElementDoubleAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
+			} else {
+				final IndexIterator oiter = new PositionIterator(oshape);
+				final int[] pos = oiter.getPos();
+
+				while (siter.hasNext() && oiter.hasNext())
+					data[siter.index] = toHalf(ds.getFloat(pos)); // PRIM_TYPE
+			}
+		} else {
+			try {
+				short v = toHalf((float) DTypeUtils.toReal(obj)); // PRIM_TYPE // FROM_OBJECT
+
+				while (siter.hasNext())
+					data[siter.index] = v;
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Object for setting slice is not a dataset or number");
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public void copyItemsFromAxes(final int[] pos, final boolean[] axes, final Dataset dest) {
+		short[] ddata = (short[]) dest.getBuffer(); // PRIM_TYPE
+
+		SliceIterator siter = getSliceIteratorFromAxes(pos, axes);
+		int[] sshape = ShapeUtils.squeezeShape(siter.getShape(), false);
+
+		IndexIterator diter = dest.getSliceIterator(null, sshape, null);
+
+		if (ddata.length < ShapeUtils.calcSize(sshape)) {
+			throw new IllegalArgumentException("destination array is not large enough");
+		}
+
+		dest.setDirty();
+		while (siter.hasNext() && diter.hasNext()) {
+			ddata[diter.index] = data[siter.index];
+		}
+	}
+
+	@Override
+	public void setItemsOnAxes(final int[] pos, final boolean[] axes, final Object src) {
+		setDirty();
+		short[] sdata = (short[]) src; // PRIM_TYPE
+
+		SliceIterator siter = getSliceIteratorFromAxes(pos, axes);
+
+		if (sdata.length < ShapeUtils.calcSize(siter.getShape())) {
+			throw new IllegalArgumentException("destination array is not large enough");
+		}
+
+		for (int i = 0; siter.hasNext(); i++) {
+			data[siter.index] = sdata[i];
+		}
+	}
+
+	private List<int[]> findPositions(final float value) { // PRIM_TYPE
+		IndexIterator iter = getIterator(true);
+		List<int[]> posns = new ArrayList<int[]>();
+		int[] pos = iter.getPos();
+
+		if (Float.isNaN(value)) { // CLASS_TYPE // REAL_ONLY
+			while (iter.hasNext()) { // REAL_ONLY
+				if (Double.isNaN(toFloat(data[iter.index]))) { // REAL_ONLY
+					posns.add(pos.clone()); // REAL_ONLY
+				} // REAL_ONLY
+			} // REAL_ONLY
+		} else // REAL_ONLY
+		{
+			while (iter.hasNext()) {
+				if (toFloat(data[iter.index]) == value) {
+					posns.add(pos.clone());
+				}
+			}
+		}
+		return posns;
+	}
+
+	@Override
+	public int[] maxPos(boolean... ignoreInvalids) {
+		StatisticsMetadata<Number> md = getStats(); // PRIM_TYPE
+		// StatisticsMetadata<Number> md = getStats(); // BOOLEAN_USE
+		// StatisticsMetadata<String> md = getStringStats(); // OBJECT_USE
+		List<int[]> max = md.getMaximumPositions(ignoreInvalids);
+
+		if (max == null) {
+			max = findPositions(md.getMaximum(ignoreInvalids).floatValue()); // PRIM_TYPE
+			// max = findPositions(md.getMaximum(ignoreInvalids).intValue() != 0); // BOOLEAN_USE
+			// max = findPositions(md.getMaximum(ignoreInvalids).toString()); // OBJECT_USE
+
+			md.setMaximumPositions(max);
+		}
+
+		return max.get(0); // first maximum
+	}
+
+	@Override
+	public int[] minPos(boolean... ignoreInvalids) {
+		StatisticsMetadata<Number> md = getStats(); // PRIM_TYPE
+		// StatisticsMetadata<Number> md = getStats(); // BOOLEAN_USE
+		// StatisticsMetadata<String> md = getStringStats(); // OBJECT_USE
+		List<int[]> min = md.getMinimumPositions(ignoreInvalids);
+
+		if (min == null) {
+			min = findPositions(md.getMinimum(ignoreInvalids).floatValue()); // PRIM_TYPE
+			// min = findPositions(md.getMinimum(ignoreInvalids).intValue() != 0); // BOOLEAN_USE
+			// min = findPositions(md.getMinimum(ignoreInvalids).toString()); // OBJECT_USE
+
+			md.setMinimumPositions(min);
+		}
+
+		return min.get(0); // first minimum
+	}
+
+	// all ones in exponent field marks infinities and NaNs
+	private static final int EXP_MASK = 0x7c00;
+
+	@Override
+	public boolean containsNans() {
+		IndexIterator iter = getIterator();
+		while (iter.hasNext()) {
+			final int h = data[iter.index] & 0x7fff;
+			if (h > EXP_MASK)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsInfs() {
+		IndexIterator iter = getIterator();
+		while (iter.hasNext()) {
+			if ((data[iter.index] & 0x7fff) == EXP_MASK)
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsInvalidNumbers() {
+		IndexIterator iter = getIterator();
+		while (iter.hasNext()) {
+			if ((data[iter.index] & EXP_MASK) == EXP_MASK)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Apply operation in place where items are computed in double precision and then rounded
+	 * @param b second operand
+	 * @param op binary operation
+	 * @return this dataset
+	 */
+	private HalfFloatDataset operate(final Object b, final BinaryOperation op) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		if (bds.getSize() == 1) {
+			final double db = bds.getElementDoubleAbs(bds.getOffset());
+			final IndexIterator it = getIterator();
+			while (it.hasNext()) {
+				data[it.index] = toHalf((float) op.doubleOperate(FLOATS[data[it.index] & 0xffff], db));
+			}
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(true);
+			while (it.hasNext()) {
+				data[it.aIndex] = toHalf((float) op.doubleOperate(FLOATS[data[it.aIndex] & 0xffff], it.bDouble));
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public HalfFloatDataset iadd(final Object b) {
+		return operate(b, new Operations.Addition());
+	}
+
+	@Override
+	public HalfFloatDataset isubtract(final Object b) {
+		return operate(b, new Operations.Subtraction());
+	}
+
+	@Override
+	public HalfFloatDataset imultiply(final Object b) {
+		return operate(b, new Operations.Multiplication());
+	}
+
+	@Override
+	public HalfFloatDataset idivide(final Object b) {
+		return operate(b, new Operations.Division());
+	}
+
+	@Override
+	public HalfFloatDataset ifloor() {
+		setDirty();
+		IndexIterator it = getIterator();
+		while (it.hasNext()) {
+			data[it.index] = toHalf((float) Math.floor(FLOATS[data[it.index] & 0xffff]));
+		}
+		return this;
+	}
+
+	@Override
+	public HalfFloatDataset iremainder(final Object b) {
+		return operate(b, new Operations.Remainder());
+	}
+
+	@Override
+	public HalfFloatDataset ipower(final Object b) {
+		return operate(b, new Operations.Exponentiation());
+	}
+
+	@Override
+	public double residual(final Object b, final Dataset w, boolean ignoreNaNs) {
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		final BroadcastIterator it = BroadcastIterator.createIterator(this, bds);
+		it.setOutputDouble(true);
+		double sum = 0;
+		double comp = 0;
+		if (ignoreNaNs) { // REAL_ONLY
+			if (w == null) { // REAL_ONLY
+				while (it.hasNext()) { // REAL_ONLY
+					final double diff = it.aDouble - it.bDouble; // REAL_ONLY
+					if (Double.isNaN(diff)) // REAL_ONLY
+						continue; // REAL_ONLY
+					final double err = diff * diff - comp; // REAL_ONLY
+					final double temp = sum + err; // REAL_ONLY
+					comp = (temp - sum) - err; // REAL_ONLY
+					sum = temp; // REAL_ONLY
+				} // REAL_ONLY
+			} else { // REAL_ONLY
+				IndexIterator itw = w.getIterator(); // REAL_ONLY
+				while (it.hasNext() && itw.hasNext()) { // REAL_ONLY
+					final double diff = it.aDouble - it.bDouble; // REAL_ONLY
+					if (Double.isNaN(diff)) // REAL_ONLY
+						continue; // REAL_ONLY
+					final double err = diff * diff * w.getElementDoubleAbs(itw.index) - comp; // REAL_ONLY
+					final double temp = sum + err; // REAL_ONLY
+					comp = (temp - sum) - err; // REAL_ONLY
+					sum = temp; // REAL_ONLY
+				} // REAL_ONLY
+			} // REAL_ONLY
+		} else // REAL_ONLY
+		{
+			if (w == null) {
+				while (it.hasNext()) {
+					final double diff = it.aDouble - it.bDouble;
+					final double err = diff * diff - comp;
+					final double temp = sum + err;
+					comp = (temp - sum) - err;
+					sum = temp;
+				}
+			} else {
+				IndexIterator itw = w.getIterator();
+				while (it.hasNext() && itw.hasNext()) {
+					final double diff = it.aDouble - it.bDouble;
+					final double err = diff * diff * w.getElementDoubleAbs(itw.index) - comp;
+					final double temp = sum + err;
+					comp = (temp - sum) - err;
+					sum = temp;
+				}
+			}
+		}
+		return sum;
+	}
+}
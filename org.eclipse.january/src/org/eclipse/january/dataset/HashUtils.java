@@ -0,0 +1,239 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Helper to compute a 64-bit hash of the content of a dataset directly from its data array.
+ * Items are visited in iteration order (so views hash the same as their copies) and split into
+ * blocks of fixed length that are hashed in parallel then combined in order. Thus the hash does
+ * not depend on the number of threads used.
+ * <p>
+ * Elements are mixed with rounds of a multiply-rotate hash (as used by xxHash) and the result is
+ * finalised with an avalanche step (as used by MurmurHash3). Floating point zeros of either sign
+ * and all NaNs of a given width hash alike, so datasets that are equal have the same hash
+ */
+final class HashUtils {
+
+	/**
+	 * Number of items in each block
+	 */
+	static final int BLOCK = 1 << 14;
+
+	private static final long SEED = 0x27D4EB2F165667C5L;
+	private static final long P1 = 0x9E3779B185EBCA87L;
+	private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+
+	private HashUtils() {
+	}
+
+	/**
+	 * @param a dataset
+	 * @return hash of shape and items of dataset
+	 */
+	static long hash(final Dataset a) {
+		final int size = a.getSize();
+		final int isize = a.getElementsPerItem();
+		final int nb = (size + BLOCK - 1) / BLOCK;
+		final long[] hashes = new long[nb];
+		ParallelUtils.forRange(nb, (long) BLOCK * isize, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int b = start; b < end; b++) {
+					int p = b * BLOCK;
+					hashes[b] = hashBlock(a, p, Math.min(size, p + BLOCK));
+				}
+			}
+		});
+
+		long h = SEED + size;
+		for (long bh : hashes) {
+			h = round(h, bh);
+		}
+		h = round(h, isize);
+		for (int s : a.getShapeRef()) {
+			h = round(h, s);
+		}
+		return avalanche(h);
+	}
+
+	private static long round(long h, final long v) {
+		h += v * P2;
+		h = Long.rotateLeft(h, 31);
+		return h * P1;
+	}
+
+	private static long avalanche(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Hash items in range of positions by visiting runs of items along last dimension
+	 * @param a dataset
+	 * @param start first position (inclusive)
+	 * @param end last position (exclusive)
+	 * @return hash
+	 */
+	private static long hashBlock(final Dataset a, final int start, final int end) {
+		final int isize = a.getElementsPerItem();
+		final int[] strides = a.getStrides();
+		final Object data = a.getBuffer();
+		final boolean half = a instanceof HalfFloatDataset;
+		if (strides == null) {
+			return hashRun(a, data, half, SEED, start * isize, end - start, isize, isize);
+		}
+
+		final int[] shape = a.getShapeRef();
+		final int rank = shape.length;
+		final int offset = a.getOffset();
+		if (rank == 0) {
+			return hashRun(a, data, half, SEED, offset, 1, isize, isize);
+		}
+
+		final int[] pos = new int[rank];
+		int p = start;
+		for (int d = rank - 1; d >= 0; d--) {
+			pos[d] = p % shape[d];
+			p /= shape[d];
+		}
+
+		final int last = rank - 1;
+		long h = SEED;
+		for (p = start; p < end;) {
+			int n = Math.min(shape[last] - pos[last], end - p);
+			int index = offset;
+			for (int d = 0; d < rank; d++) {
+				index += pos[d] * strides[d];
+			}
+			h = hashRun(a, data, half, h, index, n, strides[last], isize);
+			p += n;
+
+			pos[last] = 0;
+			for (int d = last - 1; d >= 0; d--) {
+				if (++pos[d] < shape[d]) {
+					break;
+				}
+				pos[d] = 0;
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Hash run of items
+	 * @param a dataset
+	 * @param data data array (can be null)
+	 * @param half true if short elements are half-precision floats
+	 * @param h initial hash
+	 * @param index index of first element
+	 * @param n number of items
+	 * @param step difference between indices of consecutive items
+	 * @param isize number of elements per item
+	 * @return hash
+	 */
+	private static long hashRun(final Dataset a, final Object data, final boolean half, long h, int index, final int n, final int step, final int isize) {
+		if (data instanceof double[]) {
+			final double[] s = (double[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					final double v = s[j];
+					h = round(h, v == 0 ? 0 : Double.doubleToLongBits(v));
+				}
+			}
+		} else if (data instanceof float[]) {
+			final float[] s = (float[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					final float v = s[j];
+					h = round(h, v == 0 ? 0 : Float.floatToIntBits(v));
+				}
+			}
+		} else if (data instanceof long[]) {
+			final long[] s = (long[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					h = round(h, s[j]);
+				}
+			}
+		} else if (data instanceof int[]) {
+			final int[] s = (int[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					h = round(h, s[j]);
+				}
+			}
+		} else if (data instanceof short[]) {
+			final short[] s = (short[]) data;
+			final int mask = half ? 0x7FFF : 0xFFFF; // ignore sign of zero
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					final short v = s[j];
+					h = round(h, (v & mask) == 0 ? 0 : v);
+				}
+			}
+		} else if (data instanceof byte[]) {
+			final byte[] s = (byte[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					h = round(h, s[j]);
+				}
+			}
+		} else if (data instanceof boolean[]) {
+			final boolean[] s = (boolean[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				h = round(h, s[index] ? 1 : 0);
+			}
+		} else if (data instanceof Object[]) {
+			final Object[] s = (Object[]) data;
+			for (int i = 0; i < n; i++, index += step) {
+				final Object v = s[index];
+				h = round(h, v == null ? 0 : v.hashCode());
+			}
+		} else {
+			h = hashRunByElement(a, h, index, n, step, isize);
+		}
+		return h;
+	}
+
+	/**
+	 * Hash run of items of a dataset without a data array using its element accessors
+	 */
+	private static long hashRunByElement(final Dataset a, long h, int index, final int n, final int step, final int isize) {
+		if (a.hasFloatingPointElements()) {
+			final boolean single = a.getElementClass() == Float.class;
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					final double v = a.getElementDoubleAbs(j);
+					h = round(h, v == 0 ? 0 : single ? Float.floatToIntBits((float) v) : Double.doubleToLongBits(v));
+				}
+			}
+		} else if (a.getElementClass() == Boolean.class) {
+			for (int i = 0; i < n; i++, index += step) {
+				h = round(h, a.getElementBooleanAbs(index) ? 1 : 0);
+			}
+		} else if (InterfaceUtils.isInteger(a.getClass())) {
+			for (int i = 0; i < n; i++, index += step) {
+				for (int j = index, jmax = index + isize; j < jmax; j++) {
+					h = round(h, a.getElementLongAbs(j));
+				}
+			}
+		} else {
+			for (int i = 0; i < n; i++, index += step) {
+				final Object v = a.getObjectAbs(index);
+				h = round(h, v == null ? 0 : v.hashCode());
+			}
+		}
+		return h;
+	}
+}
@@ -0,0 +1,820 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+// This is generated from DoubleBufferDataset.java by fromdoublebuffer.py
+
+package org.eclipse.january.dataset;
+
+import java.io.Serializable;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+import org.eclipse.january.metadata.StatisticsMetadata;
+
+/**
+ * Extend dataset for int values held in an NIO buffer // PRIM_TYPE
+ * <p>
+ * The buffer is wrapped without copying. Copies (clones and slices) are held in heap buffers
+ * @since 3.0
+ */
+public class IntegerBufferDataset extends IntegerDataset implements BufferDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	protected transient IntBuffer buffer;
+
+	@Override
+	protected void setData() {
+		// items are held in buffer
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	IntegerBufferDataset() {
+	}
+
+	/**
+	 * Create a dataset that wraps given buffer from its current position
+	 * @param buffer
+	 * @param shape
+	 *            (can be null to create 1D dataset of all remaining items in buffer)
+	 */
+	IntegerBufferDataset(final IntBuffer buffer, int... shape) {
+		if (buffer == null) {
+			throw new IllegalArgumentException("Buffer must not be null");
+		}
+		if (shape == null || shape.length == 0) {
+			shape = new int[] { buffer.remaining() };
+		}
+		size = ShapeUtils.calcSize(shape);
+		if (size > buffer.remaining()) {
+			throw new IllegalArgumentException(String.format("Shape %s is not compatible with size of buffer, %d",
+					Arrays.toString(shape), buffer.remaining()));
+		}
+		this.shape = size == 0 ? null : shape.clone();
+
+		this.buffer = buffer.slice();
+		this.buffer.limit(size);
+	}
+
+	@Override
+	public IntBuffer getNioBuffer() {
+		return buffer.duplicate();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null) {
+			return false;
+		}
+
+		if (!(obj instanceof IntegerDataset)) { // compare by content with array-backed datasets too
+			if (getRank() == 0) { // for zero-rank datasets
+				return obj.equals(getObjectAbs(offset));
+			}
+			return false;
+		}
+
+		IntegerDataset other = (IntegerDataset) obj;
+		if (size != other.size) {
+			return false;
+		}
+		if (!Arrays.equals(shape, other.shape)) {
+			return false;
+		}
+		if (other instanceof IntegerBufferDataset && buffer == ((IntegerBufferDataset) other).buffer
+				&& stride == null && other.stride == null) {
+			return true;
+		}
+
+		IndexIterator iter = getIterator();
+		IndexIterator oiter = other.getIterator();
+		while (iter.hasNext() && oiter.hasNext()) {
+			if (buffer.get(iter.index) != other.getAbs(oiter.index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	@Override
+	public IntegerBufferDataset clone() {
+		IntegerBufferDataset result = new IntegerBufferDataset();
+		copyToView(this, result, true, true);
+		result.offset = 0;
+		result.stride = null;
+		result.base = null;
+		result.buffer = IntBuffer.allocate(size);
+		if (stride == null) {
+			IntBuffer src = buffer.duplicate();
+			src.limit(size);
+			result.buffer.put(src).clear();
+		} else {
+			IndexIterator iter = getIterator();
+			for (int i = 0; iter.hasNext(); i++) {
+				result.buffer.put(i, buffer.get(iter.index));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replace with dataset that holds copy of items in Java array as buffer cannot be serialized
+	 * @return copy
+	 */
+	private Object writeReplace() {
+		return DatasetUtils.copy(IntegerDataset.class, this);
+	}
+
+	@Override
+	public IntegerBufferDataset fill(final Object obj) {
+		setDirty();
+		int dv = (int) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
+		IndexIterator iter = getIterator();
+		while (iter.hasNext()) {
+			buffer.put(iter.index, dv);
+		}
+
+		return this;
+	}
+
+	/**
+	 * @return copy of all items in buffer as a linear array. Changes to it are not written back
+	 * so use {@link #getNioBuffer()} to access the items in place
+	 */
+	@Override
+	public int[] getData() { // PRIM_TYPE
+		int[] copy = new int[getBufferLength()]; // PRIM_TYPE
+		if (buffer != null) {
+			IntBuffer src = buffer.duplicate();
+			src.rewind();
+			src.get(copy);
+		}
+		return copy;
+	}
+
+	/**
+	 * @return copy of items as given by {@link #getData()}
+	 */
+	@Override
+	public Serializable getBuffer() {
+		return getData();
+	}
+
+	@Override
+	protected int getBufferLength() {
+		if (buffer == null)
+			return 0;
+		return buffer.limit();
+	}
+
+	/**
+	 * Set the items and shape. A given array is wrapped in a heap buffer
+	 * @param buffer array of items (can be null to leave unchanged)
+	 * @param shape (can be null to leave unchanged)
+	 */
+	@Override
+	public void overrideInternal(Serializable buffer, int... shape) {
+		if (buffer != null) {
+			this.buffer = IntBuffer.wrap((int[]) buffer); // PRIM_TYPE
+			setDirty();
+		}
+		super.overrideInternal(null, shape);
+	}
+
+	@Override
+	public IntegerBufferDataset getView(boolean deepCopyMetadata) {
+		IntegerBufferDataset view = new IntegerBufferDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.buffer = buffer;
+		return view;
+	}
+
+	@Override
+	public int getAbs(final int index) { // PRIM_TYPE
+		return buffer.get(index);
+	}
+
+	@Override
+	public boolean getElementBooleanAbs(final int index) {
+		return buffer.get(index) != 0;
+	}
+
+	@Override
+	public double getElementDoubleAbs(final int index) {
+		return buffer.get(index);
+	}
+
+	@Override
+	public long getElementLongAbs(final int index) {
+		return buffer.get(index); // OMIT_TOLONG_INT
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return buffer.get(index);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		return stringFormat == null ? String.format("%d", buffer.get(index)) : // FORMAT_STRING
+			stringFormat.format(buffer.get(index));
+	}
+
+	@Override
+	public void setAbs(final int index, final int val) { // PRIM_TYPE
+		setDirty();
+		buffer.put(index, val);
+	}
+
+	@Override
+	protected void setItemDirect(final int dindex, final int sindex, final Object src) {
+		setDirty();
+		int[] dsrc = (int[]) src; // PRIM_TYPE
+		buffer.put(dindex, dsrc[sindex]);
+	}
+
+	@Override
+	public void setObjectAbs(final int index, final Object obj) {
+		if (index < 0 || index > buffer.limit()) {
+			throw new IndexOutOfBoundsException("Index given is outside dataset");
+		}
+
+		setAbs(index, (int) DTypeUtils.toLong(obj)); // FROM_OBJECT
+	}
+
+	@Override
+	public int get() { // PRIM_TYPE
+		return buffer.get(getFirst1DIndex());
+	}
+
+	@Override
+	public int get(final int i) { // PRIM_TYPE
+		return buffer.get(get1DIndex(i));
+	}
+
+	@Override
+	public int get(final int i, final int j) { // PRIM_TYPE
+		return buffer.get(get1DIndex(i, j));
+	}
+
+	@Override
+	public int get(final int... pos) { // PRIM_TYPE
+		return buffer.get(get1DIndex(pos));
+	}
+
+	/**
+	 * Not supported as buffer cannot be reallocated
+	 * @throws UnsupportedOperationException
+	 */
+	@Override
+	public void resize(int... newShape) {
+		throw new UnsupportedOperationException("Cannot resize dataset held in an NIO buffer");
+	}
+
+	@Override
+	public IntegerBufferDataset sort(Integer axis) {
+		setDirty();
+		if (axis == null) {
+			final int[] sorted = createArray(size); // PRIM_TYPE
+			IndexIterator iter = getIterator();
+			for (int i = 0; iter.hasNext(); i++) {
+				sorted[i] = buffer.get(iter.index);
+			}
+			Arrays.sort(sorted);
+			iter.reset();
+			for (int i = 0; iter.hasNext(); i++) {
+				buffer.put(iter.index, sorted[i]);
+			}
+		} else {
+			axis = checkAxis(axis);
+
+			IntegerDataset ads = new IntegerDataset(shape[axis]);
+			PositionIterator pi = getPositionIterator(axis);
+			int[] pos = pi.getPos();
+			boolean[] hit = pi.getOmit();
+			while (pi.hasNext()) {
+				copyItemsFromAxes(pos, hit, ads);
+				Arrays.sort(ads.data);
+				setItemsOnAxes(pos, hit, ads.data);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerDataset getUniqueItems() {
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		IntegerDataset u = new IntegerDataset(first.length);
+		for (int i = 0; i < first.length; i++) {
+			u.data[i] = buffer.get(first[i]);
+		}
+		return u;
+	}
+
+	@Override
+	public IntegerBufferDataset getSlice(final SliceIterator siter) {
+		IntegerBufferDataset result = new IntegerBufferDataset();
+		result.shape = siter.getShape();
+		result.size = ShapeUtils.calcSize(result.shape);
+		result.buffer = IntBuffer.allocate(result.size);
+
+		for (int i = 0; siter.hasNext(); i++)
+			result.buffer.put(i, buffer.get(siter.index));
+
+		result.setName(name + BLOCK_OPEN + Slice.createString(siter.shape, siter.start, siter.stop, siter.step) + BLOCK_CLOSE);
+		return result;
+	}
+
+	@Override
+	public void fillDataset(Dataset result, IndexIterator iter) {
+		final IntegerDataset rds = (IntegerDataset) result;
+		IndexIterator riter = result.getIterator();
+		while (riter.hasNext() && iter.hasNext()) {
+			rds.setAbs(riter.index, buffer.get(iter.index));
+		}
+	}
+
+	@Override
+	public IntegerBufferDataset setByBoolean(final Object obj, Dataset selection) {
+		setDirty();
+		if (obj instanceof Dataset) {
+			final Dataset ds = (Dataset) obj;
+			final int length = ((Number) selection.sum()).intValue();
+			if (length != ds.getSize()) {
+				throw new IllegalArgumentException(
+						"Number of true items in selection does not match number of items in dataset");
+			}
+
+			final IndexIterator oiter = ds.getIterator();
+			final BooleanIterator biter = getBooleanIterator(selection);
+
+			while (biter.hasNext() && oiter.hasNext()) {
+				buffer.put(biter.index, (int) ds.getElementLongAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
+			}
+		} else {
+			final int dv = (int) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
+			final BooleanIterator biter = getBooleanIterator(selection);
+
+			while (biter.hasNext()) {
+				buffer.put(biter.index, dv);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset setBy1DIndex(final Object obj, final Dataset index) {
+		setDirty();
+		if (obj instanceof Dataset) {
+			final Dataset ds = (Dataset) obj;
+			if (index.getSize() != ds.getSize()) {
+				throw new IllegalArgumentException(
+						"Number of items in index dataset does not match number of items in dataset");
+			}
+
+			final IndexIterator oiter = ds.getIterator();
+			final IntegerIterator iter = new IntegerIterator(index, size);
+
+			while (iter.hasNext() && oiter.hasNext()) {
+				buffer.put(iter.index, (int) ds.getElementLongAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
+			}
+		} else {
+			final int dv = (int) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
+			IntegerIterator iter = new IntegerIterator(index, size);
+
+			while (iter.hasNext()) {
+				buffer.put(iter.index, dv);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	IntegerBufferDataset setSlicedView(Dataset view, Dataset d) {
+		setDirty();
+		final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(view, d);
+
+		while (it.hasNext()) {
+			buffer.put(it.aIndex, (int) it.bLong); // PRIM_TYPE // BCAST_WITH_CAST
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset setSlice(final Object obj, final IndexIterator siter) {
+		setDirty();
+
+		if (obj instanceof IDataset) {
+			final IDataset ds = (IDataset) obj;
+			final int[] oshape = ds.getShape();
+
+			if (!ShapeUtils.areShapesCompatible(siter.getShape(), oshape)) {
+				throw new IllegalArgumentException(String.format(
+						"Input dataset is not compatible with slice: %s cf %s", Arrays.toString(oshape),
+						Arrays.toString(siter.getShape())));
+			}
+
+			if (ds instanceof Dataset) {
+				final Dataset ads = (Dataset) ds;
+				final IndexIterator oiter = ads.getIterator();
+				while (siter.hasNext() && oiter.hasNext())
+					buffer.put(siter.index, (int) ads.getElementLongAbs(oiter.index)); // GET_ELEMENT_WITH_CAST
+			} else {
+				final IndexIterator oiter = new PositionIterator(oshape);
+				final int[] pos = oiter.getPos();
+
+				while (siter.hasNext() && oiter.hasNext())
+					buffer.put(siter.index, ds.getInt(pos)); // PRIM_TYPE
+			}
+		} else {
+			try {
+				int v = (int) DTypeUtils.toLong(obj); // PRIM_TYPE // FROM_OBJECT
+
+				while (siter.hasNext())
+					buffer.put(siter.index, v);
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Object for setting slice is not a dataset or number");
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public void copyItemsFromAxes(final int[] pos, final boolean[] axes, final Dataset dest) {
+		int[] ddata = (int[]) dest.getBuffer(); // PRIM_TYPE
+
+		SliceIterator siter = getSliceIteratorFromAxes(pos, axes);
+		int[] sshape = ShapeUtils.squeezeShape(siter.getShape(), false);
+
+		IndexIterator diter = dest.getSliceIterator(null, sshape, null);
+
+		if (ddata.length < ShapeUtils.calcSize(sshape)) {
+			throw new IllegalArgumentException("destination array is not large enough");
+		}
+
+		dest.setDirty();
+		while (siter.hasNext() && diter.hasNext()) {
+			ddata[diter.index] = buffer.get(siter.index);
+		}
+	}
+
+	@Override
+	public void setItemsOnAxes(final int[] pos, final boolean[] axes, final Object src) {
+		setDirty();
+		int[] sdata = (int[]) src; // PRIM_TYPE
+
+		SliceIterator siter = getSliceIteratorFromAxes(pos, axes);
+
+		if (sdata.length < ShapeUtils.calcSize(siter.getShape())) {
+			throw new IllegalArgumentException("destination array is not large enough");
+		}
+
+		for (int i = 0; siter.hasNext(); i++) {
+			buffer.put(siter.index, sdata[i]);
+		}
+	}
+
+	private List<int[]> findPositions(final int value) { // PRIM_TYPE
+		IndexIterator iter = getIterator(true);
+		List<int[]> posns = new ArrayList<int[]>();
+		int[] pos = iter.getPos();
+
+		{
+			while (iter.hasNext()) {
+				if (buffer.get(iter.index) == value) {
+					posns.add(pos.clone());
+				}
+			}
+		}
+		return posns;
+	}
+
+	@Override
+	public int[] maxPos(boolean... ignoreInvalids) {
+		StatisticsMetadata<Number> md = getStats();
+		List<int[]> max = md.getMaximumPositions(ignoreInvalids);
+
+		if (max == null) {
+			max = findPositions(md.getMaximum(ignoreInvalids).intValue()); // PRIM_TYPE
+
+			md.setMaximumPositions(max);
+		}
+
+		return max.get(0); // first maximum
+	}
+
+	@Override
+	public int[] minPos(boolean... ignoreInvalids) {
+		StatisticsMetadata<Number> md = getStats();
+		List<int[]> min = md.getMinimumPositions(ignoreInvalids);
+
+		if (min == null) {
+			min = findPositions(md.getMinimum(ignoreInvalids).intValue()); // PRIM_TYPE
+
+			md.setMinimumPositions(min);
+		}
+
+		return min.get(0); // first minimum
+	}
+
+	@Override
+	public boolean containsNans() {
+		return false;
+	}
+
+	@Override
+	public boolean containsInfs() {
+		return false;
+	}
+
+	@Override
+	public boolean containsInvalidNumbers() {
+		return false;
+	}
+
+	@Override
+	public IntegerBufferDataset iadd(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		boolean useLong = bds.getElementClass().equals(Long.class);
+		if (bds.getSize() == 1) {
+			final IndexIterator it = getIterator();
+			final int bOffset = bds.getOffset();
+			if (useLong) {
+				final long lb = bds.getElementLongAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) + lb)); // PRIM_TYPE
+				}
+			} else {
+				final double db = bds.getElementDoubleAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) + db)); // PRIM_TYPE
+				}
+			}
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(!useLong);
+			if (useLong) {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) + it.bLong)); // PRIM_TYPE
+				}
+			} else {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) + it.bDouble)); // PRIM_TYPE
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset isubtract(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		boolean useLong = bds.getElementClass().equals(Long.class);
+		if (bds.getSize() == 1) {
+			final IndexIterator it = getIterator();
+			final int bOffset = bds.getOffset();
+			if (useLong) {
+				final long lb = bds.getElementLongAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) - lb)); // PRIM_TYPE
+				}
+			} else {
+				final double db = bds.getElementDoubleAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) - db)); // PRIM_TYPE
+				}
+			}
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(!useLong);
+			if (useLong) {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) - it.bLong)); // PRIM_TYPE
+				}
+			} else {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) - it.bDouble)); // PRIM_TYPE
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset imultiply(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		boolean useLong = bds.getElementClass().equals(Long.class);
+		if (bds.getSize() == 1) {
+			final IndexIterator it = getIterator();
+			final int bOffset = bds.getOffset();
+			if (useLong) {
+				final long lb = bds.getElementLongAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) * lb)); // PRIM_TYPE
+				}
+			} else {
+				final double db = bds.getElementDoubleAbs(bOffset);
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) * db)); // PRIM_TYPE
+				}
+			}
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(!useLong);
+			if (useLong) {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) * it.bLong)); // PRIM_TYPE
+				}
+			} else {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) * it.bDouble)); // PRIM_TYPE
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset idivide(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		boolean useLong = bds.getElementClass().equals(Long.class);
+		if (bds.getSize() == 1) {
+			final int bOffset = bds.getOffset();
+			if (useLong) {
+				final long lb = bds.getElementLongAbs(bOffset);
+				if (lb == 0) { // INT_USE
+					fill(0); // INT_USE
+				} else { // INT_USE
+				final IndexIterator it = getIterator();
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) / lb)); // PRIM_TYPE
+				}
+				} // INT_USE
+			} else {
+				final double db = bds.getElementDoubleAbs(bOffset);
+				if (db == 0) { // INT_USE
+					fill(0); // INT_USE
+				} else { // INT_USE
+				final IndexIterator it = getIterator();
+				while (it.hasNext()) {
+					buffer.put(it.index, (int) (buffer.get(it.index) / db)); // PRIM_TYPE
+				}
+				} // INT_USE
+			}
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(!useLong);
+			if (useLong) {
+				while (it.hasNext()) {
+					if (it.bLong == 0) { // INT_USE
+						buffer.put(it.aIndex, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) / it.bLong)); // PRIM_TYPE
+					} // INT_USE
+				}
+			} else {
+				while (it.hasNext()) {
+					if (it.bDouble == 0) { // INT_USE
+						buffer.put(it.aIndex, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) / it.bDouble)); // PRIM_TYPE
+					} // INT_USE
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset ifloor() {
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset iremainder(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		boolean useLong = bds.getElementClass().equals(Long.class);
+		if (bds.getSize() == 1) {
+			final int bOffset = bds.getOffset();
+			final long lb = bds.getElementLongAbs(bOffset);
+			if (lb == 0) { // INT_USE
+				fill(0); // INT_USE
+			} else { // INT_USE
+			final IndexIterator it = getIterator();
+			while (it.hasNext()) {
+				buffer.put(it.index, (int) (buffer.get(it.index) % lb)); // PRIM_TYPE
+			}
+			} // INT_USE
+		} else {
+			final BroadcastSelfIterator it = BroadcastSelfIterator.createIterator(this, bds);
+			it.setOutputDouble(!useLong);
+			if (useLong) {
+				while (it.hasNext()) {
+					if (it.bLong == 0) { // INT_USE
+						buffer.put(it.aIndex, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) % it.bLong)); // PRIM_TYPE
+					} // INT_USE
+				}
+			} else {
+				while (it.hasNext()) {
+					buffer.put(it.aIndex, (int) (buffer.get(it.aIndex) % it.bDouble)); // PRIM_TYPE
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public IntegerBufferDataset ipower(final Object b) {
+		setDirty();
+		Dataset bds = b instanceof Dataset ? (Dataset) b : DatasetFactory.createFromObject(b);
+		if (bds.getSize() == 1) {
+			final int bOffset = bds.getOffset();
+			final double vr = bds.getElementDoubleAbs(bOffset);
+			final IndexIterator it = getIterator();
+			if (bds.isComplex()) {
+				final double vi = bds.getElementDoubleAbs(bOffset + 1);
+				if (vi == 0) {
+					while (it.hasNext()) {
+						final double v = Math.pow(buffer.get(it.index), vr);
+						if (Double.isInfinite(v) || Double.isNaN(v)) { // INT_USE
+							buffer.put(it.index, 0); // PRIM_TYPE // INT_USE
+						} else { // INT_USE
+						buffer.put(it.index, (int) (long) v); // PRIM_TYPE_LONG
+						} // INT_USE
+					}
+				} else {
+					final Complex zv = new Complex(vr, vi);
+					while (it.hasNext()) {
+						Complex zd = new Complex(buffer.get(it.index), 0);
+						final double v = zd.pow(zv).getReal();
+						if (Double.isInfinite(v) || Double.isNaN(v)) { // INT_USE
+							buffer.put(it.index, 0); // PRIM_TYPE // INT_USE
+						} else { // INT_USE
+						buffer.put(it.index, (int) (long) v); // PRIM_TYPE_LONG
+						} // INT_USE
+					}
+				}
+			} else {
+				while (it.hasNext()) {
+					final double v = Math.pow(buffer.get(it.index), vr);
+					if (Double.isInfinite(v) || Double.isNaN(v)) { // INT_USE
+						buffer.put(it.index, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.index, (int) (long) v); // PRIM_TYPE_LONG
+					} // INT_USE
+				}
+			}
+		} else {
+			final BroadcastIterator it = BroadcastIterator.createIterator(this, bds);
+			it.setOutputDouble(true);
+			if (bds.isComplex()) {
+				while (it.hasNext()) {
+					final Complex zv = new Complex(it.bDouble, bds.getElementDoubleAbs(it.bIndex + 1));
+					final double v = new Complex(it.aDouble, 0).pow(zv).getReal();
+					if (Double.isInfinite(v) || Double.isNaN(v)) { // INT_USE
+						buffer.put(it.aIndex, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.aIndex, (int) (long) v); // PRIM_TYPE_LONG
+					} // INT_USE
+				}
+			} else {
+				while (it.hasNext()) {
+					final double v = Math.pow(it.aDouble, it.bDouble);
+					if (Double.isInfinite(v) || Double.isNaN(v)) { // INT_USE
+						buffer.put(it.aIndex, 0); // PRIM_TYPE // INT_USE
+					} else { // INT_USE
+					buffer.put(it.aIndex, (int) (long) v); // PRIM_TYPE_LONG
+					} // INT_USE
+				}
+			}
+		}
+		return this;
+	}
+}
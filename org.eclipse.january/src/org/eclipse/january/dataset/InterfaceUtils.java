@@ -87,15 +87,19 @@ public class InterfaceUtils {
 		// XXX for current implementation
 		result.put(DoubleDataset.class, Double.class);
 		result.put(DateDataset.class, Date.class); // XXX must be before string (and integer for unit test)
+		result.put(UnsignedIntegerDataset.class, Integer.class); // XXX must be before integer
 		result.put(IntegerDataset.class, Integer.class);
 		result.put(BooleanDataset.class, Boolean.class);
 		result.put(StringDataset.class, String.class);
 		result.put(ComplexDoubleDataset.class, Double.class); // XXX must be before compound double
 		result.put(RGBByteDataset.class, Byte.class); // XXX must be before compound byte
 		result.put(RGBDataset.class, Short.class); // XXX must be before compound short
+		result.put(UnsignedByteDataset.class, Byte.class); // XXX must be before byte
 		result.put(ByteDataset.class, Byte.class);
+		result.put(UnsignedShortDataset.class, Short.class); // XXX must be before short
 		result.put(ShortDataset.class, Short.class);
 		result.put(LongDataset.class, Long.class);
+		result.put(HalfFloatDataset.class, Float.class);
 		result.put(FloatDataset.class, Float.class);
 		result.put(ComplexFloatDataset.class, Float.class); // XXX must be before compound float
 		result.put(CompoundShortDataset.class, Short.class);
@@ -192,7 +196,11 @@ public class InterfaceUtils {
 	 * @return (boxed) class of constituent element
 	 */
 	public static Class<?> getElementClass(final Class<? extends Dataset> clazz) {
-		return interface2Class.get(clazz);
+		Class<?> c = interface2Class.get(clazz);
+		if (c == null && BufferDataset.class.isAssignableFrom(clazz)) { // buffer-backed subclass
+			c = interface2Class.get(findSubInterface(clazz));
+		}
+		return c;
 	}
 
 	/**
@@ -356,7 +364,7 @@ public class InterfaceUtils {
 	 * @return true if dataset interface has integer elements
 	 */
 	public static boolean isInteger(Class<? extends Dataset> clazz) {
-		Class<?> c = interface2Class.get(clazz);
+		Class<?> c = getElementClass(clazz);
 		return isElementClassInteger(c);
 	}
 
@@ -365,7 +373,7 @@ public class InterfaceUtils {
 	 * @return true if dataset interface has floating point elements
 	 */
 	public static boolean isFloating(Class<? extends Dataset> clazz) {
-		Class<?> c = interface2Class.get(clazz);
+		Class<?> c = getElementClass(clazz);
 		return isElementClassFloating(c);
 	}
 
@@ -377,6 +385,27 @@ public class InterfaceUtils {
 		return Double.class == c || Float.class == c;
 	}
 
+	/**
+	 * @param clazz dataset class
+	 * @return true if dataset interface has unsigned integer elements
+	 * @since 3.0
+	 */
+	public static boolean isUnsigned(Class<? extends Dataset> clazz) {
+		return UnsignedByteDataset.class.isAssignableFrom(clazz) || UnsignedShortDataset.class.isAssignableFrom(clazz)
+				|| UnsignedIntegerDataset.class.isAssignableFrom(clazz);
+	}
+
+	/**
+	 * @param clazz dataset class
+	 * @return true if items held in buffer of dataset interface need converting to give its elements
+	 * (i.e. it holds unsigned integers or half-precision floats) or are not held in a Java array
+	 * (i.e. it is backed by an NIO buffer)
+	 * @since 3.0
+	 */
+	public static boolean isBufferEncoded(Class<? extends Dataset> clazz) {
+		return isUnsigned(clazz) || HalfFloatDataset.class.isAssignableFrom(clazz) || BufferDataset.class.isAssignableFrom(clazz);
+	}
+
 	/**
 	 * @param clazz dataset class
 	 * @return true if dataset interface has complex items
@@ -390,7 +419,7 @@ public class InterfaceUtils {
 	 * @return true if dataset interface has numerical elements
 	 */
 	public static boolean isNumerical(Class<? extends Dataset> clazz) {
-		Class<?> c = interface2Class.get(clazz);
+		Class<?> c = getElementClass(clazz);
 		return Boolean.class == c || isElementClassInteger(c) || isElementClassFloating(c);
 	}
 
@@ -453,7 +482,12 @@ public class InterfaceUtils {
 			}
 		}
 
-		Class<? extends Dataset> c = isBetter(interface2Class.get(a), interface2Class.get(b)) ? a : b;
+		Class<? extends Dataset> c;
+		if (isInteger(a) && isInteger(b) && isUnsigned(a) != isUnsigned(b)) {
+			c = isUnsigned(a) ? getSignedInterface(a, b) : getSignedInterface(b, a);
+		} else {
+			c = isBetter(getElementClass(a), getElementClass(b)) ? a : b;
+		}
 		if ((az || bz) && !isComplex(c)) {
 			c = DoubleDataset.class.isAssignableFrom(c) ? ComplexDoubleDataset.class : ComplexFloatDataset.class;
 		}
@@ -464,6 +498,27 @@ public class InterfaceUtils {
 		return c;
 	}
 
+	/**
+	 * @param u unsigned integer dataset interface
+	 * @param s signed integer dataset interface
+	 * @return narrowest signed interface that can hold values of both interfaces (as in NumPy, 64-bit is
+	 * used for unsigned 32-bit integers)
+	 */
+	private static Class<? extends Dataset> getSignedInterface(Class<? extends Dataset> u, Class<? extends Dataset> s) {
+		final int ub = getItemBytes(1, u);
+		if (getItemBytes(1, s) > ub) {
+			return s;
+		}
+		switch (ub) {
+		case 1:
+			return ShortDataset.class;
+		case 2:
+			return IntegerDataset.class;
+		default:
+			return LongDataset.class;
+		}
+	}
+
 	private static boolean isBetter(Class<?> a, Class<?> b) {
 		for (Class<?> k : elementBytes.keySet()) { // elements order in increasing width (for numerical primitives)
 			if (k.equals(b)) {
@@ -486,9 +541,9 @@ public class InterfaceUtils {
 	public static Class<? extends Dataset> getLargestInterface(Dataset a) {
 		if (a instanceof BooleanDataset || a instanceof ByteDataset || a instanceof ShortDataset) {
 			return IntegerDataset.class;
-		} else if (a instanceof IntegerDataset) {
+		} else if (a instanceof IntegerDataset || a instanceof LongDataset) {
 			return LongDataset.class;
-		} else if (a instanceof FloatDataset) {
+		} else if (a instanceof HalfFloatDataset || a instanceof FloatDataset || a instanceof DoubleDataset) {
 			return DoubleDataset.class;
 		} else if (a instanceof ComplexFloatDataset) {
 			return ComplexDoubleDataset.class;
@@ -510,7 +565,7 @@ public class InterfaceUtils {
 	 * @return best dataset interface
 	 */
 	public static Class<? extends Dataset> getBestFloatInterface(Class<? extends Dataset> clazz) {
-		Class<?> e = interface2Class.get(clazz);
+		Class<?> e = getElementClass(clazz);
 		if (bestFloatElement.containsKey(e)) {
 			e = bestFloatElement.get(e);
 			return class2Interface.get(e);
@@ -525,7 +580,8 @@ public class InterfaceUtils {
 	 * @return length of single item in bytes
 	 */
 	public static int getItemBytes(final int isize, Class<? extends Dataset> clazz) {
-		int bytes = elementBytes.get(interface2Class.get(clazz));
+		// half-precision elements are presented as floats
+		int bytes = HalfFloatDataset.class.isAssignableFrom(clazz) ? Short.SIZE / 8 : elementBytes.get(getElementClass(clazz));
 
 		return isize * bytes;
 	}
@@ -537,7 +593,13 @@ public class InterfaceUtils {
 	 * @return biggest native primitive array if integer. Return null if not interface is not numerical
 	 */
 	public static Object fromDoublesToBiggestPrimitives(Class<? extends Dataset> clazz, double[] x) {
-		if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
+		if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			long[] i64 = new long[x.length];
+			for (int i = 0; i < x.length; i++) {
+				i64[i] = (long) x[i];
+			}
+			return i64;
+		} else if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
 				|| ShortDataset.class.isAssignableFrom(clazz) || IntegerDataset.class.isAssignableFrom(clazz)) {
 			int[] i32 = new int[x.length];
 			for (int i = 0; i < x.length; i++) {
@@ -550,7 +612,7 @@ public class InterfaceUtils {
 				i64[i] = (long) x[i];
 			}
 			return i64;
-		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
+		} else if (FloatDataset.class.isAssignableFrom(clazz) || HalfFloatDataset.class.isAssignableFrom(clazz)) {
 			float[] f32 = new float[x.length];
 			for (int i = 0; i < x.length; i++) {
 				f32[i] = (float) x[i];
@@ -570,7 +632,11 @@ public class InterfaceUtils {
 	 * @since 2.3
 	 */
 	public static Number fromDoubleToNumber(Class<? extends Dataset> clazz, double x) {
-		if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)) {
+		if (UnsignedByteDataset.class.isAssignableFrom(clazz) || UnsignedShortDataset.class.isAssignableFrom(clazz)) {
+			return Integer.valueOf((int) (long) x);
+		} else if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			return Long.valueOf((long) x);
+		} else if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)) {
 			return Byte.valueOf((byte) (long) x);
 		} else if (ShortDataset.class.isAssignableFrom(clazz)) {
 			return Short.valueOf((short) (long) x);
@@ -578,7 +644,7 @@ public class InterfaceUtils {
 			return Integer.valueOf((int) (long) x);
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			return Long.valueOf((long) x);
-		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
+		} else if (FloatDataset.class.isAssignableFrom(clazz) || HalfFloatDataset.class.isAssignableFrom(clazz)) {
 			return Float.valueOf((float) x);
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
 			return Double.valueOf(x);
@@ -593,12 +659,14 @@ public class InterfaceUtils {
 	 * @return biggest number if integer. Return null if not interface is not numerical
 	 */
 	public static Number fromDoubleToBiggestNumber(Class<? extends Dataset> clazz, double x) {
-		if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
+		if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			return Long.valueOf((long) x);
+		} else if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
 				|| ShortDataset.class.isAssignableFrom(clazz) || IntegerDataset.class.isAssignableFrom(clazz)) {
 			return Integer.valueOf((int) (long) x);
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			return Long.valueOf((long) x);
-		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
+		} else if (FloatDataset.class.isAssignableFrom(clazz) || HalfFloatDataset.class.isAssignableFrom(clazz)) {
 			return Float.valueOf((float) x);
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
 			return Double.valueOf(x);
@@ -613,12 +681,14 @@ public class InterfaceUtils {
 	 * @since 2.3
 	 */
 	public static Number toBiggestNumber(Class<? extends Dataset> clazz, Number x) {
-		if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
+		if (UnsignedIntegerDataset.class.isAssignableFrom(clazz)) {
+			return x instanceof Long ? x : Long.valueOf(x.longValue());
+		} else if (BooleanDataset.class.isAssignableFrom(clazz) || ByteDataset.class.isAssignableFrom(clazz)
 				|| ShortDataset.class.isAssignableFrom(clazz) || IntegerDataset.class.isAssignableFrom(clazz)) {
 			return x instanceof Integer ? x : Integer.valueOf(x.intValue());
 		} else if (LongDataset.class.isAssignableFrom(clazz)) {
 			return x instanceof Long ? x : Long.valueOf(x.longValue());
-		} else if (FloatDataset.class.isAssignableFrom(clazz)) {
+		} else if (FloatDataset.class.isAssignableFrom(clazz) || HalfFloatDataset.class.isAssignableFrom(clazz)) {
 			return x instanceof Float ? x : Float.valueOf(x.floatValue());
 		} else if (DoubleDataset.class.isAssignableFrom(clazz)) {
 			return x instanceof Double ? x : Double.valueOf(x.doubleValue());
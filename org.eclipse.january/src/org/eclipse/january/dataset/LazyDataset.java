@@ -26,6 +26,7 @@ import java.util.Objects;
 
 import org.eclipse.january.DatasetException;
 import org.eclipse.january.IMonitor;
+import org.eclipse.january.io.ILazyBatchLoader;
 import org.eclipse.january.io.ILazyLoader;
 import org.eclipse.january.metadata.MetadataFactory;
 import org.eclipse.january.metadata.MetadataType;
@@ -128,7 +129,7 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 	LazyDataset(LazyDataset other) {
 		name  = other.name;
 		shape = other.shape.clone();
-		metadata  = other.copyMetadata();
+		shareMetadata(other, true);
 		oMetadata = other.oMetadata;
 		oShape = other.oShape;
 		size   = other.size;
@@ -357,8 +358,8 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 		}
 
 		if (metadata != null) {
-			storeMetadata(metadata, Reshapeable.class);
-			metadata = copyMetadata();
+			storeMetadata(getCurrentMetadata(), Reshapeable.class);
+			shareMetadata(this, true);
 			reshapeMetadata(shape, nShape);
 		}
 		shape = nShape;
@@ -389,7 +390,7 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 		}
 		view.shape = slice.getShape();
 		view.size = ShapeUtils.calcLongSize(view.shape);
-		view.storeMetadata(metadata, Sliceable.class);
+		view.storeMetadata(getCurrentMetadata(), Sliceable.class);
 
 		view.sliceMetadata(true, slice);
 		return view;
@@ -414,11 +415,8 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 
 		SliceND nslice = calcTrueSlice(slice);
 
-		Dataset a;
-		if (nslice == null) {
-			Class<? extends Dataset> nClass = clazz == null ? DoubleDataset.class : clazz;
-			a = DatasetFactory.zeros(nClass, slice == null ? shape : slice.getShape());
-		} else {
+		Dataset a = null;
+		if (nslice != null) {
 			try {
 				a = DatasetUtils.convertToDataset(loader.getDataset(monitor, nslice));
 			} catch (IOException e) {
@@ -427,11 +425,238 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 				throw new DatasetException(e);
 			}
 		}
+		return processSlice(slice, nslice, a);
+	}
+
+	/**
+	 * Get many slices of the dataset. The true slices are coalesced so that adjacent or
+	 * overlapping slices are read together as one slice where that does not read more items
+	 * than requested. If the loader is an {@link ILazyBatchLoader}, all reads are made in one
+	 * request.
+	 * @param monitor can be null
+	 * @param slices list of n-D slices
+	 * @return list of slices of dataset in same order as given
+	 * @throws DatasetException when cannot read slices
+	 * @since 3.0
+	 */
+	public List<Dataset> getSlices(IMonitor monitor, List<SliceND> slices) throws DatasetException {
+		final int n = slices.size();
+		List<Dataset> results = new ArrayList<>(n);
+		if (loader != null && !loader.isFileReadable()) {
+			for (int i = 0; i < n; i++) {
+				results.add(null);
+			}
+			return results;
+		}
+
+		SliceND[] nslices = new SliceND[n];
+		for (int i = 0; i < n; i++) {
+			SliceND s = slices.get(i);
+			checkSliceND(s);
+			nslices[i] = calcTrueSlice(s);
+		}
+
+		int[] read = new int[n]; // index of read for each slice
+		List<SliceND> reads = coalesce(nslices, read);
+		List<? extends IDataset> data;
+		try {
+			if (loader instanceof ILazyBatchLoader && reads.size() > 1) {
+				data = ((ILazyBatchLoader) loader).getDatasets(monitor, reads);
+			} else {
+				List<IDataset> list = new ArrayList<>(reads.size());
+				for (SliceND r : reads) {
+					list.add(loader.getDataset(monitor, r));
+				}
+				data = list;
+			}
+		} catch (IOException e) {
+			logger.error("Problem getting {} slices from {}", n, loader, e);
+			throw new DatasetException(e);
+		}
+
+		for (int i = 0; i < n; i++) {
+			SliceND ns = nslices[i];
+			Dataset a = null;
+			if (ns != null) {
+				SliceND r = reads.get(read[i]);
+				a = DatasetUtils.convertToDataset(data.get(read[i]));
+				if (r != ns) { // extract from coalesced read
+					final int rank = r.getShape().length;
+					final int[] rstart = r.getStart();
+					final int[] nstart = ns.getStart();
+					final int[] nstep = ns.getStep();
+					final int[] nshape = ns.getShape();
+					Slice[] sub = new Slice[rank];
+					for (int j = 0; j < rank; j++) {
+						int b = nstart[j] - rstart[j];
+						int e = b + nshape[j] * nstep[j];
+						sub[j] = new Slice(b, e < 0 ? null : e, nstep[j]);
+					}
+					a = a.getSlice(sub);
+				}
+			}
+			results.add(processSlice(slices.get(i), ns, a));
+		}
+		return results;
+	}
+
+	/**
+	 * Coalesce true slices into fewer reads. Slices with non-unit steps are read unchanged
+	 * @param nslices true slices (null for zero-sized)
+	 * @param read output index of read that holds each slice
+	 * @return list of reads
+	 */
+	private static List<SliceND> coalesce(SliceND[] nslices, int[] read) {
+		final int n = nslices.length;
+		List<long[][]> boxes = new ArrayList<>(); // start and stop (exclusive) of bounding boxes
+		List<List<Integer>> members = new ArrayList<>();
+		List<SliceND> reads = new ArrayList<>();
+		int[] single = new int[n];
+		Arrays.fill(single, -1);
+		SliceND first = null;
+		for (int i = 0; i < n; i++) {
+			SliceND s = nslices[i];
+			if (s == null) {
+				continue;
+			}
+			if (first == null) {
+				first = s;
+			}
+			int[] start = s.getStart();
+			int[] step = s.getStep();
+			int[] shape = s.getShape();
+			final int rank = shape.length;
+			long[] b = new long[rank];
+			long[] e = new long[rank];
+			boolean unit = true;
+			for (int j = 0; j < rank; j++) {
+				if (step[j] == 1) {
+					b[j] = start[j];
+					e[j] = start[j] + shape[j];
+				} else if (step[j] == -1) {
+					b[j] = start[j] - shape[j] + 1;
+					e[j] = start[j] + 1;
+				} else {
+					unit = false;
+					break;
+				}
+			}
+			if (unit) {
+				boxes.add(new long[][] {b, e});
+				List<Integer> m = new ArrayList<>();
+				m.add(i);
+				members.add(m);
+			} else {
+				single[i] = reads.size();
+				reads.add(s);
+			}
+		}
+
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = 0; i < boxes.size() && !merged; i++) {
+				long[][] bi = boxes.get(i);
+				for (int j = i + 1; j < boxes.size(); j++) {
+					long[][] bj = boxes.get(j);
+					long[][] u = union(bi, bj);
+					if (volume(u) <= volume(bi) + volume(bj) - volume(intersection(bi, bj))) {
+						boxes.set(i, u);
+						boxes.remove(j);
+						members.get(i).addAll(members.remove(j));
+						merged = true;
+						break;
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			if (single[i] >= 0) {
+				read[i] = single[i];
+			}
+		}
+		for (int k = 0; k < boxes.size(); k++) {
+			List<Integer> m = members.get(k);
+			SliceND r;
+			if (m.size() == 1 && isAscending(nslices[m.get(0)])) {
+				r = nslices[m.get(0)];
+			} else {
+				long[][] box = boxes.get(k);
+				final int rank = box[0].length;
+				int[] start = new int[rank];
+				int[] stop = new int[rank];
+				for (int j = 0; j < rank; j++) {
+					start[j] = (int) box[0][j];
+					stop[j] = (int) box[1][j];
+				}
+				SliceND s = nslices[m.get(0)];
+				r = new SliceND(s.getSourceShape(), s.getMaxShape(), start, stop, null);
+			}
+			int index = reads.size();
+			reads.add(r);
+			for (int i : m) {
+				read[i] = index;
+			}
+		}
+		return reads;
+	}
+
+	private static boolean isAscending(SliceND s) {
+		for (int t : s.getStep()) {
+			if (t != 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long[][] union(long[][] a, long[][] b) {
+		final int rank = a[0].length;
+		long[][] u = new long[2][rank];
+		for (int j = 0; j < rank; j++) {
+			u[0][j] = Math.min(a[0][j], b[0][j]);
+			u[1][j] = Math.max(a[1][j], b[1][j]);
+		}
+		return u;
+	}
+
+	private static long[][] intersection(long[][] a, long[][] b) {
+		final int rank = a[0].length;
+		long[][] u = new long[2][rank];
+		for (int j = 0; j < rank; j++) {
+			u[0][j] = Math.max(a[0][j], b[0][j]);
+			u[1][j] = Math.max(u[0][j], Math.min(a[1][j], b[1][j]));
+		}
+		return u;
+	}
+
+	private static long volume(long[][] box) {
+		long v = 1;
+		for (int j = 0; j < box[0].length; j++) {
+			v *= box[1][j] - box[0][j];
+		}
+		return v;
+	}
+
+	/**
+	 * Process loaded data by adding metadata and adjusting its dimensions
+	 * @param slice requested slice
+	 * @param nslice true slice
+	 * @param a loaded data (ignored if true slice is null)
+	 * @return processed dataset
+	 * @throws DatasetException when cannot add metadata
+	 */
+	private Dataset processSlice(SliceND slice, SliceND nslice, Dataset a) throws DatasetException {
+		if (nslice == null) {
+			Class<? extends Dataset> nClass = clazz == null ? DoubleDataset.class : clazz;
+			a = DatasetFactory.zeros(nClass, slice == null ? shape : slice.getShape());
+		}
 		a.setName(name + AbstractDataset.BLOCK_OPEN + (nslice == null ?
 				(slice == null ? "..." : slice) : nslice) + AbstractDataset.BLOCK_CLOSE);
 		if (metadata != null && a instanceof LazyDatasetBase) {
 			LazyDatasetBase ba = (LazyDatasetBase) a;
-			ba.metadata = copyMetadata();
+			ba.shareMetadata(this, true);
 			if (oMetadata != null) {
 				ba.restoreMetadata(oMetadata);
 			}
@@ -546,7 +771,7 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 				System.err.println(e.getMessage() + ": " + Arrays.toString(tShape) + " cf " + Arrays.toString(view.shape));
 			}
 		}
-		view.storeMetadata(metadata, Transposable.class);
+		view.storeMetadata(getCurrentMetadata(), Transposable.class);
 		view.transposeMetadata(axes);
 		return view;
 	}
@@ -707,7 +932,10 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 	 * @param aclazz annotation class
 	 */
 	private void storeMetadata(Map<Class<? extends MetadataType>, List<MetadataType>> origMetadata, Class<? extends Annotation> aclazz) {
-		List<Class<? extends MetadataType>> mclazzes = findAnnotatedMetadata(aclazz);
+		if (origMetadata == null) {
+			return;
+		}
+		List<Class<? extends MetadataType>> mclazzes = findAnnotatedMetadata(origMetadata, aclazz);
 		if (mclazzes.size() == 0) {
 			return;
 		}
@@ -730,11 +958,8 @@ public class LazyDataset extends LazyDatasetBase implements Serializable, Clonea
 	}
 
 	@SuppressWarnings("unchecked")
-	private List<Class<? extends MetadataType>> findAnnotatedMetadata(Class<? extends Annotation> aclazz) {
+	private static List<Class<? extends MetadataType>> findAnnotatedMetadata(Map<Class<? extends MetadataType>, List<MetadataType>> metadata, Class<? extends Annotation> aclazz) {
 		List<Class<? extends MetadataType>> mclazzes = new ArrayList<Class<? extends MetadataType>>();
-		if (metadata == null) {
-			return mclazzes;
-		}
 
 		for (Class<? extends MetadataType> c : metadata.keySet()) {
 			boolean hasAnn = false;
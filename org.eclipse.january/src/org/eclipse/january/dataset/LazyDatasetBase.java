@@ -46,7 +46,7 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 
 	private static final Logger logger = LoggerFactory.getLogger(LazyDatasetBase.class);
 
-	transient private boolean dirty = true; // indicate dirty state of metadata
+	transient private volatile boolean dirty = true; // indicate dirty state of metadata
 	protected String name = "";
 
 	/**
@@ -54,7 +54,11 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	 */
 	protected int[] shape;
 
-	protected ConcurrentMap<Class<? extends MetadataType>, List<MetadataType>> metadata = null;
+	/**
+	 * Metadata items. This is replaced, rather than modified, when items are added or removed
+	 * so it can be read without locking and shared by views
+	 */
+	volatile MetadataStore metadata = null;
 
 	/**
 	 * @return type of dataset item
@@ -214,70 +218,79 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 			return;
 		}
 
-		if (this.metadata == null) {
-			this.metadata = new ConcurrentHashMap<Class<? extends MetadataType>, List<MetadataType>>();
-		}
-
+		MetadataStore store = this.metadata == null ? MetadataStore.empty() : this.metadata;
 		Class<? extends MetadataType> clazz = findMetadataTypeSubInterfaces(metadata.getClass());
-		if (!this.metadata.containsKey(clazz)) {
-			this.metadata.put(clazz, new ArrayList<MetadataType>());
-		} else if (clear) {
-			this.metadata.get(clazz).clear();
-		}
-		this.metadata.get(clazz).add(metadata);
+		store = store.put(clazz, metadata, clear);
 
 		// add for special case of sub-interfaces of IMetadata
 		if (!IMetadata.class.equals(clazz) && IMetadata.class.isAssignableFrom(clazz)) {
-			clazz = IMetadata.class;
-			if (!this.metadata.containsKey(clazz)) {
-				this.metadata.put(clazz, new ArrayList<MetadataType>());
-			} else if (clear) {
-				this.metadata.get(clazz).clear();
-			}
-			this.metadata.get(clazz).add(metadata);
+			store = store.put(IMetadata.class, metadata, clear);
 		}
+		this.metadata = store;
 	}
 
 	@Override
 	@Deprecated
-	public synchronized IMetadata getMetadata() {
+	public IMetadata getMetadata() {
 		return getFirstMetadata(IMetadata.class);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This does not lock the dataset. The returned list is a copy so changing it does not
+	 * change the dataset's metadata
+	 */
 	@SuppressWarnings("unchecked")
 	@Override
-	public synchronized <T extends MetadataType> List<T> getMetadata(Class<T> clazz) throws MetadataException {
-		if (metadata == null) {
-			dirty = false;
+	public <T extends MetadataType> List<T> getMetadata(Class<T> clazz) throws MetadataException {
+		Map<Class<? extends MetadataType>, List<MetadataType>> map = getCurrentMetadata();
+		if (map == null) {
 			return null;
 		}
 
-		if (dirty) {
-			dirtyMetadata();
-			dirty = false;
-		}
-
 		if (clazz == null) {
 			List<T> all = new ArrayList<>();
-			for (Class<? extends MetadataType> c : metadata.keySet()) {
-				all.addAll((Collection<T>) metadata.get(c));
+			for (List<MetadataType> l : map.values()) {
+				all.addAll((Collection<T>) l);
 			}
 			return all;
 		}
 
-		return (List<T>) metadata.get(findMetadataTypeSubInterfaces(clazz));
+		List<MetadataType> l = map.get(findMetadataTypeSubInterfaces(clazz));
+		return l == null ? null : new ArrayList<>((Collection<T>) l);
 	}
 
+	/**
+	 * @return map of metadata items with any dirtiable items updated, or null if there is no metadata
+	 */
+	Map<Class<? extends MetadataType>, List<MetadataType>> getCurrentMetadata() {
+		MetadataStore store = metadata;
+		if (store == null) {
+			dirty = false;
+			return null;
+		}
+
+		Map<Class<? extends MetadataType>, List<MetadataType>> map = store.getMap();
+		if (dirty) {
+			processAnnotatedMetadata(map, new MdsDirty());
+			dirty = false;
+		}
+		return map;
+	}
+
+	@SuppressWarnings("unchecked")
 	@Override
-	public synchronized <T extends MetadataType> T getFirstMetadata(Class<T> clazz) {
+	public <T extends MetadataType> T getFirstMetadata(Class<T> clazz) {
 		try {
-			List<T> ml = getMetadata(clazz);
+			Map<Class<? extends MetadataType>, List<MetadataType>> map = getCurrentMetadata();
+			List<MetadataType> ml = map == null ? null : map.get(findMetadataTypeSubInterfaces(clazz));
 			if (ml == null) {
 				return null;
 			}
-			for (T t : ml) {
+			for (MetadataType t : ml) {
 				if (clazz.isInstance(t)) {
-					return t;
+					return (T) t;
 				}
 			}
 		} catch (Exception e) {
@@ -294,22 +307,65 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 		}
 
 		if (clazz == null) {
-			metadata.clear();
+			metadata = MetadataStore.empty();
 			return;
 		}
 
-		List<MetadataType> list = metadata.get(findMetadataTypeSubInterfaces(clazz));
-		if( list != null) {
-			list.clear();
-		}
+		metadata = metadata.clear(findMetadataTypeSubInterfaces(clazz));
+	}
+
+	/**
+	 * Get metadata items for subclasses. This replaces the protected metadata field
+	 * @return map of lists of items keyed by metadata sub-interface or null if there is no
+	 * metadata. Neither the map nor its lists can be modified; use {@link #setMetadataMap(Map)}
+	 * to replace them
+	 * @since 3.0
+	 */
+	protected Map<Class<? extends MetadataType>, List<MetadataType>> getMetadataMap() {
+		return getCurrentMetadata();
+	}
+
+	/**
+	 * Set metadata items for subclasses. This replaces assigning to the protected metadata field
+	 * @param map of lists of items keyed by metadata sub-interface (can be null). The lists are
+	 * copied but not their items
+	 * @since 3.0
+	 */
+	protected synchronized void setMetadataMap(Map<Class<? extends MetadataType>, List<MetadataType>> map) {
+		metadata = MetadataStore.create(map);
 	}
 
 	/**
 	 * @return copy of metadata
 	 * @since 2.0
 	 */
-	protected synchronized ConcurrentMap<Class<? extends MetadataType>, List<MetadataType>> copyMetadata() {
-		return copyMetadata(metadata);
+	protected ConcurrentMap<Class<? extends MetadataType>, List<MetadataType>> copyMetadata() {
+		MetadataStore store = metadata;
+		return store == null ? null : copyMetadata(store.getMap());
+	}
+
+	/**
+	 * Set metadata of this dataset to share metadata of another. Items are cloned and
+	 * processed on first access if copy is requested
+	 * @param other dataset
+	 * @param copy if true, copy items
+	 */
+	void shareMetadata(LazyDatasetBase other, boolean copy) {
+		MetadataStore store = other.metadata;
+		if (store == null) {
+			metadata = null;
+			return;
+		}
+
+		boolean d = other.dirty;
+		if (copy || (d && store.isPending())) {
+			metadata = store.copy(d);
+		} else {
+			if (d) {
+				other.getCurrentMetadata();
+			}
+			metadata = store.share();
+		}
 	}
 
 	/**
@@ -343,7 +399,11 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	}
 
 	protected void restoreMetadata(Map<Class<? extends MetadataType>, List<MetadataType>> oldMetadata) {
-		copyMetadata(oldMetadata, metadata);
+		Map<Class<? extends MetadataType>, List<MetadataType>> map = new ConcurrentHashMap<Class<? extends MetadataType>, List<MetadataType>>();
+		copyMetadata(oldMetadata, map);
+		synchronized (this) {
+			metadata = metadata == null ? MetadataStore.create(map) : metadata.putAll(map);
+		}
 	}
 
 	/**
@@ -383,11 +443,23 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	}
 
 	private static boolean isMetadataDirty(MetadataType m) {
+		return isMetadataDirty(m, false);
+	}
+
+	/**
+	 * @param m metadata item
+	 * @param dirtiable if true, treat any dirtiable item as dirty
+	 * @return true if item is dirty
+	 */
+	static boolean isMetadataDirty(MetadataType m, boolean dirtiable) {
 		Class<? extends MetadataType> c = m.getClass();
 		for (Field f : c.getDeclaredFields()) {
 			if (f.isAnnotationPresent(Dirtiable.class)) {
 				Class<?> t = f.getType();
 				if (t.equals(boolean.class) || t.equals(Boolean.class)) {
+					if (dirtiable) {
+						return true;
+					}
 					try {
 						f.setAccessible(true);
 						Object o = f.get(m);
@@ -474,6 +546,36 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 			return -1;
 		}
 
+		/**
+		 * Find shape of a lazy dataset after it is run through this operation
+		 * @param shape of lazy dataset
+		 * @return shape after slicing
+		 * @throws IllegalArgumentException if the dataset cannot be sliced
+		 */
+		int[] getSlicedShape(int[] shape) {
+			int rank = shape.length;
+			if (slice.getStart().length != rank) {
+				throw new IllegalArgumentException("Slice rank does not match dataset!");
+			}
+
+			int[] sshape = slice.getShape();
+			int[] nshape = new int[rank];
+			boolean compatible = ShapeUtils.areShapesBroadcastCompatible(oShape, shape);
+			for (int i = 0; i < rank; i++) {
+				int s = shape[i];
+				int os = oShape[i];
+				if (!compatible) {
+					if (s >= os) {
+						s = os;
+					} else if (s != 1) {
+						throw new IllegalArgumentException("Sliceable dataset has non-unit dimension less than host!");
+					}
+				}
+				nshape[i] = s >= os ? sshape[i] : 1;
+			}
+			return nshape;
+		}
+
 		@Override
 		public ILazyDataset run(ILazyDataset lz) {
 			int rank = lz.getRank();
@@ -802,7 +904,7 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	 * @param slice an n-D slice
 	 */
 	protected void sliceMetadata(boolean asView, final SliceND slice) {
-		processAnnotatedMetadata(new MdsSlice(asView, slice));
+		processAnnotatedMetadata(new MdsSlice(asView, slice.clone()));
 	}
 
 	/**
@@ -812,7 +914,7 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	 * @param newShape new shape
 	 */
 	protected void reshapeMetadata(final int[] oldShape, final int[] newShape) {
-		processAnnotatedMetadata(new MdsReshape(oldShape, newShape));
+		processAnnotatedMetadata(new MdsReshape(oldShape.clone(), newShape.clone()));
 	}
 
 	/**
@@ -821,7 +923,7 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	 * @param axesMap if zero length then axes order reversed
 	 */
 	protected void transposeMetadata(final int[] axesMap) {
-		processAnnotatedMetadata(new MdsTranspose(axesMap));
+		processAnnotatedMetadata(new MdsTranspose(axesMap.clone()));
 	}
 
 	/**
@@ -829,14 +931,33 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 	 * @since 2.0
 	 */
 	protected void dirtyMetadata() {
-		processAnnotatedMetadata(new MdsDirty());
+		MetadataStore store = metadata;
+		if (store != null) {
+			processAnnotatedMetadata(store.getMap(), new MdsDirty());
+		}
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Process metadata items, deferring it until the items are first accessed when they
+	 * have not been copied yet. Slices are checked against the items straightaway
+	 * @param op operation
+	 */
 	private void processAnnotatedMetadata(MetadatasetAnnotationOperation op) {
-		if (metadata == null)
+		MetadataStore store = metadata;
+		if (store == null) {
 			return;
+		}
 
+		MetadataStore pending = store.isPending() ? store.append(op) : null;
+		if (pending != null) {
+			metadata = pending;
+		} else {
+			processAnnotatedMetadata(store.getMap(), op);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static void processAnnotatedMetadata(Map<Class<? extends MetadataType>, List<MetadataType>> metadata, MetadatasetAnnotationOperation op) {
 		for (List<MetadataType> l : metadata.values()) {
 			for (MetadataType m : l) {
 				if (m == null) {
@@ -965,6 +1086,67 @@ public abstract class LazyDatasetBase implements ILazyDataset, Serializable {
 		}
 	}
 
+	/**
+	 * Check that all lazy datasets in fields of metadata items annotated with {@link Sliceable}
+	 * can be sliced by a sequence of slice operations. Only the shapes of the datasets are used
+	 * so incompatible slices are found without cloning and slicing the items
+	 * @param metadata map of items
+	 * @param ops slice operations
+	 * @param skipDirtiable if true, skip any items that can be dirtied
+	 * @throws IllegalArgumentException if any dataset cannot be sliced
+	 */
+	@SuppressWarnings("unchecked")
+	static void checkSliceableMetadata(Map<Class<? extends MetadataType>, List<MetadataType>> metadata, List<MdsSlice> ops, boolean skipDirtiable) {
+		for (List<MetadataType> l : metadata.values()) {
+			for (MetadataType m : l) {
+				if (m == null || isMetadataDirty(m, skipDirtiable)) {
+					continue;
+				}
+
+				Class<? extends MetadataType> mc = m.getClass();
+				do { // iterate over super-classes
+					for (Field f : mc.getDeclaredFields()) {
+						if (!f.isAnnotationPresent(Sliceable.class)) {
+							continue;
+						}
+						try {
+							f.setAccessible(true);
+							checkObject(ops, f.get(m));
+						} catch (IllegalAccessException e) {
+							throw new RuntimeException(e);
+						}
+					}
+					Class<?> sclazz = mc.getSuperclass();
+					if (!MetadataType.class.isAssignableFrom(sclazz)) {
+						break;
+					}
+					mc = (Class<? extends MetadataType>) sclazz;
+				} while (true);
+			}
+		}
+	}
+
+	private static void checkObject(List<MdsSlice> ops, Object o) {
+		if (o instanceof ILazyDataset) {
+			int[] shape = ((ILazyDataset) o).getShape();
+			for (MdsSlice op : ops) {
+				shape = op.getSlicedShape(shape);
+			}
+		} else if (o instanceof Object[]) {
+			for (Object i : (Object[]) o) {
+				checkObject(ops, i);
+			}
+		} else if (o instanceof List<?>) {
+			for (Object i : (List<?>) o) {
+				checkObject(ops, i);
+			}
+		} else if (o instanceof Map<?,?>) {
+			for (Object i : ((Map<?,?>) o).values()) {
+				checkObject(ops, i);
+			}
+		}
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static Object processObject(MetadatasetAnnotationOperation op, Object o) throws Exception {
 		if (o == null) {
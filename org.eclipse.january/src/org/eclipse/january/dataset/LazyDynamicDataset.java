@@ -9,7 +9,9 @@
 
 package org.eclipse.january.dataset;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.january.io.ILazyDynamicLoader;
 import org.eclipse.january.io.ILazyLoader;
@@ -24,6 +26,8 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 
 	protected IDatasetChangeChecker checker;
 
+	private transient int[] eventShape; // shape sent in last event
+
 	class PeriodicRunnable implements Runnable {
 		long millis;
 
@@ -127,6 +131,7 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 		this.chunks = chunks == null ? null : chunks.clone();
 
 		this.eventDelegate = new DataListenerDelegate();
+		eventShape = this.shape.clone();
 	}
 
 	/**
@@ -141,6 +146,7 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 		eventDelegate = other.eventDelegate;
 		checker = other.checker;
 		runner = other.runner;
+		eventShape = other.eventShape;
 	}
 
 	@Override
@@ -205,11 +211,57 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 
 	@Override
 	public void fireDataListeners() {
+		fireDataEvent(null);
+	}
+
+	/**
+	 * Send event to listeners with regions of data appended since the previous event
+	 * @param written regions of data that were written, can be null if not known
+	 * @since 3.0
+	 */
+	protected void fireDataEvent(SliceND[] written) {
 		synchronized (eventDelegate) {
-			eventDelegate.fire(new DataEvent(name, shape));
+			int[] s = shape;
+			SliceND[] appended = calcAppendedRegions(eventShape, s);
+			eventShape = s;
+			eventDelegate.fire(new DataEvent(name, s, appended, written));
 		}
 	}
 
+	/**
+	 * Calculate the regions of data appended when the shape of a dataset grows
+	 * @param oldShape old shape
+	 * @param newShape new shape
+	 * @return disjoint regions ordered from last dimension to first (so each region extends the union of
+	 * the old shape and earlier regions to a larger box) or null if the rank changes or a dimension shrinks
+	 */
+	static SliceND[] calcAppendedRegions(int[] oldShape, int[] newShape) {
+		if (oldShape == null || newShape == null || oldShape.length != newShape.length) {
+			return null;
+		}
+		int rank = newShape.length;
+		for (int i = 0; i < rank; i++) {
+			if (newShape[i] < oldShape[i]) {
+				return null;
+			}
+		}
+
+		List<SliceND> regions = new ArrayList<>();
+		int[] box = oldShape.clone();
+		for (int i = rank - 1; i >= 0; i--) {
+			if (newShape[i] == oldShape[i]) {
+				continue;
+			}
+			int[] start = new int[rank];
+			start[i] = oldShape[i];
+			box[i] = newShape[i];
+			if (ShapeUtils.calcLongSize(box) > 0) {
+				regions.add(new SliceND(newShape, start, box.clone(), null));
+			}
+		}
+		return regions.toArray(new SliceND[regions.size()]);
+	}
+
 	@Override
 	public boolean refreshShape() {
 		if (loader instanceof ILazyDynamicLoader) {
@@ -218,8 +270,23 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 		return false;
 	}
 
+	/**
+	 * Refresh shape from loader and send event to listeners whether or not the shape changed
+	 * @param written regions of data that were written, can be null if not known
+	 * @since 3.0
+	 */
+	protected void refreshShape(SliceND[] written) {
+		if (!(loader instanceof ILazyDynamicLoader) || !resize(((ILazyDynamicLoader) loader).refreshShape(), written)) {
+			fireDataEvent(written);
+		}
+	}
+
 	@Override
 	public boolean resize(int... newShape) {
+		return resize(newShape, null);
+	}
+
+	private boolean resize(int[] newShape, SliceND[] written) {
 		int rank = shape.length;
 		if (newShape.length != rank) {
 			throw new IllegalArgumentException("Rank of new shape must match current shape");
@@ -245,7 +312,7 @@ public class LazyDynamicDataset extends LazyDataset implements IDynamicDataset {
 			size = Long.MAX_VALUE; // this indicates that the entire dataset cannot be read in! 
 		}
 
-		eventDelegate.fire(new DataEvent(name, shape));
+		fireDataEvent(written);
 		return true;
 	}
 
@@ -274,6 +274,85 @@ public final class LazyMaths {
 		return mean(0, Integer.MAX_VALUE -1 , data, ignoreAxes);
 	}
 
+	/**
+	 * Create a quantile sketch of all values in lazy dataset, loading it frame by frame
+	 * @param data lazy dataset
+	 * @param k accuracy parameter of sketch
+	 * @return sketch
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see QuantileSketch
+	 * @since 3.0
+	 */
+	public static QuantileSketch createQuantileSketch(final ILazyDataset data, int k) throws DatasetException {
+		QuantileSketch sketch = new QuantileSketch(k);
+		sketch.update(data);
+		return sketch;
+	}
+
+	/**
+	 * Calculate approximate quantiles of lazy dataset, loading it frame by frame. NaNs are ignored
+	 * @param data lazy dataset
+	 * @param values quantiles
+	 * @return points at which CDF has given values
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see QuantileSketch
+	 * @since 3.0
+	 */
+	public static double[] quantile(final ILazyDataset data, final double... values) throws DatasetException {
+		return createQuantileSketch(data, QuantileSketch.DEFAULT_K).getQuantiles(values);
+	}
+
+	/**
+	 * @param data lazy dataset
+	 * @return approximate median of lazy dataset
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see QuantileSketch
+	 * @since 3.0
+	 */
+	public static double median(final ILazyDataset data) throws DatasetException {
+		return quantile(data, 0.5)[0];
+	}
+
+	/**
+	 * @param data lazy dataset
+	 * @return approximate interquartile range of lazy dataset
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see QuantileSketch
+	 * @since 3.0
+	 */
+	public static double iqr(final ILazyDataset data) throws DatasetException {
+		double[] q = quantile(data, 0.25, 0.75);
+		return q[1] - q[0];
+	}
+
+	/**
+	 * Calculate the covariance matrix of lazy dataset, loading it block by block in a single pass
+	 * @param data lazy dataset of rank 1 or 2 containing multiple variable and observations
+	 * @param rowvar When true, each row is a variable; when false each column is a variable.
+	 * @param bias Default normalisation is (N - 1) - N is number of observations. If set true, normalisation is (N). 
+	 * @param ddof Default normalisation is (N - 1). If ddof is set, then normalisation is (N - ddof).
+	 * @return covariance array of data
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see Stats#covariance(Dataset, boolean, boolean, Integer)
+	 * @since 3.0
+	 */
+	public static Dataset covariance(final ILazyDataset data, boolean rowvar, boolean bias, Integer ddof) throws DatasetException {
+		return Maths.divide(CovarianceUtils.crossProducts(data, rowvar), Stats.getNormalisation(data, rowvar, bias, ddof)).squeeze();
+	}
+
+	/**
+	 * Calculate the correlation coefficient matrix of lazy dataset, loading it block by block in a single pass
+	 * @param data lazy dataset of rank 1 or 2 containing multiple variable and observations
+	 * @param rowvar When true, each row is a variable; when false each column is a variable.
+	 * @return correlation coefficient array of data
+	 * @throws DatasetException when data cannot be retrieved
+	 * @see Stats#correlation(Dataset, boolean)
+	 * @since 3.0
+	 */
+	public static Dataset correlation(final ILazyDataset data, boolean rowvar) throws DatasetException {
+		return Stats.toCorrelation(CovarianceUtils.crossProducts(data, rowvar));
+	}
+
 	private static Dataset prepareDataset(int axis, int[] shape, int[][] sliceInfo) {
 		int rank = shape.length;
 		axis = ShapeUtils.checkAxis(rank, axis);
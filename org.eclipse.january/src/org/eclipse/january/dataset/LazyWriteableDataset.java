@@ -313,9 +313,7 @@ public class LazyWriteableDataset extends LazyDynamicDataset implements ILazyWri
 		} catch (IOException e) {
 			throw new DatasetException("Could not save dataset", e);
 		}
-		if (!refreshShape()) { // send event as data has changed
-			eventDelegate.fire(new DataEvent(name, shape));
-		}
+		refreshShape(new SliceND[] {slice == null ? new SliceND(shape) : slice.clone()}); // send event as data has changed
 	}
 
 	/**
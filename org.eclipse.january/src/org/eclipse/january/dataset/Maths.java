@@ -2667,6 +2667,11 @@ public class Maths {
 	 */
 	public static Dataset difference(Dataset a, final int n, int axis) {
 		Dataset ds;
+		if (a instanceof HalfFloatDataset) { // as differences are taken on buffers
+			a = a.cast(FloatDataset.class);
+		} else if (a instanceof BufferDataset) {
+			a = a.cast(InterfaceUtils.findSubInterface(a.getClass()));
+		}
 		final Class<? extends Dataset> clazz = a.getClass();
 		final int rank = a.getRank();
 		final int is = a.getElementsPerItem();
@@ -0,0 +1,300 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.eclipse.january.dataset.LazyDatasetBase.MdsSlice;
+import org.eclipse.january.dataset.LazyDatasetBase.MetadatasetAnnotationOperation;
+import org.eclipse.january.metadata.MetadataType;
+
+/**
+ * Persistent store of metadata items keyed by metadata sub-interface. A store is never
+ * modified once published so it can be read without locking and shared between datasets.
+ * Modifications create new stores.
+ * <p>
+ * A store can be pending: it then refers to a source store whose items are cloned, and
+ * processed by a sequence of annotation operations (such as slicing), only when the store's
+ * items are first needed
+ */
+final class MetadataStore implements Serializable {
+	private static final long serialVersionUID = -3047195237311539946L;
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<MetadataStore, Map> MAP_UPDATER = AtomicReferenceFieldUpdater.newUpdater(MetadataStore.class, Map.class, "map");
+
+	private volatile Map<Class<? extends MetadataType>, List<MetadataType>> map; // unmodifiable
+	private transient volatile Pending pending; // only used when map is null
+
+	/**
+	 * Immutable state of a pending store. It is read through a single volatile field so a
+	 * reader sees all of it or, once the map is published and it is cleared, none of it
+	 */
+	private static final class Pending {
+		private final MetadataStore source;
+		private final List<MetadatasetAnnotationOperation> ops;
+		private final boolean skipDirtiable; // source items are to be treated as dirty
+
+		private Pending(MetadataStore source, List<MetadatasetAnnotationOperation> ops, boolean skipDirtiable) {
+			this.source = source;
+			this.ops = ops;
+			this.skipDirtiable = skipDirtiable;
+		}
+	}
+
+	/**
+	 * @param map unmodifiable map of unmodifiable lists
+	 */
+	private MetadataStore(Map<Class<? extends MetadataType>, List<MetadataType>> map) {
+		this.map = map;
+	}
+
+	private MetadataStore(MetadataStore source, List<MetadatasetAnnotationOperation> ops, boolean skipDirtiable) {
+		this.pending = new Pending(source, ops, skipDirtiable);
+	}
+
+	/**
+	 * @param map of lists of items, which are copied
+	 * @return store or null if map is null
+	 */
+	static MetadataStore create(Map<Class<? extends MetadataType>, List<MetadataType>> map) {
+		if (map == null) {
+			return null;
+		}
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = new LinkedHashMap<>();
+		for (Map.Entry<Class<? extends MetadataType>, List<MetadataType>> e : map.entrySet()) {
+			m.put(e.getKey(), freeze(new ArrayList<>(e.getValue())));
+		}
+		return new MetadataStore(Collections.unmodifiableMap(m));
+	}
+
+	private static List<MetadataType> freeze(List<MetadataType> l) {
+		return Collections.unmodifiableList(l);
+	}
+
+	/**
+	 * @return unmodifiable map of unmodifiable lists of items
+	 */
+	Map<Class<? extends MetadataType>, List<MetadataType>> getMap() {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = map;
+		if (m != null) {
+			return m;
+		}
+
+		final Pending p = pending;
+		if (p == null) { // another thread has just finished
+			return map;
+		}
+
+		m = cloneItems(p.source.getMap(), p.skipDirtiable);
+		for (MetadatasetAnnotationOperation op : p.ops) {
+			synchronized (op) { // operations can hold state while processing
+				LazyDatasetBase.processAnnotatedMetadata(m, op);
+			}
+		}
+		if (!MAP_UPDATER.compareAndSet(this, null, m)) {
+			return map; // use winner so items are unique
+		}
+		pending = null; // after map is published
+		return m;
+	}
+
+	private static Map<Class<? extends MetadataType>, List<MetadataType>> cloneItems(Map<Class<? extends MetadataType>, List<MetadataType>> in, boolean skipDirtiable) {
+		Map<Class<? extends MetadataType>, List<MetadataType>> out = new LinkedHashMap<>();
+		for (Map.Entry<Class<? extends MetadataType>, List<MetadataType>> e : in.entrySet()) {
+			List<MetadataType> l = e.getValue();
+			List<MetadataType> nl = new ArrayList<>(l.size());
+			for (MetadataType m : l) {
+				if (m == null || LazyDatasetBase.isMetadataDirty(m, skipDirtiable)) { // skip dirty metadata
+					continue;
+				}
+				nl.add(m.clone());
+			}
+			if (nl.isEmpty() && !l.isEmpty()) {
+				continue;
+			}
+			out.put(e.getKey(), freeze(nl));
+		}
+		return Collections.unmodifiableMap(out);
+	}
+
+	/**
+	 * @return true if items have not been cloned yet
+	 */
+	boolean isPending() {
+		return map == null;
+	}
+
+	/**
+	 * @return store sharing this store's items but without any dirty items
+	 */
+	MetadataStore share() {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = map;
+		if (m == null) { // dirty items are skipped when cloned
+			return this;
+		}
+
+		Map<Class<? extends MetadataType>, List<MetadataType>> out = null;
+		for (Map.Entry<Class<? extends MetadataType>, List<MetadataType>> e : m.entrySet()) {
+			List<MetadataType> l = e.getValue();
+			List<MetadataType> nl = null;
+			for (int i = 0, imax = l.size(); i < imax; i++) {
+				MetadataType t = l.get(i);
+				if (t == null || LazyDatasetBase.isMetadataDirty(t, false)) {
+					if (nl == null) {
+						nl = new ArrayList<>(l.subList(0, i));
+					}
+				} else if (nl != null) {
+					nl.add(t);
+				}
+			}
+			if (nl != null && out == null) {
+				out = new LinkedHashMap<>(m);
+			}
+			if (nl != null) {
+				if (nl.isEmpty()) {
+					out.remove(e.getKey());
+				} else {
+					out.put(e.getKey(), freeze(nl));
+				}
+			}
+		}
+		return out == null ? this : new MetadataStore(Collections.unmodifiableMap(out));
+	}
+
+	/**
+	 * @param skipDirtiable if true, skip any items that can be dirtied as the source dataset is dirty
+	 * @return pending store of clones of this store's items
+	 */
+	MetadataStore copy(boolean skipDirtiable) {
+		return new MetadataStore(this, Collections.<MetadatasetAnnotationOperation>emptyList(), skipDirtiable);
+	}
+
+	/**
+	 * Add an operation to a pending store. A slice is checked against the source's items so
+	 * an incompatible slice fails now rather than when the items are first accessed
+	 * @param op operation
+	 * @return pending store with same source and operation appended or null if the operation
+	 * needs to be done on this store's items
+	 * @throws IllegalArgumentException if slice is incompatible with items
+	 */
+	MetadataStore append(MetadatasetAnnotationOperation op) {
+		final Pending p = pending;
+		if (p == null) {
+			return null;
+		}
+		if (op instanceof MdsSlice) {
+			List<MdsSlice> slices = new ArrayList<>();
+			boolean[] skipped = new boolean[] {p.skipDirtiable};
+			Map<Class<? extends MetadataType>, List<MetadataType>> m = findSlices(slices, skipped);
+			if (m == null) { // shapes of items are not known without processing them
+				return null;
+			}
+			slices.add((MdsSlice) op);
+			LazyDatasetBase.checkSliceableMetadata(m, slices, skipped[0]);
+		}
+		List<MetadatasetAnnotationOperation> nops = new ArrayList<>(p.ops.size() + 1);
+		nops.addAll(p.ops);
+		nops.add(op);
+		return new MetadataStore(p.source, Collections.unmodifiableList(nops), p.skipDirtiable);
+	}
+
+	/**
+	 * Find items that this store's items will be processed from when they are all only to be sliced
+	 * @param slices list to add pending slice operations to, in order
+	 * @param skipped set true if any dirtiable items are to be skipped
+	 * @return items or null if there are pending operations other than slices
+	 */
+	private Map<Class<? extends MetadataType>, List<MetadataType>> findSlices(List<MdsSlice> slices, boolean[] skipped) {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = map;
+		if (m != null) {
+			return m;
+		}
+
+		final Pending p = pending;
+		if (p == null) { // another thread has just finished
+			return map;
+		}
+		skipped[0] |= p.skipDirtiable;
+		m = p.source.findSlices(slices, skipped);
+		if (m == null) {
+			return null;
+		}
+		for (MetadatasetAnnotationOperation op : p.ops) {
+			if (!(op instanceof MdsSlice)) {
+				return null;
+			}
+			slices.add((MdsSlice) op);
+		}
+		return m;
+	}
+
+	/**
+	 * @param clazz metadata sub-interface
+	 * @param item to add
+	 * @param clear if true, replace existing items
+	 * @return new store
+	 */
+	MetadataStore put(Class<? extends MetadataType> clazz, MetadataType item, boolean clear) {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = new LinkedHashMap<>(getMap());
+		List<MetadataType> l = m.get(clazz);
+		List<MetadataType> nl = l == null || clear ? new ArrayList<MetadataType>() : new ArrayList<>(l);
+		nl.add(item);
+		m.put(clazz, freeze(nl));
+		return new MetadataStore(Collections.unmodifiableMap(m));
+	}
+
+	/**
+	 * @param items lists of items to replace existing lists
+	 * @return new store
+	 */
+	MetadataStore putAll(Map<Class<? extends MetadataType>, List<MetadataType>> items) {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = new LinkedHashMap<>(getMap());
+		for (Map.Entry<Class<? extends MetadataType>, List<MetadataType>> e : items.entrySet()) {
+			m.put(e.getKey(), freeze(new ArrayList<>(e.getValue())));
+		}
+		return new MetadataStore(Collections.unmodifiableMap(m));
+	}
+
+	/**
+	 * @param clazz metadata sub-interface
+	 * @return new store with no items of given class
+	 */
+	MetadataStore clear(Class<? extends MetadataType> clazz) {
+		Map<Class<? extends MetadataType>, List<MetadataType>> m = getMap();
+		List<MetadataType> l = m.get(clazz);
+		if (l == null || l.isEmpty()) {
+			return this;
+		}
+		m = new LinkedHashMap<>(m);
+		m.put(clazz, Collections.<MetadataType>emptyList());
+		return new MetadataStore(Collections.unmodifiableMap(m));
+	}
+
+	/**
+	 * @return new empty store
+	 */
+	static MetadataStore empty() {
+		return new MetadataStore(Collections.<Class<? extends MetadataType>, List<MetadataType>>emptyMap());
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		getMap();
+		out.defaultWriteObject();
+	}
+}
@@ -9,6 +9,8 @@
 
 package org.eclipse.january.dataset;
 
+import java.util.Arrays;
+
 /**
  * Estimators of the scale of a Dataset.
  * <p>
@@ -17,15 +19,20 @@ package org.eclipse.january.dataset;
  * <ul>
  * <li> Median Absolute Deviation </li>
  * <li> S<sub>n</sub> of Croux and Rousseeuw (1992).</li>
+ * <li> Q<sub>n</sub> of Croux and Rousseeuw (1992).</li>
  * </ul> 
  * <p>
+ * The estimators work on primitive copies of the data and can be evaluated along an axis, say,
+ * to process each pixel of a stack of frames. No finite sample corrections are applied.
+ * <p>
  * Croux, C. and P. J. Rousseeuw, "Time-efficient algorithms for two highly robust estimators of scale", Computational Statistics, Volume 1, eds. Y. Dodge and J.Whittaker, Physica-Verlag, Heidelberg, pp411--428 (1992).
  */
 public class Outliers {
 
 	private final static double MADSCALEFACTOR = 1.4826;
 	private final static double SNSCALEFACTOR = 1.1926;
-	
+	private final static double QNSCALEFACTOR = 2.2219;
+
 	/**
 	 * Returns the Median Absolute Deviation (MAD) and the median. 
 	 * @param data
@@ -33,16 +40,30 @@ public class Outliers {
 	 * @return A two-element array of doubles, consisting of the MAD and the median of the data
 	 */
 	public static double[] medianAbsoluteDeviation(Dataset data) {
-		
-		double median = (Double)Stats.median(data);
-		data = Maths.subtract(data, median);
-		data = Maths.abs(data);
-		double median2 = (Double)Stats.median(data);
-		double mad = MADSCALEFACTOR * median2;
-		
-		return new double[]{mad, median};
+		double[] values = toArray(data);
+		double[] result = new double[2];
+		mad(values, values.length, result);
+		return result;
 	}
-	
+
+	/**
+	 * Returns the Median Absolute Deviation (MAD) and the median along an axis.
+	 * @param data
+	 * 			The data for which the median and the MAD are to be calculated
+	 * @param axis
+	 * 			The axis to reduce along
+	 * @return A two-element array of datasets, consisting of the MAD and the median of the data
+	 * @since 3.0
+	 */
+	public static Dataset[] medianAbsoluteDeviation(Dataset data, int axis) {
+		return reduce(data, axis, 2, new Estimator() {
+			@Override
+			public void estimate(double[] values, int n, Workspace w, double[] result) {
+				mad(values, n, result);
+			}
+		});
+	}
+
 	/**
 	 * Returns the Sn estimator of Croux and Rousseeuw.
 	 * <p>
@@ -78,33 +99,486 @@ public class Outliers {
 	/**
 	 * Returns the Sn estimator of Croux and Rousseeuw.
 	 * <p>
-	 * This is the complex O(nlog n) version of the calculation algorithm.
+	 * This is the complex O(nlog n) version of the calculation algorithm. The
+	 * medians for each item are found in parallel for large datasets.
 	 * @param data
 	 * 			The data for which the estimator is to be calculated.
 	 * @return The value of the Sn estimator for the data
 	 */
 	public static double snFast(Dataset data) {
-		
-		Dataset sorted = data.clone();
-		sorted.sort(null);
-		
-		Dataset medAbs = DatasetFactory.zeros(data);
-		
+		double[] values = toArray(data);
+		Arrays.sort(values);
+		return sn(values, values.length, new double[values.length], true);
+	}
+
+	/**
+	 * Returns the Sn estimator of Croux and Rousseeuw along an axis.
+	 * @param data
+	 * 			The data for which the estimator is to be calculated.
+	 * @param axis
+	 * 			The axis to reduce along
+	 * @return The values of the Sn estimator for the data
+	 * @since 3.0
+	 */
+	public static Dataset snFast(Dataset data, int axis) {
+		return reduce(data, axis, 1, new Estimator() {
+			@Override
+			public void estimate(double[] values, int n, Workspace w, double[] result) {
+				Arrays.sort(values, 0, n);
+				result[0] = sn(values, n, w.a, false);
+			}
+		})[0];
+	}
+
+	/**
+	 * Returns the Qn estimator of Croux and Rousseeuw.
+	 * <p>
+	 * This is the O(nlog n) version of the calculation algorithm that uses weighted
+	 * medians to search the pairwise differences.
+	 * @param data
+	 * 			The data for which the estimator is to be calculated.
+	 * @return The value of the Qn estimator for the data
+	 * @since 3.0
+	 */
+	public static double qn(Dataset data) {
+		double[] values = toArray(data);
+		Arrays.sort(values);
+		return qn(values, values.length, new Workspace(values.length));
+	}
+
+	/**
+	 * Returns the Qn estimator of Croux and Rousseeuw along an axis.
+	 * @param data
+	 * 			The data for which the estimator is to be calculated.
+	 * @param axis
+	 * 			The axis to reduce along
+	 * @return The values of the Qn estimator for the data
+	 * @since 3.0
+	 */
+	public static Dataset qn(Dataset data, int axis) {
+		return reduce(data, axis, 1, new Estimator() {
+			@Override
+			public void estimate(double[] values, int n, Workspace w, double[] result) {
+				Arrays.sort(values, 0, n);
+				result[0] = qn(values, n, w);
+			}
+		})[0];
+	}
+
+	private static double[] toArray(Dataset data) {
+		double[] values = new double[data.getSize()];
 		IndexIterator it = data.getIterator();
-		int count = 0;
-		while (it.hasNext()) {
-			MedianOfTwoSortedSets snuff = new MedianForSn(sorted, it.index);
-			medAbs.setObjectAbs(count++, snuff.get());
+		for (int i = 0; it.hasNext(); i++) {
+			values[i] = data.getElementDoubleAbs(it.index);
 		}
-		
-		
+		return values;
+	}
+
+	/**
+	 * Scratch arrays used by estimators
+	 */
+	private static class Workspace {
+		final double[] a;
+		final double[] b;
+		final double[] c;
+		final int[] left;
+		final int[] right;
+		final int[] weight;
+		final int[] p;
+		final int[] q;
+
+		Workspace(int n) {
+			a = new double[n];
+			b = new double[n];
+			c = new double[n];
+			left = new int[n];
+			right = new int[n];
+			weight = new int[n];
+			p = new int[n];
+			q = new int[n];
+		}
+	}
+
+	private interface Estimator {
+		/**
+		 * @param values items (can be overwritten)
+		 * @param n number of items
+		 * @param w workspace
+		 * @param result estimates
+		 */
+		void estimate(double[] values, int n, Workspace w, double[] result);
+	}
+
+	/**
+	 * Apply estimator to each line of data along axis. Lines are processed in parallel
+	 * @return datasets of estimates
+	 */
+	private static Dataset[] reduce(final Dataset data, int axis, final int outputs, final Estimator estimator) {
+		axis = data.checkAxis(axis);
+		final int[] shape = data.getShapeRef();
+		final int n = shape[axis];
+		if (n < 2) {
+			throw new IllegalArgumentException("Axis must have at least two items");
+		}
+
+		final int[] keepShape = ShapeUtils.getReducedShapeKeepRank(shape, axis);
+		final int lines = ShapeUtils.calcSize(keepShape);
+		final DoubleDataset[] results = new DoubleDataset[outputs];
+		final double[][] rdata = new double[outputs][];
+		for (int j = 0; j < outputs; j++) {
+			results[j] = DatasetFactory.zeros(DoubleDataset.class, ShapeUtils.reduceShape(shape, axis));
+			rdata[j] = results[j].getData();
+		}
+
+		final int a = axis;
+		ParallelUtils.forRange(lines, 16L * n * (32 - Integer.numberOfLeadingZeros(n)), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				Workspace w = new Workspace(n);
+				double[] values = new double[n];
+				double[] result = new double[outputs];
+				for (int l = start; l < end; l++) {
+					int[] pos = ShapeUtils.getNDPositionFromShape(l, keepShape);
+					int index = data.get1DIndex(pos);
+					pos[a] = 1;
+					int step = data.get1DIndex(pos) - index;
+					for (int i = 0; i < n; i++, index += step) {
+						values[i] = data.getElementDoubleAbs(index);
+					}
+					estimator.estimate(values, n, w, result);
+					for (int j = 0; j < outputs; j++) {
+						rdata[j][l] = result[j];
+					}
+				}
+			}
+		});
+		return results;
+	}
+
+	/**
+	 * Find MAD and median of items
+	 * @param values items (which are overwritten)
+	 * @param n number of items
+	 * @param result MAD and median
+	 */
+	private static void mad(double[] values, int n, double[] result) {
+		double median = median(values, n);
+		for (int i = 0; i < n; i++) {
+			values[i] = Math.abs(values[i] - median);
+		}
+		result[0] = MADSCALEFACTOR * median(values, n);
+		result[1] = median;
+	}
+
+	/**
+	 * @param values items (which are reordered)
+	 * @param n number of items
+	 * @return median (mean of central pair if n is even)
+	 */
+	private static double median(double[] values, int n) {
+		int k = (n - 1) / 2;
+		double m = select(values, 0, n, k);
+		if (n % 2 == 0) {
+			double u = values[k + 1];
+			for (int i = k + 2; i < n; i++) {
+				if (values[i] < u) {
+					u = values[i];
+				}
+			}
+			m = 0.5 * m + 0.5 * u;
+		}
+		return m;
+	}
+
+	/**
+	 * Partially sort range of values so that given position holds the value it would have if
+	 * the range was sorted
+	 * @param values items (which are reordered)
+	 * @param from first position (inclusive)
+	 * @param to last position (exclusive)
+	 * @param k position to select
+	 * @return selected value
+	 */
+	private static double select(double[] values, int from, int to, int k) {
+		int lo = from;
+		int hi = to - 1;
+		while (hi > lo) {
+			int mid = (lo + hi) >>> 1;
+			if (values[mid] < values[lo]) {
+				swap(values, lo, mid);
+			}
+			if (values[hi] < values[lo]) {
+				swap(values, lo, hi);
+			}
+			if (values[hi] < values[mid]) {
+				swap(values, mid, hi);
+			}
+			double pivot = values[mid];
+			int i = lo;
+			int j = hi;
+			while (i <= j) {
+				while (values[i] < pivot) {
+					i++;
+				}
+				while (values[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(values, i++, j--);
+				}
+			}
+			if (k <= j) {
+				hi = j;
+			} else if (k >= i) {
+				lo = i;
+			} else {
+				break;
+			}
+		}
+		return values[k];
+	}
+
+	private static void swap(double[] values, int i, int j) {
+		double t = values[i];
+		values[i] = values[j];
+		values[j] = t;
+	}
+
+	/**
+	 * @param sorted items in ascending order
+	 * @param n number of items
+	 * @param medians array for lower medians of distances
+	 * @param parallel if true, find medians in parallel
+	 * @return Sn
+	 */
+	private static double sn(final double[] sorted, final int n, final double[] medians, boolean parallel) {
+		if (n < 2) {
+			throw new IllegalArgumentException("Data must have at least two items");
+		}
+
+		ParallelUtils.RangeTask task = new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					medians[i] = snMedian(sorted, n, i);
+				}
+			}
+		};
+		if (parallel) {
+			ParallelUtils.forRange(n, 8 * (32 - Integer.numberOfLeadingZeros(n)), task);
+		} else {
+			task.run(0, n);
+		}
+
 		//Higher median - Math.floor((n+1)/2) of sorted
-		medAbs.sort(null);
-		double median = highMed(medAbs);
-		
-		return median * SNSCALEFACTOR;
+		return select(medians, 0, n, (n + 1) / 2 - 1) * SNSCALEFACTOR;
 	}
-	
+
+	/**
+	 * Lower median of distances from an item to all others. The distances to lower and upper items
+	 * form two sorted sets and their overall median is found with a binary search in O(log n)
+	 * @param sorted items in ascending order
+	 * @param n number of items
+	 * @param r index of reference item
+	 * @return lomed of distances
+	 */
+	private static double snMedian(final double[] sorted, final int n, final int r) {
+		final int lowerSize = r;
+		final int upperSize = n - r - 1;
+		final boolean lowerIsSmaller = lowerSize <= upperSize; // set A is smaller than set B
+		final int nA = lowerIsSmaller ? lowerSize : upperSize;
+		final int sizeB = lowerIsSmaller ? upperSize : lowerSize;
+		final int diffLeft = (sizeB - nA) / 2;
+
+		// Initialize the left and right markers for the set of candidate values. These are inclusive.
+		int leftA = 0;
+		int leftB = 0;
+		int rightB = sizeB - 1;
+		int nB = sizeB;
+		while (nB > 1) {
+			// For 0-based indexing, the lomed is the element at floor((n+1)/2)-1
+			int medianIndex = (nB + 1) / 2 - 1;
+			int medianAIndex = leftA + medianIndex;
+			int medianBIndex = leftB + medianIndex;
+			double medA = snDistance(sorted, r, medianAIndex - diffLeft, nA, lowerIsSmaller);
+			double medB = snDistance(sorted, r, medianBIndex, sizeB, !lowerIsSmaller);
+
+			// N even: the smaller lomed, as well as anything smaller than it, cannot be the overall median
+			int smallerShift = nB % 2 == 0 ? 1 : 0;
+			if (medA >= medB) {
+				leftB = medianBIndex + smallerShift;
+			} else {
+				rightB = medianBIndex;
+				leftA = medianAIndex + smallerShift;
+			}
+			nB = rightB - leftB + 1;
+		}
+
+		// The lomed of a two element array is the smaller of the two
+		return Math.min(snDistance(sorted, r, leftA - diffLeft, nA, lowerIsSmaller),
+				snDistance(sorted, r, leftB, sizeB, !lowerIsSmaller));
+	}
+
+	/**
+	 * @param sorted items in ascending order
+	 * @param r index of reference item
+	 * @param i index of distance (can be outside set, in which case the set is padded with infinities)
+	 * @param size size of set
+	 * @param lower if true, use distances to lower items
+	 * @return distance
+	 */
+	private static double snDistance(final double[] sorted, final int r, final int i, final int size, final boolean lower) {
+		if (i < 0) {
+			return Double.NEGATIVE_INFINITY;
+		} else if (i >= size) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return lower ? sorted[r] - sorted[r - 1 - i] : sorted[r + 1 + i] - sorted[r];
+	}
+
+	/**
+	 * Find the kth smallest pairwise difference, where k = h(h-1)/2 and h = n/2 + 1, by
+	 * searching the implicitly sorted rows of differences. In each pass, a trial value is
+	 * the weighted median of the middle candidates of all rows and the candidates in each
+	 * row are trimmed by counting differences lower than or equal to the trial value
+	 * @param sorted items in ascending order
+	 * @param n number of items
+	 * @param w workspace
+	 * @return Qn
+	 */
+	private static double qn(final double[] sorted, final int n, final Workspace w) {
+		if (n < 2) {
+			throw new IllegalArgumentException("Data must have at least two items");
+		}
+
+		final int h = n / 2 + 1;
+		final long k = (long) h * (h - 1) / 2;
+
+		// row i holds differences y[i] - y[i-1-t] (ascending in t) and candidates lie in [left, right]
+		final int[] left = w.left;
+		final int[] right = w.right;
+		for (int i = 0; i < n; i++) {
+			left[i] = 0;
+			right[i] = i - 1;
+		}
+		long below = 0; // number of differences that are lower than all candidates
+		long candidates = (long) n * (n - 1) / 2;
+
+		final double[] work = w.a;
+		final int[] weight = w.weight;
+		final int[] p = w.p;
+		final int[] q = w.q;
+		while (candidates > n) {
+			int m = 0;
+			for (int i = 1; i < n; i++) {
+				if (left[i] <= right[i]) {
+					int c = right[i] - left[i] + 1;
+					work[m] = sorted[i] - sorted[i - 1 - left[i] - (c - 1) / 2];
+					weight[m++] = c;
+				}
+			}
+			final double trial = weightedMedian(work, weight, m, w.b);
+
+			// count differences lower than (p) and no greater than (q) trial in each row
+			long sumP = 0;
+			long sumQ = 0;
+			int jp = 0;
+			int jq = 0;
+			for (int i = 0; i < n; i++) {
+				while (jp < i && sorted[i] - sorted[jp] >= trial) {
+					jp++;
+				}
+				while (jq < i && sorted[i] - sorted[jq] > trial) {
+					jq++;
+				}
+				p[i] = i - Math.min(jp, i);
+				q[i] = i - Math.min(jq, i);
+				sumP += p[i];
+				sumQ += q[i];
+			}
+
+			if (k <= sumP) {
+				for (int i = 0; i < n; i++) {
+					right[i] = Math.min(right[i], p[i] - 1);
+				}
+			} else if (k > sumQ) {
+				for (int i = 0; i < n; i++) {
+					left[i] = Math.max(left[i], q[i]);
+				}
+			} else {
+				return trial * QNSCALEFACTOR;
+			}
+
+			below = 0;
+			candidates = 0;
+			for (int i = 0; i < n; i++) {
+				below += left[i];
+				if (left[i] <= right[i]) {
+					candidates += right[i] - left[i] + 1;
+				}
+			}
+		}
+
+		int m = 0;
+		for (int i = 1; i < n; i++) {
+			for (int t = left[i]; t <= right[i]; t++) {
+				work[m++] = sorted[i] - sorted[i - 1 - t];
+			}
+		}
+		return select(work, 0, m, (int) (k - below - 1)) * QNSCALEFACTOR;
+	}
+
+	/**
+	 * Find lower weighted median
+	 * @param values (which are overwritten)
+	 * @param weights (which are overwritten)
+	 * @param n number of values
+	 * @param scratch array
+	 * @return smallest value where the sum of weights of items no greater than it is at least half the total
+	 */
+	private static double weightedMedian(final double[] values, final int[] weights, int n, final double[] scratch) {
+		long total = 0;
+		for (int i = 0; i < n; i++) {
+			total += weights[i];
+		}
+
+		long rest = 0; // weight of discarded values that are lower than the candidates
+		while (true) {
+			System.arraycopy(values, 0, scratch, 0, n);
+			double trial = select(scratch, 0, n, n / 2);
+			long lower = 0;
+			long equal = 0;
+			for (int i = 0; i < n; i++) {
+				if (values[i] < trial) {
+					lower += weights[i];
+				} else if (values[i] == trial) {
+					equal += weights[i];
+				}
+			}
+
+			int m = 0;
+			if (2 * (rest + lower) > total) {
+				for (int i = 0; i < n; i++) {
+					if (values[i] < trial) {
+						values[m] = values[i];
+						weights[m++] = weights[i];
+					}
+				}
+			} else if (2 * (rest + lower + equal) > total) {
+				return trial;
+			} else {
+				for (int i = 0; i < n; i++) {
+					if (values[i] > trial) {
+						values[m] = values[i];
+						weights[m++] = weights[i];
+					}
+				}
+				rest += lower + equal;
+			}
+			n = m;
+		}
+	}
+
 	/**
 	 * Returns the lomed
 	 * <p>
@@ -249,44 +723,3 @@ class MedianOfTwoArrays extends MedianOfTwoSortedSets {
 		return b[i];
 	}
 }
-
-class MedianForSn extends MedianOfTwoSortedSets {
-	Dataset xj;
-	int referenceIndex;
-	boolean lowerIsBigger;
-
-	public MedianForSn(Dataset xj, int referenceIndex) {
-		this.xj = xj;
-		this.referenceIndex = referenceIndex;
-
-		// determine which of the two halves of the array is larger
-		int lowerSize = referenceIndex, upperSize = xj.getSize() - referenceIndex - 1;
-		lowerIsBigger = lowerSize > upperSize;
-
-		// Set the array sizes
-		if (lowerIsBigger) {
-			nA = upperSize;
-			nB = lowerSize;
-		} else {
-			nA = lowerSize;
-			nB = upperSize;
-		}
-		setDiffs();
-	}
-
-	@Override
-	protected double getA(int i) {
-		return (!lowerIsBigger) ? getLower(i) : getUpper(i);
-	}
-	@Override
-	protected double getB(int i) {
-		return (!lowerIsBigger) ? getUpper(i) : getLower(i);
-	}
-	
-	private double getLower(int i) {
-		return xj.getDouble(referenceIndex) - xj.getDouble(referenceIndex - 1 - i);
-	}
-	private double getUpper(int i) {
-		return xj.getDouble(i + referenceIndex + 1) - xj.getDouble(referenceIndex);
-	}
-}
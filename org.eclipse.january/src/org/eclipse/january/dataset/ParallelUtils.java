@@ -0,0 +1,103 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Helper to split loops over ranges of items between threads of the common fork-join pool
+ */
+final class ParallelUtils {
+
+	/**
+	 * Minimum number of (elemental) operations given to a thread
+	 */
+	static final long GRAIN = 1L << 15;
+
+	private ParallelUtils() {
+	}
+
+	/**
+	 * Task that processes a range of items
+	 */
+	interface RangeTask {
+		/**
+		 * @param start first item (inclusive)
+		 * @param end last item (exclusive)
+		 */
+		void run(int start, int end);
+	}
+
+	/**
+	 * @return number of threads that can be used
+	 */
+	static int getParallelism() {
+		return ForkJoinPool.getCommonPoolParallelism();
+	}
+
+	/**
+	 * @param n number of items
+	 * @param cost estimated number of operations per item
+	 * @return true if it is worth running the items in parallel
+	 */
+	static boolean isWorthwhile(int n, long cost) {
+		return n > 1 && getParallelism() > 1 && n * Math.max(1, cost) >= 2 * GRAIN;
+	}
+
+	/**
+	 * Run task over range of items in parallel, if worthwhile, otherwise in the calling thread.
+	 * Any runtime exception thrown by the task is re-thrown
+	 * @param n number of items
+	 * @param cost estimated number of operations per item
+	 * @param task
+	 */
+	static void forRange(final int n, final long cost, final RangeTask task) {
+		if (!isWorthwhile(n, cost)) {
+			if (n > 0) {
+				task.run(0, n);
+			}
+			return;
+		}
+
+		long c = Math.max(1, cost);
+		int chunks = (int) Math.min(n, Math.min(4L * getParallelism(), n * c / GRAIN));
+		int size = (n + chunks - 1) / chunks;
+		ForkJoinPool.commonPool().invoke(new RangeAction(task, 0, n, size));
+	}
+
+	@SuppressWarnings("serial")
+	private static class RangeAction extends RecursiveAction {
+		private final RangeTask task;
+		private final int start;
+		private final int end;
+		private final int size;
+
+		RangeAction(RangeTask task, int start, int end, int size) {
+			this.task = task;
+			this.start = start;
+			this.end = end;
+			this.size = size;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= size) {
+				task.run(start, end);
+			} else {
+				int mid = start + ((end - start) / size / 2) * size;
+				if (mid == start) {
+					mid += size;
+				}
+				invokeAll(new RangeAction(task, start, mid, size), new RangeAction(task, mid, end, size));
+			}
+		}
+	}
+}
@@ -0,0 +1,532 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.eclipse.january.DatasetException;
+
+/**
+ * Mergeable sketch of a stream of values that gives approximate quantiles and ranks using bounded
+ * memory. This is a KLL sketch (Karnin, Lang and Liberty, 2016) that holds values in a hierarchy
+ * of compactors where each level holds values that represent twice as many values as the level
+ * below. When a level is full, every other value of the sorted level, from a random start, is
+ * promoted to the next level. Levels above the lowest are kept sorted so promoted values are
+ * merged into them.
+ * <p>
+ * The accuracy is set by a parameter k, which is the capacity of the top level. The normalized rank
+ * error of a quantile is approximately {@link #getNormalizedRankError(int)} with high probability.
+ * The number of values held is bounded by about 3k. Sketches of parts of a dataset, made in different
+ * threads or processes, can be merged to give a sketch of the whole. Sketches can be serialized.
+ * <p>
+ * NaNs are ignored. Quantiles are values that have been given to the sketch. This class is not
+ * thread-safe but updates with datasets use multiple threads.
+ * @since 3.0
+ */
+public class QuantileSketch implements Serializable {
+	private static final long serialVersionUID = -2706395728468727931L;
+
+	/**
+	 * Default value of k, which gives a normalized rank error of about 1.3%
+	 */
+	public static final int DEFAULT_K = 200;
+
+	private static final int MIN_K = 8;
+
+	/**
+	 * Minimum capacity of a level
+	 */
+	private static final int MIN_WIDTH = 8;
+
+	/**
+	 * Ratio of capacities of adjacent levels
+	 */
+	private static final double C = 2. / 3;
+
+	/**
+	 * Maximum number of elements to load at once from lazy datasets
+	 */
+	private static final int BATCH_SIZE = 1 << 22;
+
+	/**
+	 * Number of elements converted to doubles at a time
+	 */
+	private static final int CHUNK = 1 << 12;
+
+	private final int k;
+	private double[][] levels = new double[0][]; // values of each level, level h has weight 2^h
+	private int[] sizes = new int[0];
+	private int[] capacities = new int[0];
+	private int maxSize;
+	private int retained;
+	private long count;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private long seed;
+
+	private transient double[] sortedValues; // all values in order
+	private transient long[] sortedRanks; // cumulative weights of sorted values
+
+	/**
+	 * Create sketch with default accuracy
+	 */
+	public QuantileSketch() {
+		this(DEFAULT_K);
+	}
+
+	/**
+	 * Create sketch
+	 * @param k accuracy parameter (minimum of 8)
+	 */
+	public QuantileSketch(int k) {
+		if (k < MIN_K) {
+			throw new IllegalArgumentException("Accuracy parameter must be at least " + MIN_K);
+		}
+		this.k = k;
+		seed = 0x9e3779b97f4a7c15L ^ System.nanoTime();
+		grow();
+	}
+
+	/**
+	 * @param epsilon normalized rank error
+	 * @return sketch whose normalized rank error is about given error or less
+	 */
+	public static QuantileSketch createFromRankError(double epsilon) {
+		if (!(epsilon > 0 && epsilon < 1)) {
+			throw new IllegalArgumentException("Rank error must be in (0, 1)");
+		}
+		double k = Math.pow(2.296 / epsilon, 1 / 0.9723);
+		return new QuantileSketch((int) Math.max(MIN_K, Math.min(Integer.MAX_VALUE / 4, Math.ceil(k))));
+	}
+
+	/**
+	 * @param k accuracy parameter
+	 * @return approximate normalized rank error of quantiles
+	 */
+	public static double getNormalizedRankError(int k) {
+		return 2.296 / Math.pow(k, 0.9723);
+	}
+
+	/**
+	 * @return approximate normalized rank error of quantiles
+	 */
+	public double getNormalizedRankError() {
+		return getNormalizedRankError(k);
+	}
+
+	/**
+	 * @return accuracy parameter
+	 */
+	public int getK() {
+		return k;
+	}
+
+	/**
+	 * @return number of values given to sketch
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return true if no values have been given
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * @return number of values held
+	 */
+	public int getRetained() {
+		return retained;
+	}
+
+	/**
+	 * @return minimum value or NaN if empty
+	 */
+	public double getMinimum() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	/**
+	 * @return maximum value or NaN if empty
+	 */
+	public double getMaximum() {
+		return count == 0 ? Double.NaN : max;
+	}
+
+	private void grow() {
+		int n = levels.length + 1;
+		levels = Arrays.copyOf(levels, n);
+		sizes = Arrays.copyOf(sizes, n);
+		capacities = new int[n];
+		maxSize = 0;
+		for (int h = 0; h < n; h++) {
+			capacities[h] = Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(C, n - h - 1)));
+			maxSize += capacities[h];
+		}
+		levels[n - 1] = new double[capacities[n - 1]];
+	}
+
+	private boolean nextBit() {
+		long x = seed; // xorshift64
+		x ^= x << 13;
+		x ^= x >>> 7;
+		x ^= x << 17;
+		seed = x;
+		return (x & 1) != 0;
+	}
+
+	private void add(int h, double v) {
+		if (sizes[h] == levels[h].length) {
+			levels[h] = Arrays.copyOf(levels[h], 2 * sizes[h]);
+		}
+		levels[h][sizes[h]++] = v;
+		retained++;
+	}
+
+	/**
+	 * Compact levels until number of values held is below maximum
+	 */
+	private void compress() {
+		while (retained >= maxSize) {
+			for (int h = 0; h < levels.length; h++) {
+				if (sizes[h] >= capacities[h]) {
+					if (h + 1 == levels.length) {
+						grow();
+					}
+					compact(h);
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sort level, unless it is above level 0 and so already sorted, and promote every other value
+	 * @param h level
+	 */
+	private void compact(int h) {
+		double[] l = levels[h];
+		int n = sizes[h];
+		if (h == 0) {
+			sort(l, n);
+		}
+		int m = n & ~1; // leave any odd value at level
+		mergeInto(h + 1, l, nextBit() ? 1 : 0, 2, m / 2);
+		if (m < n) {
+			l[0] = l[m];
+		}
+		sizes[h] = n - m;
+		retained -= m;
+	}
+
+	private static void sort(double[] l, int n) {
+		if (n > 32) {
+			Arrays.sort(l, 0, n);
+			return;
+		}
+		for (int i = 1; i < n; i++) { // insertion sort is faster for small levels
+			double v = l[i];
+			int j = i - 1;
+			for (; j >= 0 && l[j] > v; j--) {
+				l[j + 1] = l[j];
+			}
+			l[j + 1] = v;
+		}
+	}
+
+	/**
+	 * Merge sorted values into sorted level
+	 * @param h level above 0
+	 * @param src source of values
+	 * @param start index of first value
+	 * @param step between values
+	 * @param n number of values
+	 */
+	private void mergeInto(int h, double[] src, int start, int step, int n) {
+		int t = sizes[h];
+		if (t + n > levels[h].length) {
+			levels[h] = Arrays.copyOf(levels[h], Math.max(t + n, 2 * t));
+		}
+		double[] l = levels[h];
+		int i = t - 1;
+		int j = start + (n - 1) * step;
+		for (int o = t + n - 1; j >= start; o--) { // merge from end
+			if (i >= 0 && l[i] > src[j]) {
+				l[o] = l[i--];
+			} else {
+				l[o] = src[j];
+				j -= step;
+			}
+		}
+		sizes[h] = t + n;
+		retained += n;
+	}
+
+	/**
+	 * Update with value
+	 * @param v value
+	 */
+	public void update(double v) {
+		if (Double.isNaN(v)) {
+			return;
+		}
+		sortedValues = null;
+		count++;
+		if (v < min) {
+			min = v;
+		}
+		if (v > max) {
+			max = v;
+		}
+		add(0, v);
+		if (retained >= maxSize) {
+			compress();
+		}
+	}
+
+	/**
+	 * Update with values
+	 * @param values
+	 * @param off offset
+	 * @param n number of values
+	 */
+	public void update(double[] values, int off, int n) {
+		for (int i = off, end = off + n; i < end; i++) {
+			update(values[i]);
+		}
+	}
+
+	/**
+	 * Update with all values of dataset. Large datasets are split between threads
+	 * @param dataset numerical dataset of single-element items
+	 */
+	public void update(IDataset dataset) {
+		final Object b = getData(DatasetUtils.convertToDataset(dataset));
+		final int size = dataset.getSize();
+		if (!ParallelUtils.isWorthwhile(size, 64)) {
+			double[] x = new double[CHUNK];
+			for (int i = 0; i < size; i += CHUNK) {
+				int n = Math.min(CHUNK, size - i);
+				CopyUtils.toDouble(b, i, x, n);
+				update(x, 0, n);
+			}
+			return;
+		}
+
+		final QuantileSketch[] parts = new QuantileSketch[4 * ParallelUtils.getParallelism()];
+		final int chunk = (size + parts.length - 1) / parts.length;
+		ParallelUtils.forRange(parts.length, 64L * chunk, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int p = start; p < end; p++) {
+					QuantileSketch s = new QuantileSketch(k);
+					double[] x = new double[CHUNK];
+					for (int i = p * chunk, iend = Math.min(size, i + chunk); i < iend; i += CHUNK) {
+						int n = Math.min(CHUNK, iend - i);
+						CopyUtils.toDouble(b, i, x, n);
+						s.update(x, 0, n);
+					}
+					parts[p] = s;
+				}
+			}
+		});
+		for (QuantileSketch s : parts) {
+			merge(s);
+		}
+	}
+
+	/**
+	 * @param d dataset
+	 * @return contiguous primitive array
+	 */
+	private static Object getData(Dataset d) {
+		if (d.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Dataset must have single-element items");
+		}
+		if (d instanceof BooleanDataset) {
+			d = DatasetUtils.cast(ByteDataset.class, d);
+		} else if (InterfaceUtils.isBufferEncoded(d.getClass())) { // as buffer is read directly
+			d = DatasetUtils.cast(InterfaceUtils.getLargestInterface(d), d);
+		} else if (!InterfaceUtils.isInteger(d.getClass()) && !InterfaceUtils.isFloating(d.getClass())) {
+			throw new IllegalArgumentException("Dataset must be numerical");
+		}
+		if (!(d instanceof AbstractDataset && ((AbstractDataset) d).isContiguous())) {
+			d = d.clone();
+		}
+		return d.getBuffer();
+	}
+
+	/**
+	 * Update with all values of lazy dataset, loaded frame by frame in batches along its first
+	 * dimension
+	 * @param dataset lazy dataset
+	 * @throws DatasetException if dataset could not be loaded
+	 */
+	public void update(ILazyDataset dataset) throws DatasetException {
+		if (dataset instanceof IDataset) {
+			update((IDataset) dataset);
+			return;
+		}
+		int[] shape = dataset.getShape();
+		if (shape.length == 0 || shape[0] == 0) {
+			update(dataset.getSlice());
+			return;
+		}
+		long frame = Math.max(1, ShapeUtils.calcLongSize(shape) / shape[0]);
+		int frames = (int) Math.max(1, BATCH_SIZE / frame);
+		SliceND slice = new SliceND(shape);
+		for (int i = 0; i < shape[0]; i += frames) {
+			slice.setSlice(0, i, (int) Math.min(shape[0], (long) i + frames), 1);
+			update(dataset.getSlice(slice));
+		}
+	}
+
+	/**
+	 * Merge another sketch into this one. The accuracy of this sketch is kept
+	 * @param other sketch, which is not modified
+	 */
+	public void merge(QuantileSketch other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Sketch cannot be merged with itself");
+		}
+		if (other.count == 0) {
+			return;
+		}
+		sortedValues = null;
+		while (levels.length < other.levels.length) {
+			grow();
+		}
+		double[] l = other.levels[0];
+		for (int i = 0, n = other.sizes[0]; i < n; i++) {
+			add(0, l[i]);
+		}
+		for (int h = 1; h < other.levels.length; h++) {
+			mergeInto(h, other.levels[h], 0, 1, other.sizes[h]);
+		}
+		count += other.count;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		seed ^= other.seed;
+		compress();
+	}
+
+	private void sort() {
+		if (sortedValues != null) {
+			return;
+		}
+		double[] values = new double[0];
+		long[] weights = new long[0];
+		for (int h = 0; h < levels.length; h++) {
+			int n = sizes[h];
+			double[] l = Arrays.copyOf(levels[h], n);
+			Arrays.sort(l);
+			double[] nv = new double[values.length + n];
+			long[] nw = new long[nv.length];
+			long w = 1L << h;
+			int i = 0, j = 0, o = 0;
+			while (i < values.length || j < n) { // merge sorted values of level
+				if (j == n || (i < values.length && values[i] <= l[j])) {
+					nv[o] = values[i];
+					nw[o++] = weights[i++];
+				} else {
+					nv[o] = l[j++];
+					nw[o++] = w;
+				}
+			}
+			values = nv;
+			weights = nw;
+		}
+		long r = 0;
+		for (int i = 0; i < weights.length; i++) {
+			r += weights[i];
+			weights[i] = r;
+		}
+		sortedRanks = weights;
+		sortedValues = values;
+	}
+
+	/**
+	 * @param q quantile in [0, 1]
+	 * @return approximate value at which the cumulative distribution function has given value,
+	 * or NaN if empty
+	 */
+	public double getQuantile(double q) {
+		if (q < 0 || q > 1) {
+			throw new IllegalArgumentException("Quantile requested is outside [0,1]");
+		}
+		if (count == 0) {
+			return Double.NaN;
+		}
+		if (q == 0) {
+			return min;
+		}
+		if (q == 1) {
+			return max;
+		}
+		sort();
+		long total = sortedRanks[sortedRanks.length - 1];
+		long r = (long) Math.ceil(q * total);
+		int i = Arrays.binarySearch(sortedRanks, r);
+		if (i < 0) {
+			i = -i - 1;
+		}
+		return sortedValues[Math.min(i, sortedValues.length - 1)];
+	}
+
+	/**
+	 * @param values quantiles in [0, 1]
+	 * @return approximate values at which the cumulative distribution function has given values
+	 */
+	public double[] getQuantiles(double... values) {
+		double[] points = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			points[i] = getQuantile(values[i]);
+		}
+		return points;
+	}
+
+	/**
+	 * @return approximate median
+	 */
+	public double getMedian() {
+		return getQuantile(0.5);
+	}
+
+	/**
+	 * @return approximate interquartile range
+	 */
+	public double getIQR() {
+		return getQuantile(0.75) - getQuantile(0.25);
+	}
+
+	/**
+	 * @param v value
+	 * @return approximate fraction of values that are less than or equal to given value, or NaN if empty
+	 */
+	public double getRank(double v) {
+		if (count == 0) {
+			return Double.NaN;
+		}
+		sort();
+		int i = Arrays.binarySearch(sortedValues, v);
+		if (i >= 0) {
+			while (i + 1 < sortedValues.length && sortedValues[i + 1] == v) {
+				i++;
+			}
+		} else {
+			i = -i - 2;
+		}
+		return i < 0 ? 0 : sortedRanks[i] / (double) sortedRanks[sortedRanks.length - 1];
+	}
+}
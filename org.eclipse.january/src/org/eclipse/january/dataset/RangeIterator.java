@@ -0,0 +1,114 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Class to run over a range of positions of a dataset in iteration order, respecting the
+ * strides and offset of views. Positions are counted from zero in row-major order so iterators
+ * over disjoint ranges can be used by different threads
+ * @since 3.0
+ */
+public class RangeIterator extends IndexIterator {
+	private final int[] shape;
+	private final int[] stride; // can be null for row-major, contiguous datasets
+	private final int offset;
+	private final int isize;
+	private final int start;
+	private final int stop;
+	private final int[] pos;
+	private int p; // current position
+	private boolean fresh; // true if index needs calculating from position
+
+	/**
+	 * Constructor for an iterator over items at given range of positions in dataset
+	 * @param a dataset
+	 * @param start first position (inclusive)
+	 * @param stop last position (exclusive)
+	 * @exception IllegalArgumentException if range is not within dataset
+	 */
+	public RangeIterator(final Dataset a, final int start, final int stop) {
+		if (start < 0 || stop < start || stop > a.getSize()) {
+			throw new IllegalArgumentException("Range [" + start + ", " + stop + ") is not within dataset of size " + a.getSize());
+		}
+		shape = a.getShapeRef();
+		stride = a.getStrides();
+		offset = a.getOffset();
+		isize = a.getElementsPerItem();
+		this.start = start;
+		this.stop = stop;
+		pos = stride == null ? null : new int[shape.length];
+		reset();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (++p >= stop) {
+			p = stop;
+			return false;
+		}
+		if (stride == null) {
+			index += isize;
+			return true;
+		}
+
+		final int last = shape.length - 1;
+		if (fresh) {
+			fresh = false;
+			int q = p;
+			for (int d = last; d >= 0; d--) {
+				pos[d] = q % shape[d];
+				q /= shape[d];
+			}
+		} else if (++pos[last] < shape[last]) {
+			index += stride[last];
+			return true;
+		} else {
+			pos[last] = 0;
+			for (int d = last - 1; d >= 0; d--) {
+				if (++pos[d] < shape[d]) {
+					break;
+				}
+				pos[d] = 0;
+			}
+		}
+		index = offset;
+		for (int d = 0; d <= last; d++) {
+			index += pos[d] * stride[d];
+		}
+		return true;
+	}
+
+	/**
+	 * @return current position in iteration order
+	 */
+	public int getPosition() {
+		return p;
+	}
+
+	/**
+	 * @return n-D position or null if dataset is contiguous
+	 */
+	@Override
+	public int[] getPos() {
+		return pos;
+	}
+
+	@Override
+	public void reset() {
+		p = start - 1;
+		fresh = true;
+		index = stride == null ? p * isize : offset;
+	}
+
+	@Override
+	public int[] getShape() {
+		return shape;
+	}
+}
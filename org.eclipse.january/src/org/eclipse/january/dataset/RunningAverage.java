@@ -20,6 +20,13 @@ public class RunningAverage {
 	private DoubleDataset sqAveError;
 	private int count = 1;
 
+	/**
+	 * Constructor for sub-classes that keep their own state
+	 * @since 3.0
+	 */
+	protected RunningAverage() {
+	}
+
 	/**
 	 * @param dataset input
 	 */
@@ -0,0 +1,316 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+import org.eclipse.january.DatasetException;
+
+/**
+ * A running per-element statistics class that tracks the mean, variance (using Welford's
+ * algorithm), minimum, maximum and count of a stream of frames. The sum is accumulated separately
+ * with compensated (Neumaier) summation so it stays exact for integer frames.
+ * <p>
+ * Frames can be given singly or in batches where the frames are stacked along a leading
+ * axis. Elements of each batch are split between threads. Accumulators for different
+ * parts of a stream can be merged. Any NaNs are propagated to the mean and variance.
+ * <p>
+ * This does not track errors
+ * @since 3.0
+ */
+public class RunningStatistics extends RunningAverage {
+
+	/**
+	 * Maximum number of elements to load at once from lazy stacks
+	 */
+	private static final int BATCH_SIZE = 1 << 22;
+
+	/**
+	 * Number of elements processed over all frames of a batch at a time
+	 */
+	private static final int TILE = 1 << 11;
+
+	private final int[] shape;
+	private final int size;
+	private final double[] mean;
+	private final double[] m2; // sum of squared differences from mean
+	private final double[] sum;
+	private final double[] sumc; // compensation for lost low-order bits of sum
+	private final double[] min;
+	private final double[] max;
+	private int count;
+
+	/**
+	 * Create an empty accumulator
+	 * @param shape shape of frame
+	 */
+	public RunningStatistics(int... shape) {
+		this.shape = shape.clone();
+		size = ShapeUtils.calcSize(shape);
+		mean = new double[size];
+		m2 = new double[size];
+		sum = new double[size];
+		sumc = new double[size];
+		min = new double[size];
+		max = new double[size];
+		Arrays.fill(min, Double.POSITIVE_INFINITY);
+		Arrays.fill(max, Double.NEGATIVE_INFINITY);
+		count = 0;
+	}
+
+	/**
+	 * Create an accumulator starting with given frame
+	 * @param dataset input frame
+	 */
+	public RunningStatistics(IDataset dataset) {
+		this(dataset.getShape());
+		update(dataset);
+	}
+
+	/**
+	 * @return shape of frame
+	 */
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	/**
+	 * Update statistics with a frame or batch of frames stacked along a leading axis
+	 * @param dataset input
+	 */
+	@Override
+	public void update(IDataset dataset) {
+		int n = checkShape(dataset.getShape());
+		if (n > 0) {
+			updateBatch(getData(dataset), n);
+		}
+	}
+
+	/**
+	 * Update statistics with a lazy stack of frames. The stack is loaded in batches of frames
+	 * @param stack input with frames stacked along a leading axis, or a single frame
+	 * @throws DatasetException if stack could not be loaded
+	 */
+	public void update(ILazyDataset stack) throws DatasetException {
+		if (stack instanceof IDataset) {
+			update((IDataset) stack);
+			return;
+		}
+
+		int[] sshape = stack.getShape();
+		int n = checkShape(sshape);
+		if (sshape.length == shape.length) {
+			update(stack.getSlice());
+			return;
+		}
+
+		int frames = Math.max(1, BATCH_SIZE / Math.max(1, size));
+		SliceND slice = new SliceND(sshape);
+		for (int i = 0; i < n; i += frames) {
+			int end = Math.min(n, i + frames);
+			slice.setSlice(0, i, end, 1);
+			updateBatch(getData(stack.getSlice(slice)), end - i);
+		}
+	}
+
+	/**
+	 * @param s shape of input
+	 * @return number of frames
+	 */
+	private int checkShape(int[] s) {
+		if (Arrays.equals(s, shape)) {
+			return 1;
+		}
+		if (s.length == shape.length + 1 && Arrays.equals(Arrays.copyOfRange(s, 1, s.length), shape)) {
+			return s[0];
+		}
+		throw new IllegalArgumentException("Input shape " + Arrays.toString(s) + " is not compatible with frame shape " + Arrays.toString(shape));
+	}
+
+	/**
+	 * @param dataset input
+	 * @return contiguous primitive array of single-element items
+	 */
+	private static Object getData(IDataset dataset) {
+		Dataset d = DatasetUtils.convertToDataset(dataset);
+		if (d.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Input must have single-element items");
+		}
+		if (!(d instanceof AbstractDataset && ((AbstractDataset) d).isContiguous())) {
+			d = d.clone();
+		}
+		Object b = d.getBuffer();
+		if ((b instanceof double[] || b instanceof float[] || b instanceof long[] || b instanceof int[]
+				|| b instanceof short[] || b instanceof byte[]) && !InterfaceUtils.isBufferEncoded(d.getClass())) {
+			return b;
+		}
+		return DatasetUtils.copy(DoubleDataset.class, d).getData();
+	}
+
+	/**
+	 * @param data contiguous frames
+	 * @param n number of frames
+	 */
+	private void updateBatch(final Object data, final int n) {
+		final int c = count;
+		ParallelUtils.forRange(size, 4L * n, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				final double[] x = new double[TILE];
+				for (int t = start; t < end; t += TILE) { // keep tile of state in cache over frames
+					updateTile(data, x, n, c, t, Math.min(end, t + TILE));
+				}
+			}
+		});
+		count = c + n;
+	}
+
+	private void updateTile(final Object data, final double[] buffer, final int n, final int c, final int start, final int end) {
+		final int l = end - start;
+		for (int f = 0; f < n; f++) {
+			final double r = 1. / (c + f + 1);
+			CopyUtils.toDouble(data, f * size + start, buffer, l);
+			for (int i = start, j = 0; i < end; i++, j++) {
+				final double x = buffer[j];
+				final double m = mean[i];
+				final double d = x - m;
+				final double nm = m + d * r;
+				mean[i] = nm;
+				m2[i] += d * (x - nm);
+				add(i, x);
+				if (x < min[i]) {
+					min[i] = x;
+				}
+				if (x > max[i]) {
+					max[i] = x;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add value to sum of element with Neumaier's compensation
+	 * @param i element index
+	 * @param x value
+	 */
+	private void add(final int i, final double x) {
+		final double s = sum[i];
+		final double t = s + x;
+		if (Math.abs(s) >= Math.abs(x)) {
+			sumc[i] += (s - t) + x;
+		} else {
+			sumc[i] += (x - t) + s;
+		}
+		sum[i] = t;
+	}
+
+	/**
+	 * Merge statistics from another accumulator into this one
+	 * @param other accumulator of frames with same shape
+	 */
+	public void merge(final RunningStatistics other) {
+		if (!Arrays.equals(shape, other.shape)) {
+			throw new IllegalArgumentException("Accumulators must have same frame shape");
+		}
+		final int na = count;
+		final int nb = other.count;
+		if (nb == 0) {
+			return;
+		}
+		final double fb = nb / (double) (na + nb);
+		final double fab = na * fb;
+		ParallelUtils.forRange(size, 8, new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					final double d = other.mean[i] - mean[i];
+					mean[i] += d * fb;
+					m2[i] += other.m2[i] + d * d * fab;
+					add(i, other.sum[i]);
+					sumc[i] += other.sumc[i];
+					if (other.min[i] < min[i]) {
+						min[i] = other.min[i];
+					}
+					if (other.max[i] > max[i]) {
+						max[i] = other.max[i];
+					}
+				}
+			}
+		});
+		count = na + nb;
+	}
+
+	/**
+	 * @return number of frames
+	 */
+	@Override
+	public int getCount() {
+		return count;
+	}
+
+	private DoubleDataset create(double[] data) {
+		return DatasetFactory.createFromObject(DoubleDataset.class, data, shape);
+	}
+
+	/**
+	 * @return current average
+	 */
+	@Override
+	public Dataset getCurrentAverage() {
+		return create(mean.clone());
+	}
+
+	/**
+	 * @return current sum
+	 */
+	public Dataset getCurrentSum() {
+		double[] s = new double[size];
+		for (int i = 0; i < size; i++) {
+			final double t = sum[i];
+			s[i] = Double.isInfinite(t) ? t : t + sumc[i]; // compensation is NaN once sum overflows
+		}
+		return create(s);
+	}
+
+	/**
+	 * @param isWholePopulation if false, consider as sample of population
+	 * @return current variance
+	 */
+	public Dataset getCurrentVariance(boolean isWholePopulation) {
+		double[] v = new double[size];
+		int dof = isWholePopulation ? count : count - 1;
+		double f = dof > 0 ? 1. / dof : Double.NaN;
+		for (int i = 0; i < size; i++) {
+			v[i] = m2[i] * f;
+		}
+		return create(v);
+	}
+
+	/**
+	 * @return current sample variance
+	 */
+	public Dataset getCurrentVariance() {
+		return getCurrentVariance(false);
+	}
+
+	/**
+	 * @return current minimum
+	 */
+	public Dataset getCurrentMinimum() {
+		return create(min.clone());
+	}
+
+	/**
+	 * @return current maximum
+	 */
+	public Dataset getCurrentMaximum() {
+		return create(max.clone());
+	}
+}
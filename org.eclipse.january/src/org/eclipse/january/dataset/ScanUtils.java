@@ -0,0 +1,363 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Helper to compute cumulative sums and products (inclusive prefix scans) along an axis.
+ * Items are copied to a contiguous primitive array (of doubles for floating point datasets
+ * and of longs otherwise) which is scanned in place, in memory order, a row of items at a time.
+ * Independent lines are split between threads and a single long line is scanned in two passes:
+ * blocks are scanned separately and then the totals of preceding blocks are applied.
+ * <p>
+ * When NaNs or infinities are ignored, an item with any ignored element leaves the running
+ * result unchanged; its own result is zero for real and complex datasets and the running
+ * result for other compound datasets. Floating point results from the blocked scan can differ
+ * from a serial scan in the last few bits as they are summed (or multiplied) in a different order
+ */
+final class ScanUtils {
+
+	private static final int SUM = 0;
+	private static final int PRODUCT = 1;
+	private static final int COMPLEX_PRODUCT = 2;
+
+	private ScanUtils() {
+	}
+
+	/**
+	 * Compute cumulative sum or product
+	 * @param a dataset
+	 * @param axis to scan along (must be valid)
+	 * @param product if true, find product otherwise sum
+	 * @param ignoreNaNs if true, ignore NaNs
+	 * @param ignoreInfs if true, ignore infinities
+	 * @return dataset of same class and shape as input
+	 */
+	static Dataset scan(final Dataset a, final int axis, final boolean product, final boolean ignoreNaNs, final boolean ignoreInfs) {
+		final int[] shape = a.getShape();
+		final int isize = a.getElementsPerItem();
+		final int alen = shape[axis];
+		int outer = 1;
+		for (int i = 0; i < axis; i++) {
+			outer *= shape[i];
+		}
+		int inner = 1;
+		for (int i = axis + 1; i < shape.length; i++) {
+			inner *= shape[i];
+		}
+
+		Dataset r;
+		if (a.hasFloatingPointElements()) {
+			final int op = product ? (a.isComplex() ? COMPLEX_PRODUCT : PRODUCT) : SUM;
+			final double[] data = toDoubles(a);
+			final boolean[] ignored = (ignoreNaNs || ignoreInfs) && (isize == 1 || a.isComplex()) ?
+					findIgnored(data, isize, ignoreNaNs, ignoreInfs) : null;
+			final Lines lines = new Lines(outer, alen, inner, isize) {
+				@Override
+				void scan(int base, int n, int from, int to) {
+					ScanUtils.scan(data, base, n, step, from, to, isize, op, ignoreNaNs, ignoreInfs);
+				}
+
+				@Override
+				void apply(int prior, int start, int end) {
+					ScanUtils.apply(data, prior, start, end, isize, op);
+				}
+			};
+			lines.run();
+			if (ignored != null) {
+				for (int i = 0; i < ignored.length; i++) {
+					if (ignored[i]) {
+						for (int k = i * isize, kmax = k + isize; k < kmax; k++) {
+							data[k] = 0;
+						}
+					}
+				}
+			}
+			if (a.isComplex()) {
+				r = new ComplexDoubleDataset(data, shape);
+			} else {
+				r = isize == 1 ? new DoubleDataset(data, shape) : new CompoundDoubleDataset(isize, data, shape);
+			}
+		} else {
+			final int op = product ? PRODUCT : SUM;
+			final long[] data = toLongs(a);
+			final Lines lines = new Lines(outer, alen, inner, isize) {
+				@Override
+				void scan(int base, int n, int from, int to) {
+					ScanUtils.scan(data, base, n, step, from, to, op);
+				}
+
+				@Override
+				void apply(int prior, int start, int end) {
+					ScanUtils.apply(data, prior, start, end, isize, op);
+				}
+			};
+			lines.run();
+			r = isize == 1 ? new LongDataset(data, shape) : new CompoundLongDataset(isize, data, shape);
+		}
+		return DatasetUtils.cast(a.getClass(), r);
+	}
+
+	/**
+	 * Lines of items to scan in a contiguous array of shape [outer, alen, inner, isize]
+	 */
+	private abstract static class Lines {
+		final int outer;
+		final int alen;
+		final int inner;
+		final int isize;
+		final int step; // number of elements between items along axis
+
+		Lines(int outer, int alen, int inner, int isize) {
+			this.outer = outer;
+			this.alen = alen;
+			this.inner = inner;
+			this.isize = isize;
+			step = inner * isize;
+		}
+
+		/**
+		 * Scan items
+		 * @param base index of first element of first row
+		 * @param n number of rows of items
+		 * @param from offset of first element in each row
+		 * @param to offset of last element (exclusive) in each row
+		 */
+		abstract void scan(int base, int n, int from, int to);
+
+		/**
+		 * Apply result of prior item to range of items
+		 * @param prior index of prior item
+		 * @param start index of first item
+		 * @param end index of last item (exclusive)
+		 */
+		abstract void apply(int prior, int start, int end);
+
+		void run() {
+			if (alen == 0 || outer == 0 || inner == 0) {
+				return;
+			}
+
+			final int span = alen * step;
+			if (inner == 1 && outer == 1) {
+				runBlocked();
+			} else if (inner == 1 || outer >= 4 * ParallelUtils.getParallelism()) {
+				ParallelUtils.forRange(outer, span, new ParallelUtils.RangeTask() {
+					@Override
+					public void run(int start, int end) {
+						for (int o = start; o < end; o++) {
+							scan(o * span, alen, 0, step);
+						}
+					}
+				});
+			} else {
+				ParallelUtils.forRange(inner, (long) outer * alen * isize, new ParallelUtils.RangeTask() {
+					@Override
+					public void run(int start, int end) {
+						for (int o = 0; o < outer; o++) {
+							scan(o * span, alen, start * isize, end * isize);
+						}
+					}
+				});
+			}
+		}
+
+		/**
+		 * Scan single line in blocks
+		 */
+		private void runBlocked() {
+			if (!ParallelUtils.isWorthwhile(alen, isize)) {
+				scan(0, alen, 0, isize);
+				return;
+			}
+
+			final int blocks = Math.min(alen, 4 * ParallelUtils.getParallelism());
+			final int bsize = (alen + blocks - 1) / blocks;
+			ParallelUtils.forRange(blocks, (long) bsize * isize, new ParallelUtils.RangeTask() {
+				@Override
+				public void run(int start, int end) {
+					for (int b = start; b < end; b++) {
+						int j = b * bsize;
+						if (j < alen) {
+							scan(j * isize, Math.min(bsize, alen - j), 0, isize);
+						}
+					}
+				}
+			});
+
+			// accumulate last items of blocks serially
+			for (int j = bsize; j < alen; j += bsize) {
+				int last = Math.min(j + bsize, alen) - 1;
+				apply((j - 1) * isize, last * isize, (last + 1) * isize);
+			}
+
+			ParallelUtils.forRange(blocks, (long) bsize * isize, new ParallelUtils.RangeTask() {
+				@Override
+				public void run(int start, int end) {
+					for (int b = Math.max(1, start); b < end; b++) {
+						int j = b * bsize;
+						if (j < alen) {
+							int last = Math.min(j + bsize, alen) - 1;
+							apply((j - 1) * isize, j * isize, last * isize);
+						}
+					}
+				}
+			});
+		}
+	}
+
+	private static double[] toDoubles(final Dataset a) {
+		final Object buffer = a.getBuffer();
+		if (a.getStrides() == null && buffer instanceof double[]) {
+			return ((double[]) buffer).clone();
+		}
+
+		final int isize = a.getElementsPerItem();
+		final double[] data = new double[a.getSize() * isize];
+		final IndexIterator it = a.getIterator();
+		int i = 0;
+		while (it.hasNext()) {
+			for (int k = 0; k < isize; k++) {
+				data[i++] = a.getElementDoubleAbs(it.index + k);
+			}
+		}
+		return data;
+	}
+
+	private static long[] toLongs(final Dataset a) {
+		final Object buffer = a.getBuffer();
+		if (a.getStrides() == null && buffer instanceof long[]) {
+			return ((long[]) buffer).clone();
+		}
+
+		final int isize = a.getElementsPerItem();
+		final long[] data = new long[a.getSize() * isize];
+		final IndexIterator it = a.getIterator();
+		int i = 0;
+		if (a.getElementClass() == Boolean.class) {
+			while (it.hasNext()) {
+				data[i++] = a.getElementBooleanAbs(it.index) ? 1 : 0;
+			}
+		} else {
+			while (it.hasNext()) {
+				for (int k = 0; k < isize; k++) {
+					data[i++] = a.getElementLongAbs(it.index + k);
+				}
+			}
+		}
+		return data;
+	}
+
+	private static boolean isIgnored(final double[] data, final int index, final int isize, final boolean ignoreNaNs, final boolean ignoreInfs) {
+		for (int k = index, kmax = index + isize; k < kmax; k++) {
+			final double v = data[k];
+			if ((ignoreNaNs && Double.isNaN(v)) || (ignoreInfs && Double.isInfinite(v))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean[] findIgnored(final double[] data, final int isize, final boolean ignoreNaNs, final boolean ignoreInfs) {
+		final boolean[] ignored = new boolean[data.length / isize];
+		for (int i = 0; i < ignored.length; i++) {
+			ignored[i] = isIgnored(data, i * isize, isize, ignoreNaNs, ignoreInfs);
+		}
+		return ignored;
+	}
+
+	private static void scan(final double[] data, final int base, final int n, final int step, final int from, final int to,
+			final int isize, final int op, final boolean ignoreNaNs, final boolean ignoreInfs) {
+		final boolean ignore = ignoreNaNs || ignoreInfs;
+		for (int j = 0, cur = base; j < n; j++, cur += step) {
+			for (int m = cur + from, mmax = cur + to; m < mmax; m += isize) {
+				final int p = m - step;
+				if (ignore && isIgnored(data, m, isize, ignoreNaNs, ignoreInfs)) {
+					for (int k = 0; k < isize; k++) {
+						data[m + k] = j == 0 ? (op == SUM || (op == COMPLEX_PRODUCT && k == 1) ? 0 : 1) : data[p + k];
+					}
+				} else if (j > 0) {
+					switch (op) {
+					case SUM:
+						for (int k = 0; k < isize; k++) {
+							data[m + k] += data[p + k];
+						}
+						break;
+					case PRODUCT:
+						for (int k = 0; k < isize; k++) {
+							data[m + k] *= data[p + k];
+						}
+						break;
+					case COMPLEX_PRODUCT:
+						final double r = data[m];
+						final double i = data[m + 1];
+						data[m] = r * data[p] - i * data[p + 1];
+						data[m + 1] = r * data[p + 1] + i * data[p];
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static void apply(final double[] data, final int prior, final int start, final int end, final int isize, final int op) {
+		switch (op) {
+		case SUM:
+			for (int m = start; m < end; m += isize) {
+				for (int k = 0; k < isize; k++) {
+					data[m + k] += data[prior + k];
+				}
+			}
+			break;
+		case PRODUCT:
+			for (int m = start; m < end; m += isize) {
+				for (int k = 0; k < isize; k++) {
+					data[m + k] *= data[prior + k];
+				}
+			}
+			break;
+		case COMPLEX_PRODUCT:
+			final double pr = data[prior];
+			final double pi = data[prior + 1];
+			for (int m = start; m < end; m += isize) {
+				final double r = data[m];
+				final double i = data[m + 1];
+				data[m] = r * pr - i * pi;
+				data[m + 1] = r * pi + i * pr;
+			}
+			break;
+		}
+	}
+
+	private static void scan(final long[] data, final int base, final int n, final int step, final int from, final int to, final int op) {
+		for (int j = 1, cur = base + step; j < n; j++, cur += step) {
+			if (op == SUM) {
+				for (int m = cur + from, mmax = cur + to; m < mmax; m++) {
+					data[m] += data[m - step];
+				}
+			} else {
+				for (int m = cur + from, mmax = cur + to; m < mmax; m++) {
+					data[m] *= data[m - step];
+				}
+			}
+		}
+	}
+
+	private static void apply(final long[] data, final int prior, final int start, final int end, final int isize, final int op) {
+		for (int m = start; m < end; m += isize) {
+			for (int k = 0; k < isize; k++) {
+				if (op == SUM) {
+					data[m + k] += data[prior + k];
+				} else {
+					data[m + k] *= data[prior + k];
+				}
+			}
+		}
+	}
+}
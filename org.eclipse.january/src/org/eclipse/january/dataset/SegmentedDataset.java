@@ -0,0 +1,892 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.io.ILazyLoader;
+
+/**
+ * An in-memory dataset of single-element items that is held as a sequence of ordinary datasets
+ * (segments) which split its first dimension so it can hold more than 2<sup>31</sup>-1 items.
+ * <p>
+ * Items are indexed by {@code long} in row-major order and can be iterated over with a
+ * {@link SegmentIterator}. Slices are returned as (int-indexed) datasets so must hold fewer
+ * than 2<sup>31</sup> items. Whole-dataset statistics and in-place operations are done on
+ * segments in parallel and per-segment results are combined. A lazy view is available for
+ * use with methods that take lazy datasets, e.g. {@link RunningStatistics} or
+ * {@link QuantileSketch}.
+ * @since 3.0
+ */
+public class SegmentedDataset {
+
+	/**
+	 * Default maximum number of items in a segment
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 24;
+
+	private final Class<? extends Dataset> clazz;
+	private final int[] shape;
+	private final long size;
+	private final int rows; // number of rows (along first dimension) in each but the last segment
+	private final int segmentSize; // number of items in each but the last segment
+	private final Dataset[] segments;
+	private String name = "";
+
+	/**
+	 * Operation on a segment
+	 */
+	public interface SegmentOperation {
+		/**
+		 * @param segment
+		 * @return result with the same length of first dimension as segment
+		 */
+		Dataset operate(Dataset segment);
+	}
+
+	/**
+	 * Create a dataset of zeros with segments of default size
+	 * @param clazz dataset class of segments
+	 * @param shape shape of dataset
+	 */
+	public SegmentedDataset(Class<? extends Dataset> clazz, int... shape) {
+		this(clazz, shape, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Create a dataset of zeros
+	 * @param clazz dataset class of segments
+	 * @param shape shape of dataset
+	 * @param maxSegmentSize maximum number of items in a segment. This is exceeded when a single
+	 * row (a slice of length 1 along the first dimension) holds more items
+	 */
+	public SegmentedDataset(Class<? extends Dataset> clazz, int[] shape, int maxSegmentSize) {
+		this(clazz, shape, maxSegmentSize, true);
+	}
+
+	private SegmentedDataset(Class<? extends Dataset> clazz, int[] shape, int maxSegmentSize, boolean allocate) {
+		if (InterfaceUtils.isCompound(clazz)) {
+			throw new IllegalArgumentException("Compound datasets are not supported");
+		}
+		if (shape.length == 0) {
+			throw new IllegalArgumentException("Shape must have at least one dimension");
+		}
+		if (maxSegmentSize < 1) {
+			throw new IllegalArgumentException("Maximum segment size must be positive");
+		}
+		this.clazz = clazz;
+		this.shape = shape.clone();
+		size = ShapeUtils.calcLongSize(shape);
+
+		int[] rshape = shape.clone();
+		rshape[0] = 1;
+		long row = ShapeUtils.calcLongSize(rshape);
+		if (row > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A row of the dataset holds too many items");
+		}
+		rows = (int) Math.max(1, Math.min(shape[0], maxSegmentSize / Math.max(1, row)));
+		segmentSize = (int) (rows * row);
+
+		int n = shape[0] == 0 ? 0 : (shape[0] - 1) / rows + 1;
+		segments = new Dataset[n];
+		if (allocate) {
+			for (int i = 0; i < n; i++) {
+				segments[i] = DatasetFactory.zeros(clazz, getSegmentShape(i));
+			}
+		}
+	}
+
+	/**
+	 * Create a dataset from a lazy dataset which is loaded segment by segment
+	 * @param lazy dataset of single-element items
+	 * @param maxSegmentSize maximum number of items in a segment
+	 * @return segmented dataset
+	 * @throws DatasetException if dataset could not be loaded
+	 */
+	public static SegmentedDataset createFromLazy(ILazyDataset lazy, int maxSegmentSize) throws DatasetException {
+		Class<? extends Dataset> clazz = InterfaceUtils.getInterface(lazy);
+		SegmentedDataset s = new SegmentedDataset(clazz, lazy.getShape(), maxSegmentSize, false);
+		s.setName(lazy.getName());
+		for (int i = 0; i < s.segments.length; i++) {
+			int start = i * s.rows;
+			Dataset d = DatasetUtils.cast(clazz, lazy.getSlice(new Slice(start, start + s.getSegmentShape(i)[0])));
+			if (d.getStrides() != null) { // ensure segments are contiguous
+				d = d.clone();
+			}
+			s.segments[i] = d.reshape(s.getSegmentShape(i));
+		}
+		return s;
+	}
+
+	/**
+	 * Create a dataset from a lazy dataset which is loaded segment by segment
+	 * @param lazy dataset of single-element items
+	 * @return segmented dataset with segments of default size
+	 * @throws DatasetException if dataset could not be loaded
+	 */
+	public static SegmentedDataset createFromLazy(ILazyDataset lazy) throws DatasetException {
+		return createFromLazy(lazy, DEFAULT_SEGMENT_SIZE);
+	}
+
+	private int[] getSegmentShape(int i) {
+		int[] s = shape.clone();
+		s[0] = Math.min(rows, shape[0] - i * rows);
+		return s;
+	}
+
+	/**
+	 * @return name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param name
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * @return dataset class of segments
+	 */
+	public Class<? extends Dataset> getInterface() {
+		return clazz;
+	}
+
+	/**
+	 * @return class of element
+	 */
+	public Class<?> getElementClass() {
+		return InterfaceUtils.getElementClass(clazz);
+	}
+
+	/**
+	 * @return rank
+	 */
+	public int getRank() {
+		return shape.length;
+	}
+
+	/**
+	 * @return shape
+	 */
+	public int[] getShape() {
+		return shape.clone();
+	}
+
+	/**
+	 * @return number of items
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * @return number of segments
+	 */
+	public int getSegments() {
+		return segments.length;
+	}
+
+	/**
+	 * @return number of rows along first dimension in each segment except possibly the last
+	 */
+	public int getSegmentRows() {
+		return rows;
+	}
+
+	/**
+	 * Get segment. This is not a copy so modifying it will modify this dataset
+	 * @param i index of segment
+	 * @return segment which starts at row {@code i * getSegmentRows()} of dataset
+	 */
+	public Dataset getSegment(int i) {
+		return segments[i];
+	}
+
+	/**
+	 * @param pos position
+	 * @return index of item at position
+	 */
+	public long get1DIndex(int... pos) {
+		if (pos.length != shape.length) {
+			throw new IllegalArgumentException("Position must have same rank as dataset");
+		}
+		long index = 0;
+		for (int i = 0; i < pos.length; i++) {
+			int p = pos[i];
+			int l = shape[i];
+			if (p < 0) {
+				p += l;
+			}
+			if (p < 0 || p >= l) {
+				throw new ArrayIndexOutOfBoundsException("Index (" + pos[i] + ") out of range [-" + l + "," + l + ") in dimension " + i);
+			}
+			index = index * l + p;
+		}
+		return index;
+	}
+
+	/**
+	 * @param index of item
+	 * @return position of item
+	 */
+	public int[] getNDPosition(long index) {
+		checkIndex(index);
+		int[] pos = new int[shape.length];
+		for (int i = shape.length - 1; i >= 0; i--) {
+			pos[i] = (int) (index % shape[i]);
+			index /= shape[i];
+		}
+		return pos;
+	}
+
+	private void checkIndex(long index) {
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfBoundsException("Index (" + index + ") out of range [0," + size + ")");
+		}
+	}
+
+	private Dataset getSegmentOf(long index) {
+		checkIndex(index);
+		return segments[(int) (index / segmentSize)];
+	}
+
+	/**
+	 * @param index of item
+	 * @return item as a double
+	 */
+	public double getElementDoubleAbs(long index) {
+		return getSegmentOf(index).getElementDoubleAbs((int) (index % segmentSize));
+	}
+
+	/**
+	 * @param index of item
+	 * @return item as a long
+	 */
+	public long getElementLongAbs(long index) {
+		return getSegmentOf(index).getElementLongAbs((int) (index % segmentSize));
+	}
+
+	/**
+	 * @param index of item
+	 * @return item
+	 */
+	public Object getObjectAbs(long index) {
+		return getSegmentOf(index).getObjectAbs((int) (index % segmentSize));
+	}
+
+	/**
+	 * @param index of item
+	 * @param obj value to set
+	 */
+	public void setObjectAbs(long index, Object obj) {
+		getSegmentOf(index).setObjectAbs((int) (index % segmentSize), obj);
+	}
+
+	/**
+	 * @param pos position
+	 * @return item as a double
+	 */
+	public double getDouble(int... pos) {
+		return getElementDoubleAbs(get1DIndex(pos));
+	}
+
+	/**
+	 * @param pos position
+	 * @return item as a long
+	 */
+	public long getLong(int... pos) {
+		return getElementLongAbs(get1DIndex(pos));
+	}
+
+	/**
+	 * @param pos position
+	 * @return item
+	 */
+	public Object getObject(int... pos) {
+		return getObjectAbs(get1DIndex(pos));
+	}
+
+	/**
+	 * @param obj value to set
+	 * @param pos position
+	 */
+	public void set(Object obj, int... pos) {
+		setObjectAbs(get1DIndex(pos), obj);
+	}
+
+	/**
+	 * @return iterator over all items
+	 */
+	public SegmentIterator getIterator() {
+		return new SegmentIterator();
+	}
+
+	/**
+	 * Iterator over all items of a segmented dataset in order. After each call of
+	 * {@link #hasNext()} returns true, {@link #index} is the index of the item in the dataset,
+	 * {@link #segment} the segment that holds it and {@link #segmentIndex} its index in
+	 * the segment
+	 */
+	public class SegmentIterator {
+		/**
+		 * Index of item in dataset
+		 */
+		public long index;
+
+		/**
+		 * Segment that holds item
+		 */
+		public Dataset segment;
+
+		/**
+		 * Index of item in segment
+		 */
+		public int segmentIndex;
+
+		private int s; // index of segment
+		private int end; // size of segment
+
+		SegmentIterator() {
+			reset();
+		}
+
+		/**
+		 * @return true if there is another item
+		 */
+		public boolean hasNext() {
+			if (++segmentIndex >= end) {
+				if (++s >= segments.length) {
+					return false;
+				}
+				segment = segments[s];
+				end = segment.getSize();
+				segmentIndex = 0;
+			}
+			index++;
+			return true;
+		}
+
+		/**
+		 * @return position of current item
+		 */
+		public int[] getPos() {
+			return getNDPosition(index);
+		}
+
+		/**
+		 * Reset to start
+		 */
+		public void reset() {
+			index = -1;
+			s = -1;
+			segment = null;
+			segmentIndex = 0;
+			end = 0;
+		}
+	}
+
+	/**
+	 * @param slice
+	 * @return slice as a new dataset
+	 */
+	public Dataset getSlice(Slice... slice) {
+		return getSlice(new SliceND(shape, slice));
+	}
+
+	/**
+	 * @param start
+	 * @param stop
+	 * @param step
+	 * @return slice as a new dataset
+	 */
+	public Dataset getSlice(int[] start, int[] stop, int[] step) {
+		return getSlice(new SliceND(shape, start, stop, step));
+	}
+
+	/**
+	 * @param slice
+	 * @return slice as a new dataset
+	 */
+	public Dataset getSlice(SliceND slice) {
+		checkSlice(slice);
+		int[] sshape = slice.getShape();
+		int[] k = new int[2];
+		Dataset result = null;
+		for (int i = 0; i < segments.length; i++) {
+			SliceND s = getSegmentSlice(slice, i, k);
+			if (s == null) {
+				continue;
+			}
+			Dataset v = segments[i].getSliceView(s);
+			if (slice.getStep()[0] < 0) {
+				v = v.getSliceView(new Slice(null, null, -1));
+			}
+			if (k[0] == 0 && k[1] == sshape[0]) { // in one segment
+				result = v.getSlice();
+				break;
+			}
+			if (result == null) {
+				result = DatasetFactory.zeros(clazz, sshape);
+			}
+			result.setSlice(v, new Slice(k[0], k[1]));
+		}
+		if (result == null) {
+			result = DatasetFactory.zeros(clazz, sshape);
+		}
+		result.setName(name + "[" + slice + "]");
+		return result;
+	}
+
+	/**
+	 * Set slice
+	 * @param obj object or dataset which is broadcast to shape of slice
+	 * @param slice
+	 */
+	public void setSlice(Object obj, Slice... slice) {
+		setSlice(obj, new SliceND(shape, slice));
+	}
+
+	/**
+	 * Set slice
+	 * @param obj object or dataset which is broadcast to shape of slice
+	 * @param slice
+	 */
+	public void setSlice(Object obj, SliceND slice) {
+		checkSlice(slice);
+		int[] sshape = slice.getShape();
+		Dataset d = obj instanceof Dataset ? (Dataset) obj : DatasetFactory.createFromObject(obj);
+		boolean split = d.getRank() == sshape.length && d.getShape()[0] == sshape[0] && sshape[0] > 1;
+		boolean flip = slice.getStep()[0] < 0;
+		int[] k = new int[2];
+		for (int i = 0; i < segments.length; i++) {
+			SliceND s = getSegmentSlice(slice, i, k);
+			if (s == null) {
+				continue;
+			}
+			Dataset v = d;
+			if (split) {
+				v = d.getSliceView(new Slice(k[0], k[1]));
+				if (flip) {
+					v = v.getSliceView(new Slice(null, null, -1));
+				}
+			}
+			segments[i].setSlice(v, s);
+		}
+	}
+
+	private void checkSlice(SliceND slice) {
+		if (!Arrays.equals(slice.getSourceShape(), shape)) {
+			throw new IllegalArgumentException("Slice must be of shape of dataset");
+		}
+	}
+
+	/**
+	 * Get part of slice in segment
+	 * @param slice
+	 * @param i index of segment
+	 * @param k on return, holds start and stop of part along first dimension of slice
+	 * @return slice of segment or null if slice does not intersect segment. Its step along the
+	 * first dimension is positive
+	 */
+	private SliceND getSegmentSlice(SliceND slice, int i, int[] k) {
+		int n = slice.getShape()[0];
+		if (n == 0) {
+			return null;
+		}
+		int start = slice.getStart()[0];
+		int step = slice.getStep()[0];
+		int lo = i * rows;
+		int hi = Math.min(shape[0], lo + rows) - 1;
+		int kmin, kmax;
+		if (step > 0) {
+			kmin = -Math.floorDiv(start - lo, step);
+			kmax = Math.floorDiv(hi - start, step);
+		} else {
+			kmin = -Math.floorDiv(hi - start, -step);
+			kmax = Math.floorDiv(start - lo, -step);
+		}
+		kmin = Math.max(kmin, 0);
+		kmax = Math.min(kmax, n - 1);
+		if (kmin > kmax) {
+			return null;
+		}
+		k[0] = kmin;
+		k[1] = kmax + 1;
+
+		int a = start + kmin * step - lo;
+		int b = start + kmax * step - lo;
+		SliceND s = new SliceND(getSegmentShape(i));
+		s.setSlice(0, Math.min(a, b), Math.max(a, b) + 1, Math.abs(step));
+		int[] sstart = slice.getStart();
+		int[] sstop = slice.getStop();
+		int[] sstep = slice.getStep();
+		for (int j = 1; j < shape.length; j++) {
+			// a negative stop denotes the end of a reversed slice
+			Integer stop = sstop[j] < 0 ? null : sstop[j];
+			s.setSlice(j, Integer.valueOf(sstart[j]), stop, sstep[j]);
+		}
+		return s;
+	}
+
+	/**
+	 * @return lazy view which can be sliced
+	 */
+	public ILazyDataset getLazyDataset() {
+		return new LazyDataset(new SegmentLoader(this), name, clazz, shape);
+	}
+
+	private static class SegmentLoader implements ILazyLoader {
+		private static final long serialVersionUID = -6046431519424413950L;
+		private final transient SegmentedDataset dataset;
+
+		SegmentLoader(SegmentedDataset dataset) {
+			this.dataset = dataset;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return dataset != null;
+		}
+
+		@Override
+		public IDataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			return dataset.getSlice(slice);
+		}
+	}
+
+	private void forSegments(final ParallelUtils.RangeTask task) {
+		ParallelUtils.forRange(segments.length, segmentSize, task);
+	}
+
+	/**
+	 * Apply operation to each segment in parallel
+	 * @param op operation
+	 * @return dataset of results
+	 */
+	public SegmentedDataset apply(final SegmentOperation op) {
+		final Dataset[] results = new Dataset[segments.length];
+		forSegments(new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					results[i] = op.operate(segments[i]);
+				}
+			}
+		});
+		if (results.length == 0) {
+			return new SegmentedDataset(clazz, shape, segmentSize);
+		}
+
+		Dataset f = results[0];
+		int[] rshape = f.getShape();
+		if (rshape.length == 0 || rshape[0] != rows) {
+			throw new IllegalArgumentException("Result must have the same length of first dimension as segment");
+		}
+		Class<? extends Dataset> rclazz = InterfaceUtils.getInterface(f);
+		rshape[0] = shape[0];
+		SegmentedDataset r = new SegmentedDataset(rclazz, rshape, rows * Math.max(1, f.getSize() / rows), false);
+		for (int i = 0; i < results.length; i++) {
+			Dataset d = DatasetUtils.cast(rclazz, results[i]);
+			if (d.getStrides() != null || d == segments[i]) {
+				d = d.clone();
+			}
+			int[] s = r.getSegmentShape(i);
+			if (!Arrays.equals(d.getShape(), s)) {
+				throw new IllegalArgumentException("Result must have the same length of first dimension as segment");
+			}
+			r.segments[i] = d;
+		}
+		r.setName(name);
+		return r;
+	}
+
+	/**
+	 * Get operands for each segment
+	 * @param b scalar, dataset that broadcasts to a row or a segmented dataset with the same shape
+	 * and segmentation
+	 * @return operands
+	 */
+	private Object[] getOperands(Object b) {
+		Object[] ops = new Object[segments.length];
+		if (b instanceof SegmentedDataset) {
+			SegmentedDataset s = (SegmentedDataset) b;
+			if (!Arrays.equals(s.shape, shape) || s.rows != rows) {
+				throw new IllegalArgumentException("Segmented dataset must have the same shape and segment rows");
+			}
+			System.arraycopy(s.segments, 0, ops, 0, ops.length);
+			return ops;
+		}
+		if (b instanceof IDataset) {
+			int[] bshape = ((IDataset) b).getShape();
+			if (bshape.length >= shape.length && bshape[bshape.length - shape.length] != 1) {
+				throw new IllegalArgumentException("Dataset must broadcast to a row of segmented dataset");
+			}
+		}
+		Arrays.fill(ops, b);
+		return ops;
+	}
+
+	private interface InPlaceOperation {
+		void operate(Dataset a, Object b);
+	}
+
+	private SegmentedDataset operate(final Object b, final InPlaceOperation op) {
+		final Object[] ops = getOperands(b);
+		forSegments(new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					op.operate(segments[i], ops[i]);
+				}
+			}
+		});
+		return this;
+	}
+
+	/**
+	 * In-place addition, done on segments in parallel
+	 * @param b scalar, dataset that broadcasts to a row or a segmented dataset with the same shape
+	 * and segmentation
+	 * @return this dataset
+	 */
+	public SegmentedDataset iadd(Object b) {
+		return operate(b, new InPlaceOperation() {
+			@Override
+			public void operate(Dataset a, Object b) {
+				a.iadd(b);
+			}
+		});
+	}
+
+	/**
+	 * In-place subtraction, done on segments in parallel
+	 * @param b scalar, dataset that broadcasts to a row or a segmented dataset with the same shape
+	 * and segmentation
+	 * @return this dataset
+	 */
+	public SegmentedDataset isubtract(Object b) {
+		return operate(b, new InPlaceOperation() {
+			@Override
+			public void operate(Dataset a, Object b) {
+				a.isubtract(b);
+			}
+		});
+	}
+
+	/**
+	 * In-place multiplication, done on segments in parallel
+	 * @param b scalar, dataset that broadcasts to a row or a segmented dataset with the same shape
+	 * and segmentation
+	 * @return this dataset
+	 */
+	public SegmentedDataset imultiply(Object b) {
+		return operate(b, new InPlaceOperation() {
+			@Override
+			public void operate(Dataset a, Object b) {
+				a.imultiply(b);
+			}
+		});
+	}
+
+	/**
+	 * In-place division, done on segments in parallel
+	 * @param b scalar, dataset that broadcasts to a row or a segmented dataset with the same shape
+	 * and segmentation
+	 * @return this dataset
+	 */
+	public SegmentedDataset idivide(Object b) {
+		return operate(b, new InPlaceOperation() {
+			@Override
+			public void operate(Dataset a, Object b) {
+				a.idivide(b);
+			}
+		});
+	}
+
+	/**
+	 * Fill with value, done on segments in parallel
+	 * @param obj value
+	 * @return this dataset
+	 */
+	public SegmentedDataset fill(final Object obj) {
+		forSegments(new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					segments[i].fill(obj);
+				}
+			}
+		});
+		return this;
+	}
+
+	/**
+	 * Statistics of a segment
+	 */
+	private static class Summary {
+		long count;
+		double mean;
+		double m2; // sum of squared differences from mean
+		Number max;
+		Number min;
+		Number sum;
+	}
+
+	private Summary[] summarize(final boolean... ignoreInvalids) {
+		if (size == 0) {
+			throw new UnsupportedOperationException("Cannot operate on zero-sized dataset");
+		}
+		final Summary[] summaries = new Summary[segments.length];
+		forSegments(new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					Dataset s = segments[i];
+					Summary m = new Summary();
+					m.max = s.max(ignoreInvalids);
+					m.min = s.min(ignoreInvalids);
+					m.sum = (Number) s.sum(ignoreInvalids);
+					m.count = ((AbstractDataset) s).getStats().getCount(ignoreInvalids);
+					if (m.count > 0) {
+						m.mean = ((Number) s.mean(ignoreInvalids)).doubleValue();
+						m.m2 = s.variance(true, ignoreInvalids) * m.count;
+					}
+					summaries[i] = m;
+				}
+			}
+		});
+		return summaries;
+	}
+
+	private boolean isInteger() {
+		return InterfaceUtils.isInteger(clazz);
+	}
+
+	/**
+	 * @param ignoreInvalids see {@link IDataset#max(boolean...)}
+	 * @return maximum, computed on segments in parallel
+	 */
+	public Number max(boolean... ignoreInvalids) {
+		return extremum(true, ignoreInvalids);
+	}
+
+	/**
+	 * @param ignoreInvalids see {@link IDataset#min(boolean...)}
+	 * @return minimum, computed on segments in parallel
+	 */
+	public Number min(boolean... ignoreInvalids) {
+		return extremum(false, ignoreInvalids);
+	}
+
+	private Number extremum(boolean isMax, boolean... ignoreInvalids) {
+		boolean integer = isInteger();
+		Number r = null;
+		for (Summary m : summarize(ignoreInvalids)) {
+			Number x = isMax ? m.max : m.min;
+			if (r == null) {
+				r = x;
+			} else if (integer) {
+				if (isMax ? x.longValue() > r.longValue() : x.longValue() < r.longValue()) {
+					r = x;
+				}
+			} else {
+				double v = x.doubleValue();
+				double u = r.doubleValue();
+				if (Double.isNaN(v) || (!Double.isNaN(u) && (isMax ? v > u : v < u))) {
+					r = x;
+				}
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * @param ignoreInvalids see {@link Dataset#sum(boolean...)}
+	 * @return sum as a long for integer datasets, otherwise as a double, computed on segments in parallel
+	 */
+	public Number sum(boolean... ignoreInvalids) {
+		Summary[] summaries = summarize(ignoreInvalids);
+		if (isInteger()) {
+			long s = 0;
+			for (Summary m : summaries) {
+				s += m.sum.longValue();
+			}
+			return s;
+		}
+		double s = 0;
+		for (Summary m : summaries) {
+			s += m.sum.doubleValue();
+		}
+		return s;
+	}
+
+	private Summary combine(boolean... ignoreInvalids) {
+		Summary r = new Summary();
+		for (Summary m : summarize(ignoreInvalids)) {
+			if (m.count == 0) {
+				continue;
+			}
+			// combine as per Chan et al.
+			long n = r.count + m.count;
+			double delta = m.mean - r.mean;
+			r.mean += delta * m.count / n;
+			r.m2 += m.m2 + delta * delta * ((double) r.count * m.count / n);
+			r.count = n;
+		}
+		if (r.count == 0) {
+			r.mean = Double.NaN;
+			r.m2 = Double.NaN;
+		}
+		return r;
+	}
+
+	/**
+	 * @param ignoreInvalids see {@link IDataset#mean(boolean...)}
+	 * @return mean, computed on segments in parallel
+	 */
+	public double mean(boolean... ignoreInvalids) {
+		return combine(ignoreInvalids).mean;
+	}
+
+	/**
+	 * @param isWholePopulation if false, consider as sample of population
+	 * @param ignoreInvalids see {@link IDataset#max(boolean...)}
+	 * @return variance, computed on segments in parallel
+	 */
+	public double variance(boolean isWholePopulation, boolean... ignoreInvalids) {
+		Summary r = combine(ignoreInvalids);
+		long n = isWholePopulation ? r.count : r.count - 1;
+		return n <= 0 ? (r.count == 1 ? 0 : Double.NaN) : r.m2 / n;
+	}
+
+	/**
+	 * @param isWholePopulation if false, consider as sample of population
+	 * @param ignoreInvalids see {@link IDataset#max(boolean...)}
+	 * @return standard deviation, computed on segments in parallel
+	 */
+	public double stdDeviation(boolean isWholePopulation, boolean... ignoreInvalids) {
+		return Math.sqrt(variance(isWholePopulation, ignoreInvalids));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder out = new StringBuilder();
+		out.append("Segmented dataset '").append(name).append("' has shape ");
+		out.append(Arrays.toString(shape)).append(" in ").append(segments.length).append(" segments");
+		return out.toString();
+	}
+}
@@ -85,6 +85,7 @@ public class SingleInputBroadcastIterator extends IndexIterator {
 		List<int[]> fullShapes = BroadcastUtils.broadcastShapes(a.getShapeRef(), o == null ? null : o.getShapeRef());
 
 		BroadcastUtils.checkItemSize(a, o);
+		BroadcastUtils.checkOutput(o);
 
 		maxShape = fullShapes.remove(0);
 
@@ -116,7 +117,7 @@ public class SingleInputBroadcastIterator extends IndexIterator {
 			oDataset = o;
 		} else if (createIfNull) {
 			int is = aDataset.getElementsPerItem();
-			Class<? extends Dataset> dc = aDataset.getClass();
+			Class<? extends Dataset> dc = BroadcastUtils.getKernelClass(aDataset.getClass());
 			if (aDataset.isComplex() && !allowComplex) {
 				is = 1;
 				dc = InterfaceUtils.getBestFloatInterface(dc);
@@ -34,6 +34,8 @@ public class SliceIterator extends IndexIterator {
 	int[] sshape; // slice shape
 	int[] pos; // position in dataset
 	int istep; // step in last index
+	private int run; // number of items in contiguous runs (zero if not yet found)
+	boolean inRun; // true if index is at start of a run
 
 	SliceIterator() {
 	}
@@ -263,6 +265,7 @@ public class SliceIterator extends IndexIterator {
 	 */
 	@Override
 	public void reset() {
+		inRun = false;
 		final int rank = shape == null ? 0 : shape.length;
 		if (rank == 0) {
 			index = -istep;
@@ -309,6 +312,59 @@ public class SliceIterator extends IndexIterator {
 		return index < imax;
 	}
 
+	/**
+	 * Returns the number of items in each run of consecutive items that are contiguous in the
+	 * underlying data array. This is the size of the longest innermost block of the slice that
+	 * is not interrupted by gaps in the dataset.
+	 * 
+	 * @return number of items in each run
+	 * @since 3.0
+	 */
+	public int getRunLength() {
+		if (run == 0) {
+			run = Math.max(1, calcRunLength());
+		}
+		return run;
+	}
+
+	int calcRunLength() {
+		int r = 1;
+		for (int j = endrank; j >= 0; j--) {
+			final int s = sshape[j];
+			if (s != 1 && step[j] != 1) {
+				break;
+			}
+			r *= s;
+			if (s != shape[j]) {
+				break;
+			}
+		}
+		return r;
+	}
+
+	/**
+	 * Move to the start of the next run of contiguous items. The index is set to that of
+	 * the first element of the run, which has {@link #getRunLength()} items. Do not mix
+	 * calls to this with calls to {@link #hasNext()} without resetting the iterator first.
+	 * 
+	 * @return true if there is another run
+	 * @since 3.0
+	 */
+	public boolean nextRun() {
+		final int r = getRunLength();
+		if (inRun && r > 1) {
+			// move to last item of current run
+			for (int j = endrank, n = r; n > 1; j--) {
+				final int s = sshape[j];
+				pos[j] += (s - 1) * step[j];
+				n /= s;
+			}
+			index += (r - 1) * isize;
+		}
+		inRun = hasNext();
+		return inRun;
+	}
+
 	/**
 	 * Returns an array of starts indexes.
 	 * 
@@ -23,6 +23,7 @@ import java.util.TreeMap;
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.stat.descriptive.moment.Kurtosis;
 import org.apache.commons.math3.stat.descriptive.moment.Skewness;
+import org.eclipse.january.DatasetException;
 import org.eclipse.january.metadata.Dirtiable;
 import org.eclipse.january.metadata.MetadataType;
 
@@ -974,7 +975,7 @@ public class Stats {
 					lresults[j] *= a.getElementLongAbs(it.index+j);
 			}
 			return lresults;
-		} else if (FloatDataset.class.isAssignableFrom(clazz) || DoubleDataset.class.isAssignableFrom(clazz)) {
+		} else if (HalfFloatDataset.class.isAssignableFrom(clazz) || FloatDataset.class.isAssignableFrom(clazz) || DoubleDataset.class.isAssignableFrom(clazz)) {
 			double dresult = 1.;
 			while (it.hasNext()) {
 				final double x = a.getElementDoubleAbs(it.index);
@@ -1165,7 +1166,7 @@ public class Stats {
 						}
 					}
 					result.set(lresults, spos);
-				} else if (a instanceof FloatDataset || a instanceof DoubleDataset) {
+				} else if (a instanceof HalfFloatDataset || a instanceof FloatDataset || a instanceof DoubleDataset) {
 					double dresult = 1.;
 					while (iter.hasNext()) {
 						final double x = a.getElementDoubleAbs(iter.index);
@@ -1235,10 +1236,6 @@ public class Stats {
 	 */
 	public static Dataset cumulativeProduct(final Dataset a, int axis, final boolean... ignoreInvalids) {
 		axis = a.checkAxis(axis);
-		int[] oshape = a.getShape();
-		int alen = oshape[axis];
-		oshape[axis] = 1;
-
 		final boolean ignoreNaNs;
 		final boolean ignoreInfs;
 		if (a.hasFloatingPointElements()) {
@@ -1248,133 +1245,7 @@ public class Stats {
 			ignoreNaNs = false;
 			ignoreInfs = false;
 		}
-		Dataset result = DatasetFactory.zeros(a);
-		PositionIterator pi = result.getPositionIterator(axis);
-
-		int[] pos = pi.getPos();
-
-		while (pi.hasNext()) {
-			if (a.isComplex()) {
-				double rv = 1, iv = 0;
-				if (a instanceof ComplexFloatDataset) {
-					ComplexFloatDataset af = (ComplexFloatDataset) a;
-					ComplexFloatDataset rf = (ComplexFloatDataset) result;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(rv) || !Double.isNaN(iv)) {
-							pos[axis] = j;
-							final float r1 = af.getReal(pos);
-							final float i1 = af.getImag(pos);
-							if (ignoreNaNs && (Float.isNaN(r1) || Float.isNaN(i1))) {
-								continue;
-							}
-							if (ignoreInfs  && (Float.isInfinite(r1) || Float.isInfinite(i1))) {
-								continue;
-							}
-							final double tv = r1*rv - i1*iv;
-							iv = r1*iv + i1*rv;
-							rv = tv;
-						}
-						rf.set((float) rv, (float) iv, pos);
-					}
-				} else if (a instanceof ComplexDoubleDataset) {
-					ComplexDoubleDataset ad = (ComplexDoubleDataset) a;
-					ComplexDoubleDataset rd = (ComplexDoubleDataset) result;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(rv) || !Double.isNaN(iv)) {
-							pos[axis] = j;
-							final double r1 = ad.getReal(pos);
-							final double i1 = ad.getImag(pos);
-							if (ignoreNaNs && (Double.isNaN(r1) || Double.isNaN(i1))) {
-								continue;
-							}
-							if (ignoreInfs  && (Double.isInfinite(r1) || Double.isInfinite(i1))) {
-								continue;
-							}
-							final double tv = r1*rv - i1*iv;
-							iv = r1*iv + i1*rv;
-							rv = tv;
-						}
-						rd.set(rv, iv, pos);
-					}
-				}
-			} else {
-				final int is;
-				final long[] lresults;
-				final double[] dresults;
-
-				if (a instanceof BooleanDataset || a instanceof ByteDataset || a instanceof ShortDataset || a instanceof IntegerDataset) {
-					long lresult = 1;
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						lresult *= a.getLong(pos);
-						result.set(lresult, pos);
-					}
-				} else if (a instanceof CompoundByteDataset || a instanceof CompoundShortDataset || a instanceof CompoundIntegerDataset || a instanceof CompoundLongDataset) {
-					is = a.getElementsPerItem();
-					CompoundDataset ca = (CompoundDataset) a;
-					lresults = new long[is];
-					for (int k = 0; k < is; k++) {
-						lresults[k] = 1;
-					}
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						int l = a.get1DIndex(pos);
-						for (int k = 0; k < is; k++) {
-							lresults[k] *= ca.getElementLongAbs(l++);
-						}
-						result.set(lresults, pos);
-					}
-				} else if (a instanceof FloatDataset || a instanceof DoubleDataset) {
-					double dresult = 1.;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(dresult)) {
-							pos[axis] = j;
-							final double x = a.getDouble(pos);
-							if (ignoreNaNs && Double.isNaN(x)) {
-								continue;
-							}
-							if (ignoreInfs && Double.isInfinite(x)) {
-								continue;
-							}
-							dresult *= x;
-						}
-						result.set(dresult, pos);
-					}
-				} else if (a instanceof CompoundFloatDataset || a instanceof CompoundDoubleDataset) {
-					is = a.getElementsPerItem();
-					CompoundDataset da = (CompoundDataset) a;
-					double[] dvalues = new double[is];
-					dresults = new double[is];
-					for (int k = 0; k < is; k++) {
-						dresults[k] = 1.;
-					}
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						da.getDoubleArray(dvalues, pos);
-						boolean okay = true;
-						for (int k = 0; k < is; k++) {
-							final double val = dvalues[k];
-							if (ignoreNaNs && Double.isNaN(val)) {
-								okay = false;
-								break;
-							}
-							if (ignoreInfs && Double.isInfinite(val)) {
-								okay = false;
-								break;
-							}
-						}
-						if (okay) {
-							for (int k = 0; k < is; k++) {
-								dresults[k] *= dvalues[k];
-							}
-						}
-						result.set(dresults, pos);
-					}
-				}
-			}
-		}
-
-		return result;
+		return ScanUtils.scan(a, axis, true, ignoreNaNs, ignoreInfs);
 	}
 
 	/**
@@ -1396,10 +1267,6 @@ public class Stats {
 	 */
 	public static Dataset cumulativeSum(final Dataset a, int axis, final boolean... ignoreInvalids) {
 		axis = a.checkAxis(axis);
-		int[] oshape = a.getShape();
-		int alen = oshape[axis];
-		oshape[axis] = 1;
-
 		final boolean ignoreNaNs;
 		final boolean ignoreInfs;
 		if (a.hasFloatingPointElements()) {
@@ -1409,158 +1276,7 @@ public class Stats {
 			ignoreNaNs = false;
 			ignoreInfs = false;
 		}
-		Dataset result = DatasetFactory.zeros(a);
-		PositionIterator pi = result.getPositionIterator(axis);
-
-		int[] pos = pi.getPos();
-
-		while (pi.hasNext()) {
-
-			if (a.isComplex()) {
-				double rv = 0, iv = 0;
-				if (a instanceof ComplexFloatDataset) {
-					ComplexFloatDataset af = (ComplexFloatDataset) a;
-					ComplexFloatDataset rf = (ComplexFloatDataset) result;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(rv) || !Double.isNaN(iv)) {
-							pos[axis] = j;
-							final float r1 = af.getReal(pos);
-							final float i1 = af.getImag(pos);
-							if (ignoreNaNs && (Float.isNaN(r1) || Float.isNaN(i1))) {
-								continue;
-							}
-							if (ignoreInfs  && (Float.isInfinite(r1) || Float.isInfinite(i1))) {
-								continue;
-							}
-							rv += r1;
-							iv += i1;
-						}
-						rf.set((float) rv, (float) iv, pos);
-					}
-				} else if (a instanceof ComplexDoubleDataset) {
-					ComplexDoubleDataset ad = (ComplexDoubleDataset) a;
-					ComplexDoubleDataset rd = (ComplexDoubleDataset) result;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(rv) || !Double.isNaN(iv)) {
-							pos[axis] = j;
-							final double r1 = ad.getReal(pos);
-							final double i1 = ad.getImag(pos);
-							if (ignoreNaNs && (Double.isNaN(r1) || Double.isNaN(i1))) {
-								continue;
-							}
-							if (ignoreInfs  && (Double.isInfinite(r1) || Double.isInfinite(i1))) {
-								continue;
-							}
-							rv += r1;
-							iv += i1;
-						}
-						rd.set(rv, iv, pos);
-					}
-				}
-			} else {
-				final int is;
-				final long[] lresults;
-				final double[] dresults;
-
-				if (a instanceof BooleanDataset || a instanceof ByteDataset || a instanceof ShortDataset || a instanceof IntegerDataset || a instanceof LongDataset) {
-					long lresult = 0;
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						lresult += a.getLong(pos);
-						result.set(lresult, pos);
-					}
-				} else if (a instanceof CompoundByteDataset) {
-					is = a.getElementsPerItem();
-					lresults = new long[is];
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						final byte[] va = (byte[]) a.getObject(pos);
-						for (int k = 0; k < is; k++) {
-							lresults[k] += va[k];
-						}
-						result.set(lresults, pos);
-					}
-				} else if (a instanceof CompoundShortDataset) {
-					is = a.getElementsPerItem();
-					lresults = new long[is];
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						final short[] va = (short[]) a.getObject(pos);
-						for (int k = 0; k < is; k++) {
-							lresults[k] += va[k];
-						}
-						result.set(lresults, pos);
-					}
-				} else if (a instanceof CompoundIntegerDataset) {
-					is = a.getElementsPerItem();
-					lresults = new long[is];
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						final int[] va = (int[]) a.getObject(pos);
-						for (int k = 0; k < is; k++) {
-							lresults[k] += va[k];
-						}
-						result.set(lresults, pos);
-					}
-				} else if (a instanceof CompoundLongDataset) {
-					is = a.getElementsPerItem();
-					lresults = new long[is];
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						final long[] va = (long[]) a.getObject(pos);
-						for (int k = 0; k < is; k++) {
-							lresults[k] += va[k];
-						}
-						result.set(lresults, pos);
-					}
-				} else if (a instanceof FloatDataset || a instanceof DoubleDataset) {
-					double dresult = 0.;
-					for (int j = 0; j < alen; j++) {
-						if (!Double.isNaN(dresult)) {
-							pos[axis] = j;
-							final double x = a.getDouble(pos);
-							if (ignoreNaNs && Double.isNaN(x)) {
-								continue;
-							}
-							if (ignoreInfs && Double.isInfinite(x)) {
-								continue;
-							}
-							dresult += x;
-						}
-						result.set(dresult, pos);
-					}
-				} else if (a instanceof CompoundFloatDataset || a instanceof CompoundDoubleDataset) {
-					is = a.getElementsPerItem();
-					CompoundDataset da = (CompoundDataset) a;
-					double[] dvalues = new double[is];
-					dresults = new double[is];
-					for (int j = 0; j < alen; j++) {
-						pos[axis] = j;
-						da.getDoubleArray(dvalues, pos);
-						boolean okay = true;
-						for (int k = 0; k < is; k++) {
-							final double val = dvalues[k];
-							if (ignoreNaNs && Double.isNaN(val)) {
-								okay = false;
-								break;
-							}
-							if (ignoreInfs && Double.isInfinite(val)) {
-								okay = false;
-								break;
-							}
-						}
-						if (okay) {
-							for (int k = 0; k < is; k++) {
-								dresults[k] += dvalues[k];
-							}
-						}
-						result.set(dresults, pos);
-					}
-				}
-			}
-		}
-
-		return result;
+		return ScanUtils.scan(a, axis, false, ignoreNaNs, ignoreInfs);
 	}
 
 	/**
@@ -1874,7 +1590,91 @@ public class Stats {
 	 * @since 2.0
 	 */
 	public static Dataset covariance(final Dataset a, final Dataset b, boolean rowvar, boolean bias, Integer ddof) {
+		if (a.getRank() > 2 || a.getElementsPerItem() != 1 || (b != null && (b.getRank() > 2 || b.getElementsPerItem() != 1))) {
+			return tensorCovariance(a, b, rowvar, bias, ddof);
+		}
+
+		Dataset vars = a.getRank() == 1 ? a.reshape(1, a.getSize()) : a;
+		rowvar = CovarianceUtils.isRowVariable(vars, rowvar);
+		if (b != null) {
+			Dataset extraVars = b.getRank() == 1 ? b.reshape(1, b.getSize()) : b;
+			vars = DatasetUtils.concatenate(new Dataset[]{vars, extraVars}, rowvar ? 0 : 1);
+		}
 
+		try {
+			return Maths.divide(CovarianceUtils.crossProducts(vars, rowvar), getNormalisation(vars, rowvar, bias, ddof)).squeeze();
+		} catch (DatasetException e) {
+			throw new IllegalArgumentException(e); // cannot happen as data is in memory
+		}
+	}
+
+	/**
+	 * Calculate the correlation coefficient matrix (array) of a. This method is
+	 * based on the implementation in numpy (corrcoef).
+	 * @param a dataset containing multiple variable and observations. Each row represents a variable, each column an observation.
+	 * @return correlation coefficient array of a
+	 * @since 3.0
+	 */
+	public static Dataset correlation(final Dataset a) {
+		return correlation(a, true);
+	}
+
+	/**
+	 * Calculate the correlation coefficient matrix (array) of a. This method is
+	 * based on the implementation in numpy (corrcoef).
+	 * @param a dataset containing multiple variable and observations. Each row represents a variable, each column an observation.
+	 * @param rowvar When true (default), each row is a variable; when false each column is a variable.
+	 * @return correlation coefficient array of a
+	 * @since 3.0
+	 */
+	public static Dataset correlation(final Dataset a, boolean rowvar) {
+		try {
+			return toCorrelation(CovarianceUtils.crossProducts(a, rowvar));
+		} catch (DatasetException e) {
+			throw new IllegalArgumentException(e); // cannot happen as data is in memory
+		}
+	}
+
+	/**
+	 * @param a dataset of rank 1 or 2
+	 * @param rowvar
+	 * @param bias
+	 * @param ddof
+	 * @return normalisation factor for covariance
+	 */
+	static double getNormalisation(final ILazyDataset a, boolean rowvar, boolean bias, Integer ddof) {
+		if (ddof == null) {
+			ddof = bias ? 0 : 1;
+		}
+		return Math.max(0., CovarianceUtils.getObservations(a, rowvar) - ddof);
+	}
+
+	/**
+	 * @param c square dataset of sums of centred cross-products, which is overwritten
+	 * @return correlation coefficients
+	 */
+	static Dataset toCorrelation(final DoubleDataset c) {
+		final int nv = c.getShapeRef()[0];
+		final double[] data = c.getData();
+		final double[] scale = new double[nv];
+		for (int i = 0; i < nv; i++) {
+			scale[i] = 1. / Math.sqrt(data[i * nv + i]);
+		}
+		for (int i = 0, k = 0; i < nv; i++) {
+			for (int j = 0; j < nv; j++, k++) {
+				double r = data[k] * scale[i] * scale[j];
+				data[k] = r > 1 ? 1 : (r < -1 ? -1 : r); // clip as rounding errors can exceed bounds
+			}
+		}
+		c.setDirty();
+		return c.squeeze();
+	}
+
+	/**
+	 * Calculate covariance with tensor dot products. This supports complex datasets and datasets
+	 * of rank greater than 2
+	 */
+	private static Dataset tensorCovariance(final Dataset a, final Dataset b, boolean rowvar, boolean bias, Integer ddof) {
 		//Create a working copy of the dataset & check its rank.
 		Dataset vars = a.clone();
 		if (a.getRank() == 1) {
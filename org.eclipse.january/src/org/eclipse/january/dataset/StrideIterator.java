@@ -148,8 +148,25 @@ public class StrideIterator extends SliceIterator {
 		return pos;
 	}
 
+	@Override
+	int calcRunLength() {
+		if (element != 0) { // only part of each item is visited
+			return 1;
+		}
+		int r = 1;
+		for (int j = endrank; j >= 0; j--) {
+			final int s = sshape[j];
+			if (s != 1 && stride[j] != r * isize) {
+				break;
+			}
+			r *= s;
+		}
+		return r;
+	}
+
 	@Override
 	public void reset() {
+		inRun = false;
 		System.arraycopy(start, 0, pos, 0, start.length);
 		if (endrank >= 0) {
 			pos[endrank] -= step[endrank];
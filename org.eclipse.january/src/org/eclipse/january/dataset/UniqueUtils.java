@@ -0,0 +1,302 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+import java.util.Arrays;
+
+/**
+ * Helper to find unique items of a dataset, with their first positions, their counts and
+ * the inverse mapping from items to unique items. Items are copied to a primitive array which
+ * is sorted in parallel and de-duplicated. Integer datasets with few distinct values are
+ * processed with an open-addressing hash table instead of sorting.
+ * <p>
+ * Items are ordered as in {@link Arrays#sort(double[])}, so -0 precedes +0 and all NaNs are
+ * treated as one value that comes last, and unsigned integers are ordered by their unsigned values
+ */
+final class UniqueUtils {
+
+	/**
+	 * Maximum number of distinct values for using a hash table
+	 */
+	static final int MAX_HASHED = 1 << 16;
+
+	private UniqueUtils() {
+	}
+
+	/**
+	 * Unique items found in a dataset. Positions are in iteration order of the dataset
+	 */
+	static class Unique {
+		/**
+		 * position of first occurrence of each unique item, in ascending order of item
+		 */
+		int[] first;
+
+		/**
+		 * number of occurrences of each unique item
+		 */
+		int[] counts;
+
+		/**
+		 * index of unique item at each position, or null if not requested
+		 */
+		int[] inverse;
+	}
+
+	/**
+	 * Find unique items
+	 * @param a dataset that is not compound
+	 * @param inverse if true, also find inverse mapping
+	 * @return unique items
+	 */
+	static Unique unique(final Dataset a, final boolean inverse) {
+		if (a.getElementsPerItem() != 1) {
+			throw new IllegalArgumentException("Compound datasets are not supported");
+		}
+
+		final int n = a.getSize();
+		final IndexIterator it = a.getIterator();
+		int i = 0;
+		if (a.hasFloatingPointElements()) {
+			final double[] keys = new double[n];
+			while (it.hasNext()) {
+				keys[i++] = a.getElementDoubleAbs(it.index);
+			}
+			return unique(keys, inverse);
+		}
+
+		if (a.getElementClass() == Boolean.class) {
+			final long[] keys = new long[n];
+			while (it.hasNext()) {
+				keys[i++] = a.getElementBooleanAbs(it.index) ? 1 : 0;
+			}
+			return unique(keys, inverse);
+		}
+		if (InterfaceUtils.isInteger(a.getClass())) {
+			final long[] keys = new long[n];
+			while (it.hasNext()) {
+				keys[i++] = a.getElementLongAbs(it.index);
+			}
+			return unique(keys, inverse);
+		}
+
+		final Object[] keys = new Object[n];
+		while (it.hasNext()) {
+			keys[i++] = a.getObjectAbs(it.index);
+		}
+		return unique(keys, inverse);
+	}
+
+	/**
+	 * Convert positions in iteration order to indices in data array
+	 * @param a dataset that is not compound
+	 * @param positions
+	 * @return indices
+	 */
+	static int[] getIndices(final Dataset a, final int[] positions) {
+		if (a.getStrides() == null) {
+			return positions;
+		}
+
+		// visit positions in ascending order with a single pass of iterator
+		final int m = positions.length;
+		final long[] order = new long[m];
+		for (int j = 0; j < m; j++) {
+			order[j] = ((long) positions[j] << 32) | j;
+		}
+		Arrays.sort(order);
+
+		final int[] indices = new int[m];
+		final IndexIterator it = a.getIterator();
+		int i = -1;
+		for (long o : order) {
+			final int p = (int) (o >>> 32);
+			while (i < p) {
+				it.hasNext();
+				i++;
+			}
+			indices[(int) o] = it.index;
+		}
+		return indices;
+	}
+
+	private static Unique unique(final double[] keys, final boolean inverse) {
+		final int n = keys.length;
+		final double[] sorted = keys.clone();
+		Arrays.parallelSort(sorted);
+
+		final int[] counts = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			if (m == 0 || Double.compare(sorted[i], sorted[m - 1]) != 0) {
+				sorted[m++] = sorted[i];
+			}
+			counts[m - 1]++;
+		}
+
+		final int nu = m;
+		final int[] inv = new int[n];
+		ParallelUtils.forRange(n, 32 - Integer.numberOfLeadingZeros(nu), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					inv[i] = Arrays.binarySearch(sorted, 0, nu, keys[i]);
+				}
+			}
+		});
+		return createUnique(inv, Arrays.copyOf(counts, nu), inverse);
+	}
+
+	private static Unique unique(final long[] keys, final boolean inverse) {
+		Unique u = hashUnique(keys, inverse);
+		if (u != null) {
+			return u;
+		}
+
+		final int n = keys.length;
+		final long[] sorted = keys.clone();
+		Arrays.parallelSort(sorted);
+
+		final int[] counts = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			if (m == 0 || sorted[i] != sorted[m - 1]) {
+				sorted[m++] = sorted[i];
+			}
+			counts[m - 1]++;
+		}
+
+		final int nu = m;
+		final int[] inv = new int[n];
+		ParallelUtils.forRange(n, 32 - Integer.numberOfLeadingZeros(nu), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					inv[i] = Arrays.binarySearch(sorted, 0, nu, keys[i]);
+				}
+			}
+		});
+		return createUnique(inv, Arrays.copyOf(counts, nu), inverse);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static Unique unique(final Object[] keys, final boolean inverse) {
+		final int n = keys.length;
+		final Object[] sorted = keys.clone();
+		Arrays.sort(sorted);
+
+		final int[] counts = new int[n];
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			if (m == 0 || ((Comparable) sorted[i]).compareTo(sorted[m - 1]) != 0) {
+				sorted[m++] = sorted[i];
+			}
+			counts[m - 1]++;
+		}
+
+		final int nu = m;
+		final int[] inv = new int[n];
+		ParallelUtils.forRange(n, 32 - Integer.numberOfLeadingZeros(nu), new ParallelUtils.RangeTask() {
+			@Override
+			public void run(int start, int end) {
+				for (int i = start; i < end; i++) {
+					inv[i] = Arrays.binarySearch(sorted, 0, nu, keys[i]);
+				}
+			}
+		});
+		return createUnique(inv, Arrays.copyOf(counts, nu), inverse);
+	}
+
+	/**
+	 * Find first positions from inverse mapping
+	 */
+	private static Unique createUnique(final int[] inv, final int[] counts, final boolean inverse) {
+		final int nu = counts.length;
+		final int[] first = new int[nu];
+		Arrays.fill(first, -1);
+		for (int i = 0, found = 0; i < inv.length && found < nu; i++) {
+			if (first[inv[i]] < 0) {
+				first[inv[i]] = i;
+				found++;
+			}
+		}
+
+		Unique u = new Unique();
+		u.first = first;
+		u.counts = counts;
+		u.inverse = inverse ? inv : null;
+		return u;
+	}
+
+	/**
+	 * Find unique values with an open-addressing hash table
+	 * @return null if there are too many distinct values
+	 */
+	private static Unique hashUnique(final long[] keys, final boolean inverse) {
+		final int n = keys.length;
+		final int max = Math.min(n, MAX_HASHED);
+		int capacity = Integer.highestOneBit(Math.max(2 * max - 1, 1)) << 1;
+		final int mask = capacity - 1;
+		final long[] table = new long[capacity];
+		final int[] slots = new int[capacity]; // 1 + index of distinct value in slot, 0 if empty
+		final long[] values = new long[max];
+		final int[] first = new int[max];
+		final int[] counts = new int[max];
+		final int[] inv = inverse ? new int[n] : null;
+
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			final long k = keys[i];
+			long h = k * 0x9E3779B97F4A7C15L;
+			int s = (int) (h ^ (h >>> 32)) & mask;
+			while (slots[s] != 0 && table[s] != k) {
+				s = (s + 1) & mask;
+			}
+			int d = slots[s] - 1;
+			if (d < 0) {
+				if (m == max) {
+					return null;
+				}
+				d = m++;
+				table[s] = k;
+				slots[s] = m;
+				values[d] = k;
+				first[d] = i;
+			}
+			counts[d]++;
+			if (inv != null) {
+				inv[i] = d;
+			}
+		}
+
+		// order distinct values
+		final long[] order = Arrays.copyOf(values, m);
+		Arrays.sort(order);
+		final int[] rank = new int[m];
+		for (int d = 0; d < m; d++) {
+			rank[d] = Arrays.binarySearch(order, values[d]);
+		}
+
+		Unique u = new Unique();
+		u.first = new int[m];
+		u.counts = new int[m];
+		for (int d = 0; d < m; d++) {
+			u.first[rank[d]] = first[d];
+			u.counts[rank[d]] = counts[d];
+		}
+		if (inv != null) {
+			for (int i = 0; i < n; i++) {
+				inv[i] = rank[inv[i]];
+			}
+			u.inverse = inv;
+		}
+		return u;
+	}
+}
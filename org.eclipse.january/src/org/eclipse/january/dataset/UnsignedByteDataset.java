@@ -0,0 +1,301 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Unsigned 8-bit integer dataset that keeps its items in a byte array
+ * <p>
+ * The element getters (and so the kernels in {@link Maths} and {@link Comparisons} and all statistics)
+ * interpret each stored byte as an unsigned value in the range [0, {@value #MAX_VALUE}]. As the integer
+ * kernels narrow their results by discarding high bits, results output to this class hold the expected
+ * unsigned values modulo 2<sup>8</sup>. Note {@link #getData()}, {@link #getAbs(int)}, the {@code get}
+ * and {@code getByte} methods return the stored values as signed bytes.
+ * @since 3.0
+ */
+public class UnsignedByteDataset extends ByteDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	/**
+	 * Largest value that can be held
+	 */
+	public static final int MAX_VALUE = 0xff;
+
+	static UnsignedByteDataset createFromObject(final Object obj) {
+		UnsignedByteDataset result = new UnsignedByteDataset();
+
+		if (obj != null) {
+			result.shape = ShapeUtils.getShapeFromObject(obj);
+			result.size = ShapeUtils.calcSize(result.shape);
+			result.odata = result.data = createArray(result.size);
+
+			int[] pos = new int[result.shape.length];
+			result.fillData(obj, 0, pos);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	UnsignedByteDataset() {
+		super();
+	}
+
+	/**
+	 * Create a zero-filled dataset of given shape
+	 * @param shape
+	 */
+	UnsignedByteDataset(final int... shape) {
+		super(shape);
+	}
+
+	/**
+	 * Create a dataset using given data
+	 * @param data stored values
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	UnsignedByteDataset(final byte[] data, int... shape) {
+		super(data, shape);
+	}
+
+	/**
+	 * Copy a dataset
+	 * @param dataset
+	 */
+	UnsignedByteDataset(final UnsignedByteDataset dataset) {
+		super(dataset);
+	}
+
+	/**
+	 * Copy and cast a dataset to this class type. Values outside the range are wrapped
+	 * @param dataset
+	 */
+	UnsignedByteDataset(final Dataset dataset) {
+		super(dataset);
+	}
+
+	@Override
+	public UnsignedByteDataset clone() {
+		return new UnsignedByteDataset(this);
+	}
+
+	@Override
+	public UnsignedByteDataset getView(boolean deepCopyMetadata) {
+		UnsignedByteDataset view = new UnsignedByteDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.setData();
+		return view;
+	}
+
+	@Override
+	public UnsignedByteDataset getSlice(final SliceIterator siter) {
+		ByteDataset base = super.getSlice(siter);
+
+		UnsignedByteDataset slice = new UnsignedByteDataset();
+		copyToView(base, slice, false, false);
+		slice.setData();
+		return slice;
+	}
+
+	@Override
+	public UnsignedByteDataset fill(final Object obj) {
+		super.fill(obj);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset getUniqueItems() {
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		UnsignedByteDataset u = new UnsignedByteDataset(first.length);
+		GatherUtils.gather(data, first, 1, u.data);
+		return u;
+	}
+
+	@Override
+	public UnsignedByteDataset sort(Integer axis) {
+		// flipping the sign bit maps unsigned order to signed order
+		ByteDataset signed = super.getView(false);
+		flipSigns(signed);
+		signed.sort(axis);
+		flipSigns(signed);
+		setDirty();
+		return this;
+	}
+
+	private static void flipSigns(ByteDataset a) {
+		final byte[] d = a.data;
+		IndexIterator it = a.getIterator();
+		while (it.hasNext()) {
+			d[it.index] ^= Byte.MIN_VALUE;
+		}
+	}
+
+	@Override
+	public double getElementDoubleAbs(final int index) {
+		return Byte.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public long getElementLongAbs(final int index) {
+		return Byte.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return Byte.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		final int v = Byte.toUnsignedInt(data[index]);
+		return stringFormat == null ? String.format("%d", v) : stringFormat.format(v);
+	}
+
+	@Override
+	public Object getObject() {
+		return getObjectAbs(getFirst1DIndex());
+	}
+
+	@Override
+	public Object getObject(final int i) {
+		return getObjectAbs(get1DIndex(i));
+	}
+
+	@Override
+	public Object getObject(final int i, final int j) {
+		return getObjectAbs(get1DIndex(i, j));
+	}
+
+	@Override
+	public Object getObject(final int... pos) {
+		return getObjectAbs(get1DIndex(pos));
+	}
+
+	@Override
+	public double getDouble() {
+		return Byte.toUnsignedInt(get());
+	}
+
+	@Override
+	public double getDouble(final int i) {
+		return Byte.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public double getDouble(final int i, final int j) {
+		return Byte.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public double getDouble(final int... pos) {
+		return Byte.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public float getFloat() {
+		return Byte.toUnsignedInt(get());
+	}
+
+	@Override
+	public float getFloat(final int i) {
+		return Byte.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public float getFloat(final int i, final int j) {
+		return Byte.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public float getFloat(final int... pos) {
+		return Byte.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public long getLong() {
+		return Byte.toUnsignedInt(get());
+	}
+
+	@Override
+	public long getLong(final int i) {
+		return Byte.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public long getLong(final int i, final int j) {
+		return Byte.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public long getLong(final int... pos) {
+		return Byte.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public int getInt() {
+		return Byte.toUnsignedInt(get());
+	}
+
+	@Override
+	public int getInt(final int i) {
+		return Byte.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public int getInt(final int i, final int j) {
+		return Byte.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public int getInt(final int... pos) {
+		return Byte.toUnsignedInt(get(pos));
+	}
+
+	// in-place operations use the kernels as the inherited ones treat stored values as signed
+
+	@Override
+	public UnsignedByteDataset iadd(final Object b) {
+		Maths.add(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset isubtract(final Object b) {
+		Maths.subtract(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset imultiply(final Object b) {
+		Maths.multiply(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset idivide(final Object b) {
+		Maths.divide(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset iremainder(final Object b) {
+		Maths.remainder(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedByteDataset ipower(final Object b) {
+		Maths.power(this, b, this);
+		return this;
+	}
+}
@@ -0,0 +1,281 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Unsigned 32-bit integer dataset that keeps its items in an int array
+ * <p>
+ * The element getters (and so the kernels in {@link Maths} and {@link Comparisons} and all statistics)
+ * interpret each stored int as an unsigned value in the range [0, {@value #MAX_VALUE}]. As the integer
+ * kernels narrow their results by discarding high bits, results output to this class hold the expected
+ * unsigned values modulo 2<sup>32</sup>. Note {@link #getData()}, {@link #getAbs(int)}, the {@code get}
+ * and {@code getInt} methods return the stored values as signed ints.
+ * @since 3.0
+ */
+public class UnsignedIntegerDataset extends IntegerDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	/**
+	 * Largest value that can be held
+	 */
+	public static final long MAX_VALUE = 0xffffffffL;
+
+	static UnsignedIntegerDataset createFromObject(final Object obj) {
+		UnsignedIntegerDataset result = new UnsignedIntegerDataset();
+
+		if (obj != null) {
+			result.shape = ShapeUtils.getShapeFromObject(obj);
+			result.size = ShapeUtils.calcSize(result.shape);
+			result.odata = result.data = createArray(result.size);
+
+			int[] pos = new int[result.shape.length];
+			result.fillData(obj, 0, pos);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	UnsignedIntegerDataset() {
+		super();
+	}
+
+	/**
+	 * Create a zero-filled dataset of given shape
+	 * @param shape
+	 */
+	UnsignedIntegerDataset(final int... shape) {
+		super(shape);
+	}
+
+	/**
+	 * Create a dataset using given data
+	 * @param data stored values
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	UnsignedIntegerDataset(final int[] data, int... shape) {
+		super(data, shape);
+	}
+
+	/**
+	 * Copy a dataset
+	 * @param dataset
+	 */
+	UnsignedIntegerDataset(final UnsignedIntegerDataset dataset) {
+		super(dataset);
+	}
+
+	/**
+	 * Copy and cast a dataset to this class type. Values outside the range are wrapped
+	 * @param dataset
+	 */
+	UnsignedIntegerDataset(final Dataset dataset) {
+		super(dataset);
+	}
+
+	@Override
+	public UnsignedIntegerDataset clone() {
+		return new UnsignedIntegerDataset(this);
+	}
+
+	@Override
+	public UnsignedIntegerDataset getView(boolean deepCopyMetadata) {
+		UnsignedIntegerDataset view = new UnsignedIntegerDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.setData();
+		return view;
+	}
+
+	@Override
+	public UnsignedIntegerDataset getSlice(final SliceIterator siter) {
+		IntegerDataset base = super.getSlice(siter);
+
+		UnsignedIntegerDataset slice = new UnsignedIntegerDataset();
+		copyToView(base, slice, false, false);
+		slice.setData();
+		return slice;
+	}
+
+	@Override
+	public UnsignedIntegerDataset fill(final Object obj) {
+		super.fill(obj);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset getUniqueItems() {
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		UnsignedIntegerDataset u = new UnsignedIntegerDataset(first.length);
+		GatherUtils.gather(data, first, 1, u.data);
+		return u;
+	}
+
+	@Override
+	public UnsignedIntegerDataset sort(Integer axis) {
+		// flipping the sign bit maps unsigned order to signed order
+		IntegerDataset signed = super.getView(false);
+		flipSigns(signed);
+		signed.sort(axis);
+		flipSigns(signed);
+		setDirty();
+		return this;
+	}
+
+	private static void flipSigns(IntegerDataset a) {
+		final int[] d = a.data;
+		IndexIterator it = a.getIterator();
+		while (it.hasNext()) {
+			d[it.index] ^= Integer.MIN_VALUE;
+		}
+	}
+
+	@Override
+	public double getElementDoubleAbs(final int index) {
+		return Integer.toUnsignedLong(data[index]);
+	}
+
+	@Override
+	public long getElementLongAbs(final int index) {
+		return Integer.toUnsignedLong(data[index]);
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return Integer.toUnsignedLong(data[index]);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		final long v = Integer.toUnsignedLong(data[index]);
+		return stringFormat == null ? String.format("%d", v) : stringFormat.format(v);
+	}
+
+	@Override
+	public Object getObject() {
+		return getObjectAbs(getFirst1DIndex());
+	}
+
+	@Override
+	public Object getObject(final int i) {
+		return getObjectAbs(get1DIndex(i));
+	}
+
+	@Override
+	public Object getObject(final int i, final int j) {
+		return getObjectAbs(get1DIndex(i, j));
+	}
+
+	@Override
+	public Object getObject(final int... pos) {
+		return getObjectAbs(get1DIndex(pos));
+	}
+
+	@Override
+	public double getDouble() {
+		return Integer.toUnsignedLong(get());
+	}
+
+	@Override
+	public double getDouble(final int i) {
+		return Integer.toUnsignedLong(get(i));
+	}
+
+	@Override
+	public double getDouble(final int i, final int j) {
+		return Integer.toUnsignedLong(get(i, j));
+	}
+
+	@Override
+	public double getDouble(final int... pos) {
+		return Integer.toUnsignedLong(get(pos));
+	}
+
+	@Override
+	public float getFloat() {
+		return Integer.toUnsignedLong(get());
+	}
+
+	@Override
+	public float getFloat(final int i) {
+		return Integer.toUnsignedLong(get(i));
+	}
+
+	@Override
+	public float getFloat(final int i, final int j) {
+		return Integer.toUnsignedLong(get(i, j));
+	}
+
+	@Override
+	public float getFloat(final int... pos) {
+		return Integer.toUnsignedLong(get(pos));
+	}
+
+	@Override
+	public long getLong() {
+		return Integer.toUnsignedLong(get());
+	}
+
+	@Override
+	public long getLong(final int i) {
+		return Integer.toUnsignedLong(get(i));
+	}
+
+	@Override
+	public long getLong(final int i, final int j) {
+		return Integer.toUnsignedLong(get(i, j));
+	}
+
+	@Override
+	public long getLong(final int... pos) {
+		return Integer.toUnsignedLong(get(pos));
+	}
+
+	// in-place operations use the kernels as the inherited ones treat stored values as signed
+
+	@Override
+	public UnsignedIntegerDataset iadd(final Object b) {
+		Maths.add(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset isubtract(final Object b) {
+		Maths.subtract(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset imultiply(final Object b) {
+		Maths.multiply(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset idivide(final Object b) {
+		Maths.divide(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset iremainder(final Object b) {
+		Maths.remainder(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedIntegerDataset ipower(final Object b) {
+		Maths.power(this, b, this);
+		return this;
+	}
+}
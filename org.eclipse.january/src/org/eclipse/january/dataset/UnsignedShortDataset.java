@@ -0,0 +1,301 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.dataset;
+
+/**
+ * Unsigned 16-bit integer dataset that keeps its items in a short array
+ * <p>
+ * The element getters (and so the kernels in {@link Maths} and {@link Comparisons} and all statistics)
+ * interpret each stored short as an unsigned value in the range [0, {@value #MAX_VALUE}]. As the integer
+ * kernels narrow their results by discarding high bits, results output to this class hold the expected
+ * unsigned values modulo 2<sup>16</sup>. Note {@link #getData()}, {@link #getAbs(int)}, the {@code get}
+ * and {@code getShort} methods return the stored values as signed shorts.
+ * @since 3.0
+ */
+public class UnsignedShortDataset extends ShortDataset {
+	// pin UID to base class
+	private static final long serialVersionUID = Dataset.serialVersionUID;
+
+	/**
+	 * Largest value that can be held
+	 */
+	public static final int MAX_VALUE = 0xffff;
+
+	static UnsignedShortDataset createFromObject(final Object obj) {
+		UnsignedShortDataset result = new UnsignedShortDataset();
+
+		if (obj != null) {
+			result.shape = ShapeUtils.getShapeFromObject(obj);
+			result.size = ShapeUtils.calcSize(result.shape);
+			result.odata = result.data = createArray(result.size);
+
+			int[] pos = new int[result.shape.length];
+			result.fillData(obj, 0, pos);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Create a null dataset
+	 */
+	UnsignedShortDataset() {
+		super();
+	}
+
+	/**
+	 * Create a zero-filled dataset of given shape
+	 * @param shape
+	 */
+	UnsignedShortDataset(final int... shape) {
+		super(shape);
+	}
+
+	/**
+	 * Create a dataset using given data
+	 * @param data stored values
+	 * @param shape
+	 *            (can be null to create 1D dataset)
+	 */
+	UnsignedShortDataset(final short[] data, int... shape) {
+		super(data, shape);
+	}
+
+	/**
+	 * Copy a dataset
+	 * @param dataset
+	 */
+	UnsignedShortDataset(final UnsignedShortDataset dataset) {
+		super(dataset);
+	}
+
+	/**
+	 * Copy and cast a dataset to this class type. Values outside the range are wrapped
+	 * @param dataset
+	 */
+	UnsignedShortDataset(final Dataset dataset) {
+		super(dataset);
+	}
+
+	@Override
+	public UnsignedShortDataset clone() {
+		return new UnsignedShortDataset(this);
+	}
+
+	@Override
+	public UnsignedShortDataset getView(boolean deepCopyMetadata) {
+		UnsignedShortDataset view = new UnsignedShortDataset();
+		copyToView(this, view, true, deepCopyMetadata);
+		view.setData();
+		return view;
+	}
+
+	@Override
+	public UnsignedShortDataset getSlice(final SliceIterator siter) {
+		ShortDataset base = super.getSlice(siter);
+
+		UnsignedShortDataset slice = new UnsignedShortDataset();
+		copyToView(base, slice, false, false);
+		slice.setData();
+		return slice;
+	}
+
+	@Override
+	public UnsignedShortDataset fill(final Object obj) {
+		super.fill(obj);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset getUniqueItems() {
+		final int[] first = UniqueUtils.getIndices(this, UniqueUtils.unique(this, false).first);
+		UnsignedShortDataset u = new UnsignedShortDataset(first.length);
+		GatherUtils.gather(data, first, 1, u.data);
+		return u;
+	}
+
+	@Override
+	public UnsignedShortDataset sort(Integer axis) {
+		// flipping the sign bit maps unsigned order to signed order
+		ShortDataset signed = super.getView(false);
+		flipSigns(signed);
+		signed.sort(axis);
+		flipSigns(signed);
+		setDirty();
+		return this;
+	}
+
+	private static void flipSigns(ShortDataset a) {
+		final short[] d = a.data;
+		IndexIterator it = a.getIterator();
+		while (it.hasNext()) {
+			d[it.index] ^= Short.MIN_VALUE;
+		}
+	}
+
+	@Override
+	public double getElementDoubleAbs(final int index) {
+		return Short.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public long getElementLongAbs(final int index) {
+		return Short.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public Object getObjectAbs(final int index) {
+		return Short.toUnsignedInt(data[index]);
+	}
+
+	@Override
+	public String getStringAbs(final int index) {
+		final int v = Short.toUnsignedInt(data[index]);
+		return stringFormat == null ? String.format("%d", v) : stringFormat.format(v);
+	}
+
+	@Override
+	public Object getObject() {
+		return getObjectAbs(getFirst1DIndex());
+	}
+
+	@Override
+	public Object getObject(final int i) {
+		return getObjectAbs(get1DIndex(i));
+	}
+
+	@Override
+	public Object getObject(final int i, final int j) {
+		return getObjectAbs(get1DIndex(i, j));
+	}
+
+	@Override
+	public Object getObject(final int... pos) {
+		return getObjectAbs(get1DIndex(pos));
+	}
+
+	@Override
+	public double getDouble() {
+		return Short.toUnsignedInt(get());
+	}
+
+	@Override
+	public double getDouble(final int i) {
+		return Short.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public double getDouble(final int i, final int j) {
+		return Short.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public double getDouble(final int... pos) {
+		return Short.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public float getFloat() {
+		return Short.toUnsignedInt(get());
+	}
+
+	@Override
+	public float getFloat(final int i) {
+		return Short.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public float getFloat(final int i, final int j) {
+		return Short.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public float getFloat(final int... pos) {
+		return Short.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public long getLong() {
+		return Short.toUnsignedInt(get());
+	}
+
+	@Override
+	public long getLong(final int i) {
+		return Short.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public long getLong(final int i, final int j) {
+		return Short.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public long getLong(final int... pos) {
+		return Short.toUnsignedInt(get(pos));
+	}
+
+	@Override
+	public int getInt() {
+		return Short.toUnsignedInt(get());
+	}
+
+	@Override
+	public int getInt(final int i) {
+		return Short.toUnsignedInt(get(i));
+	}
+
+	@Override
+	public int getInt(final int i, final int j) {
+		return Short.toUnsignedInt(get(i, j));
+	}
+
+	@Override
+	public int getInt(final int... pos) {
+		return Short.toUnsignedInt(get(pos));
+	}
+
+	// in-place operations use the kernels as the inherited ones treat stored values as signed
+
+	@Override
+	public UnsignedShortDataset iadd(final Object b) {
+		Maths.add(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset isubtract(final Object b) {
+		Maths.subtract(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset imultiply(final Object b) {
+		Maths.multiply(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset idivide(final Object b) {
+		Maths.divide(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset iremainder(final Object b) {
+		Maths.remainder(this, b, this);
+		return this;
+	}
+
+	@Override
+	public UnsignedShortDataset ipower(final Object b) {
+		Maths.power(this, b, this);
+		return this;
+	}
+}
@@ -21,9 +21,11 @@ import java.util.List;
 // start of imports that will be omitted in derived class
 import org.eclipse.january.dataset.Comparisons;
 import org.eclipse.january.dataset.BooleanDataset;
+import org.eclipse.january.dataset.BufferDataset;
 import org.eclipse.january.dataset.ByteDataset;
 import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.HalfFloatDataset;
 import org.eclipse.january.dataset.IntegerDataset;
 import org.eclipse.january.dataset.LongDataset;
 import org.eclipse.january.dataset.ShortDataset;
@@ -37,6 +39,7 @@ import org.eclipse.january.dataset.CompoundIntegerDataset;
 import org.eclipse.january.dataset.CompoundLongDataset;
 import org.eclipse.january.dataset.CompoundShortDataset;
 import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.InterfaceUtils;
 import org.eclipse.january.dataset.Dataset;
 import org.eclipse.january.dataset.DatasetFactory;
 import org.eclipse.january.dataset.DatasetUtils;
@@ -2695,6 +2698,11 @@ class MathsPreface {
 	 */
 	public static Dataset difference(Dataset a, final int n, int axis) {
 		Dataset ds;
+		if (a instanceof HalfFloatDataset) { // as differences are taken on buffers
+			a = a.cast(FloatDataset.class);
+		} else if (a instanceof BufferDataset) {
+			a = a.cast(InterfaceUtils.findSubInterface(a.getClass()));
+		}
 		final Class<? extends Dataset> clazz = a.getClass();
 		final int rank = a.getRank();
 		final int is = a.getElementsPerItem();
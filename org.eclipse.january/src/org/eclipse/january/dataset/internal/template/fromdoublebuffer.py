@@ -0,0 +1,92 @@
+#!/usr/bin/env python3
+###
+# *******************************************************************************
+# * Copyright (c) 2026 Diamond Light Source Ltd.
+# * All rights reserved. This program and the accompanying materials
+# * are made available under the terms of the Eclipse Public License v1.0
+# * which accompanies this distribution, and is available at
+# * http://www.eclipse.org/legal/epl-v10.html
+# *******************************************************************************/
+###
+
+'''
+From double buffer dataset generate other buffer-backed classes
+
+$ python3 fromdoublebuffer.py ../../DoubleBufferDataset.java
+
+'''
+
+import re
+
+from markers import transmutate #@UnresolvedImport
+
+# default dataset definition
+defds = { "DoubleBufferDataset":["FLOAT64", "Double", "double", "getElementDoubleAbs", "DTypeUtils.toReal(obj)", "%.8g",
+"NaN"] }
+
+defkey = list(defds.keys())[0]
+
+# all other dataset definitions
+fds = { "FloatBufferDataset":["FLOAT32", "Float", "float", "getElementDoubleAbs", "(float) DTypeUtils.toReal(obj)", "%.8g",
+"NaN"] }
+
+allds = {
+"IntegerBufferDataset":["INT32", "Integer", "int", "getElementLongAbs", "(int) DTypeUtils.toLong(obj)", "%d",
+"MIN_VALUE"],
+"LongBufferDataset":["INT64", "Long", "long", "getElementLongAbs", "DTypeUtils.toLong(obj)", "%d",
+"MIN_VALUE"],
+"ShortBufferDataset":["INT16", "Short", "short", "getElementLongAbs", "(short) DTypeUtils.toLong(obj)", "%d",
+"MIN_VALUE"],
+"ByteBufferDataset":["INT8", "Byte", "byte", "getElementLongAbs", "(byte) DTypeUtils.toLong(obj)", "%d",
+"MIN_VALUE"]
+ }
+
+# array-backed superclass and NIO buffer class
+supers = {
+"FloatBufferDataset":("FloatDataset", "FloatBuffer"),
+"IntegerBufferDataset":("IntegerDataset", "IntBuffer"),
+"LongBufferDataset":("LongDataset", "LongBuffer"),
+"ShortBufferDataset":("ShortDataset", "ShortBuffer"),
+"ByteBufferDataset":("ByteDataset", "ByteBuffer")
+ }
+
+superclass = re.compile(r'\bDoubleDataset\b')
+bufferclass = re.compile(r'\bDoubleBuffer\b')
+
+# casts that are redundant once the primitive type is substituted
+longop = re.compile(r'\((float|long)\) \((buffer\.get\([^)]*\) [-+*/%] (lb|it\.bLong))\)')
+redundant = {
+"FloatBufferDataset":[(longop, r'\2')],
+"IntegerBufferDataset":[(re.compile(r'\(int\) 0\b'), '0')],
+"LongBufferDataset":[(longop, r'\2'), (re.compile(r'\(long\) it\.bLong\b'), 'it.bLong')]
+ }
+
+def generateclass(dclass):
+    handlers  = [ transmutate(__file__, defkey, defds[defkey], d, fds[d], True) for d in fds ]
+    handlers += [ transmutate(__file__, defkey, defds[defkey], d, allds[d], False) for d in allds ]
+    names = list(fds.keys()) + list(allds.keys())
+    files = [ open(d + ".java", "w") for d in names ]
+
+    while True:
+        l = dclass.readline()
+        if not l:
+            break
+        for h,d,f in zip(handlers, names, files):
+            nl = h.processline(l)
+            if nl != None:
+                s, b = supers[d]
+                nl = bufferclass.sub(b, superclass.sub(s, nl))
+                for r, t in redundant.get(d, []):
+                    nl = r.sub(t, nl)
+                print(nl, file=f)
+
+if __name__ == '__main__':
+    import sys
+    if len(sys.argv) > 1:
+        fname = sys.argv[1]
+    else:
+        fname = "../../DoubleBufferDataset.java"
+
+    dclass_file = open(fname, 'r')
+
+    generateclass(dclass_file)
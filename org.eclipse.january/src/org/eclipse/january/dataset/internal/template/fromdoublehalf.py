@@ -0,0 +1,166 @@
+#!/usr/bin/env python3
+###
+# *******************************************************************************
+# * Copyright (c) 2026 Diamond Light Source Ltd.
+# * All rights reserved. This program and the accompanying materials
+# * are made available under the terms of the Eclipse Public License v1.0
+# * which accompanies this distribution, and is available at
+# * http://www.eclipse.org/legal/epl-v10.html
+# *******************************************************************************/
+###
+
+'''
+From double dataset generate half-precision float dataset
+
+$ python3 fromdoublehalf.py ../../DoubleDataset.java
+
+The double dataset is first converted to a float dataset as in fromdouble.py. Then its
+storage is changed to a short array of IEEE 754 binary16 bits: values read from the array
+are converted to floats and values written are rounded to half precision, except where
+items are copied between arrays. The parts that differ in other ways are kept in
+halffloat.txt
+'''
+
+import os
+import re
+
+from markers import transmutate #@UnresolvedImport
+
+# default dataset definition
+defds = { "DoubleDataset":["FLOAT64", "Double", "double", "getElementDoubleAbs", "DTypeUtils.toReal(obj)", "%.8g",
+"NaN"] }
+
+defkey = list(defds.keys())[0]
+
+# intermediate dataset definition
+fkey = "FloatDataset"
+fds = ["FLOAT32", "Float", "float", "getElementDoubleAbs", "(float) DTypeUtils.toReal(obj)", "%.8g",
+"NaN"]
+
+hkey = "HalfFloatDataset"
+
+parts_file = os.path.join(os.path.dirname(os.path.abspath(__file__)), "halffloat.txt")
+
+classname = re.compile(r'\bFloatDataset\b')
+element = r'(?:\w+\.)?\w+\[[^\]]*\]' # element of an array
+read = re.compile(r'(?<![\w.])((?:\w+\.)?data\[[^\]]*\])')
+assign = re.compile(r'^(\s*)((?:\w+\.)?\w*data\[[^\]]*\]) = ([^;]+);(\s*//.*)?$')
+declare = re.compile(r'^(\s*)(final )?float (\w+) = ([^;]+);(\s*//.*FROM_OBJECT.*)$')
+setabs = re.compile(r'setAbs\((.+), (\w+)\);')
+
+def load_parts():
+    '''
+    Load sections of half-precision parts
+    '''
+    parts = {}
+    name = None
+    with open(parts_file, 'r') as f:
+        for l in f:
+            l = l.rstrip('\n')
+            if l.startswith('//// '):
+                name = l[5:].strip()
+                parts[name] = []
+            elif name is not None:
+                parts[name].append(l)
+    return parts
+
+def convert_line(l, halves):
+    '''
+    Convert line from float dataset to use short array of half-precision bits
+    halves is set of names of local variables that hold half-precision bits
+    '''
+    l = classname.sub(hkey, l)
+    l = l.replace('float[]', 'short[]').replace('new float[', 'new short[')
+    l = l.replace('Arrays.sort(', 'sortHalves(').replace('"%.8g"', '"%.5g"')
+    l = l.replace('@return data buffer as linear array', '@return data buffer as linear array of half-precision bits')
+
+    m = declare.match(l)
+    if m:
+        halves.add(m.group(3))
+        return '%s%sshort %s = toHalf(%s);%s' % (m.group(1), m.group(2) or '', m.group(3), m.group(4), m.group(5))
+
+    m = assign.match(l)
+    if m:
+        rhs = m.group(3)
+        if re.fullmatch(element, rhs) or rhs in halves: # copy bits
+            return l
+        rhs = read.sub(r'toFloat(\1)', rhs)
+        return '%s%s = toHalf(%s);%s' % (m.group(1), m.group(2), rhs, m.group(4) or '')
+
+    m = setabs.search(l)
+    if m and m.group(2) in halves:
+        return l[:m.start()] + 'setAbs(%s, toFloat(%s));' % (m.group(1), m.group(2)) + l[m.end():]
+
+    return read.sub(r'toFloat(\1)', l)
+
+def find_method(lines, name):
+    '''
+    Find range of lines of method with given name (including its annotations)
+    '''
+    signature = re.compile(r'^\t(?:public|protected|private)[^=;]*\b' + name + r'\(.*\{\s*(//.*)?$')
+    found = [i for i, l in enumerate(lines) if signature.match(l)]
+    if len(found) != 1:
+        raise ValueError("Could not find unique method %s" % name)
+    start = found[0]
+    while lines[start - 1].strip().startswith('@'):
+        start -= 1
+    end = found[0]
+    while lines[end] != '\t}':
+        end += 1
+    return start, end + 1
+
+def generateclass(dclass, out):
+    handler = transmutate(__file__, defkey, defds[defkey], fkey, fds, True)
+    lines = []
+    while True:
+        l = dclass.readline()
+        if not l:
+            break
+        nl = handler.processline(l)
+        if nl != None:
+            lines.extend(nl.split('\n'))
+
+    halves = set()
+    converted = []
+    for l in lines:
+        if l.strip().startswith('* @since'): # class is newer
+            continue
+        converted.append(convert_line(l, halves))
+        if l == '\t}': # end of method
+            halves = set()
+    lines = converted
+
+    parts = load_parts()
+    for p in parts:
+        if p.startswith('replace '):
+            start, end = find_method(lines, p[8:].strip())
+            lines[start:end] = parts[p]
+
+    c = [i for i, l in enumerate(lines) if l.startswith('public class ' + hkey)][0]
+    j = c - 1
+    while not lines[j].startswith('/**'):
+        j -= 1
+    lines[j:c] = parts['javadoc']
+
+    g = [i for i, l in enumerate(lines) if 'LoggerFactory.getLogger(' in l][0]
+    lines[g + 1:g + 1] = parts['members']
+
+    # omit unused imports
+    body = '\n'.join(l for l in lines if not l.startswith('import '))
+    lines = [l for l in lines if not l.startswith('import ') or
+             re.search(r'\b' + l.rstrip(';').split('.')[-1] + r'\b', body)]
+
+    for l in lines:
+        print(l, file=out)
+
+if __name__ == '__main__':
+    import sys
+    if len(sys.argv) > 1:
+        fname = sys.argv[1]
+    else:
+        fname = "../../DoubleDataset.java"
+
+    dclass_file = open(fname, 'r')
+
+    with open(hkey + ".java", "w") as out:
+        generateclass(dclass_file, out)
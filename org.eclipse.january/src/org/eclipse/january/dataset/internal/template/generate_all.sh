@@ -18,6 +18,8 @@ python3 generatefunctions.py functions.txt MathsPreface.java > Maths.java
 python3 fromdouble.py ../../DoubleDataset.java
 python3 fromcpxdouble.py ../../ComplexDoubleDataset.java
 python3 fromcpddouble.py ../../CompoundDoubleDataset.java
+python3 fromdoublebuffer.py ../../DoubleBufferDataset.java
+python3 fromdoublehalf.py ../../DoubleDataset.java
 
 i=Maths.java
 dest=../../$i
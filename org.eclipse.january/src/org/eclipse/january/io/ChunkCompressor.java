@@ -0,0 +1,47 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Compressor for chunks held in a {@link ChunkedStore}. Implementations must be thread-safe as
+ * chunks are compressed in parallel
+ * @since 3.0
+ */
+public interface ChunkCompressor extends Serializable {
+
+	/**
+	 * @return codec identifier as used in Zarr metadata
+	 */
+	public String getId();
+
+	/**
+	 * @return codec configuration (other than identifier) as used in Zarr metadata
+	 */
+	public Map<String, Object> getConfiguration();
+
+	/**
+	 * @param data uncompressed bytes
+	 * @return compressed bytes
+	 * @throws IOException when data cannot be compressed
+	 */
+	public byte[] compress(byte[] data) throws IOException;
+
+	/**
+	 * @param data compressed bytes
+	 * @param length number of uncompressed bytes
+	 * @return uncompressed bytes
+	 * @throws IOException when data cannot be decompressed
+	 */
+	public byte[] decompress(byte[] data, int length) throws IOException;
+}
@@ -0,0 +1,1174 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.CompoundDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.DateDataset;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.InterfaceUtils;
+import org.eclipse.january.dataset.LazyDynamicDataset;
+import org.eclipse.january.dataset.LazyWriteableDataset;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.january.dataset.StringDataset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chunked store that holds an n-D array in a directory with one (optionally compressed) file per
+ * chunk. The layout follows version 2 of the Zarr storage specification: array metadata is held in
+ * a JSON file called {@value #METADATA} and chunks are stored in C order with names formed from
+ * their chunk indices.
+ * <p>
+ * Chunks touched by a slice are read or written in parallel. When many slices are read in one
+ * batch, each chunk is read once. Writing beyond the current shape grows
+ * the array; other readers of the store can pick this up with {@link #refreshShape()}.
+ * <p>
+ * Compound datasets are stored with an extra trailing axis (and their number of elements is recorded
+ * as an attribute). String and object datasets are not supported. Arrays written by other software
+ * with types that {@link NumpyUtils} reads but does not write (e.g. byte strings) are read-only.
+ * <p>
+ * See <a href="https://zarr-specs.readthedocs.io/en/latest/v2/v2.0.html">Zarr storage specification</a>
+ * @since 3.0
+ */
+public class ChunkedStore implements ILazyAsyncSaver, ILazyBatchLoader, ILazyDynamicLoader, Closeable {
+	private static final long serialVersionUID = 6061183870577934826L;
+
+	private static final Logger logger = LoggerFactory.getLogger(ChunkedStore.class);
+
+	/**
+	 * Name of array metadata file
+	 */
+	public static final String METADATA = ".zarray";
+
+	/**
+	 * Name of array attributes file
+	 */
+	public static final String ATTRIBUTES = ".zattrs";
+
+	private static final String ELEMENTS_ATTRIBUTE = "january_elements_per_item";
+
+	private static final int LOCK_STRIPES = 64;
+
+	private static final Pattern SHAPE = Pattern.compile("\"shape\"\\s*:\\s*\\[([^\\]]*)\\]");
+	private static final Pattern CHUNKS = Pattern.compile("\"chunks\"\\s*:\\s*\\[([^\\]]*)\\]");
+	private static final Pattern DTYPE = Pattern.compile("\"dtype\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern COMPRESSOR = Pattern.compile("\"compressor\"\\s*:\\s*(null|\\{[^}]*\\})");
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern LEVEL = Pattern.compile("\"level\"\\s*:\\s*(\\d+)");
+	private static final Pattern FILL = Pattern.compile("\"fill_value\"\\s*:\\s*(null|true|false|\"[^\"]*\"|[-+.\\deE]+)");
+	private static final Pattern ORDER = Pattern.compile("\"order\"\\s*:\\s*\"([^\"]*)\"");
+	private static final Pattern FILTERS = Pattern.compile("\"filters\"\\s*:\\s*(null|\\[\\s*\\])");
+	private static final Pattern SEPARATOR = Pattern.compile("\"dimension_separator\"\\s*:\\s*\"([^\"]*)\"");
+	private static final Pattern FORMAT = Pattern.compile("\"zarr_format\"\\s*:\\s*(\\d+)");
+	private static final Pattern ELEMENTS = Pattern.compile("\"" + ELEMENTS_ATTRIBUTE + "\"\\s*:\\s*(\\d+)");
+
+	private final String path;
+	private NumpyHeader header; // type of stored items
+	private int isize;          // elements per item held along trailing axis
+	private boolean trailing;   // true if there is an extra trailing axis
+	private int[] chunks;       // stored chunk shape
+	private ChunkCompressor compressor;
+	private Object fillValue;
+	private String separator = ".";
+	private volatile int[] shape; // stored shape
+
+	private transient Object[] locks;
+	private transient ExecutorService writer; // serialises asynchronous writes
+	private transient volatile IOException asyncError;
+
+	/**
+	 * Open an existing store
+	 * @param dir directory of store
+	 * @throws IOException if store cannot be read or is not supported
+	 */
+	public ChunkedStore(File dir) throws IOException {
+		path = dir.getAbsolutePath();
+		readMetadata();
+	}
+
+	/**
+	 * Create a store. This is written to the file system by {@link #initialize()}
+	 * @param dir directory of store
+	 * @param clazz dataset interface
+	 * @param isize number of elements per item
+	 * @param shape initial shape (can have zero-length dimensions)
+	 * @param chunks chunk shape
+	 * @param compressor can be null for no compression
+	 */
+	public ChunkedStore(File dir, Class<? extends Dataset> clazz, int isize, int[] shape, int[] chunks, ChunkCompressor compressor) {
+		if (StringDataset.class.isAssignableFrom(clazz)) {
+			throw new IllegalArgumentException("String datasets cannot be stored in chunks");
+		}
+		if (shape == null || chunks == null || chunks.length != shape.length) {
+			throw new IllegalArgumentException("Chunk shape must be given and match rank of shape");
+		}
+		for (int i = 0; i < shape.length; i++) {
+			if (shape[i] < 0 || chunks[i] <= 0) {
+				throw new IllegalArgumentException("Shape must not be negative and chunks must be positive");
+			}
+		}
+		path = dir.getAbsolutePath();
+		header = NumpyHeader.createHeader(clazz, isize, shape, 0);
+		trailing = header.shape.length > shape.length;
+		this.isize = trailing ? isize : 1;
+		this.shape = header.shape;
+		this.chunks = trailing ? appendTrailing(chunks) : chunks.clone();
+		this.compressor = compressor;
+		long bytes = header.bytes;
+		for (int c : this.chunks) {
+			bytes *= c;
+		}
+		if (bytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Chunk shape is too large");
+		}
+	}
+
+	private int[] appendTrailing(int[] a) {
+		int[] b = Arrays.copyOf(a, a.length + 1);
+		b[a.length] = isize;
+		return b;
+	}
+
+	/**
+	 * @return directory of store
+	 */
+	public File getDirectory() {
+		return new File(path);
+	}
+
+	/**
+	 * @return dataset interface of stored array
+	 * @throws IOException if stored type is not supported
+	 */
+	public Class<? extends Dataset> getInterface() throws IOException {
+		Class<? extends Dataset> clazz = header.getInterface();
+		return isize == 1 ? clazz : InterfaceUtils.getInterfaceFromClass(isize, InterfaceUtils.getElementClass(clazz));
+	}
+
+	/**
+	 * @return number of elements per item
+	 */
+	public int getElementsPerItem() {
+		return isize * header.getElementsPerItem();
+	}
+
+	/**
+	 * @return current shape of array
+	 */
+	public int[] getShape() {
+		return toDatasetShape(shape);
+	}
+
+	/**
+	 * @return chunk shape
+	 */
+	public int[] getChunking() {
+		return toDatasetShape(chunks);
+	}
+
+	/**
+	 * @return compressor (can be null)
+	 */
+	public ChunkCompressor getCompressor() {
+		return compressor;
+	}
+
+	/**
+	 * @return value used for items in chunks that have not been written (can be null for zero)
+	 */
+	public Object getFillValue() {
+		return fillValue;
+	}
+
+	/**
+	 * Set value used for items in chunks that have not been written. This must be set before
+	 * the store is initialized
+	 * @param fill number or boolean (can be null for zero)
+	 */
+	public void setFillValue(Object fill) {
+		if (fill != null && !(fill instanceof Number) && !(fill instanceof Boolean)) {
+			throw new IllegalArgumentException("Fill value must be a number or boolean");
+		}
+		fillValue = fill;
+	}
+
+	private int[] toDatasetShape(int[] s) {
+		return trailing ? Arrays.copyOf(s, s.length - 1) : s.clone();
+	}
+
+	/**
+	 * Create a writeable lazy dataset backed by this store
+	 * @param name of dataset
+	 * @param maxShape maximum shape (use -1 for unlimited dimensions). Can be null for unlimited
+	 * @return lazy dataset
+	 * @throws IOException if stored type is not supported
+	 */
+	public LazyWriteableDataset createWriteableDataset(String name, int[] maxShape) throws IOException {
+		int[] s = getShape();
+		if (maxShape == null) {
+			maxShape = new int[s.length];
+			Arrays.fill(maxShape, -1);
+		}
+		return new LazyWriteableDataset(this, name, getElementsPerItem(), getInterface(), s, maxShape, getChunking());
+	}
+
+	/**
+	 * Create a dynamic lazy dataset backed by this store. Use {@link LazyDynamicDataset#refreshShape()}
+	 * to update its shape as the store grows
+	 * @param name of dataset
+	 * @return lazy dataset
+	 * @throws IOException if stored type is not supported
+	 */
+	public LazyDynamicDataset createDynamicDataset(String name) throws IOException {
+		int[] s = getShape();
+		int[] maxShape = new int[s.length];
+		Arrays.fill(maxShape, -1);
+		return new LazyDynamicDataset(this, name, getElementsPerItem(), getInterface(), s, maxShape, getChunking());
+	}
+
+	@Override
+	public boolean isFileReadable() {
+		return new File(path, METADATA).canRead();
+	}
+
+	@Override
+	public boolean isFileWriteable() {
+		return isWriteableType() && new File(path).canWrite();
+	}
+
+	private boolean isWriteableType() {
+		switch (header.kind) {
+		case 'b':
+		case 'i':
+		case 'u':
+		case 'c':
+		case 'f':
+			return true;
+		case 'M':
+			return "ms".equals(header.unit);
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Create directory and write metadata if store does not exist; otherwise read its metadata
+	 */
+	@Override
+	public void initialize() throws IOException {
+		File dir = new File(path);
+		if (new File(dir, METADATA).exists()) {
+			readMetadata();
+			return;
+		}
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Could not create directory for store: " + path);
+		}
+		if (trailing) {
+			writeFile(new File(dir, ATTRIBUTES), ("{\n    \"" + ELEMENTS_ATTRIBUTE + "\": " + isize + "\n}\n").getBytes(StandardCharsets.UTF_8));
+		}
+		writeMetadata(shape);
+	}
+
+	@Override
+	public int[] refreshShape() {
+		try {
+			Matcher m = SHAPE.matcher(readMetadataFile());
+			if (m.find()) {
+				int[] s = parseInts(m.group(1));
+				if (s.length == shape.length) {
+					shape = s;
+				}
+			}
+		} catch (IOException e) {
+			logger.error("Could not refresh shape of store {}", path, e);
+		}
+		return getShape();
+	}
+
+	private String readMetadataFile() throws IOException {
+		return new String(Files.readAllBytes(new File(path, METADATA).toPath()), StandardCharsets.UTF_8);
+	}
+
+	private void readMetadata() throws IOException {
+		String json = readMetadataFile();
+
+		Matcher m = FORMAT.matcher(json);
+		if (!m.find() || !"2".equals(m.group(1))) {
+			throw new IOException("Only version 2 of Zarr format is supported");
+		}
+		m = ORDER.matcher(json);
+		if (m.find() && !"C".equals(m.group(1))) {
+			throw new IOException("Only C order is supported");
+		}
+		m = FILTERS.matcher(json);
+		if (json.contains("\"filters\"") && !m.find()) {
+			throw new IOException("Filters are not supported");
+		}
+		m = DTYPE.matcher(json);
+		if (!m.find()) {
+			throw new IOException("Missing or unsupported dtype in metadata");
+		}
+		String dtype = m.group(1);
+		m = SHAPE.matcher(json);
+		if (!m.find()) {
+			throw new IOException("Missing shape in metadata");
+		}
+		int[] s = parseInts(m.group(1));
+		m = CHUNKS.matcher(json);
+		if (!m.find()) {
+			throw new IOException("Missing chunks in metadata");
+		}
+		int[] c = parseInts(m.group(1));
+		if (c.length != s.length) {
+			throw new IOException("Rank of chunks does not match shape");
+		}
+		header = NumpyHeader.createHeader(dtype, s);
+		header.getInterface(); // check type is supported
+		chunks = c;
+		shape = s;
+
+		m = COMPRESSOR.matcher(json);
+		compressor = null;
+		if (m.find() && !"null".equals(m.group(1))) {
+			compressor = createCompressor(m.group(1));
+		}
+
+		fillValue = null;
+		m = FILL.matcher(json);
+		if (m.find()) {
+			fillValue = parseFillValue(m.group(1));
+		}
+
+		m = SEPARATOR.matcher(json);
+		separator = m.find() ? m.group(1) : ".";
+
+		isize = 1;
+		File attrs = new File(path, ATTRIBUTES);
+		if (attrs.exists()) {
+			m = ELEMENTS.matcher(new String(Files.readAllBytes(attrs.toPath()), StandardCharsets.UTF_8));
+			if (m.find()) {
+				isize = Integer.parseInt(m.group(1));
+			}
+		}
+		trailing = isize > 1;
+		if (trailing && (s.length == 0 || s[s.length - 1] != isize || c[c.length - 1] != isize)) {
+			throw new IOException("Trailing dimension does not match number of elements per item");
+		}
+	}
+
+	private static ChunkCompressor createCompressor(String json) throws IOException {
+		Matcher m = ID.matcher(json);
+		if (!m.find()) {
+			throw new IOException("Missing compressor identifier in metadata");
+		}
+		String id = m.group(1);
+		if (DeflateCompressor.ID.equals(id)) {
+			m = LEVEL.matcher(json);
+			return m.find() ? new DeflateCompressor(Integer.parseInt(m.group(1))) : new DeflateCompressor();
+		} else if (LZ4Compressor.ID.equals(id)) {
+			return new LZ4Compressor();
+		}
+		throw new IOException("Compressor '" + id + "' is not supported");
+	}
+
+	private static Object parseFillValue(String v) {
+		switch (v) {
+		case "null":
+			return null;
+		case "true":
+			return Boolean.TRUE;
+		case "false":
+			return Boolean.FALSE;
+		case "\"NaN\"":
+			return Double.NaN;
+		case "\"Infinity\"":
+			return Double.POSITIVE_INFINITY;
+		case "\"-Infinity\"":
+			return Double.NEGATIVE_INFINITY;
+		default:
+			if (v.startsWith("\"")) {
+				return null; // ignore other encodings
+			}
+			if (v.contains(".") || v.contains("e") || v.contains("E")) {
+				return Double.parseDouble(v);
+			}
+			return Long.parseLong(v);
+		}
+	}
+
+	private static int[] parseInts(String list) {
+		String[] items = list.split(",");
+		int[] values = new int[items.length];
+		int n = 0;
+		for (String i : items) {
+			i = i.trim();
+			if (!i.isEmpty()) {
+				values[n++] = Integer.parseInt(i);
+			}
+		}
+		return Arrays.copyOf(values, n);
+	}
+
+	private static void appendInts(StringBuilder s, int[] values) {
+		s.append('[');
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				s.append(", ");
+			}
+			s.append(values[i]);
+		}
+		s.append(']');
+	}
+
+	private static void appendValue(StringBuilder s, Object v) {
+		if (v == null) {
+			s.append("null");
+		} else if (v instanceof Double || v instanceof Float) {
+			double d = ((Number) v).doubleValue();
+			if (Double.isNaN(d)) {
+				s.append("\"NaN\"");
+			} else if (Double.isInfinite(d)) {
+				s.append(d > 0 ? "\"Infinity\"" : "\"-Infinity\"");
+			} else {
+				s.append(d);
+			}
+		} else if (v instanceof String) {
+			s.append('"').append(v).append('"');
+		} else {
+			s.append(v);
+		}
+	}
+
+	private void writeMetadata(int[] s) throws IOException {
+		StringBuilder json = new StringBuilder("{\n");
+		json.append("    \"chunks\": ");
+		appendInts(json, chunks);
+		json.append(",\n    \"compressor\": ");
+		if (compressor == null) {
+			json.append("null");
+		} else {
+			json.append("{\"id\": \"").append(compressor.getId()).append('"');
+			for (Map.Entry<String, Object> e : compressor.getConfiguration().entrySet()) {
+				json.append(", \"").append(e.getKey()).append("\": ");
+				appendValue(json, e.getValue());
+			}
+			json.append('}');
+		}
+		json.append(",\n    \"dimension_separator\": \"").append(separator).append('"');
+		json.append(",\n    \"dtype\": \"").append(header.getDescriptor()).append('"');
+		json.append(",\n    \"fill_value\": ");
+		appendValue(json, fillValue == null ? (header.kind == 'b' ? Boolean.FALSE : 0) : fillValue);
+		json.append(",\n    \"filters\": null");
+		json.append(",\n    \"order\": \"C\"");
+		json.append(",\n    \"shape\": ");
+		appendInts(json, s);
+		json.append(",\n    \"zarr_format\": 2\n}\n");
+		writeFile(new File(path, METADATA), json.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Write file atomically by writing to a temporary file and then renaming it
+	 */
+	private static void writeFile(File file, byte[] bytes) throws IOException {
+		Path target = file.toPath();
+		Path tmp = Files.createTempFile(target.getParent(), "." + file.getName(), ".tmp");
+		try {
+			Files.write(tmp, bytes);
+			try {
+				Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	private int getChunkItems() {
+		int n = 1;
+		for (int c : chunks) {
+			n *= c;
+		}
+		return n;
+	}
+
+	private File getChunkFile(int[] index) {
+		if (index.length == 0) {
+			return new File(path, "0");
+		}
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < index.length; i++) {
+			if (i > 0) {
+				name.append(separator);
+			}
+			name.append(index[i]);
+		}
+		return new File(path, name.toString());
+	}
+
+	/**
+	 * @return chunk array or null if chunk has not been written
+	 */
+	private Object readChunk(int[] index) throws IOException {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(getChunkFile(index).toPath());
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+		final int items = getChunkItems();
+		final int length = items * header.bytes;
+		if (compressor != null) {
+			bytes = compressor.decompress(bytes, length);
+		} else if (bytes.length != length) {
+			throw new IOException("Chunk " + Arrays.toString(index) + " has wrong size");
+		}
+		Object array = NumpyCodec.createArray(header, items);
+		NumpyCodec.decode(header, ByteBuffer.wrap(bytes), array, 0, items);
+		return array;
+	}
+
+	private void writeChunk(int[] index, Object array) throws IOException {
+		Dataset d = header.kind == 'M' ? DatasetFactory.createFromObject(LongDataset.class, array) :
+			DatasetFactory.createFromObject(header.getInterface(), array);
+		final int length = getChunkItems() * header.bytes;
+		ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+		ByteBuffer buffer = ByteBuffer.allocate(Math.min(NumpyCodec.BUFFER_SIZE, length));
+		NumpyCodec.encode(header, d, buffer, Channels.newChannel(out));
+		byte[] bytes = out.toByteArray();
+		File file = getChunkFile(index);
+		if (!".".equals(separator)) {
+			file.getParentFile().mkdirs();
+		}
+		writeFile(file, compressor == null ? bytes : compressor.compress(bytes));
+	}
+
+	/**
+	 * Create chunk array with fill value
+	 */
+	private Object createChunk() throws IOException {
+		Object array = NumpyCodec.createArray(header, getChunkItems());
+		if (fillValue == null) {
+			return array;
+		}
+		if (array instanceof boolean[]) {
+			Arrays.fill((boolean[]) array, fillValue instanceof Boolean ? (Boolean) fillValue : ((Number) fillValue).doubleValue() != 0);
+			return array;
+		}
+		Number n = fillValue instanceof Boolean ? ((Boolean) fillValue ? 1 : 0) : (Number) fillValue;
+		if (array instanceof double[]) {
+			Arrays.fill((double[]) array, n.doubleValue());
+		} else if (array instanceof float[]) {
+			Arrays.fill((float[]) array, n.floatValue());
+		} else if (array instanceof long[]) {
+			Arrays.fill((long[]) array, n.longValue());
+		} else if (array instanceof int[]) {
+			Arrays.fill((int[]) array, n.intValue());
+		} else if (array instanceof short[]) {
+			Arrays.fill((short[]) array, n.shortValue());
+		} else if (array instanceof byte[]) {
+			Arrays.fill((byte[]) array, n.byteValue());
+		}
+		return array;
+	}
+
+	/**
+	 * Region of a slice in stored coordinates
+	 */
+	private class Region {
+		final int[] start;
+		final int[] step;
+		final int[] count;
+		final int size;
+
+		Region(SliceND slice) {
+			int[] s;
+			int[] t;
+			int[] c;
+			if (slice == null) {
+				c = shape.clone();
+				s = new int[c.length];
+				t = new int[c.length];
+				Arrays.fill(t, 1);
+			} else {
+				s = slice.getStart();
+				t = slice.getStep();
+				c = slice.getShape();
+			}
+			if (slice != null && trailing) {
+				c = appendTrailing(c);
+				s = Arrays.copyOf(s, c.length);
+				t = Arrays.copyOf(t, c.length);
+				t[c.length - 1] = 1;
+			}
+			start = s;
+			step = t;
+			count = c;
+			long n = 1;
+			for (int i : c) {
+				n *= i;
+			}
+			if (n * header.getElementsPerItem() > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Slice is too large");
+			}
+			size = (int) n;
+		}
+
+		/**
+		 * @return chunk indices touched by region in each dimension
+		 */
+		int[][] getChunkIndices() {
+			final int rank = count.length;
+			int[][] indices = new int[rank][];
+			for (int i = 0; i < rank; i++) {
+				final int c = chunks[i];
+				final int n = count[i];
+				if (step[i] == 1) {
+					int b = start[i] / c;
+					int e = (start[i] + n - 1) / c;
+					indices[i] = new int[e - b + 1];
+					for (int j = 0; j <= e - b; j++) {
+						indices[i][j] = b + j;
+					}
+				} else {
+					int[] l = new int[n];
+					int m = 0;
+					for (int k = 0; k < n; k++) {
+						int ci = (start[i] + k * step[i]) / c;
+						if (m == 0 || l[m - 1] != ci) {
+							l[m++] = ci;
+						}
+					}
+					indices[i] = Arrays.copyOf(l, m);
+				}
+			}
+			return indices;
+		}
+
+		/**
+		 * @return maximum position + 1 in each dimension
+		 */
+		int[] getExtent() {
+			int[] e = new int[count.length];
+			for (int i = 0; i < e.length; i++) {
+				e[i] = (step[i] > 0 ? start[i] + (count[i] - 1) * step[i] : start[i]) + 1;
+			}
+			return e;
+		}
+
+		/**
+		 * Copy items between chunk array and region array
+		 * @param index chunk index
+		 * @param chunk chunk array
+		 * @param array region array
+		 * @param toChunk if true, copy from region array to chunk array
+		 * @return true if region covers entire chunk
+		 */
+		boolean copy(int[] index, Object chunk, Object array, boolean toChunk) {
+			final int rank = count.length;
+			final int e = header.getElementsPerItem();
+			if (rank == 0) {
+				if (toChunk) {
+					System.arraycopy(array, 0, chunk, 0, e);
+				} else {
+					System.arraycopy(chunk, 0, array, 0, e);
+				}
+				return true;
+			}
+
+			final int[] lo = new int[rank];
+			final int[] hi = new int[rank];
+			final int[] origin = new int[rank];
+			boolean covers = true;
+			for (int i = 0; i < rank; i++) {
+				final int c = chunks[i];
+				final long o = (long) index[i] * c;
+				long l, h;
+				if (step[i] > 0) {
+					l = -Math.floorDiv(start[i] - o, step[i]);
+					h = Math.floorDiv(o + c - 1 - start[i], step[i]);
+				} else {
+					l = -Math.floorDiv(o + c - 1 - start[i], -step[i]);
+					h = Math.floorDiv(start[i] - o, -step[i]);
+				}
+				lo[i] = (int) Math.max(l, 0);
+				hi[i] = (int) Math.min(h, count[i] - 1);
+				origin[i] = (int) o;
+				if (Math.abs(step[i]) != 1 || hi[i] - lo[i] + 1 != c) {
+					covers = false;
+				}
+			}
+
+			final int[] cstride = new int[rank];
+			final int[] astride = new int[rank];
+			int cs = e;
+			int as = e;
+			for (int i = rank - 1; i >= 0; i--) {
+				cstride[i] = cs;
+				astride[i] = as;
+				cs *= chunks[i];
+				as *= count[i];
+			}
+
+			final int last = rank - 1;
+			final int n = hi[last] - lo[last] + 1;
+			final int lstep = step[last];
+			final int[] k = lo.clone();
+			while (true) {
+				int ci = 0;
+				int ai = 0;
+				for (int i = 0; i < rank; i++) {
+					ci += (start[i] + k[i] * step[i] - origin[i]) * cstride[i];
+					ai += k[i] * astride[i];
+				}
+				if (lstep == 1) {
+					if (toChunk) {
+						System.arraycopy(array, ai, chunk, ci, n * e);
+					} else {
+						System.arraycopy(chunk, ci, array, ai, n * e);
+					}
+				} else {
+					final int cd = lstep * e;
+					for (int j = 0; j < n; j++, ci += cd, ai += e) {
+						if (toChunk) {
+							System.arraycopy(array, ai, chunk, ci, e);
+						} else {
+							System.arraycopy(chunk, ci, array, ai, e);
+						}
+					}
+				}
+
+				int i = last - 1;
+				for (; i >= 0; i--) {
+					if (++k[i] <= hi[i]) {
+						break;
+					}
+					k[i] = lo[i];
+				}
+				if (i < 0) {
+					break;
+				}
+			}
+			return covers;
+		}
+	}
+
+	/**
+	 * @return all combinations of chunk indices
+	 */
+	private static List<int[]> combine(int[][] indices) {
+		List<int[]> all = new ArrayList<>();
+		final int rank = indices.length;
+		for (int[] i : indices) {
+			if (i.length == 0) {
+				return all;
+			}
+		}
+		int[] pos = new int[rank];
+		while (true) {
+			int[] c = new int[rank];
+			for (int i = 0; i < rank; i++) {
+				c[i] = indices[i][pos[i]];
+			}
+			all.add(c);
+			int i = rank - 1;
+			for (; i >= 0; i--) {
+				if (++pos[i] < indices[i].length) {
+					break;
+				}
+				pos[i] = 0;
+			}
+			if (i < 0) {
+				break;
+			}
+		}
+		return all;
+	}
+
+	@Override
+	public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+		return getDatasets(mon, Collections.singletonList(slice)).get(0);
+	}
+
+	/**
+	 * Read slices so that each chunk touched by any of them is read only once
+	 */
+	@Override
+	public List<Dataset> getDatasets(IMonitor mon, List<SliceND> slices) throws IOException {
+		final int n = slices.size();
+		final Region[] regions = new Region[n];
+		final Object[] arrays = new Object[n];
+		final Map<String, int[]> indices = new LinkedHashMap<>();
+		final Map<String, List<Integer>> users = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			Region r = new Region(slices.get(i));
+			regions[i] = r;
+			arrays[i] = NumpyCodec.createArray(header, r.size);
+			if (r.size == 0) {
+				continue;
+			}
+			for (int[] index : combine(r.getChunkIndices())) {
+				String key = Arrays.toString(index);
+				List<Integer> u = users.get(key);
+				if (u == null) {
+					u = new ArrayList<>();
+					users.put(key, u);
+					indices.put(key, index);
+				}
+				u.add(i);
+			}
+		}
+
+		final Object fill = fillValue == null ? null : createChunk();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (Map.Entry<String, int[]> e : indices.entrySet()) {
+			final int[] index = e.getValue();
+			final List<Integer> u = users.get(e.getKey());
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					Object chunk = readChunk(index);
+					if (chunk == null) {
+						chunk = fill;
+					}
+					if (chunk != null) {
+						for (int i : u) {
+							regions[i].copy(index, chunk, arrays[i], false);
+						}
+					}
+					return null;
+				}
+			});
+		}
+		run(mon, tasks);
+
+		List<Dataset> results = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			Dataset d = NumpyCodec.createDataset(header, arrays[i], regions[i].count);
+			if (trailing) {
+				d = DatasetUtils.createCompoundDatasetFromLastAxis(d, true);
+				Class<? extends Dataset> clazz = getInterface();
+				if (!clazz.isInstance(d)) {
+					d = DatasetUtils.cast(clazz, d);
+				}
+			}
+			results.add(d);
+		}
+		return results;
+	}
+
+	@Override
+	public void setSlice(IMonitor mon, IDataset data, SliceND slice) throws IOException {
+		if (!isWriteableType()) {
+			throw new IOException("Store of type '" + header.getDescriptor() + "' is read-only");
+		}
+		final Region region = new Region(slice);
+		if (region.size == 0) {
+			return;
+		}
+		final Object array = toArray(data, region);
+
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (final int[] index : combine(region.getChunkIndices())) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					synchronized (getLock(index)) {
+						Object chunk = NumpyCodec.createArray(header, getChunkItems());
+						if (!region.copy(index, chunk, array, true)) { // partial so merge with existing
+							chunk = readChunk(index);
+							if (chunk == null) {
+								chunk = createChunk();
+							}
+							region.copy(index, chunk, array, true);
+						}
+						writeChunk(index, chunk);
+					}
+					return null;
+				}
+			});
+		}
+		run(mon, tasks);
+
+		// grow after chunks are written so readers never see unwritten regions
+		int[] extent = region.getExtent();
+		synchronized (this) {
+			int[] s = shape.clone();
+			boolean grown = false;
+			for (int i = 0; i < s.length; i++) {
+				if (extent[i] > s[i]) {
+					s[i] = extent[i];
+					grown = true;
+				}
+			}
+			if (grown) {
+				writeMetadata(s);
+				shape = s;
+			}
+		}
+	}
+
+	private synchronized Object getLock(int[] index) {
+		if (locks == null) {
+			locks = new Object[LOCK_STRIPES];
+			for (int i = 0; i < LOCK_STRIPES; i++) {
+				locks[i] = new Object();
+			}
+		}
+		return locks[(Arrays.hashCode(index) & Integer.MAX_VALUE) % LOCK_STRIPES];
+	}
+
+	/**
+	 * Convert data to array of stored type in C order
+	 */
+	private Object toArray(IDataset data, Region region) throws IOException {
+		Dataset d = DatasetUtils.convertToDataset(data);
+		if (header.kind == 'M') {
+			long[] times = new long[region.size];
+			int i = 0;
+			if (d instanceof DateDataset) {
+				DateDataset dd = (DateDataset) d;
+				IndexIterator it = d.getIterator();
+				while (it.hasNext()) {
+					Date t = dd.getDateAbs(it.index);
+					times[i++] = t == null ? Long.MIN_VALUE : t.getTime();
+				}
+			} else {
+				d = DatasetUtils.cast(LongDataset.class, d);
+				IndexIterator it = d.getIterator();
+				while (it.hasNext()) {
+					times[i++] = d.getElementLongAbs(it.index);
+				}
+			}
+			return times;
+		}
+
+		if (trailing) {
+			if (!(d instanceof CompoundDataset) || d.getElementsPerItem() != isize) {
+				throw new IllegalArgumentException("Data must be a compound dataset with " + isize + " elements per item");
+			}
+			d = DatasetUtils.createDatasetFromCompoundDataset((CompoundDataset) d, true);
+		}
+		Class<? extends Dataset> clazz = header.getInterface();
+		if (!clazz.isInstance(d) || d.getElementsPerItem() != header.getElementsPerItem()) {
+			d = DatasetUtils.cast(clazz, d);
+		}
+		Object buffer = d.getBuffer();
+		if (buffer == null) { // held in NIO buffer
+			buffer = DatasetUtils.copy(clazz, d).getBuffer();
+		} else if (d.getStrides() != null || Array.getLength(buffer) != region.size * header.getElementsPerItem()) {
+			buffer = d.clone().getBuffer();
+		}
+		return buffer;
+	}
+
+	/**
+	 * Write slice on a background thread. Writes are applied in the order submitted and any
+	 * failure is reported by the next call to this method or to {@link #flush()}
+	 */
+	@Override
+	public void setSliceAsync(final IMonitor mon, IDataset data, SliceND slice) throws IOException {
+		checkAsyncError();
+		final Dataset copy = DatasetUtils.convertToDataset(data).clone();
+		final SliceND sliceCopy = slice == null ? null : slice.clone();
+		getWriter().submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					setSlice(mon, copy, sliceCopy);
+				} catch (IOException | RuntimeException e) {
+					logger.error("Could not write slice {} to store {}", sliceCopy, path, e);
+					if (asyncError == null) {
+						asyncError = e instanceof IOException ? (IOException) e : new IOException(e);
+					}
+				}
+			}
+		});
+	}
+
+	private synchronized ExecutorService getWriter() {
+		if (writer == null) {
+			writer = Executors.newSingleThreadExecutor(new StoreThreadFactory("Chunked store writer"));
+		}
+		return writer;
+	}
+
+	private void checkAsyncError() throws IOException {
+		IOException e = asyncError;
+		if (e != null) {
+			asyncError = null;
+			throw new IOException("Asynchronous write failed", e);
+		}
+	}
+
+	/**
+	 * Wait for all asynchronous writes to finish
+	 * @throws IOException if a write failed
+	 */
+	public void flush() throws IOException {
+		ExecutorService w;
+		synchronized (this) {
+			w = writer;
+		}
+		if (w != null) {
+			try {
+				w.submit(new Runnable() {
+					@Override
+					public void run() {
+					}
+				}).get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted whilst waiting for writes");
+			} catch (ExecutionException e) {
+				throw new IOException(e.getCause());
+			}
+		}
+		checkAsyncError();
+	}
+
+	/**
+	 * Wait for asynchronous writes and stop background writer
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			synchronized (this) {
+				if (writer != null) {
+					writer.shutdown();
+					writer = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Run tasks in parallel, reporting completion of each to monitor
+	 */
+	private static void run(IMonitor mon, List<Callable<Void>> tasks) throws IOException {
+		if (tasks.size() == 1) {
+			try {
+				tasks.get(0).call();
+			} catch (IOException | RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException(e);
+			}
+			if (mon != null) {
+				mon.worked(1);
+			}
+			return;
+		}
+
+		ExecutorService pool = PoolHolder.POOL;
+		List<Future<Void>> futures = new ArrayList<>(tasks.size());
+		for (Callable<Void> t : tasks) {
+			futures.add(pool.submit(t));
+		}
+		IOException error = null;
+		for (Future<Void> f : futures) {
+			if (error == null && mon != null && mon.isCancelled()) {
+				error = new InterruptedIOException("Chunk I/O cancelled");
+			}
+			if (error != null) {
+				f.cancel(false);
+				continue;
+			}
+			try {
+				f.get();
+				if (mon != null) {
+					mon.worked(1);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				error = new InterruptedIOException("Interrupted whilst waiting for chunk I/O");
+			} catch (ExecutionException e) {
+				Throwable c = e.getCause();
+				if (c instanceof RuntimeException) {
+					throw (RuntimeException) c;
+				}
+				error = c instanceof IOException ? (IOException) c : new IOException(c);
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Holder of thread pool shared by all stores for chunk I/O
+	 */
+	private static class PoolHolder {
+		static final ExecutorService POOL = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+				new StoreThreadFactory("Chunked store I/O"));
+	}
+
+	private static class StoreThreadFactory implements ThreadFactory {
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		StoreThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, prefix + " " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Chunked store at " + path + " " + header.getDescriptor() + " " + Arrays.toString(shape) + " in chunks of " + Arrays.toString(chunks);
+	}
+}
@@ -0,0 +1,125 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Chunk compressor that uses the zlib format of the JDK's {@link Deflater}
+ * @since 3.0
+ */
+public class DeflateCompressor implements ChunkCompressor {
+	private static final long serialVersionUID = -2201380398312453826L;
+
+	/**
+	 * Zarr codec identifier
+	 */
+	public static final String ID = "zlib";
+
+	private final int level;
+
+	/**
+	 * Compressor with default level of compression
+	 */
+	public DeflateCompressor() {
+		this(1);
+	}
+
+	/**
+	 * @param level compression level between 0 and 9
+	 */
+	public DeflateCompressor(int level) {
+		if (level < 0 || level > 9) {
+			throw new IllegalArgumentException("Compression level must be between 0 and 9");
+		}
+		this.level = level;
+	}
+
+	/**
+	 * @return compression level
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public Map<String, Object> getConfiguration() {
+		return Collections.<String, Object>singletonMap("level", level);
+	}
+
+	@Override
+	public byte[] compress(byte[] data) throws IOException {
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+			byte[] buffer = new byte[8192];
+			while (!deflater.finished()) {
+				int n = deflater.deflate(buffer);
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	@Override
+	public byte[] decompress(byte[] data, int length) throws IOException {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] out = new byte[length];
+			int n = 0;
+			while (n < length && !inflater.finished()) {
+				int m = inflater.inflate(out, n, length - n);
+				if (m == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				n += m;
+			}
+			if (n != length) {
+				throw new IOException("Compressed chunk is truncated: expected " + length + " bytes but got " + n);
+			}
+			return out;
+		} catch (DataFormatException e) {
+			throw new IOException("Compressed chunk is corrupt", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * ID.hashCode() + level;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof DeflateCompressor && ((DeflateCompressor) obj).level == level;
+	}
+
+	@Override
+	public String toString() {
+		return ID + "(level=" + level + ")";
+	}
+}
@@ -0,0 +1,33 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.IDataset;
+import org.eclipse.january.dataset.SliceND;
+
+/**
+ * Used by lazy datasets to read many slices from a file in one request so that a loader can
+ * share work (e.g. opening files, reading chunks) between them
+ * @since 3.0
+ */
+public interface ILazyBatchLoader extends ILazyLoader {
+
+	/**
+	 * @param mon can be null
+	 * @param slices sources where items of data fetched
+	 * @return slices of a dataset in same order as given
+	 * @throws IOException when cannot retrieve data
+	 */
+	public List<? extends IDataset> getDatasets(IMonitor mon, List<SliceND> slices) throws IOException;
+}
@@ -0,0 +1,216 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Fast chunk compressor that uses the LZ4 block format. As in Zarr's (numcodecs) LZ4 codec, the
+ * compressed block is prefixed with its uncompressed length as a 4-byte little-endian integer.
+ * <p>
+ * This is a greedy single-pass compressor that favours speed over compression ratio.
+ * See <a href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4 block format</a>
+ * @since 3.0
+ */
+public class LZ4Compressor implements ChunkCompressor {
+	private static final long serialVersionUID = 2624402290738315489L;
+
+	/**
+	 * Zarr codec identifier
+	 */
+	public static final String ID = "lz4";
+
+	private static final int MIN_MATCH = 4;
+	private static final int LAST_LITERALS = 5; // final bytes must be literals
+	private static final int MF_LIMIT = 12; // last match must start before this distance from end
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_LOG = 14;
+	private static final int SKIP_TRIGGER = 6; // speed up over incompressible data
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public Map<String, Object> getConfiguration() {
+		return Collections.<String, Object>singletonMap("acceleration", 1);
+	}
+
+	private static int readInt(byte[] b, int i) {
+		return (b[i] & 0xff) | (b[i + 1] & 0xff) << 8 | (b[i + 2] & 0xff) << 16 | (b[i + 3] & 0xff) << 24;
+	}
+
+	private static int hash(int v) {
+		return (v * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	@Override
+	public byte[] compress(byte[] data) throws IOException {
+		final int n = data.length;
+		byte[] out = new byte[4 + n + n / 255 + 16]; // worst case
+		out[0] = (byte) n;
+		out[1] = (byte) (n >>> 8);
+		out[2] = (byte) (n >>> 16);
+		out[3] = (byte) (n >>> 24);
+		int o = 4;
+		int anchor = 0;
+
+		if (n >= MF_LIMIT + 1) {
+			int[] table = new int[1 << HASH_LOG];
+			Arrays.fill(table, -1);
+			final int limit = n - MF_LIMIT;
+			final int matchLimit = n - LAST_LITERALS;
+			int i = 0;
+			while (i < limit) {
+				int v = readInt(data, i);
+				int h = hash(v);
+				int ref = table[h];
+				table[h] = i;
+				if (ref < 0 || i - ref > MAX_OFFSET || readInt(data, ref) != v) {
+					i += 1 + ((i - anchor) >>> SKIP_TRIGGER);
+					continue;
+				}
+
+				// extend backwards over literals
+				while (i > anchor && ref > 0 && data[i - 1] == data[ref - 1]) {
+					i--;
+					ref--;
+				}
+				int len = MIN_MATCH;
+				while (i + len < matchLimit && data[ref + len] == data[i + len]) {
+					len++;
+				}
+
+				o = writeSequence(out, o, data, anchor, i - anchor, i - ref, len);
+				i += len;
+				anchor = i;
+				if (i < limit) { // help next search
+					table[hash(readInt(data, i - 2))] = i - 2;
+				}
+			}
+		}
+
+		o = writeSequence(out, o, data, anchor, n - anchor, 0, 0);
+		return Arrays.copyOf(out, o);
+	}
+
+	private static int writeLength(byte[] out, int o, int l) {
+		while (l >= 255) {
+			out[o++] = (byte) 255;
+			l -= 255;
+		}
+		out[o++] = (byte) l;
+		return o;
+	}
+
+	/**
+	 * Write sequence of literals optionally followed by a match
+	 * @return new position in output
+	 */
+	private static int writeSequence(byte[] out, int o, byte[] data, int start, int literals, int offset, int match) {
+		int t = o++;
+		int token = Math.min(literals, 15) << 4;
+		if (literals >= 15) {
+			o = writeLength(out, o, literals - 15);
+		}
+		System.arraycopy(data, start, out, o, literals);
+		o += literals;
+		if (match > 0) {
+			out[o++] = (byte) offset;
+			out[o++] = (byte) (offset >>> 8);
+			int m = match - MIN_MATCH;
+			token |= Math.min(m, 15);
+			if (m >= 15) {
+				o = writeLength(out, o, m - 15);
+			}
+		}
+		out[t] = (byte) token;
+		return o;
+	}
+
+	@Override
+	public byte[] decompress(byte[] data, int length) throws IOException {
+		if (data.length < 4 || readInt(data, 0) != length) {
+			throw new IOException("Compressed chunk has wrong uncompressed length");
+		}
+		byte[] out = new byte[length];
+		int i = 4;
+		int o = 0;
+		final int n = data.length;
+		try {
+			while (i < n) {
+				int token = data[i++] & 0xff;
+				int literals = token >>> 4;
+				if (literals == 15) {
+					int b;
+					do {
+						b = data[i++] & 0xff;
+						literals += b;
+					} while (b == 255);
+				}
+				System.arraycopy(data, i, out, o, literals);
+				i += literals;
+				o += literals;
+				if (i >= n) { // last sequence has no match
+					break;
+				}
+
+				int offset = (data[i] & 0xff) | (data[i + 1] & 0xff) << 8;
+				i += 2;
+				int ref = o - offset;
+				if (offset == 0 || ref < 0) {
+					throw new IOException("Compressed chunk is corrupt");
+				}
+				int match = token & 0xf;
+				if (match == 15) {
+					int b;
+					do {
+						b = data[i++] & 0xff;
+						match += b;
+					} while (b == 255);
+				}
+				match += MIN_MATCH;
+				if (offset >= match) {
+					System.arraycopy(out, ref, out, o, match);
+					o += match;
+				} else { // overlapping copy
+					for (int j = 0; j < match; j++) {
+						out[o++] = out[ref++];
+					}
+				}
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Compressed chunk is corrupt", e);
+		}
+		if (o != length) {
+			throw new IOException("Compressed chunk is truncated: expected " + length + " bytes but got " + o);
+		}
+		return out;
+	}
+
+	@Override
+	public int hashCode() {
+		return ID.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof LZ4Compressor;
+	}
+
+	@Override
+	public String toString() {
+		return ID;
+	}
+}
@@ -0,0 +1,392 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetFactory;
+import org.eclipse.january.dataset.DateDataset;
+import org.eclipse.january.dataset.EpochDateDataset;
+import org.eclipse.january.dataset.HalfFloatDataset;
+import org.eclipse.january.dataset.IndexIterator;
+
+/**
+ * Conversions between NumPy-formatted bytes and dataset buffers
+ */
+final class NumpyCodec {
+
+	/**
+	 * Size of buffer used when encoding
+	 */
+	static final int BUFFER_SIZE = 1 << 20;
+
+	private NumpyCodec() {
+	}
+
+	/**
+	 * Create array to hold decoded items
+	 * @param h header
+	 * @param items number of items
+	 * @return primitive or string array
+	 * @throws IOException if NumPy type is not supported
+	 */
+	static Object createArray(NumpyHeader h, int items) throws IOException {
+		int length = items * h.getElementsPerItem();
+		switch (h.kind) {
+		case 'b':
+			return new boolean[length];
+		case 'i':
+		case 'u':
+			switch (h.bytes) {
+			case 1:
+				return new byte[length];
+			case 2:
+				return new short[length];
+			case 4:
+				return new int[length];
+			case 8:
+				return new long[length];
+			}
+			break;
+		case 'f':
+		case 'c':
+			switch (h.getElementBytes()) {
+			case 2: // kept as bits
+				return new short[length];
+			case 4:
+				return new float[length];
+			case 8:
+				return new double[length];
+			}
+			break;
+		case 'S':
+		case 'U':
+			return new String[length];
+		case 'M':
+			return new long[length];
+		}
+		throw new IOException("NumPy type '" + h.getDescriptor() + "' is not supported");
+	}
+
+	/**
+	 * Create dataset from decoded array
+	 * @param h header
+	 * @param array decoded items
+	 * @param shape dataset shape
+	 * @return dataset
+	 * @throws IOException if NumPy type is not supported
+	 */
+	static Dataset createDataset(NumpyHeader h, Object array, int... shape) throws IOException {
+		if (h.kind == 'M') {
+			return DatasetFactory.createFromObject(EpochDateDataset.class, array, shape);
+		}
+		if (h.kind == 'f' && h.bytes == 2) {
+			return DatasetFactory.createHalfFloatDataset((short[]) array, shape);
+		}
+		return DatasetFactory.createFromObject(h.getInterface(), array, shape);
+	}
+
+	/**
+	 * Decode items from buffer into array. The buffer position is advanced by the number of bytes read
+	 * @param h header
+	 * @param src source buffer (whose byte order is set by this method)
+	 * @param dst destination array
+	 * @param pos item position in destination
+	 * @param n number of items
+	 * @throws IOException if NumPy datetime unit is not supported
+	 */
+	static void decode(NumpyHeader h, ByteBuffer src, Object dst, int pos, int n) throws IOException {
+		src.order(h.getByteOrder());
+		final int isize = h.getElementsPerItem();
+		final int epos = pos * isize;
+		final int en = n * isize;
+		final int p = src.position();
+		switch (h.kind) {
+		case 'b':
+			boolean[] bdata = (boolean[]) dst;
+			for (int i = 0; i < en; i++) {
+				bdata[epos + i] = src.get() != 0;
+			}
+			return;
+		case 'i':
+		case 'u': // kept in storage of same width
+			switch (h.bytes) {
+			case 1:
+				src.get((byte[]) dst, epos, en);
+				return;
+			case 2:
+				src.asShortBuffer().get((short[]) dst, epos, en);
+				break;
+			case 4:
+				src.asIntBuffer().get((int[]) dst, epos, en);
+				break;
+			case 8:
+				src.asLongBuffer().get((long[]) dst, epos, en);
+				break;
+			}
+			break;
+		case 'f':
+		case 'c':
+			switch (h.getElementBytes()) {
+			case 2:
+				src.asShortBuffer().get((short[]) dst, epos, en);
+				break;
+			case 4:
+				src.asFloatBuffer().get((float[]) dst, epos, en);
+				break;
+			case 8:
+				src.asDoubleBuffer().get((double[]) dst, epos, en);
+				break;
+			}
+			break;
+		case 'S':
+		case 'U':
+			String[] strings = (String[]) dst;
+			boolean wide = h.kind == 'U';
+			int chars = wide ? h.bytes / 4 : h.bytes;
+			int[] points = new int[chars];
+			byte[] bytes = new byte[chars];
+			for (int i = 0; i < en; i++) {
+				int l = 0;
+				if (wide) {
+					for (int j = 0; j < chars; j++) {
+						points[j] = src.getInt();
+						if (points[j] != 0) {
+							l = j + 1;
+						}
+					}
+					strings[epos + i] = new String(points, 0, l);
+				} else {
+					src.get(bytes);
+					while (l < chars && bytes[l] != 0) {
+						l++;
+					}
+					strings[epos + i] = new String(bytes, 0, l, StandardCharsets.ISO_8859_1);
+				}
+			}
+			return;
+		case 'M':
+			long[] times = (long[]) dst;
+			long[] scale = getTimeScale(h.unit);
+			for (int i = 0; i < en; i++) {
+				long t = src.getLong();
+				if (t != Long.MIN_VALUE) { // leave NaT alone
+					t = toMilliseconds(t, scale, h.unit);
+				}
+				times[epos + i] = t;
+			}
+			return;
+		}
+		src.position(p + en * h.getElementBytes());
+	}
+
+	/**
+	 * @param t time in units
+	 * @param scale pair of multiplier and divisor
+	 * @param unit NumPy datetime unit
+	 * @return time in milliseconds, rounded down so times before the epoch are not rounded up
+	 * @throws IOException if time cannot be held in milliseconds
+	 */
+	private static long toMilliseconds(long t, long[] scale, String unit) throws IOException {
+		try {
+			return scale[0] > 1 ? Math.multiplyExact(t, scale[0]) : Math.floorDiv(t, scale[1]);
+		} catch (ArithmeticException e) {
+			throw new IOException("NumPy datetime " + t + " [" + unit + "] is out of range of milliseconds", e);
+		}
+	}
+
+	/**
+	 * @param unit NumPy datetime unit
+	 * @return pair of multiplier and divisor to convert to milliseconds
+	 * @throws IOException if unit is not supported
+	 */
+	private static long[] getTimeScale(String unit) throws IOException {
+		if (unit == null) {
+			return new long[] {1, 1};
+		}
+		switch (unit) {
+		case "W":
+			return new long[] {7 * 86400000L, 1};
+		case "D":
+			return new long[] {86400000L, 1};
+		case "h":
+			return new long[] {3600000L, 1};
+		case "m":
+			return new long[] {60000L, 1};
+		case "s":
+			return new long[] {1000L, 1};
+		case "ms":
+			return new long[] {1, 1};
+		case "us":
+			return new long[] {1, 1000L};
+		case "ns":
+			return new long[] {1, 1000000L};
+		default:
+			throw new IOException("NumPy datetime unit '" + unit + "' is not supported");
+		}
+	}
+
+	/**
+	 * Encode all items of dataset and write them to channel
+	 * @param h header
+	 * @param data dataset
+	 * @param buffer work buffer
+	 * @param channel destination
+	 * @throws IOException if channel cannot be written
+	 */
+	static void encode(NumpyHeader h, Dataset data, ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.order(h.getByteOrder());
+		buffer.clear();
+		final int isize = data.getElementsPerItem();
+		if (data.getStrides() == null && encodeBulk(h, data.getBuffer(), data.getSize() * isize, buffer, channel)) {
+			return;
+		}
+
+		final int ebytes = h.getElementBytes();
+		final int chars = h.kind == 'U' ? h.bytes / 4 : 0;
+		final int ibytes = h.kind == 'U' ? h.bytes : ebytes * isize;
+		IndexIterator it = data.getIterator();
+		while (it.hasNext()) {
+			if (buffer.remaining() < ibytes) {
+				flush(buffer, channel);
+			}
+			final int index = it.index;
+			switch (h.kind) {
+			case 'b':
+				for (int j = 0; j < isize; j++) {
+					buffer.put((byte) (data.getElementBooleanAbs(index + j) ? 1 : 0));
+				}
+				break;
+			case 'i':
+			case 'u':
+				for (int j = 0; j < isize; j++) {
+					long v = data.getElementLongAbs(index + j);
+					switch (ebytes) {
+					case 1:
+						buffer.put((byte) v);
+						break;
+					case 2:
+						buffer.putShort((short) v);
+						break;
+					case 4:
+						buffer.putInt((int) v);
+						break;
+					default:
+						buffer.putLong(v);
+						break;
+					}
+				}
+				break;
+			case 'f':
+			case 'c':
+				for (int j = 0; j < isize; j++) {
+					double v = data.getElementDoubleAbs(index + j);
+					if (ebytes == 2) {
+						buffer.putShort(HalfFloatDataset.toHalf((float) v));
+					} else if (ebytes == 4) {
+						buffer.putFloat((float) v);
+					} else {
+						buffer.putDouble(v);
+					}
+				}
+				break;
+			case 'U':
+				String s = data.getStringAbs(index);
+				int l = 0;
+				if (s != null) {
+					for (int j = 0, jmax = s.length(); j < jmax && l < chars; l++) {
+						int c = s.codePointAt(j);
+						buffer.putInt(c);
+						j += Character.charCount(c);
+					}
+				}
+				for (; l < chars; l++) {
+					buffer.putInt(0);
+				}
+				break;
+			case 'M':
+				Date d = ((DateDataset) data).getDateAbs(index);
+				buffer.putLong(d == null ? Long.MIN_VALUE : d.getTime()); // NaT for missing dates
+				break;
+			default:
+				throw new IOException("NumPy type '" + h.getDescriptor() + "' is not supported");
+			}
+		}
+		flush(buffer, channel);
+	}
+
+	private static boolean encodeBulk(NumpyHeader h, Object array, int length, ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		final int ebytes = h.getElementBytes();
+		final int chunk = buffer.capacity() / ebytes;
+		if (array instanceof byte[] && (h.kind == 'i' || h.kind == 'u')) {
+			byte[] a = (byte[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				buffer.put(a, i, Math.min(chunk, length - i));
+				flush(buffer, channel);
+			}
+		} else if (array instanceof short[] && (h.kind == 'i' || h.kind == 'u' || h.kind == 'f')) {
+			short[] a = (short[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				int n = Math.min(chunk, length - i);
+				buffer.asShortBuffer().put(a, i, n);
+				buffer.position(n * ebytes);
+				flush(buffer, channel);
+			}
+		} else if (array instanceof int[] && (h.kind == 'i' || h.kind == 'u')) {
+			int[] a = (int[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				int n = Math.min(chunk, length - i);
+				buffer.asIntBuffer().put(a, i, n);
+				buffer.position(n * ebytes);
+				flush(buffer, channel);
+			}
+		} else if (array instanceof long[] && (h.kind == 'i' || h.kind == 'u' || h.kind == 'M')) {
+			long[] a = (long[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				int n = Math.min(chunk, length - i);
+				buffer.asLongBuffer().put(a, i, n);
+				buffer.position(n * ebytes);
+				flush(buffer, channel);
+			}
+		} else if (array instanceof float[] && ebytes == 4) {
+			float[] a = (float[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				int n = Math.min(chunk, length - i);
+				buffer.asFloatBuffer().put(a, i, n);
+				buffer.position(n * ebytes);
+				flush(buffer, channel);
+			}
+		} else if (array instanceof double[] && ebytes == 8 && h.kind != 'i') {
+			double[] a = (double[]) array;
+			for (int i = 0; i < length; i += chunk) {
+				int n = Math.min(chunk, length - i);
+				buffer.asDoubleBuffer().put(a, i, n);
+				buffer.position(n * ebytes);
+				flush(buffer, channel);
+			}
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,407 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.january.dataset.BooleanDataset;
+import org.eclipse.january.dataset.ByteDataset;
+import org.eclipse.january.dataset.ComplexDoubleDataset;
+import org.eclipse.january.dataset.ComplexFloatDataset;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DateDataset;
+import org.eclipse.january.dataset.DoubleDataset;
+import org.eclipse.january.dataset.FloatDataset;
+import org.eclipse.january.dataset.HalfFloatDataset;
+import org.eclipse.january.dataset.IntegerDataset;
+import org.eclipse.january.dataset.InterfaceUtils;
+import org.eclipse.january.dataset.LongDataset;
+import org.eclipse.january.dataset.ShortDataset;
+import org.eclipse.january.dataset.StringDataset;
+import org.eclipse.january.dataset.UnsignedByteDataset;
+import org.eclipse.january.dataset.UnsignedIntegerDataset;
+import org.eclipse.january.dataset.UnsignedShortDataset;
+
+/**
+ * Header of a NumPy .npy file. This holds the array descriptor, its shape and storage order, and the
+ * offset to the start of the data.
+ * <p>
+ * See <a href="https://numpy.org/doc/stable/reference/generated/numpy.lib.format.html">NumPy format</a>
+ */
+final class NumpyHeader implements Serializable {
+	private static final long serialVersionUID = -2960216473718883237L;
+
+	static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+
+	private static final int ALIGNMENT = 64;
+
+	private static final String TYPE = "([<>|=])([a-zA-Z])(\\d*)(?:\\[(\\w+)\\])?";
+	private static final Pattern DESCR = Pattern.compile("'descr'\\s*:\\s*'" + TYPE + "'");
+	private static final Pattern TYPESTR = Pattern.compile(TYPE);
+	private static final Pattern FORTRAN = Pattern.compile("'fortran_order'\\s*:\\s*(True|False)");
+	private static final Pattern SHAPE = Pattern.compile("'shape'\\s*:\\s*\\(([^)]*)\\)");
+
+	char kind;    // NumPy kind character
+	int bytes;    // number of bytes per item
+	String unit;  // datetime unit (can be null)
+	boolean big;  // big-endian byte order
+	boolean fortranOrder;
+	int[] shape;
+	long dataOffset; // offset in bytes to start of data
+
+	private NumpyHeader() {
+	}
+
+	/**
+	 * @return byte order of data
+	 */
+	ByteOrder getByteOrder() {
+		return big ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	}
+
+	/**
+	 * @return number of elements per item when read into a dataset
+	 */
+	int getElementsPerItem() {
+		return kind == 'c' ? 2 : 1;
+	}
+
+	/**
+	 * @return number of bytes per element when read into a dataset
+	 */
+	int getElementBytes() {
+		return bytes / getElementsPerItem();
+	}
+
+	/**
+	 * @return total number of items
+	 */
+	long getSize() {
+		long size = 1;
+		for (int s : shape) {
+			size *= s;
+		}
+		return size;
+	}
+
+	/**
+	 * @return dataset interface that will hold data described by header
+	 * @throws IOException if NumPy type is not supported
+	 */
+	Class<? extends Dataset> getInterface() throws IOException {
+		switch (kind) {
+		case 'b':
+			return BooleanDataset.class;
+		case 'i':
+			switch (bytes) {
+			case 1:
+				return ByteDataset.class;
+			case 2:
+				return ShortDataset.class;
+			case 4:
+				return IntegerDataset.class;
+			case 8:
+				return LongDataset.class;
+			}
+			break;
+		case 'u':
+			switch (bytes) {
+			case 1:
+				return UnsignedByteDataset.class;
+			case 2:
+				return UnsignedShortDataset.class;
+			case 4:
+				return UnsignedIntegerDataset.class;
+			case 8: // values wrap
+				return LongDataset.class;
+			}
+			break;
+		case 'f':
+			switch (bytes) {
+			case 2:
+				return HalfFloatDataset.class;
+			case 4:
+				return FloatDataset.class;
+			case 8:
+				return DoubleDataset.class;
+			}
+			break;
+		case 'c':
+			switch (bytes) {
+			case 8:
+				return ComplexFloatDataset.class;
+			case 16:
+				return ComplexDoubleDataset.class;
+			}
+			break;
+		case 'S':
+		case 'U':
+			return StringDataset.class;
+		case 'M':
+			if (bytes == 8) {
+				return DateDataset.class;
+			}
+			break;
+		}
+		throw new IOException("NumPy type '" + getDescriptor() + "' is not supported");
+	}
+
+	/**
+	 * @return NumPy type descriptor
+	 */
+	String getDescriptor() {
+		StringBuilder s = new StringBuilder();
+		s.append(bytes == 1 && kind != 'U' ? '|' : (big ? '>' : '<'));
+		s.append(kind);
+		s.append(kind == 'U' ? bytes / 4 : bytes);
+		if (unit != null) {
+			s.append('[').append(unit).append(']');
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Create header for given dataset interface
+	 * @param clazz dataset interface
+	 * @param isize number of elements per item
+	 * @param shape dataset shape
+	 * @param maxStringLength maximum string length (for string datasets only)
+	 * @return header
+	 */
+	static NumpyHeader createHeader(Class<? extends Dataset> clazz, int isize, int[] shape, int maxStringLength) {
+		NumpyHeader h = new NumpyHeader();
+		h.big = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+		h.fortranOrder = false;
+		Class<?> eClass = InterfaceUtils.getElementClass(clazz);
+		if (InterfaceUtils.isComplex(clazz)) {
+			h.kind = 'c';
+			h.bytes = 2 * InterfaceUtils.getItemBytes(1, InterfaceUtils.getElementalInterface(clazz));
+			isize = 1;
+		} else if (DateDataset.class.isAssignableFrom(clazz)) {
+			h.kind = 'M';
+			h.bytes = 8;
+			h.unit = "ms";
+		} else if (StringDataset.class.isAssignableFrom(clazz)) {
+			h.kind = 'U';
+			h.bytes = 4 * Math.max(1, maxStringLength);
+		} else if (Boolean.class.equals(eClass)) {
+			h.kind = 'b';
+			h.bytes = 1;
+		} else if (Float.class.equals(eClass) || Double.class.equals(eClass)) {
+			h.kind = 'f';
+			h.bytes = InterfaceUtils.getItemBytes(1, clazz);
+		} else if (InterfaceUtils.isUnsigned(clazz)) {
+			h.kind = 'u';
+			h.bytes = InterfaceUtils.getItemBytes(1, clazz);
+		} else if (Number.class.isAssignableFrom(eClass)) {
+			h.kind = 'i';
+			h.bytes = InterfaceUtils.getItemBytes(1, InterfaceUtils.getElementalInterface(clazz));
+		} else {
+			throw new IllegalArgumentException("Dataset interface " + clazz.getSimpleName() + " cannot be stored in NumPy format");
+		}
+
+		if (shape == null) {
+			shape = new int[0];
+		}
+		if (isize > 1) { // compound items are stored with an extra trailing axis
+			h.shape = Arrays.copyOf(shape, shape.length + 1);
+			h.shape[shape.length] = isize;
+		} else {
+			h.shape = shape.clone();
+		}
+		return h;
+	}
+
+	/**
+	 * Read header from buffer
+	 * @param buffer source positioned at start of file
+	 * @return header
+	 * @throws IOException if buffer does not contain a valid header
+	 */
+	static NumpyHeader readHeader(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 10) {
+			throw new IOException("Not enough bytes for NumPy header");
+		}
+		byte[] magic = new byte[MAGIC.length];
+		buffer.get(magic);
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new IOException("Not a NumPy file");
+		}
+		int major = buffer.get() & 0xff;
+		buffer.get(); // minor version
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		long length;
+		int preamble;
+		if (major == 1) {
+			length = buffer.getShort() & 0xffff;
+			preamble = 10;
+		} else if (major == 2 || major == 3) {
+			if (buffer.remaining() < 4) {
+				throw new IOException("Not enough bytes for NumPy header");
+			}
+			length = buffer.getInt() & 0xffffffffL;
+			preamble = 12;
+		} else {
+			throw new IOException("NumPy format version " + major + " is not supported");
+		}
+		if (buffer.remaining() < length) {
+			throw new IOException("Not enough bytes for NumPy header");
+		}
+		byte[] dict = new byte[(int) length];
+		buffer.get(dict);
+
+		NumpyHeader h = parseDictionary(new String(dict, major == 3 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1));
+		h.dataOffset = preamble + length;
+		return h;
+	}
+
+	/**
+	 * Number of bytes needed to read in to parse header length
+	 */
+	static final int PREAMBLE_LENGTH = 12;
+
+	/**
+	 * @param buffer first bytes of file (at least {@link #PREAMBLE_LENGTH})
+	 * @return total length of header
+	 * @throws IOException if buffer does not contain a valid header
+	 */
+	static long readHeaderLength(ByteBuffer buffer) throws IOException {
+		byte[] magic = new byte[MAGIC.length];
+		buffer.get(magic);
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new IOException("Not a NumPy file");
+		}
+		int major = buffer.get() & 0xff;
+		buffer.get();
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		return major == 1 ? 10 + (buffer.getShort() & 0xffff) : 12 + (buffer.getInt() & 0xffffffffL);
+	}
+
+	/**
+	 * Create header from a NumPy type string (as used in array interfaces)
+	 * @param typestr NumPy type string, e.g. "&lt;f8"
+	 * @param shape array shape
+	 * @return header
+	 * @throws IOException if type string is not supported
+	 */
+	static NumpyHeader createHeader(String typestr, int[] shape) throws IOException {
+		Matcher m = TYPESTR.matcher(typestr);
+		if (!m.matches()) {
+			throw new IOException("NumPy type string is not supported: " + typestr);
+		}
+		NumpyHeader h = new NumpyHeader();
+		setType(h, m);
+		h.shape = shape.clone();
+		return h;
+	}
+
+	private static void setType(NumpyHeader h, Matcher m) {
+		char order = m.group(1).charAt(0);
+		h.big = order == '>' || (order == '=' && ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+		h.kind = m.group(2).charAt(0);
+		h.bytes = m.group(3).isEmpty() ? 1 : Integer.parseInt(m.group(3));
+		if (h.kind == '?') {
+			h.kind = 'b';
+		} else if (h.kind == 'U') {
+			h.bytes *= 4;
+		} else if (h.kind == 'a') {
+			h.kind = 'S';
+		}
+		h.unit = m.group(4);
+	}
+
+	private static NumpyHeader parseDictionary(String dict) throws IOException {
+		NumpyHeader h = new NumpyHeader();
+		Matcher m = DESCR.matcher(dict);
+		if (!m.find()) {
+			throw new IOException("NumPy header has unsupported or missing descriptor: " + dict.trim());
+		}
+		setType(h, m);
+
+		m = FORTRAN.matcher(dict);
+		if (!m.find()) {
+			throw new IOException("NumPy header has missing Fortran order: " + dict.trim());
+		}
+		h.fortranOrder = "True".equals(m.group(1));
+
+		m = SHAPE.matcher(dict);
+		if (!m.find()) {
+			throw new IOException("NumPy header has missing shape: " + dict.trim());
+		}
+		String[] dims = m.group(1).split(",");
+		int r = 0;
+		int[] shape = new int[dims.length];
+		for (String d : dims) {
+			d = d.trim();
+			if (!d.isEmpty()) {
+				long l = Long.parseLong(d.endsWith("L") ? d.substring(0, d.length() - 1) : d);
+				if (l > Integer.MAX_VALUE) {
+					throw new IOException("NumPy array dimension is too large: " + l);
+				}
+				shape[r++] = (int) l;
+			}
+		}
+		h.shape = Arrays.copyOf(shape, r);
+		return h;
+	}
+
+	/**
+	 * Encode header to bytes, padded so data starts on aligned boundary
+	 * @return bytes
+	 */
+	byte[] toBytes() {
+		StringBuilder s = new StringBuilder();
+		s.append("{'descr': '").append(getDescriptor()).append("', 'fortran_order': ");
+		s.append(fortranOrder ? "True" : "False").append(", 'shape': (");
+		for (int i : shape) {
+			s.append(i).append(", ");
+		}
+		if (shape.length > 1) {
+			s.setLength(s.length() - 2);
+		} else if (shape.length == 1) {
+			s.setLength(s.length() - 1);
+		}
+		s.append("), }");
+
+		int preamble = s.length() + 1 + ALIGNMENT > 65535 ? 12 : 10;
+		int total = preamble + s.length() + 1;
+		int pad = (ALIGNMENT - total % ALIGNMENT) % ALIGNMENT;
+		for (int i = 0; i < pad; i++) {
+			s.append(' ');
+		}
+		s.append('\n');
+
+		byte[] dict = s.toString().getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer b = ByteBuffer.allocate(preamble + dict.length).order(ByteOrder.LITTLE_ENDIAN);
+		b.put(MAGIC);
+		if (preamble == 10) {
+			b.put((byte) 1).put((byte) 0);
+			b.putShort((short) dict.length);
+		} else {
+			b.put((byte) 2).put((byte) 0);
+			b.putInt(dict.length);
+		}
+		b.put(dict);
+		dataOffset = b.capacity();
+		return b.array();
+	}
+
+	@Override
+	public String toString() {
+		return getDescriptor() + (fortranOrder ? " (Fortran order) " : " ") + Arrays.toString(shape);
+	}
+}
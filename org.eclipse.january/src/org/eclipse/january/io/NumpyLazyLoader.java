@@ -0,0 +1,379 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.Slice;
+import org.eclipse.january.dataset.SliceND;
+
+/**
+ * Lazy loader for NumPy .npy files (or uncompressed entries in .npz files) that reads slices from
+ * memory-mapped regions of the file. Arrays stored in Fortran order are read as their transpose and
+ * returned as a transposed view.
+ * <p>
+ * This is thread-safe as each call maps the regions it needs
+ * @since 3.0
+ */
+public class NumpyLazyLoader implements ILazyLoader {
+	private static final long serialVersionUID = 4719260843317546710L;
+
+	/**
+	 * Maximum size of a mapped region
+	 */
+	static final long MAX_WINDOW = 1L << 30;
+
+	private final String path;
+	private final NumpyHeader header;
+	private final long start; // offset in bytes of data in file
+
+	/**
+	 * @param file NumPy file
+	 * @throws IOException if file cannot be read or is not a NumPy file
+	 */
+	public NumpyLazyLoader(File file) throws IOException {
+		this(file, 0);
+	}
+
+	/**
+	 * @param file containing NumPy array
+	 * @param offset position of NumPy array in file
+	 * @throws IOException if file cannot be read or is not a NumPy file
+	 */
+	NumpyLazyLoader(File file, long offset) throws IOException {
+		path = file.getAbsolutePath();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			header = NumpyUtils.readHeader(raf.getChannel(), offset);
+		}
+		start = offset + header.dataOffset;
+	}
+
+	/**
+	 * @return header of array
+	 */
+	NumpyHeader getHeader() {
+		return header;
+	}
+
+	/**
+	 * @return dataset interface of array
+	 * @throws IOException if NumPy type is not supported
+	 */
+	public Class<? extends Dataset> getInterface() throws IOException {
+		return header.getInterface();
+	}
+
+	/**
+	 * @return shape of array
+	 */
+	public int[] getShape() {
+		return header.shape.clone();
+	}
+
+	/**
+	 * @return true if stored in Fortran (column-major) order
+	 */
+	public boolean isFortranOrder() {
+		return header.fortranOrder;
+	}
+
+	@Override
+	public boolean isFileReadable() {
+		return new File(path).canRead();
+	}
+
+	@Override
+	public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(path, "r"); FileChannel channel = raf.getChannel()) {
+			return read(mon, header, slice, new Window(channel, start));
+		}
+	}
+
+	/**
+	 * Read slice of array from source. Steps are made positive so items are read in increasing
+	 * order of position and then flipped back with a view
+	 * @param mon monitor (can be null)
+	 * @param header header of array
+	 * @param slice slice (can be null for whole array)
+	 * @param source source of bytes of data
+	 * @return dataset
+	 * @throws IOException if data cannot be read or NumPy type is not supported
+	 */
+	static Dataset read(IMonitor mon, NumpyHeader header, SliceND slice, Source source) throws IOException {
+		final int[] shape = header.shape;
+		final int rank = shape.length;
+		int[] lstart;
+		int[] lstep;
+		int[] lshape;
+		boolean[] flip = new boolean[rank];
+		boolean flipped = false;
+		if (slice == null) {
+			lstart = new int[rank];
+			lstep = new int[rank];
+			Arrays.fill(lstep, 1);
+			lshape = shape.clone();
+		} else {
+			lstart = slice.getStart().clone();
+			lstep = slice.getStep().clone();
+			lshape = slice.getShape();
+			for (int i = 0; i < rank; i++) {
+				if (lstep[i] < 0) {
+					if (lshape[i] > 0) {
+						lstart[i] += (lshape[i] - 1) * lstep[i];
+					}
+					lstep[i] = -lstep[i];
+					flip[i] = true;
+					flipped = true;
+				}
+			}
+		}
+
+		final int[] fshape;
+		final int[] fstart;
+		final int[] fstep;
+		final int[] rshape; // shape of read data
+		if (header.fortranOrder) { // read reversed
+			fshape = reverse(shape);
+			fstart = reverse(lstart);
+			fstep = reverse(lstep);
+			rshape = reverse(lshape);
+		} else {
+			fshape = shape;
+			fstart = lstart;
+			fstep = lstep;
+			rshape = lshape;
+		}
+
+		long total = 1;
+		for (int s : rshape) {
+			total *= s;
+		}
+		if (total > Integer.MAX_VALUE) {
+			throw new IOException("Slice is too large to be read into a dataset");
+		}
+
+		Object array = NumpyCodec.createArray(header, (int) total);
+		if (total > 0) {
+			read(mon, header, fshape, fstart, fstep, rshape, array, source);
+		}
+
+		Dataset d = NumpyCodec.createDataset(header, array, rshape);
+		if (header.fortranOrder && rank > 1) {
+			d = d.getTransposedView();
+		}
+		if (flipped) {
+			Slice[] s = new Slice[rank];
+			for (int i = 0; i < rank; i++) {
+				if (flip[i]) {
+					s[i] = new Slice(null, null, -1);
+				}
+			}
+			d = d.getSliceView(s);
+		}
+		return d;
+	}
+
+	private static int[] reverse(int[] a) {
+		int r = a.length;
+		int[] b = new int[r];
+		for (int i = 0; i < r; i++) {
+			b[i] = a[r - 1 - i];
+		}
+		return b;
+	}
+
+	/**
+	 * Read C-ordered hyperslab with positive steps into array, copying contiguous runs in bulk
+	 */
+	private static void read(IMonitor mon, NumpyHeader header, int[] fshape, int[] fstart, int[] fstep, int[] rshape, Object array, Source source) throws IOException {
+		final int rank = fshape.length;
+		final long ibytes = header.bytes;
+		long[] fstride = new long[rank]; // in items
+		long s = 1;
+		for (int i = rank - 1; i >= 0; i--) {
+			fstride[i] = s;
+			s *= fshape[i];
+		}
+
+		// find run of contiguous items from the trailing dimensions
+		int outer = rank - 1; // last dimension iterated over
+		int run = 1;
+		if (rank > 0 && fstep[rank - 1] == 1) {
+			int k = rank - 1;
+			run = rshape[k];
+			while (k > 0 && rshape[k] == fshape[k] && fstep[k - 1] == 1) {
+				k--;
+				run *= rshape[k];
+			}
+			outer = k - 1;
+		}
+
+		int[] pos = new int[Math.max(0, outer + 1)];
+		int dpos = 0;
+		long maxItemsPerRead = Math.max(1, NumpyCodec.BUFFER_SIZE / ibytes);
+		while (true) {
+			long item = 0;
+			for (int i = 0; i <= outer; i++) {
+				item += (fstart[i] + (long) pos[i] * fstep[i]) * fstride[i];
+			}
+			for (int i = outer + 1; i < rank; i++) {
+				item += fstart[i] * fstride[i];
+			}
+
+			int left = run;
+			while (left > 0) {
+				int n = (int) Math.min(left, maxItemsPerRead);
+				ByteBuffer b = source.get(item * ibytes, (int) (n * ibytes));
+				NumpyCodec.decode(header, b, array, dpos, n);
+				dpos += n;
+				item += n;
+				left -= n;
+			}
+
+			// increment position
+			int i = outer;
+			for (; i >= 0; i--) {
+				if (++pos[i] < rshape[i]) {
+					break;
+				}
+				pos[i] = 0;
+			}
+			if (i < 0) {
+				break;
+			}
+			if (i < outer && mon != null) {
+				if (mon.isCancelled()) {
+					throw new IOException("Reading cancelled");
+				}
+				mon.worked(1);
+			}
+		}
+	}
+
+	/**
+	 * Source of bytes of array data
+	 */
+	interface Source {
+		/**
+		 * @param position in bytes from start of data
+		 * @param length in bytes
+		 * @return buffer positioned at given position with at least given length remaining
+		 * @throws IOException if bytes cannot be read
+		 */
+		ByteBuffer get(long position, int length) throws IOException;
+	}
+
+	/**
+	 * Mapped region of file
+	 */
+	private static class Window implements Source {
+		private final FileChannel channel;
+		private final long offset;
+		private final long size;
+		private MappedByteBuffer buffer;
+		private long begin = 0;
+		private long end = -1;
+
+		Window(FileChannel channel, long offset) throws IOException {
+			this.channel = channel;
+			this.offset = offset;
+			size = channel.size();
+		}
+
+		@Override
+		public ByteBuffer get(long position, int length) throws IOException {
+			position += offset;
+			long last = position + length;
+			if (last > size) {
+				throw new IOException("NumPy file is truncated");
+			}
+			if (position < begin || last > end) {
+				begin = position;
+				end = Math.min(size, position + Math.max(length, MAX_WINDOW));
+				buffer = channel.map(MapMode.READ_ONLY, begin, end - begin);
+			}
+			ByteBuffer b = buffer.duplicate();
+			b.position((int) (position - begin));
+			return b;
+		}
+	}
+
+	/**
+	 * Stream of data that can only be read forwards. Bytes between requested positions are skipped
+	 */
+	static class StreamSource implements Source {
+		private final InputStream in;
+		private long current = 0;
+		private byte[] bytes = new byte[0];
+
+		/**
+		 * @param in stream positioned at start of data
+		 */
+		StreamSource(InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public ByteBuffer get(long position, int length) throws IOException {
+			if (position < current) {
+				throw new IOException("Cannot read backwards in NumPy stream");
+			}
+			skipFully(in, position - current);
+			if (bytes.length < length) {
+				bytes = new byte[length];
+			}
+			int n = 0;
+			while (n < length) {
+				int r = in.read(bytes, n, length - n);
+				if (r < 0) {
+					throw new EOFException("NumPy stream is truncated");
+				}
+				n += r;
+			}
+			current = position + length;
+			return ByteBuffer.wrap(bytes, 0, length);
+		}
+	}
+
+	/**
+	 * Skip given number of bytes in stream
+	 * @param in stream
+	 * @param n number of bytes
+	 * @throws IOException if stream ends first
+	 */
+	static void skipFully(InputStream in, long n) throws IOException {
+		while (n > 0) {
+			long s = in.skip(n);
+			if (s <= 0) {
+				if (in.read() < 0) {
+					throw new EOFException("NumPy stream is truncated");
+				}
+				s = 1;
+			}
+			n -= s;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "NumPy loader for " + path + " " + header;
+	}
+}
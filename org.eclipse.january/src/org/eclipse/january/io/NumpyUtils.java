@@ -0,0 +1,494 @@
+/*-
+ * Copyright (c) 2026 Diamond Light Source Ltd.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.january.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.january.DatasetException;
+import org.eclipse.january.IMonitor;
+import org.eclipse.january.dataset.Dataset;
+import org.eclipse.january.dataset.DatasetUtils;
+import org.eclipse.january.dataset.ILazyDataset;
+import org.eclipse.january.dataset.IndexIterator;
+import org.eclipse.january.dataset.InterfaceUtils;
+import org.eclipse.january.dataset.LazyDataset;
+import org.eclipse.january.dataset.SliceND;
+import org.eclipse.january.dataset.StringDataset;
+
+/**
+ * Read and write datasets in NumPy's .npy and .npz formats
+ * <p>
+ * All elemental, complex, string and date datasets are supported. Compound datasets are stored with an extra
+ * trailing axis whose length is the number of elements per item; use
+ * {@link DatasetUtils#createCompoundDatasetFromLastAxis(Dataset, boolean)} to recover them after reading.
+ * Unsigned integer arrays are read into unsigned datasets (unsigned 64-bit values wrap in long datasets) and
+ * half-precision floats are read into half-precision datasets.
+ * @since 3.0
+ */
+public class NumpyUtils {
+
+	/**
+	 * File extension for single arrays
+	 */
+	public static final String NPY_EXTENSION = ".npy";
+
+	/**
+	 * Maximum number of bytes in each slice read from a lazy dataset when writing
+	 */
+	private static final long MAX_BLOCK_BYTES = 1L << 26;
+
+	private NumpyUtils() {
+	}
+
+	/**
+	 * Read NumPy header from channel
+	 * @param channel file channel
+	 * @param offset position of start of header in channel
+	 * @return header
+	 * @throws IOException if channel cannot be read or does not contain a valid header
+	 */
+	static NumpyHeader readHeader(FileChannel channel, long offset) throws IOException {
+		ByteBuffer b = ByteBuffer.allocate(NumpyHeader.PREAMBLE_LENGTH);
+		readFully(channel, b, offset);
+		b.flip();
+		long length = NumpyHeader.readHeaderLength(b);
+		if (length > Integer.MAX_VALUE) {
+			throw new IOException("NumPy header is too long");
+		}
+		b = ByteBuffer.allocate((int) length);
+		readFully(channel, b, offset);
+		b.flip();
+		return NumpyHeader.readHeader(b);
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer b, long offset) throws IOException {
+		while (b.hasRemaining()) {
+			if (channel.read(b, offset + b.position()) < 0) {
+				throw new IOException("Unexpected end of file in NumPy header");
+			}
+		}
+	}
+
+	/**
+	 * Read dataset from .npy file
+	 * @param file NumPy file
+	 * @return dataset
+	 * @throws IOException if file cannot be read or is not a NumPy file
+	 */
+	public static Dataset readNpy(File file) throws IOException {
+		Dataset d = new NumpyLazyLoader(file).getDataset(null, null);
+		d.setName(getName(file.getName()));
+		return d;
+	}
+
+	/**
+	 * Read dataset from stream that contains a .npy file
+	 * @param in input stream (left open)
+	 * @return dataset
+	 * @throws IOException if stream cannot be read or is not a NumPy file
+	 */
+	public static Dataset readNpy(InputStream in) throws IOException {
+		NumpyHeader h = readHeader(in);
+		return NumpyLazyLoader.read(null, h, null, new NumpyLazyLoader.StreamSource(in));
+	}
+
+	/**
+	 * Read NumPy header from stream, leaving the stream positioned at the start of the data
+	 * @param in input stream
+	 * @return header
+	 * @throws IOException if stream cannot be read or does not contain a valid header
+	 */
+	static NumpyHeader readHeader(InputStream in) throws IOException {
+		DataInputStream din = new DataInputStream(in);
+		byte[] preamble = new byte[NumpyHeader.PREAMBLE_LENGTH - 2];
+		din.readFully(preamble);
+		int major = preamble[NumpyHeader.MAGIC.length] & 0xff;
+		int extra = major == 1 ? 0 : 2;
+		ByteBuffer b = ByteBuffer.allocate(preamble.length + extra).order(ByteOrder.LITTLE_ENDIAN);
+		b.put(preamble);
+		din.readFully(b.array(), preamble.length, extra);
+		b.rewind();
+		long length = NumpyHeader.readHeaderLength(b);
+		if (length > Integer.MAX_VALUE) {
+			throw new IOException("NumPy header is too long");
+		}
+		byte[] all = new byte[(int) length];
+		System.arraycopy(b.array(), 0, all, 0, b.capacity());
+		din.readFully(all, b.capacity(), all.length - b.capacity());
+		return NumpyHeader.readHeader(ByteBuffer.wrap(all));
+	}
+
+	/**
+	 * Create lazy dataset backed by a memory-mapped .npy file
+	 * @param file NumPy file
+	 * @return lazy dataset
+	 * @throws IOException if file cannot be read or is not a NumPy file
+	 */
+	public static LazyDataset createLazyDataset(File file) throws IOException {
+		NumpyLazyLoader loader = new NumpyLazyLoader(file);
+		return createLazyDataset(loader, loader.getHeader(), getName(file.getName()));
+	}
+
+	private static LazyDataset createLazyDataset(ILazyLoader loader, NumpyHeader h, String name) throws IOException {
+		Class<? extends Dataset> clazz = h.getInterface();
+		return new LazyDataset(loader, name, InterfaceUtils.getElementsPerItem(clazz), clazz, h.shape.clone());
+	}
+
+	private static String getName(String file) {
+		return file.endsWith(NPY_EXTENSION) ? file.substring(0, file.length() - NPY_EXTENSION.length()) : file;
+	}
+
+	/**
+	 * Write dataset to .npy file. Lazy datasets are written in slices so the whole dataset is
+	 * never held in memory
+	 * @param file destination
+	 * @param data dataset (or lazy dataset)
+	 * @throws IOException if file cannot be written
+	 */
+	public static void writeNpy(File file, ILazyDataset data) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			write(out.getChannel(), data);
+		}
+	}
+
+	/**
+	 * Write dataset to stream in .npy format. Lazy datasets are written in slices so the whole dataset is
+	 * never held in memory
+	 * @param out output stream (left open)
+	 * @param data dataset (or lazy dataset)
+	 * @throws IOException if stream cannot be written
+	 */
+	public static void writeNpy(OutputStream out, ILazyDataset data) throws IOException {
+		write(Channels.newChannel(out), data);
+		out.flush();
+	}
+
+	private static void write(WritableByteChannel channel, ILazyDataset data) throws IOException {
+		NumpyHeader h = createHeader(data);
+		ByteBuffer buffer = ByteBuffer.wrap(h.toBytes());
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+
+		buffer = ByteBuffer.allocate(NumpyCodec.BUFFER_SIZE);
+		if (data instanceof Dataset) {
+			NumpyCodec.encode(h, (Dataset) data, buffer, channel);
+			return;
+		}
+
+		int[] shape = data.getShape();
+		if (shape.length == 0) {
+			NumpyCodec.encode(h, getSlice(data, null), buffer, channel);
+			return;
+		}
+		SliceND slice = new SliceND(shape);
+		int rows = getRowsPerBlock(shape, h.bytes);
+		for (int i = 0; i < shape[0]; i += rows) {
+			slice.setSlice(0, i, Math.min(shape[0], i + rows), 1);
+			NumpyCodec.encode(h, getSlice(data, slice), buffer, channel);
+		}
+	}
+
+	private static int getRowsPerBlock(int[] shape, int itemBytes) {
+		long row = itemBytes;
+		for (int i = 1; i < shape.length; i++) {
+			row *= shape[i];
+		}
+		return (int) Math.max(1, Math.min(shape[0], MAX_BLOCK_BYTES / Math.max(1, row)));
+	}
+
+	private static Dataset getSlice(ILazyDataset data, SliceND slice) throws IOException {
+		try {
+			return DatasetUtils.convertToDataset(slice == null ? data.getSlice() : data.getSlice(slice));
+		} catch (DatasetException e) {
+			throw new IOException("Could not get slice of " + data.getName(), e);
+		}
+	}
+
+	private static NumpyHeader createHeader(ILazyDataset data) throws IOException {
+		Class<? extends Dataset> clazz = null;
+		if (data instanceof LazyDataset) {
+			clazz = ((LazyDataset) data).getInterface();
+		}
+		if (clazz == null) {
+			clazz = InterfaceUtils.getInterface(data);
+		}
+		if (clazz == null) {
+			throw new IllegalArgumentException("Dataset interface of " + data.getName() + " is unknown");
+		}
+
+		int length = 0;
+		if (StringDataset.class.isAssignableFrom(clazz)) {
+			length = getMaxStringLength(data);
+		}
+		return NumpyHeader.createHeader(clazz, data.getElementsPerItem(), data.getShape(), length);
+	}
+
+	private static int getMaxStringLength(ILazyDataset data) throws IOException {
+		int length = 0;
+		int[] shape = data.getShape();
+		if (data instanceof Dataset || shape.length == 0) {
+			return getMaxStringLength(getSlice(data, null));
+		}
+
+		SliceND slice = new SliceND(shape);
+		int rows = getRowsPerBlock(shape, 64);
+		for (int i = 0; i < shape[0]; i += rows) {
+			slice.setSlice(0, i, Math.min(shape[0], i + rows), 1);
+			length = Math.max(length, getMaxStringLength(getSlice(data, slice)));
+		}
+		return length;
+	}
+
+	private static int getMaxStringLength(Dataset data) {
+		int length = 0;
+		IndexIterator it = data.getIterator();
+		while (it.hasNext()) {
+			String s = data.getStringAbs(it.index);
+			if (s != null) {
+				length = Math.max(length, s.codePointCount(0, s.length()));
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Read all arrays in .npz file
+	 * @param file NumPy archive
+	 * @return map of datasets (in archive order) keyed by name
+	 * @throws IOException if file cannot be read or contains invalid arrays
+	 */
+	public static Map<String, Dataset> readNpz(File file) throws IOException {
+		Map<String, Dataset> map = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(file)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry e = entries.nextElement();
+				if (e.isDirectory()) {
+					continue;
+				}
+				try (InputStream in = new BufferedInputStream(zip.getInputStream(e))) {
+					String name = getName(e.getName());
+					Dataset d = readNpy(in);
+					d.setName(name);
+					map.put(name, d);
+				}
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Create lazy datasets for all arrays in .npz file. Arrays that are stored uncompressed are memory-mapped.
+	 * Only the headers of compressed arrays are decompressed here and each read of a slice decompresses
+	 * the entry up to the last item needed, skipping over items before the first
+	 * @param file NumPy archive
+	 * @return map of lazy datasets (in archive order) keyed by name
+	 * @throws IOException if file cannot be read or contains invalid arrays
+	 */
+	public static Map<String, ILazyDataset> createLazyDatasets(File file) throws IOException {
+		Map<String, ILazyDataset> map = new LinkedHashMap<>();
+		Map<String, Long> offsets = findStoredEntryOffsets(file);
+		try (ZipFile zip = new ZipFile(file)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry e = entries.nextElement();
+				if (e.isDirectory()) {
+					continue;
+				}
+				String name = getName(e.getName());
+				Long offset = offsets.get(e.getName());
+				LazyDataset l;
+				if (offset != null) {
+					NumpyLazyLoader loader = new NumpyLazyLoader(file, offset);
+					l = createLazyDataset(loader, loader.getHeader(), name);
+				} else {
+					NumpyHeader h;
+					try (InputStream in = new BufferedInputStream(zip.getInputStream(e))) {
+						h = readHeader(in);
+					}
+					l = createLazyDataset(new NumpyZipLoader(file, e.getName(), h), h, name);
+				}
+				map.put(name, l);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Lazy loader for compressed entries in archive which decompresses the entry for every slice,
+	 * stopping after the last item needed
+	 */
+	private static class NumpyZipLoader implements ILazyLoader {
+		private static final long serialVersionUID = 2364312467318004212L;
+
+		private final File file;
+		private final String entry;
+		private final NumpyHeader header;
+
+		NumpyZipLoader(File file, String entry, NumpyHeader header) {
+			this.file = file;
+			this.entry = entry;
+			this.header = header;
+		}
+
+		@Override
+		public boolean isFileReadable() {
+			return file.canRead();
+		}
+
+		@Override
+		public Dataset getDataset(IMonitor mon, SliceND slice) throws IOException {
+			try (ZipFile zip = new ZipFile(file); InputStream in = new BufferedInputStream(zip.getInputStream(zip.getEntry(entry)))) {
+				NumpyLazyLoader.skipFully(in, header.dataOffset);
+				return NumpyLazyLoader.read(mon, header, slice, new NumpyLazyLoader.StreamSource(in));
+			}
+		}
+	}
+
+	/**
+	 * Scan local file headers in zip file to find data offsets of uncompressed entries
+	 * @param file zip file
+	 * @return map of offsets keyed by entry name
+	 * @throws IOException
+	 */
+	private static Map<String, Long> findStoredEntryOffsets(File file) throws IOException {
+		Map<String, Long> offsets = new LinkedHashMap<>();
+		try (ZipFile zip = new ZipFile(file); RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			ByteBuffer b = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+			long pos = 0;
+			while (pos + 30 <= size) {
+				b.clear();
+				readFully(channel, b, pos);
+				if (b.getInt(0) != 0x04034b50) { // end of local headers
+					break;
+				}
+				int flags = b.getShort(6) & 0xffff;
+				int method = b.getShort(8) & 0xffff;
+				int nameLength = b.getShort(26) & 0xffff;
+				int extraLength = b.getShort(28) & 0xffff;
+				ByteBuffer nb = ByteBuffer.allocate(nameLength);
+				readFully(channel, nb, pos + 30);
+				String name = new String(nb.array(), StandardCharsets.UTF_8);
+				long data = pos + 30 + nameLength + extraLength;
+				ZipEntry e = zip.getEntry(name);
+				if (e == null) {
+					break;
+				}
+				if (method == ZipEntry.STORED) {
+					offsets.put(name, data);
+				}
+				pos = data + e.getCompressedSize();
+				if ((flags & 0x8) != 0) { // skip data descriptor
+					b.clear();
+					b.limit(4);
+					readFully(channel, b, pos);
+					boolean zip64 = e.getCompressedSize() >= 0xffffffffL || e.getSize() >= 0xffffffffL;
+					pos += (b.getInt(0) == 0x08074b50 ? 4 : 0) + (zip64 ? 20 : 12);
+				}
+			}
+		}
+		return offsets;
+	}
+
+	/**
+	 * Write datasets to .npz file. Lazy datasets are written in slices so no dataset is held in memory
+	 * <p>
+	 * Uncompressed archives can be memory-mapped by {@link #createLazyDatasets(File)}. To do this, each
+	 * lazy dataset is read twice: once to calculate its checksum and then to write it.
+	 * @param file destination
+	 * @param data map of datasets (or lazy datasets) keyed by name
+	 * @param compress if true, compress each array
+	 * @throws IOException if file cannot be written
+	 */
+	public static void writeNpz(File file, Map<String, ? extends ILazyDataset> data, boolean compress) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			zip.setMethod(compress ? ZipOutputStream.DEFLATED : ZipOutputStream.STORED);
+			for (Entry<String, ? extends ILazyDataset> e : data.entrySet()) {
+				ZipEntry entry = new ZipEntry(e.getKey() + NPY_EXTENSION);
+				ILazyDataset d = e.getValue();
+				if (!compress) {
+					CountingCheckedStream check = new CountingCheckedStream();
+					writeNpy(check, d);
+					entry.setSize(check.count);
+					entry.setCompressedSize(check.count);
+					entry.setCrc(check.getChecksum().getValue());
+				}
+				zip.putNextEntry(entry);
+				writeNpy(new OutputStream() { // shield stream from closing
+					@Override
+					public void write(int b) throws IOException {
+						zip.write(b);
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						zip.write(b, off, len);
+					}
+				}, d);
+				zip.closeEntry();
+			}
+		}
+	}
+
+	private static class CountingCheckedStream extends CheckedOutputStream {
+		long count = 0;
+
+		CountingCheckedStream() {
+			super(new OutputStream() {
+				@Override
+				public void write(int b) {
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) {
+				}
+			}, new CRC32());
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			super.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			super.write(b, off, len);
+			count += len;
+		}
+	}
+}
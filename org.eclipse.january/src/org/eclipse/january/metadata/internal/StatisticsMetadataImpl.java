@@ -18,19 +18,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
-import org.eclipse.january.dataset.CompoundDataset;
-import org.eclipse.january.dataset.CompoundDoubleDataset;
+import org.eclipse.january.dataset.AxisReduction;
 import org.eclipse.january.dataset.Dataset;
-import org.eclipse.january.dataset.DatasetFactory;
-import org.eclipse.january.dataset.DoubleDataset;
 import org.eclipse.january.dataset.IndexIterator;
-import org.eclipse.january.dataset.IntegerDataset;
 import org.eclipse.january.dataset.InterfaceUtils;
-import org.eclipse.january.dataset.LongDataset;
 import org.eclipse.january.dataset.Maths;
 import org.eclipse.january.dataset.ShapeUtils;
-import org.eclipse.january.dataset.SliceND;
-import org.eclipse.january.dataset.SliceNDIterator;
 import org.eclipse.january.metadata.Dirtiable;
 import org.eclipse.january.metadata.StatisticsMetadata;
 
@@ -508,11 +501,11 @@ public class StatisticsMetadataImpl<T> implements StatisticsMetadata<T> {
 		int idx = refresh(false, ignoreInvalids);
 		SummaryStatistics[] summary = summaries[idx];
 		if (isize == 1) {
-			return (T) (Double) summary[0].getMean();
+			return (T) (Double) getMean(summary[0]);
 		} else {
 			double[] result = new double[isize];
 			for (int i = 0; i < isize; i++) {
-				result[i] = summary[i].getMean();
+				result[i] = getMean(summary[i]);
 			}
 			return (T) result;
 		}
@@ -523,16 +516,43 @@ public class StatisticsMetadataImpl<T> implements StatisticsMetadata<T> {
 		int idx = refresh(false, ignoreInvalids);
 		SummaryStatistics[] summary = summaries[idx];
 		if (isize == 1) {
-			return isWholePopulation ? summary[0].getPopulationVariance() : summary[0].getVariance();
+			return getVariance(summary[0], isWholePopulation);
 		} else {
 			double result = 0;
 			for (int i = 0; i < isize; i++) {
-				result += isWholePopulation ? summary[i].getPopulationVariance() : summary[i].getVariance();
+				result += getVariance(summary[i], isWholePopulation);
 			}
 			return result;
 		}
 	}
 
+	/**
+	 * Running means become NaN once infinities are present so use sum instead, as
+	 * {@link AxisReduction} does for means along axes
+	 * @param stats
+	 * @return mean
+	 */
+	private static double getMean(SummaryStatistics stats) {
+		double mean = stats.getMean();
+		double sum = stats.getSum();
+		if (Double.isNaN(mean) && !Double.isNaN(sum)) { // infinities present
+			mean = sum / stats.getN();
+		}
+		return mean;
+	}
+
+	/**
+	 * @param stats
+	 * @param isWholePopulation
+	 * @return variance, or NaN if infinities are present as for variances along axes
+	 */
+	private static double getVariance(SummaryStatistics stats, boolean isWholePopulation) {
+		if (Double.isInfinite(stats.getMax()) || Double.isInfinite(stats.getMin())) {
+			return Double.NaN;
+		}
+		return isWholePopulation ? stats.getPopulationVariance() : stats.getVariance();
+	}
+
 	/**
 	 * @param axis
 	 * @param ignoreInvalids - Can be null, one boolean, or two booleans. By default, both are false. If
@@ -577,225 +597,15 @@ public class StatisticsMetadataImpl<T> implements StatisticsMetadata<T> {
 	}
 
 	/**
-	 * Calculate summary statistics for a dataset by iterating over remaining axes not given
+	 * Calculate summary statistics for a dataset along given axes
 	 * @param ignoreNaNs if true, ignore NaNs
 	 * @param ignoreInfs if true, ignore infinities
-	 * @param axes axes to remain
+	 * @param axes axes to reduce over
 	 */
 	private Dataset[] createAxisStats(final int[] axes, final boolean ignoreNaNs, final boolean ignoreInfs) {
-		SliceNDIterator siter = new SliceNDIterator(new SliceND(dataset.getShapeRef()), axes);
-		int[] nshape = siter.getUsedSlice().getSourceShape();
-
-		Dataset max;
-		Dataset min;
-		IntegerDataset maxIndex;
-		IntegerDataset minIndex;
-		LongDataset count = DatasetFactory.zeros(LongDataset.class, nshape);
-		Dataset sum;
-		Dataset mean;
-		Dataset var;
-
-		if (isize == 1) {
-			max = DatasetFactory.zeros(clazz, nshape);
-			min = DatasetFactory.zeros(clazz, nshape);
-			maxIndex = axes.length == 1 ? DatasetFactory.zeros(IntegerDataset.class, nshape) : null;
-			minIndex = axes.length == 1 ? DatasetFactory.zeros(IntegerDataset.class, nshape) : null;
-			sum = DatasetFactory.zeros(InterfaceUtils.getLargestInterface(dataset), nshape);
-			mean = DatasetFactory.zeros(DoubleDataset.class, nshape);
-			var = DatasetFactory.zeros(DoubleDataset.class, nshape);
-		} else {
-			max = null;
-			min = null;
-			maxIndex = null;
-			minIndex = null;
-			sum = DatasetFactory.zeros(isize, InterfaceUtils.getLargestInterface(dataset), nshape);
-			mean = DatasetFactory.zeros(isize, CompoundDoubleDataset.class, nshape);
-			var = DatasetFactory.zeros(isize, CompoundDoubleDataset.class, nshape);
-		}
-
-		int[] spos = siter.getUsedPos();
-		int index = -1;
-		if (isize == 1) {
-			DoubleDataset lmean = (DoubleDataset) mean;
-			DoubleDataset lvar = (DoubleDataset) var;
-
-			final SummaryStatistics stats = new SummaryStatistics();
-			while (siter.hasNext()) {
-				index++;
-
-				stats.clear();
-				//sum of logs is slow and we dont use it, so blocking its calculation here
-				stats.setSumLogImpl(new NullStorelessUnivariateStatistic());
-				
-				double amax = Double.NEGATIVE_INFINITY;
-				double amin = Double.POSITIVE_INFINITY;
-				boolean hasNaNs = false;
-				IndexIterator iter = dataset.getSliceIterator(siter.getCurrentSlice());
-				if (ignoreNaNs) {
-					while (iter.hasNext()) {
-						final double val = dataset.getElementDoubleAbs(iter.index);
-
-						if (Double.isNaN(val)) {
-							hasNaNs = true;
-							continue;
-						} else if (ignoreInfs && Double.isInfinite(val)) {
-							continue;
-						}
-	
-						if (val > amax) {
-							amax = val;
-						}
-						if (val < amin) {
-							amin = val;
-						}
-	
-						stats.addValue(val);
-					}
-				} else {
-					while (iter.hasNext()) {
-						final double val = dataset.getElementDoubleAbs(iter.index);
-	
-						if (hasNaNs) {
-							if (!Double.isNaN(val))
-								stats.addValue(0);
-							continue;
-						}
-	
-						if (Double.isNaN(val)) {
-							amax = Double.NaN;
-							amin = Double.NaN;
-							hasNaNs = true;
-						} else if (ignoreInfs && Double.isInfinite(val)) {
-							continue;
-						} else {
-							if (val > amax) {
-								amax = val;
-							}
-							if (val < amin) {
-								amin = val;
-							}
-						}
-						stats.addValue(val);
-					}
-				}
-	
-				count.setAbs(index, stats.getN());
-
-				max.set(amax, spos);
-				min.set(amin, spos);
-
-				if (maxIndex != null && minIndex != null) {
-					boolean fmax = false;
-					boolean fmin = false;
-					iter.reset();
-					int i = -1;
-					if (hasNaNs) {
-						if (ignoreNaNs) {
-							while (iter.hasNext()) {
-								i++;
-								final double val = dataset.getElementDoubleAbs(iter.index);
-								if (Double.isNaN(val))
-									continue;
-		
-								if (!fmax && val == amax) { // FIXME qiter.index is wrong!!!
-									maxIndex.setAbs(index, i);
-									fmax = true;
-									if (fmin)
-										break;
-								}
-								if (!fmin && val == amin) {
-									minIndex.setAbs(index, i);
-									fmin = true;
-									if (fmax)
-										break;
-								}
-							}
-						} else {
-							while (iter.hasNext()) {
-								i++;
-								final double val = dataset.getElementDoubleAbs(iter.index);
-								if (Double.isNaN(val)) {
-									maxIndex.setAbs(index, i);
-									minIndex.setAbs(index, i);
-									break;
-								}
-							}
-						}
-					} else {
-						while (iter.hasNext()) {
-							i++;
-							final double val = dataset.getElementDoubleAbs(iter.index);
-							if (!fmax && val == amax) {
-								maxIndex.setAbs(index, i);
-								fmax = true;
-								if (fmin)
-									break;
-							}
-							if (!fmin && val == amin) {
-								minIndex.setAbs(index, i);
-								fmin = true;
-								if (fmax)
-									break;
-							}
-						}
-					}
-				}
-				sum.setObjectAbs(index, stats.getSum());
-				lmean.setAbs(index, stats.getMean());
-				lvar.setAbs(index, stats.getVariance());
-			}
-		} else {
-			CompoundDataset ldataset = (CompoundDataset) dataset;
-			CompoundDoubleDataset lmean = (CompoundDoubleDataset) mean;
-			CompoundDoubleDataset lvar = (CompoundDoubleDataset) var;
-			double[] darray = new double[isize];
-
-			while (siter.hasNext()) {
-				index++;
-				final SummaryStatistics[] stats = new SummaryStatistics[isize];
-				for (int k = 0; k < isize; k++) {
-					stats[k] = new SummaryStatistics();
-				}
-				IndexIterator iter = dataset.getSliceIterator(siter.getCurrentSlice());
-				int[] pos = iter.getPos();
-				while (iter.hasNext()) {
-					ldataset.getDoubleArray(darray, pos);
-					boolean skip = false;
-					for (int k = 0; k < isize; k++) {
-						double v = darray[k];
-						if (ignoreNaNs && Double.isNaN(v)) {
-							skip = true;
-							break;
-						}
-						if (ignoreInfs && Double.isInfinite(v)) {
-							skip = true;
-							break;
-						}
-					}
-					if (!skip)
-						for (int k = 0; k < isize; k++) {
-							stats[k].addValue(darray[k]);
-						}
-				}
-
-				count.setAbs(index, (int) stats[0].getN());
-
-				for (int k = 0; k < isize; k++) {
-					darray[k] = stats[k].getSum();
-				}
-				sum.set(darray, spos);
-				for (int k = 0; k < isize; k++) {
-					darray[k] = stats[k].getMean();
-				}
-				lmean.setItem(darray, spos);
-				for (int k = 0; k < isize; k++) {
-					darray[k] = stats[k].getVariance();
-				}
-				lvar.setItem(darray, spos);
-			}
-		}
+		AxisReduction r = AxisReduction.reduce(dataset, ignoreNaNs, ignoreInfs, axes);
 
-		return new Dataset[] {max, min, maxIndex, minIndex, count, mean, sum, var};
+		return new Dataset[] {r.getMaximum(), r.getMinimum(), r.getArgMaximum(), r.getArgMinimum(), r.getCount(), r.getMean(), r.getSum(), r.getVariance()};
 	}
 
 	private static final int AS_MAX = 0,